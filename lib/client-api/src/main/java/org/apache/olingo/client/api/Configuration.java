@@ -20,6 +20,7 @@ package org.apache.olingo.client.api;
 
 import java.util.concurrent.ExecutorService;
 
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
 import org.apache.olingo.client.api.http.HttpClientFactory;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -256,6 +257,38 @@ public interface Configuration {
    */
   void setContinueOnError(boolean value);
 
+  /**
+   * Gets the cache of service metadata used by EDM enabled clients. By default, there is none and each client keeps
+   * only the metadata it has loaded itself.
+   *
+   * @return metadata cache, or <tt>null</tt> if none is configured.
+   */
+  EdmMetadataCache getEdmMetadataCache();
+
+  /**
+   * Sets the cache of service metadata used by EDM enabled clients.
+   *
+   * @param cache metadata cache, or <tt>null</tt> to use none.
+   */
+  void setEdmMetadataCache(EdmMetadataCache cache);
+
+  /**
+   * Gets the maximum number of requests executed concurrently by the default executor service.
+   *
+   * @return maximum number of concurrently executed asynchronous requests.
+   */
+  int getMaxConcurrentRequests();
+
+  /**
+   * Sets the maximum number of requests executed concurrently by the default executor service. Further requests are
+   * queued; once the queue is full, the submitting thread executes the request itself, slowing down submission.
+   * <br/>
+   * This setting has no effect on an executor service set via {@link #setExecutor(ExecutorService)}.
+   *
+   * @param value maximum number of concurrently executed asynchronous requests.
+   */
+  void setMaxConcurrentRequests(int value);
+
   /**
    * Retrieves request executor service.
    *
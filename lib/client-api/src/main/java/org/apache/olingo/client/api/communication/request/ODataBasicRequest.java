@@ -18,7 +18,7 @@
  */
 package org.apache.olingo.client.api.communication.request;
 
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.commons.api.format.ODataFormat;
@@ -39,10 +39,22 @@ public interface ODataBasicRequest<T extends ODataResponse> extends ODataRequest
 
   /**
    * Async request execute.
+   * <br/>
+   * Requests are executed by the configured executor; see
+   * {@link org.apache.olingo.client.api.Configuration#setMaxConcurrentRequests(int)}.
    *
-   * @return <code>Future&lt;ODataResponse&gt;</code> about the executed request.
+   * @return <code>ODataFuture&lt;ODataResponse&gt;</code> about the executed request.
    */
-  Future<T> asyncExecute();
+  ODataFuture<T> asyncExecute();
+
+  /**
+   * Async request execute, aborting the request if it has not completed within the given time.
+   *
+   * @param timeout maximum time to wait for the response, measured from submission.
+   * @param unit time unit of the timeout argument.
+   * @return <code>ODataFuture&lt;ODataResponse&gt;</code> about the executed request.
+   */
+  ODataFuture<T> asyncExecute(long timeout, TimeUnit unit);
 
   /**
    * Override configured request format.
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.communication.request;
+
+/**
+ * Callback notified about the outcome of an asynchronously executed request.
+ *
+ * @param <T> OData response type corresponding to the request implementation.
+ */
+public interface ODataCallback<T> {
+
+  /**
+   * Invoked when the request has completed successfully.
+   *
+   * @param response OData response.
+   */
+  void onSuccess(T response);
+
+  /**
+   * Invoked when the request has failed, has timed out or has been cancelled.
+   *
+   * @param cause failure cause; a <code>CancellationException</code> for cancelled or timed out requests.
+   */
+  void onFailure(Throwable cause);
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.communication.request;
+
+import java.util.concurrent.Future;
+
+/**
+ * Result of an asynchronously executed request, allowing to react on completion without blocking on {@link #get()}.
+ *
+ * @param <T> OData response type corresponding to the request implementation.
+ */
+public interface ODataFuture<T> extends Future<T> {
+
+  /**
+   * Registers a callback to be notified once the request completes. The callback is invoked by the thread completing
+   * the request or, if the request has already completed, immediately by the calling thread.
+   * <br/>
+   * Cancelling the future aborts the underlying HTTP request.
+   *
+   * @param callback callback to be notified.
+   * @return this future, for registering further callbacks.
+   */
+  ODataFuture<T> addCallback(ODataCallback<? super T> callback);
+}
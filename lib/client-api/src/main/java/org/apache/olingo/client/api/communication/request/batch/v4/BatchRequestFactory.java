@@ -18,6 +18,8 @@
  */
 package org.apache.olingo.client.api.communication.request.batch.v4;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.olingo.client.api.communication.request.batch.CommonBatchRequestFactory;
 
 public interface BatchRequestFactory extends CommonBatchRequestFactory {
@@ -27,4 +29,18 @@ public interface BatchRequestFactory extends CommonBatchRequestFactory {
    */
   @Override
   ODataBatchRequest getBatchRequest(String serviceRoot);
+
+  /**
+   * Gets an auto-batcher, collecting independent requests into <tt>$batch</tt> requests sent to the given service.
+   * <br/>
+   * Collected requests are sent as soon as <tt>maxRequests</tt> have been submitted, or once the given time window
+   * has elapsed since the first of them has been submitted.
+   *
+   * @param serviceRoot the service root URL.
+   * @param maxRequests maximum number of requests per <tt>$batch</tt> request.
+   * @param window maximum time a request waits for others to be batched with.
+   * @param unit time unit of the window argument.
+   * @return auto-batcher.
+   */
+  ODataAutoBatcher getAutoBatcher(String serviceRoot, int maxRequests, long window, TimeUnit unit);
 }
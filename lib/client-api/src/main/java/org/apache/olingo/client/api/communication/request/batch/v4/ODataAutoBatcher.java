@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.communication.request.batch.v4;
+
+import org.apache.olingo.client.api.communication.request.ODataBasicRequest;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+
+/**
+ * Collects independent requests issued in bursts and sends them together as <tt>$batch</tt> requests, saving round
+ * trips. Each submitted request is sent as a single batch item, outside any changeset.
+ */
+public interface ODataAutoBatcher {
+
+  /**
+   * Submits the given request for being sent with the next <tt>$batch</tt> request.
+   * <br/>
+   * The returned future completes with the response found in the matching batch response item, or fails with the
+   * error reported for that item. Items not processed by the service, e.g. following a failed item when the
+   * <tt>continue-on-error</tt> preference is not set, fail as well.
+   *
+   * @param <T> OData response type corresponding to the request.
+   * @param request request to be batched; it must be a batchable request.
+   * @return <code>ODataFuture&lt;ODataResponse&gt;</code> about the request.
+   */
+  <T extends ODataResponse> ODataFuture<T> submit(ODataBasicRequest<T> request);
+
+  /**
+   * Sends all the requests collected so far, without waiting for the time window to elapse.
+   */
+  void flush();
+
+  /**
+   * Sends all the requests collected so far; further submissions are rejected.
+   */
+  void close();
+}
@@ -19,7 +19,9 @@
 package org.apache.olingo.client.api.communication.response.v4;
 
 import java.net.URI;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.olingo.client.api.communication.request.ODataFuture;
 import org.apache.olingo.client.api.communication.response.ODataDeleteResponse;
 import org.apache.olingo.client.api.communication.response.ODataResponse;
 
@@ -46,11 +48,32 @@ public interface AsyncResponseWrapper<R extends ODataResponse> {
    * after a delay, specified by the 'Retry-After' header indicating the time, in seconds, the client should wait before
    * retry. If there isn't any 'Retry-After' response header available, a default of 5 seconds will be chosen. The query
    * will be retried for a maximum of five times.
+   * <br />
+   * The calling thread is blocked while waiting; see {@link #asyncGetODataResponse()} for a non-blocking alternative.
    *
    * @return real OData response.
    */
   R getODataResponse();
 
+  /**
+   * Gets the real response without blocking the calling thread.
+   * <br />
+   * The status monitor is polled by a small shared scheduler, honoring the 'Retry-After' header of each monitor
+   * response, until asynchronous processing has been terminated. Cancelling the returned future stops polling.
+   *
+   * @return <code>ODataFuture&lt;ODataResponse&gt;</code> completed with the real OData response.
+   */
+  ODataFuture<R> asyncGetODataResponse();
+
+  /**
+   * Gets the real response without blocking the calling thread, giving up if it is not available in the given time.
+   *
+   * @param timeout maximum time to wait for the real response.
+   * @param unit time unit of the timeout argument.
+   * @return <code>ODataFuture&lt;ODataResponse&gt;</code> completed with the real OData response.
+   */
+  ODataFuture<R> asyncGetODataResponse(long timeout, TimeUnit unit);
+
   /**
    * Specifies the location for the next monitor check.
    * <br />
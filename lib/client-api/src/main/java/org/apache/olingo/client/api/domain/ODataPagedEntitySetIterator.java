@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.domain;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.olingo.client.api.CommonODataClient;
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.commons.api.domain.CommonODataEntity;
+import org.apache.olingo.commons.api.domain.CommonODataEntitySet;
+
+/**
+ * Iterator over all entities of an entity set, transparently following next links to the further pages.
+ * <br/>
+ * Optionally, entities are read ahead by a background thread, so that reading from the network overlaps with the
+ * processing of the entities already read; at most the given number of entities is buffered.
+ * <br/>
+ * <b>Please don't forget to call the <tt>close()>/</tt> method when not needed any more.</b>
+ *
+ * @param <E> concrete ODataEntity implementation
+ * @param <ES> concrete ODataEntitySet implementation
+ */
+public class ODataPagedEntitySetIterator<ES extends CommonODataEntitySet, E extends CommonODataEntity>
+        implements Iterator<E> {
+
+  private static final Object END = new Object();
+
+  private final CommonODataClient<?> odataClient;
+
+  private volatile ODataEntitySetIterator<ES, E> page;
+
+  private final BlockingQueue<Object> prefetched;
+
+  private final Thread prefetcher;
+
+  private volatile RuntimeException failure;
+
+  private Object cached;
+
+  /**
+   * Constructor.
+   *
+   * @param odataClient client instance getting further pages
+   * @param firstPage iterator over the first page
+   */
+  public ODataPagedEntitySetIterator(final CommonODataClient<?> odataClient,
+          final ODataEntitySetIterator<ES, E> firstPage) {
+
+    this(odataClient, firstPage, 0);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param odataClient client instance getting further pages
+   * @param firstPage iterator over the first page
+   * @param prefetchSize maximum number of entities read ahead by a background thread; 0 to read on demand only
+   */
+  public ODataPagedEntitySetIterator(final CommonODataClient<?> odataClient,
+          final ODataEntitySetIterator<ES, E> firstPage, final int prefetchSize) {
+
+    if (prefetchSize < 0) {
+      throw new IllegalArgumentException("Prefetch size must not be negative: " + prefetchSize);
+    }
+    this.odataClient = odataClient;
+    this.page = firstPage;
+
+    if (prefetchSize > 0) {
+      prefetched = new ArrayBlockingQueue<Object>(prefetchSize);
+      prefetcher = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          prefetch();
+        }
+      }, "olingo-entity-set-prefetch");
+      prefetcher.setDaemon(true);
+      prefetcher.start();
+    } else {
+      prefetched = null;
+      prefetcher = null;
+    }
+  }
+
+  private boolean pageHasNext() {
+    while (!page.hasNext()) {
+      final URI next = page.getNext();
+      if (next == null) {
+        return false;
+      }
+      page = odataClient.getRetrieveRequestFactory().<ES, E> getEntitySetIteratorRequest(next).execute().getBody();
+    }
+    return true;
+  }
+
+  private void prefetch() {
+    try {
+      try {
+        while (pageHasNext()) {
+          prefetched.put(page.next());
+        }
+      } catch (final RuntimeException e) {
+        failure = e;
+      }
+      prefetched.put(END);
+    } catch (final InterruptedException e) {
+      // closed while waiting for the consumer
+    } finally {
+      page.close();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (prefetched == null) {
+      return pageHasNext();
+    }
+
+    if (cached == null) {
+      try {
+        cached = prefetched.take();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ODataRuntimeException(e);
+      }
+    }
+    if (cached == END) {
+      if (failure != null) {
+        throw failure;
+      }
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public E next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No entity found");
+    }
+    if (prefetched == null) {
+      return page.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    final E entity = (E) cached;
+    cached = null;
+    return entity;
+  }
+
+  /**
+   * Unsupported operation.
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  /**
+   * Closes the current page and stops reading ahead.
+   */
+  public void close() {
+    if (prefetcher != null) {
+      prefetcher.interrupt();
+    }
+    page.close();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.api.edm;
+
+import org.apache.olingo.commons.api.edm.Edm;
+
+/**
+ * Cache of service metadata, shared by the EDM enabled clients of the same service root.
+ * <br/>
+ * Implementations must be thread-safe.
+ */
+public interface EdmMetadataCache {
+
+  /**
+   * Gets the cached metadata of the given service.
+   *
+   * @param serviceRoot service root URI
+   * @return cached metadata, or <tt>null</tt> if none is cached
+   */
+  Entry get(String serviceRoot);
+
+  /**
+   * Caches metadata of the given service, replacing any previous entry.
+   *
+   * @param serviceRoot service root URI
+   * @param entry metadata to be cached
+   */
+  void put(String serviceRoot, Entry entry);
+
+  /**
+   * Cached metadata: the ETag of the metadata document together with the document itself and/or the parsed Edm.
+   */
+  final class Entry {
+
+    private final String etag;
+
+    private final byte[] document;
+
+    private final Edm edm;
+
+    /**
+     * Constructor.
+     *
+     * @param etag ETag of the metadata document, or <tt>null</tt> if not known
+     * @param document raw metadata document, or <tt>null</tt> if not available
+     * @param edm parsed metadata, or <tt>null</tt> if not available
+     */
+    public Entry(final String etag, final byte[] document, final Edm edm) {
+      if (document == null && edm == null) {
+        throw new IllegalArgumentException("Either the metadata document or the parsed Edm is required");
+      }
+      this.etag = etag;
+      this.document = document;
+      this.edm = edm;
+    }
+
+    public String getETag() {
+      return etag;
+    }
+
+    /**
+     * @return raw metadata document, or <tt>null</tt> if not available; must not be modified
+     */
+    public byte[] getDocument() {
+      return document;
+    }
+
+    public Edm getEdm() {
+      return edm;
+    }
+  }
+}
@@ -20,10 +20,13 @@ package org.apache.olingo.client.core;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.olingo.client.api.Configuration;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
 import org.apache.olingo.client.api.http.HttpClientFactory;
 import org.apache.olingo.client.api.http.HttpUriRequestFactory;
 import org.apache.olingo.client.core.http.DefaultHttpClientFactory;
@@ -59,9 +62,22 @@ public class ConfigurationImpl implements Configuration {
 
   private static final String CONTINUE_ON_ERROR = "continueOnError";
 
+  private static final String MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
+  private static final String EDM_METADATA_CACHE = "edmMetadataCache";
+
+  private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+
+  /**
+   * Number of queued requests per concurrently executed request accepted by the default executor service.
+   */
+  private static final int QUEUED_REQUESTS_FACTOR = 100;
+
   private final Map<String, Object> CONF = new HashMap<String, Object>();
 
-  private transient ExecutorService executor = Executors.newFixedThreadPool(10);
+  private transient ExecutorService executor;
+
+  private transient ThreadPoolExecutor defaultExecutor;
 
   /**
    * Gets given configuration property.
@@ -222,12 +238,56 @@ public class ConfigurationImpl implements Configuration {
   }
 
   @Override
-  public ExecutorService getExecutor() {
+  public EdmMetadataCache getEdmMetadataCache() {
+    return (EdmMetadataCache) getProperty(EDM_METADATA_CACHE, null);
+  }
+
+  @Override
+  public void setEdmMetadataCache(final EdmMetadataCache cache) {
+    setProperty(EDM_METADATA_CACHE, cache);
+  }
+
+  @Override
+  public int getMaxConcurrentRequests() {
+    return (Integer) getProperty(MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  @Override
+  public synchronized void setMaxConcurrentRequests(final int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException("Maximum number of concurrent requests must be positive: " + value);
+    }
+    setProperty(MAX_CONCURRENT_REQUESTS, value);
+
+    if (defaultExecutor != null) {
+      if (value > defaultExecutor.getMaximumPoolSize()) {
+        defaultExecutor.setMaximumPoolSize(value);
+        defaultExecutor.setCorePoolSize(value);
+      } else {
+        defaultExecutor.setCorePoolSize(value);
+        defaultExecutor.setMaximumPoolSize(value);
+      }
+    }
+  }
+
+  @Override
+  public synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      final int maxConcurrentRequests = getMaxConcurrentRequests();
+      // Bounded queue: when full, the submitting thread runs the request itself, throttling the submission rate.
+      defaultExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+          60, TimeUnit.SECONDS,
+          new ArrayBlockingQueue<Runnable>(maxConcurrentRequests * QUEUED_REQUESTS_FACTOR),
+          new ThreadPoolExecutor.CallerRunsPolicy());
+      defaultExecutor.allowCoreThreadTimeOut(true);
+      executor = defaultExecutor;
+    }
     return executor;
   }
 
   @Override
-  public void setExecutor(final ExecutorService executorService) {
+  public synchronized void setExecutor(final ExecutorService executorService) {
     executor = executorService;
+    defaultExecutor = null;
   }
 }
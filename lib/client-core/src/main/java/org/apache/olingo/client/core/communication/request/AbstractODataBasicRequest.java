@@ -22,13 +22,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.client.api.CommonODataClient;
 import org.apache.olingo.client.api.ODataBatchConstants;
 import org.apache.olingo.client.api.communication.request.ODataBasicRequest;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
 import org.apache.olingo.client.api.communication.request.batch.CommonODataBatchRequest;
 import org.apache.olingo.client.api.communication.response.ODataResponse;
@@ -64,13 +65,38 @@ public abstract class AbstractODataBasicRequest<T extends ODataResponse>
   }
 
   @Override
-  public final Future<T> asyncExecute() {
-    return odataClient.getConfiguration().getExecutor().submit(new Callable<T>() {
-      @Override
-      public T call() throws Exception {
-        return execute();
-      }
-    });
+  public final ODataFuture<T> asyncExecute() {
+    return submit(0, null);
+  }
+
+  @Override
+  public final ODataFuture<T> asyncExecute(final long timeout, final TimeUnit unit) {
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+    }
+    return submit(timeout, unit);
+  }
+
+  private ODataFuture<T> submit(final long timeout, final TimeUnit unit) {
+    final ODataFutureImpl<T> future = new ODataFutureImpl<T>(
+        new Callable<T>() {
+          @Override
+          public T call() throws Exception {
+            return execute();
+          }
+        },
+        new Runnable() {
+          @Override
+          public void run() {
+            request.abort();
+          }
+        });
+    // The timeout starts with the submission, also covering the time spent waiting in the executor queue.
+    if (unit != null) {
+      future.setTimeout(timeout, unit);
+    }
+    odataClient.getConfiguration().getExecutor().execute(future);
+    return future;
   }
 
   /**
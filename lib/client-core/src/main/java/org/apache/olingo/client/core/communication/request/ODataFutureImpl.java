@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.olingo.client.api.communication.request.ODataCallback;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Future of an asynchronously executed request, notifying registered callbacks on completion.
+ *
+ * @param <T> OData response type corresponding to the request implementation.
+ */
+public class ODataFutureImpl<T> extends FutureTask<T> implements ODataFuture<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ODataFutureImpl.class);
+
+  /**
+   * Single daemon thread enforcing the timeouts of all requests.
+   */
+  private static final ScheduledExecutorService TIMEOUTS =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+          final Thread thread = new Thread(runnable, "olingo-request-timeout");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+
+  private final Runnable abort;
+
+  private final List<ODataCallback<? super T>> callbacks = new ArrayList<ODataCallback<? super T>>();
+
+  private ScheduledFuture<?> timeout;
+
+  /**
+   * Constructor for a future not running any task: it is completed by {@link #complete(Object)} or
+   * {@link #fail(Throwable)} instead.
+   */
+  public ODataFutureImpl() {
+    this(new Callable<T>() {
+      @Override
+      public T call() {
+        throw new IllegalStateException("Completed explicitly only");
+      }
+    }, new Runnable() {
+      @Override
+      public void run() {
+        // nothing to abort
+      }
+    });
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param callable request execution.
+   * @param abort aborts the underlying HTTP request; invoked when this future gets cancelled.
+   */
+  public ODataFutureImpl(final Callable<T> callable, final Runnable abort) {
+    super(callable);
+    this.abort = abort;
+  }
+
+  /**
+   * Cancels this future if it has not completed within the given time.
+   *
+   * @param time maximum time to wait for completion.
+   * @param unit time unit of the time argument.
+   */
+  public void setTimeout(final long time, final TimeUnit unit) {
+    final ScheduledFuture<?> scheduled = TIMEOUTS.schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (cancel(true)) {
+          LOG.debug("Request timed out after {} {}", time, unit);
+        }
+      }
+    }, time, unit);
+    synchronized (callbacks) {
+      timeout = scheduled;
+    }
+    if (isDone()) {
+      scheduled.cancel(false);
+    }
+  }
+
+  /**
+   * Completes this future with the given response, unless already done.
+   *
+   * @param response response.
+   */
+  public void complete(final T response) {
+    set(response);
+  }
+
+  /**
+   * Completes this future with the given failure, unless already done.
+   *
+   * @param cause failure cause.
+   */
+  public void fail(final Throwable cause) {
+    setException(cause);
+  }
+
+  @Override
+  public boolean cancel(final boolean mayInterruptIfRunning) {
+    final boolean cancelled = super.cancel(mayInterruptIfRunning);
+    if (cancelled) {
+      abort.run();
+    }
+    return cancelled;
+  }
+
+  @Override
+  public ODataFuture<T> addCallback(final ODataCallback<? super T> callback) {
+    synchronized (callbacks) {
+      if (!isDone()) {
+        callbacks.add(callback);
+        return this;
+      }
+    }
+    notify(callback);
+    return this;
+  }
+
+  @Override
+  protected void done() {
+    final List<ODataCallback<? super T>> toNotify;
+    synchronized (callbacks) {
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+      toNotify = new ArrayList<ODataCallback<? super T>>(callbacks);
+      callbacks.clear();
+    }
+    for (ODataCallback<? super T> callback : toNotify) {
+      notify(callback);
+    }
+  }
+
+  private void notify(final ODataCallback<? super T> callback) {
+    final T response;
+    try {
+      response = get();
+    } catch (final ExecutionException e) {
+      notifyFailure(callback, e.getCause());
+      return;
+    } catch (final CancellationException e) {
+      notifyFailure(callback, e);
+      return;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      notifyFailure(callback, e);
+      return;
+    }
+
+    try {
+      callback.onSuccess(response);
+    } catch (final RuntimeException e) {
+      LOG.error("Error notifying request callback", e);
+    }
+  }
+
+  private void notifyFailure(final ODataCallback<? super T> callback, final Throwable cause) {
+    try {
+      callback.onFailure(cause);
+    } catch (final RuntimeException e) {
+      LOG.error("Error notifying request callback", e);
+    }
+  }
+}
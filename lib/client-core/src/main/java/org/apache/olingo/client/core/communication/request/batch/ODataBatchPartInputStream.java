@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.apache.olingo.client.api.communication.request.ODataStreamer;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchLineIterator;
+import org.apache.olingo.commons.api.Constants;
+
+/**
+ * Body of a batch item, read lazily from the batch response on the calling thread.
+ * <br/>
+ * Lines are pulled from the batch line iterator only when the previous one has been consumed; the stream ends at the
+ * item boundary or as soon as the batch controller gets invalidated, i.e. when the item response has been closed.
+ */
+public class ODataBatchPartInputStream extends InputStream {
+
+  private static final Charset UTF8 = Charset.forName(Constants.UTF8);
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final ODataBatchController controller;
+
+  private byte[] line = EMPTY;
+
+  private int position = 0;
+
+  private boolean started = false;
+
+  private boolean ended = false;
+
+  /**
+   * Constructor.
+   *
+   * @param controller batch controller positioned right before the item body.
+   */
+  public ODataBatchPartInputStream(final ODataBatchController controller) {
+    this.controller = controller;
+  }
+
+  /**
+   * Makes the next body line available, if any.
+   *
+   * @return 'FALSE' if the end of the item body has been reached; 'TRUE' otherwise.
+   */
+  private boolean fill() {
+    if (position < line.length) {
+      return true;
+    }
+
+    final ODataBatchLineIterator iterator = controller.getBatchLineIterator();
+    if (!started) {
+      started = true;
+      ended = !ODataBatchUtilities.isNotEndLine(controller, iterator.getCurrent());
+    }
+
+    if (ended || !controller.isValidBatch() || !iterator.hasNext()) {
+      ended = true;
+      return false;
+    }
+
+    final String current = iterator.nextLine();
+    if (ODataBatchUtilities.isNotEndLine(controller, current)) {
+      final byte[] bytes = current.getBytes(UTF8);
+      line = new byte[bytes.length + ODataStreamer.CRLF.length];
+      System.arraycopy(bytes, 0, line, 0, bytes.length);
+      System.arraycopy(ODataStreamer.CRLF, 0, line, bytes.length, ODataStreamer.CRLF.length);
+      position = 0;
+      return true;
+    }
+
+    ended = true;
+    return false;
+  }
+
+  @Override
+  public int read() {
+    return fill() ? line[position++] & 0xFF : -1;
+  }
+
+  @Override
+  public int read(final byte[] buffer, final int offset, final int length) {
+    if (length == 0) {
+      return 0;
+    }
+
+    int read = 0;
+    while (read < length && fill()) {
+      final int chunk = Math.min(length - read, line.length - position);
+      System.arraycopy(line, position, buffer, offset + read, chunk);
+      position += chunk;
+      read += chunk;
+    }
+    return read == 0 ? -1 : read;
+  }
+
+  @Override
+  public int available() {
+    return line.length - position;
+  }
+
+  @Override
+  public void close() {
+    // discards the rest of the item body: the next item is searched starting from the boundary line anyway
+    line = EMPTY;
+    position = 0;
+    ended = true;
+  }
+}
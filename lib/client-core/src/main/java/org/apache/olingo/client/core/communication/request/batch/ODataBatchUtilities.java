@@ -322,7 +322,7 @@ public class ODataBatchUtilities {
    * @param line line to be checked.
    * @return 'TRUE' if the line is not the end-line; 'FALSE' otherwise.
    */
-  private static boolean isNotEndLine(final ODataBatchController controller, final String line) {
+  static boolean isNotEndLine(final ODataBatchController controller, final String line) {
     return line == null
             || (StringUtils.isBlank(controller.getBoundary()) && StringUtils.isNotBlank(line))
             || (StringUtils.isNotBlank(controller.getBoundary()) && !line.startsWith(controller.getBoundary()));
@@ -18,7 +18,10 @@
  */
 package org.apache.olingo.client.core.communication.request.batch.v4;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.olingo.client.api.communication.request.batch.v4.BatchRequestFactory;
+import org.apache.olingo.client.api.communication.request.batch.v4.ODataAutoBatcher;
 import org.apache.olingo.client.api.communication.request.batch.v4.ODataBatchRequest;
 import org.apache.olingo.client.api.v4.ODataClient;
 import org.apache.olingo.client.core.communication.request.batch.AbstractBatchRequestFactory;
@@ -35,4 +38,11 @@ public class BatchRequestFactoryImpl extends AbstractBatchRequestFactory
     return new ODataBatchRequestImpl(
             (ODataClient) client, client.newURIBuilder(serviceRoot).appendBatchSegment().build());
   }
+
+  @Override
+  public ODataAutoBatcher getAutoBatcher(
+          final String serviceRoot, final int maxRequests, final long window, final TimeUnit unit) {
+
+    return new ODataAutoBatcherImpl((ODataClient) client, serviceRoot, maxRequests, window, unit);
+  }
 }
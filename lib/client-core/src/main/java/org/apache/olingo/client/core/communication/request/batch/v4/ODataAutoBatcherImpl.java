@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch.v4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.olingo.client.api.communication.request.ODataBasicRequest;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.v4.ODataAutoBatcher;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.client.api.v4.ODataClient;
+import org.apache.olingo.client.core.communication.header.ODataErrorResponseChecker;
+import org.apache.olingo.client.core.communication.request.ODataFutureImpl;
+import org.apache.olingo.client.core.communication.response.AbstractODataResponse;
+import org.apache.olingo.client.core.communication.response.v4.AsyncResponseImpl;
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Auto-batcher sending collected requests on its own daemon threads, as many as the configured maximum number of
+ * concurrent requests.
+ */
+public class ODataAutoBatcherImpl implements ODataAutoBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ODataAutoBatcherImpl.class);
+
+  /**
+   * Single daemon thread closing the time windows of all auto-batchers; it never sends batch requests itself.
+   */
+  private static final ScheduledExecutorService WINDOWS =
+      Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("olingo-auto-batch"));
+
+  private final ODataClient client;
+
+  private final String serviceRoot;
+
+  private final int maxRequests;
+
+  private final long window;
+
+  private final TimeUnit unit;
+
+  private final Runnable windowClosed = new Runnable() {
+    @Override
+    public void run() {
+      flush();
+    }
+  };
+
+  /**
+   * Threads sending the batch requests; flushes are queued while all of them are busy, instead of running on the
+   * thread closing the time window or on the submitting thread.
+   */
+  private final ThreadPoolExecutor senders;
+
+  private List<BatchedRequest<?>> collected = new ArrayList<BatchedRequest<?>>();
+
+  private ScheduledFuture<?> scheduledFlush;
+
+  private boolean closed = false;
+
+  public ODataAutoBatcherImpl(final ODataClient client, final String serviceRoot,
+      final int maxRequests, final long window, final TimeUnit unit) {
+
+    if (maxRequests < 1) {
+      throw new IllegalArgumentException("At least one request per batch is required");
+    }
+    this.client = client;
+    this.serviceRoot = serviceRoot;
+    this.maxRequests = maxRequests;
+    this.window = window;
+    this.unit = unit;
+
+    final int maxConcurrentRequests = client.getConfiguration().getMaxConcurrentRequests();
+    senders = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("olingo-auto-batch-send"));
+    senders.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public <T extends ODataResponse> ODataFuture<T> submit(final ODataBasicRequest<T> request) {
+    if (!(request instanceof ODataBatchableRequest)) {
+      throw new IllegalArgumentException("Request cannot be batched: " + request.getMethod() + " " + request.getURI());
+    }
+
+    final BatchedRequest<T> batched = new BatchedRequest<T>(request);
+    List<BatchedRequest<?>> toBeSent = Collections.emptyList();
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Auto-batcher has been closed");
+      }
+      collected.add(batched);
+      if (collected.size() >= maxRequests) {
+        toBeSent = drain();
+      } else if (collected.size() == 1) {
+        scheduledFlush = WINDOWS.schedule(windowClosed, window, unit);
+      }
+    }
+    send(toBeSent);
+
+    return batched;
+  }
+
+  @Override
+  public void flush() {
+    final List<BatchedRequest<?>> toBeSent;
+    synchronized (this) {
+      toBeSent = drain();
+    }
+    send(toBeSent);
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    flush();
+    // requests already handed over are still sent
+    senders.shutdown();
+  }
+
+  /**
+   * Takes the requests collected so far; to be invoked while holding the lock of this auto-batcher.
+   *
+   * @return collected requests.
+   */
+  private List<BatchedRequest<?>> drain() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    final List<BatchedRequest<?>> drained = collected;
+    collected = new ArrayList<BatchedRequest<?>>();
+    return drained;
+  }
+
+  private void send(final List<BatchedRequest<?>> requests) {
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    try {
+      senders.execute(new Runnable() {
+        @Override
+        public void run() {
+          execute(requests);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      for (BatchedRequest<?> request : requests) {
+        request.fail(e);
+      }
+    }
+  }
+
+  /**
+   * Sends the given requests as a single <tt>$batch</tt> request and completes their futures with the response items.
+   *
+   * @param requests requests to be sent.
+   */
+  protected void execute(final List<BatchedRequest<?>> requests) {
+    final List<BatchedRequest<?>> pending = new ArrayList<BatchedRequest<?>>(requests.size());
+    for (BatchedRequest<?> request : requests) {
+      // skips requests cancelled in the meantime
+      if (!request.isDone()) {
+        pending.add(request);
+      }
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    LOG.debug("Sending {} requests as one batch request", pending.size());
+
+    ODataBatchResponse response = null;
+    try {
+      final BatchManager payload = client.getBatchRequestFactory().getBatchRequest(serviceRoot).payloadManager();
+      for (BatchedRequest<?> request : pending) {
+        payload.addRequest((ODataBatchableRequest) request.request);
+      }
+      response = payload.getResponse();
+
+      final Iterator<ODataBatchResponseItem> items = response.getBody();
+      for (BatchedRequest<?> request : pending) {
+        final ODataBatchResponseItem item = items.hasNext() ? items.next() : null;
+        if (item == null || !item.hasNext()) {
+          request.fail(new ODataRuntimeException("Batch item not processed: " + request.request.getURI()));
+        } else {
+          request.completeFrom(item.next());
+        }
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Error sending batch request", e);
+      for (BatchedRequest<?> request : pending) {
+        request.fail(e);
+      }
+    } finally {
+      if (response != null) {
+        response.close();
+      }
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+
+    private final String name;
+
+    DaemonThreadFactory(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /**
+   * Future of a request sent as a batch item.
+   *
+   * @param <T> OData response type corresponding to the request.
+   */
+  protected class BatchedRequest<T extends ODataResponse> extends ODataFutureImpl<T> {
+
+    private final ODataBasicRequest<T> request;
+
+    BatchedRequest(final ODataBasicRequest<T> request) {
+      super();
+      this.request = request;
+    }
+
+    @SuppressWarnings("unchecked")
+    void completeFrom(final ODataResponse response) {
+      // the payload would become unavailable as soon as the batch response moves on to the next item
+      ((AbstractODataResponse) response).bufferBatchPayload();
+
+      if (response instanceof AsyncResponseImpl) {
+        fail(new ODataRuntimeException("Unexpected asynchronous batch item response: " + request.getURI()));
+      } else if (response.getStatusCode() >= 400) {
+        fail(ODataErrorResponseChecker.checkResponse(client,
+            new BasicStatusLine(HttpVersion.HTTP_1_1, response.getStatusCode(), response.getStatusMessage()),
+            response.getRawResponse(), StringUtils.defaultString(request.getAccept())));
+      } else {
+        complete((T) response);
+      }
+    }
+  }
+}
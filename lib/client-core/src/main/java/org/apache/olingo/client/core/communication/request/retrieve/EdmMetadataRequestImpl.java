@@ -18,11 +18,14 @@
  */
 package org.apache.olingo.client.core.communication.request.retrieve;
 
+import java.io.InputStream;
 import java.net.URI;
 
 import org.apache.http.client.HttpClient;
 import org.apache.olingo.client.api.CommonODataClient;
+import org.apache.olingo.client.api.communication.header.HeaderName;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
+import org.apache.olingo.client.api.communication.request.retrieve.XMLMetadataRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.edm.xml.XMLMetadata;
 import org.apache.olingo.commons.api.edm.Edm;
@@ -43,8 +46,13 @@ class EdmMetadataRequestImpl extends AbstractMetadataRequestImpl<Edm> implements
 
   private EdmMetadataResponseImpl getPrivateResponse() {
     if (privateResponse == null) {
-      final ODataRetrieveResponse<XMLMetadata> xmlMetadataResponse =
-              odataClient.getRetrieveRequestFactory().getXMLMetadataRequest(serviceRoot).execute();
+      final XMLMetadataRequest xmlMetadataRequest =
+              odataClient.getRetrieveRequestFactory().getXMLMetadataRequest(serviceRoot);
+      final String ifNoneMatch = getHeader(HeaderName.ifNoneMatch.toString());
+      if (ifNoneMatch != null) {
+        xmlMetadataRequest.setIfNoneMatch(ifNoneMatch);
+      }
+      final ODataRetrieveResponse<XMLMetadata> xmlMetadataResponse = xmlMetadataRequest.execute();
 
       privateResponse = new EdmMetadataResponseImpl(odataClient, httpClient, xmlMetadataResponse);
     }
@@ -90,6 +98,16 @@ class EdmMetadataRequestImpl extends AbstractMetadataRequestImpl<Edm> implements
       return xmlMetadataResponse.getStatusMessage();
     }
 
+    @Override
+    public String getETag() {
+      return xmlMetadataResponse.getETag();
+    }
+
+    @Override
+    public InputStream getRawResponse() {
+      return xmlMetadataResponse.getRawResponse();
+    }
+
     public XMLMetadata getXMLMetadata() {
       if (metadata == null) {
         try {
@@ -101,9 +119,13 @@ class EdmMetadataRequestImpl extends AbstractMetadataRequestImpl<Edm> implements
       return metadata;
     }
 
+    /**
+     * @return metadata, or <tt>null</tt> if not modified
+     */
     @Override
     public Edm getBody() {
-      return odataClient.getReader().readMetadata(getXMLMetadata().getSchemaByNsOrAlias());
+      final XMLMetadata xmlMetadata = getXMLMetadata();
+      return xmlMetadata == null ? null : odataClient.getReader().readMetadata(xmlMetadata.getSchemaByNsOrAlias());
     }
   }
 }
@@ -18,13 +18,20 @@
  */
 package org.apache.olingo.client.core.communication.request.retrieve.v4;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.olingo.client.api.CommonODataClient;
+import org.apache.olingo.client.api.communication.header.HeaderName;
 import org.apache.olingo.client.api.communication.request.retrieve.XMLMetadataRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.edm.xml.Schema;
@@ -39,6 +46,7 @@ import org.apache.olingo.client.core.communication.request.retrieve.AbstractMeta
 import org.apache.olingo.client.core.edm.xml.AbstractSchema;
 import org.apache.olingo.client.core.edm.xml.v4.AnnotationsImpl;
 import org.apache.olingo.client.core.edm.xml.v4.SchemaImpl;
+import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ODataFormat;
 
 public class XMLMetadataRequestImpl
@@ -52,10 +60,19 @@ public class XMLMetadataRequestImpl
   @Override
   public ODataRetrieveResponse<org.apache.olingo.client.api.edm.xml.XMLMetadata> execute() {
     final SingleXMLMetadatRequestImpl rootReq = new SingleXMLMetadatRequestImpl((ODataClient) odataClient, uri, null);
+    final String ifNoneMatch = getHeader(HeaderName.ifNoneMatch.toString());
+    if (ifNoneMatch != null) {
+      rootReq.setIfNoneMatch(ifNoneMatch);
+    }
     final ODataRetrieveResponse<XMLMetadata> rootRes = rootReq.execute();
 
-    final XMLMetadataResponseImpl response =
-            new XMLMetadataResponseImpl(odataClient, httpClient, rootReq.getHttpResponse(), rootRes.getBody());
+    if (rootRes.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+      rootRes.close();
+      return new XMLMetadataResponseImpl(odataClient, httpClient, rootReq.getHttpResponse(), null, null);
+    }
+
+    final XMLMetadataResponseImpl response = new XMLMetadataResponseImpl(odataClient, httpClient,
+            rootReq.getHttpResponse(), rootRes.getBody(), rootReq.getDocument());
 
     // process external references
     for (Reference reference : rootRes.getBody().getReferences()) {
@@ -121,6 +138,7 @@ public class XMLMetadataRequestImpl
 
     private final URI parentURI;
     private HttpResponse httpResponse;
+    private byte[] document;
 
     public SingleXMLMetadatRequestImpl(final ODataClient odataClient, final URI uri, final URI parent) {
       super(odataClient, uri);
@@ -131,6 +149,10 @@ public class XMLMetadataRequestImpl
       return httpResponse;
     }
 
+    public byte[] getDocument() {
+      return document;
+    }
+
     /** Referenced document's URIs must only have the same scheme, host, and port as the
      *  main metadata document's URI but don't have to start with the service root
      *  as all other OData request URIs. */
@@ -160,7 +182,12 @@ public class XMLMetadataRequestImpl
         public XMLMetadata getBody() {
           if (metadata == null) {
             try {
-              metadata = ((ODataClient) odataClient).getDeserializer(ODataFormat.XML).toMetadata(getRawResponse());
+              // the document is kept, e.g., to be cached together with its ETag
+              document = IOUtils.toByteArray(getRawResponse());
+              metadata = ((ODataClient) odataClient).getDeserializer(ODataFormat.XML).
+                      toMetadata(new ByteArrayInputStream(document));
+            } catch (final IOException e) {
+              throw new ODataRuntimeException(e);
             } finally {
               this.close();
             }
@@ -175,11 +202,19 @@ public class XMLMetadataRequestImpl
 
     private final XMLMetadata metadata;
 
+    private final byte[] document;
+
+    private final String etag;
+
     private XMLMetadataResponseImpl(final CommonODataClient<?> odataClient, final HttpClient httpClient,
-            final HttpResponse res, final XMLMetadata metadata) {
+            final HttpResponse res, final XMLMetadata metadata, final byte[] document) {
 
       super(odataClient, httpClient, null);
       this.metadata = metadata;
+      this.document = document;
+
+      final Header etagHeader = res.getFirstHeader(HeaderName.etag.toString());
+      etag = etagHeader == null ? null : etagHeader.getValue();
 
       statusCode = res.getStatusLine().getStatusCode();
       statusMessage = res.getStatusLine().getReasonPhrase();
@@ -187,6 +222,22 @@ public class XMLMetadataRequestImpl
       hasBeenInitialized = true;
     }
 
+    @Override
+    public String getETag() {
+      return etag;
+    }
+
+    /**
+     * @return the main metadata document, without referenced documents; <tt>null</tt> if not modified
+     */
+    @Override
+    public InputStream getRawResponse() {
+      return document == null ? null : new ByteArrayInputStream(document);
+    }
+
+    /**
+     * @return metadata, or <tt>null</tt> if not modified
+     */
     @Override
     public XMLMetadata getBody() {
       return metadata;
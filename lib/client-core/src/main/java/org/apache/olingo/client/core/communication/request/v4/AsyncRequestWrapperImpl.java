@@ -20,6 +20,11 @@ package org.apache.olingo.client.core.communication.request.v4;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +38,7 @@ import org.apache.http.util.EntityUtils;
 import org.apache.olingo.client.api.communication.ODataClientErrorException;
 import org.apache.olingo.client.api.communication.header.HeaderName;
 import org.apache.olingo.client.api.communication.header.ODataPreferences;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
 import org.apache.olingo.client.api.communication.request.ODataRequest;
 import org.apache.olingo.client.api.communication.request.cud.ODataDeleteRequest;
 import org.apache.olingo.client.api.communication.request.v4.AsyncRequestWrapper;
@@ -43,6 +49,7 @@ import org.apache.olingo.client.api.http.HttpClientException;
 import org.apache.olingo.client.api.v4.ODataClient;
 import org.apache.olingo.client.core.communication.request.AbstractODataRequest;
 import org.apache.olingo.client.core.communication.request.AbstractRequest;
+import org.apache.olingo.client.core.communication.request.ODataFutureImpl;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.http.HttpMethod;
 
@@ -51,6 +58,19 @@ public class AsyncRequestWrapperImpl<R extends ODataResponse> extends AbstractRe
 
   protected static final int MAX_RETRY = 5;
 
+  /**
+   * Few daemon threads polling the status monitors of all pending asynchronous operations.
+   */
+  private static final ScheduledExecutorService MONITORS = Executors.newScheduledThreadPool(
+      Math.max(2, Runtime.getRuntime().availableProcessors()), new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+          final Thread thread = new Thread(runnable, "olingo-async-monitor");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+
   protected final ODataClient odataClient;
 
   /**
@@ -188,11 +208,8 @@ public class AsyncRequestWrapperImpl<R extends ODataResponse> extends AbstractRe
         res = checkMonitor(location);
 
         if (res.getStatusLine().getStatusCode() == 202) {
-
-          final Header[] headers = res.getHeaders(HeaderName.retryAfter.toString());
-          if (ArrayUtils.isNotEmpty(headers)) {
-            this.retryAfter = Integer.parseInt(headers[0].getValue());
-          }
+          retrieveRetryAfter(res);
+          EntityUtils.consumeQuietly(res.getEntity());
 
           try {
             // wait for retry-after
@@ -214,6 +231,24 @@ public class AsyncRequestWrapperImpl<R extends ODataResponse> extends AbstractRe
       return response;
     }
 
+    @Override
+    public ODataFuture<R> asyncGetODataResponse() {
+      final MonitorFuture future = new MonitorFuture();
+      if (response == null) {
+        future.schedule(retryAfter);
+      } else {
+        future.complete(response);
+      }
+      return future;
+    }
+
+    @Override
+    public ODataFuture<R> asyncGetODataResponse(final long timeout, final TimeUnit unit) {
+      final ODataFuture<R> future = asyncGetODataResponse();
+      ((MonitorFuture) future).setTimeout(timeout, unit);
+      return future;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -266,10 +301,7 @@ public class AsyncRequestWrapperImpl<R extends ODataResponse> extends AbstractRe
                 "Invalid async request response. Monitor URL '" + headers[0].getValue() + "'");
       }
 
-      headers = res.getHeaders(HeaderName.retryAfter.toString());
-      if (ArrayUtils.isNotEmpty(headers)) {
-        this.retryAfter = Integer.parseInt(headers[0].getValue());
-      }
+      retrieveRetryAfter(res);
 
       headers = res.getHeaders(HeaderName.preferenceApplied.toString());
       if (ArrayUtils.isNotEmpty(headers)) {
@@ -285,6 +317,69 @@ public class AsyncRequestWrapperImpl<R extends ODataResponse> extends AbstractRe
         Logger.getLogger(AsyncRequestWrapperImpl.class.getName()).log(Level.SEVERE, null, ex);
       }
     }
+
+    private void retrieveRetryAfter(final HttpResponse res) {
+      final Header[] headers = res.getHeaders(HeaderName.retryAfter.toString());
+      if (ArrayUtils.isNotEmpty(headers)) {
+        try {
+          this.retryAfter = Integer.parseInt(headers[0].getValue().trim());
+        } catch (NumberFormatException e) {
+          // HTTP-date values are not supported: keep the previous delay
+          LOG.debug("Unsupported Retry-After value {}", headers[0].getValue());
+        }
+      }
+    }
+
+    /**
+     * Future completed by the status monitor polls scheduled on the shared monitor threads; no thread is held between
+     * two polls.
+     */
+    private class MonitorFuture extends ODataFutureImpl<R> implements Runnable {
+
+      private volatile ScheduledFuture<?> nextCheck;
+
+      void schedule(final int delayInSeconds) {
+        nextCheck = MONITORS.schedule(this, Math.max(0, delayInSeconds), TimeUnit.SECONDS);
+        if (isDone()) {
+          nextCheck.cancel(false);
+        }
+      }
+
+      @Override
+      public void run() {
+        if (isDone()) {
+          return;
+        }
+        try {
+          final HttpResponse res = checkMonitor(location);
+          if (res.getStatusLine().getStatusCode() == 202) {
+            retrieveRetryAfter(res);
+            EntityUtils.consumeQuietly(res.getEntity());
+            schedule(retryAfter);
+          } else {
+            location = null;
+            response = instantiateResponse(res);
+            if (response == null) {
+              fail(new AsyncRequestException("Invalid async request response from monitor URL"));
+            } else {
+              complete(response);
+            }
+          }
+        } catch (RuntimeException e) {
+          fail(e);
+        }
+      }
+
+      @Override
+      public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(false);
+        final ScheduledFuture<?> scheduled = nextCheck;
+        if (cancelled && scheduled != null) {
+          scheduled.cancel(false);
+        }
+        return cancelled;
+      }
+    }
   }
 
   protected final HttpResponse checkMonitor(final URI location) {
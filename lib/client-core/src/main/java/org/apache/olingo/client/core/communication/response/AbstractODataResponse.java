@@ -22,8 +22,6 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
@@ -34,6 +32,10 @@ import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.apache.olingo.client.api.CommonODataClient;
 import org.apache.olingo.client.api.communication.header.HeaderName;
 import org.apache.olingo.client.api.communication.request.ODataStreamer;
@@ -42,6 +44,7 @@ import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.client.api.http.NoContentException;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchController;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchLineIteratorImpl;
+import org.apache.olingo.client.core.communication.request.batch.ODataBatchPartInputStream;
 import org.apache.olingo.client.core.communication.request.batch.ODataBatchUtilities;
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.ODataRuntimeException;
@@ -280,6 +283,19 @@ public abstract class AbstractODataResponse implements ODataResponse {
    */
   @Override
   public void close() {
+    if (res != null && res.getEntity() != null) {
+      if (isConnectionManagerShared()) {
+        // hands the kept-alive connection back to the shared connection manager
+        EntityUtils.consumeQuietly(res.getEntity());
+      } else if (res.getEntity() instanceof ConnectionReleaseTrigger) {
+        // the connection is shut down with its client, so the rest of a possibly huge body is not read
+        try {
+          ((ConnectionReleaseTrigger) res.getEntity()).abortConnection();
+        } catch (IOException e) {
+          LOG.debug("Error aborting the connection", e);
+        }
+      }
+    }
     odataClient.getConfiguration().getHttpClientFactory().close(httpClient);
 
     if (batchInfo != null) {
@@ -287,6 +303,15 @@ public abstract class AbstractODataResponse implements ODataResponse {
     }
   }
 
+  /**
+   * Tells whether the connection manager outlives the HttpClient, as opposed to the basic manager which
+   * <tt>DefaultHttpClient</tt> creates for itself.
+   */
+  private boolean isConnectionManagerShared() {
+    final ClientConnectionManager connectionManager = httpClient == null ? null : httpClient.getConnectionManager();
+    return connectionManager != null && !(connectionManager instanceof BasicClientConnectionManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -297,30 +322,28 @@ public abstract class AbstractODataResponse implements ODataResponse {
     }
 
     if (payload == null && batchInfo.isValidBatch()) {
-      // get input stream till the end of item
-      payload = new PipedInputStream();
-
-      try {
-        final PipedOutputStream os = new PipedOutputStream((PipedInputStream) payload);
-
-        new Thread(new Runnable() {
-          @Override
-          public void run() {
-            try {
-              ODataBatchUtilities.readBatchPart(batchInfo, os, true);
-            } catch (Exception e) {
-              LOG.error("Error streaming batch item payload", e);
-            } finally {
-              IOUtils.closeQuietly(os);
-            }
-          }
-        }).start();
-      } catch (IOException e) {
-        LOG.error("Error streaming payload response", e);
-        throw new IllegalStateException(e);
-      }
+      // item body is read from the batch response on demand, till the end of item
+      payload = new ODataBatchPartInputStream(batchInfo);
     }
 
     return payload;
   }
+
+  /**
+   * Reads the whole payload of this batch item into memory, so that it remains available once the batch response
+   * moves on to the next item.
+   */
+  public void bufferBatchPayload() {
+    if (batchInfo != null && getStatusCode() != HttpStatus.SC_NO_CONTENT) {
+      final InputStream raw = getRawResponse();
+      if (raw != null) {
+        try {
+          payload = new ByteArrayInputStream(IOUtils.toByteArray(raw));
+        } catch (IOException e) {
+          LOG.error("Error buffering batch item payload", e);
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+  }
 }
@@ -44,9 +44,9 @@ public class EdmStructuredTypeHelperImpl implements EdmStructuredTypeHelper {
 
   private final List<? extends Schema> xmlSchemas;
 
-  private Map<String, EdmProperty> properties;
+  private volatile Map<String, EdmProperty> properties;
 
-  private Map<String, EdmNavigationProperty> navigationProperties;
+  private volatile Map<String, EdmNavigationProperty> navigationProperties;
 
   public EdmStructuredTypeHelperImpl(final Edm edm, final FullQualifiedName structuredTypeName,
           final List<? extends Schema> xmlSchemas, final ComplexType complexType) {
@@ -59,32 +59,36 @@ public class EdmStructuredTypeHelperImpl implements EdmStructuredTypeHelper {
 
   @Override
   public Map<String, EdmProperty> getProperties() {
-    if (properties == null) {
-      properties = new LinkedHashMap<String, EdmProperty>();
+    Map<String, EdmProperty> result = properties;
+    if (result == null) {
+      result = new LinkedHashMap<String, EdmProperty>();
       for (CommonProperty property : complexType.getProperties()) {
-        properties.put(property.getName(), new EdmPropertyImpl(edm, structuredTypeName, property));
+        result.put(property.getName(), new EdmPropertyImpl(edm, structuredTypeName, property));
       }
+      properties = result;
     }
-    return properties;
+    return result;
   }
 
   @Override
   public Map<String, EdmNavigationProperty> getNavigationProperties() {
-    if (navigationProperties == null) {
-      navigationProperties = new LinkedHashMap<String, EdmNavigationProperty>();
+    Map<String, EdmNavigationProperty> result = navigationProperties;
+    if (result == null) {
+      result = new LinkedHashMap<String, EdmNavigationProperty>();
       for (CommonNavigationProperty navigationProperty : complexType.getNavigationProperties()) {
         if (navigationProperty instanceof org.apache.olingo.client.api.edm.xml.v4.NavigationProperty) {
-          navigationProperties.put(navigationProperty.getName(), new EdmNavigationPropertyImpl(
+          result.put(navigationProperty.getName(), new EdmNavigationPropertyImpl(
                   edm, structuredTypeName,
                   (org.apache.olingo.client.api.edm.xml.v4.NavigationProperty) navigationProperty));
         } else if (navigationProperty instanceof org.apache.olingo.client.api.edm.xml.v3.NavigationProperty) {
-          navigationProperties.put(navigationProperty.getName(), new EdmNavigationPropertyProxy(
+          result.put(navigationProperty.getName(), new EdmNavigationPropertyProxy(
                   edm, xmlSchemas,
                   (org.apache.olingo.client.api.edm.xml.v3.NavigationProperty) navigationProperty));
         }
       }
+      navigationProperties = result;
     }
-    return navigationProperties;
+    return result;
   }
 
   @Override
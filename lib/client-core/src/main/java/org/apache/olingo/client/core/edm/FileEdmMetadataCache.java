@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.edm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata cache persisting metadata documents as compressed snapshots in a directory, so that they survive JVM
+ * restarts; parsed Edm instances are kept in a delegate in-memory cache.
+ * <br/>
+ * Clients revalidate a snapshot against the service with its ETag before using it, so an unchanged metadata document
+ * is never downloaded again. Snapshots of documents referencing other documents are downloaded again, though.
+ */
+public class FileEdmMetadataCache implements EdmMetadataCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileEdmMetadataCache.class);
+
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String SUFFIX = ".metadata";
+
+  private final File directory;
+
+  private final EdmMetadataCache memory;
+
+  /**
+   * Constructor, keeping parsed metadata in a new {@link InMemoryEdmMetadataCache} of default capacity.
+   *
+   * @param directory directory holding the snapshots; created if missing
+   */
+  public FileEdmMetadataCache(final File directory) {
+    this(directory, new InMemoryEdmMetadataCache());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param directory directory holding the snapshots; created if missing
+   * @param memory cache for parsed metadata
+   */
+  public FileEdmMetadataCache(final File directory, final EdmMetadataCache memory) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalArgumentException("Cannot create metadata cache directory " + directory);
+    }
+    this.directory = directory;
+    this.memory = memory;
+  }
+
+  private File getFile(final String serviceRoot) {
+    return new File(directory, DigestUtils.sha1Hex(serviceRoot) + SUFFIX);
+  }
+
+  @Override
+  public Entry get(final String serviceRoot) {
+    final Entry entry = memory.get(serviceRoot);
+    return entry == null ? read(serviceRoot) : entry;
+  }
+
+  @Override
+  public void put(final String serviceRoot, final Entry entry) {
+    final Entry previous = memory.get(serviceRoot);
+    memory.put(serviceRoot, entry);
+
+    if (entry.getDocument() != null && (previous == null || previous.getDocument() == null
+        || !StringUtils.equals(previous.getETag(), entry.getETag()))) {
+      write(serviceRoot, entry);
+    }
+  }
+
+  private Entry read(final String serviceRoot) {
+    final File file = getFile(serviceRoot);
+    if (!file.isFile()) {
+      return null;
+    }
+
+    DataInputStream input = null;
+    try {
+      input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+      if (input.readInt() != FORMAT_VERSION || !serviceRoot.equals(input.readUTF())) {
+        return null;
+      }
+      final String etag = input.readBoolean() ? input.readUTF() : null;
+      final byte[] document = new byte[input.readInt()];
+      input.readFully(document);
+      return new Entry(etag, document, null);
+    } catch (final IOException e) {
+      LOG.warn("Could not read metadata snapshot {}", file, e);
+      return null;
+    } finally {
+      IOUtils.closeQuietly(input);
+    }
+  }
+
+  private void write(final String serviceRoot, final Entry entry) {
+    final File file = getFile(serviceRoot);
+    DataOutputStream output = null;
+    try {
+      final File temp = File.createTempFile(file.getName(), ".tmp", directory);
+      try {
+        output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp))));
+        output.writeInt(FORMAT_VERSION);
+        output.writeUTF(serviceRoot);
+        output.writeBoolean(entry.getETag() != null);
+        if (entry.getETag() != null) {
+          output.writeUTF(entry.getETag());
+        }
+        output.writeInt(entry.getDocument().length);
+        output.write(entry.getDocument());
+        output.close();
+        output = null;
+
+        // replace the snapshot as a whole, readers never see a partially written file
+        if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+          throw new IOException("Cannot replace " + file);
+        }
+      } finally {
+        IOUtils.closeQuietly(output);
+        if (temp.exists() && !temp.delete()) {
+          temp.deleteOnExit();
+        }
+      }
+    } catch (final IOException e) {
+      LOG.warn("Could not write metadata snapshot {}", file, e);
+    }
+  }
+}
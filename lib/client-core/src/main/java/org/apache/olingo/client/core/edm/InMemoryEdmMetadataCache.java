@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.edm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+
+/**
+ * Metadata cache held in memory, evicting the least recently used service once its capacity is reached.
+ * <br/>
+ * Clients use no metadata cache by default; the {@link #getShared() shared instance} can be configured, so that all
+ * clients of the same service root within the JVM share one parsed Edm.
+ */
+public class InMemoryEdmMetadataCache implements EdmMetadataCache {
+
+  /**
+   * Default number of services whose metadata is kept.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 16;
+
+  private static final InMemoryEdmMetadataCache SHARED = new InMemoryEdmMetadataCache();
+
+  private final Map<String, Entry> entries;
+
+  /**
+   * @return cache instance which can be shared by all clients within the JVM
+   */
+  public static InMemoryEdmMetadataCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Constructor, keeping the metadata of up to {@link #DEFAULT_MAX_ENTRIES} services.
+   */
+  public InMemoryEdmMetadataCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxEntries number of services whose metadata is kept
+   */
+  public InMemoryEdmMetadataCache(final int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("At least one entry must fit into the metadata cache");
+    }
+    entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = -8421703578424532155L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  @Override
+  public Entry get(final String serviceRoot) {
+    synchronized (entries) {
+      return entries.get(serviceRoot);
+    }
+  }
+
+  @Override
+  public void put(final String serviceRoot, final Entry entry) {
+    synchronized (entries) {
+      entries.put(serviceRoot, entry);
+    }
+  }
+
+  /**
+   * Removes the cached metadata of the given service.
+   *
+   * @param serviceRoot service root URI
+   */
+  public void remove(final String serviceRoot) {
+    synchronized (entries) {
+      entries.remove(serviceRoot);
+    }
+  }
+}
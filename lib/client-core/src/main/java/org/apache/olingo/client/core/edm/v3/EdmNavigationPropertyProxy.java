@@ -49,7 +49,9 @@ public class EdmNavigationPropertyProxy extends AbstractEdmNavigationProperty {
 
   private final boolean isNullable;
 
-  private EdmNavigationProperty partner;
+  private final String partnerRole;
+
+  private volatile EdmNavigationProperty partner;
 
   private final ReferentialConstraint constraint;
 
@@ -94,15 +96,7 @@ public class EdmNavigationPropertyProxy extends AbstractEdmNavigationProperty {
     isCollection = "*".equals(thisEnd.getMultiplicity());
     isNullable = thisEnd.getMultiplicity().charAt(0) == '0';
     constraint = association.getReferentialConstraint();
-
-    final EdmEntityType partnerEntity = edm.getEntityType(new FullQualifiedName(thisEnd.getType()));
-    for (String navPropName : partnerEntity.getNavigationPropertyNames()) {
-      final EdmNavigationPropertyProxy navProp =
-              (EdmNavigationPropertyProxy) partnerEntity.getNavigationProperty(navPropName);
-      if (partnerEnd.getRole().equals(navProp.getXMLNavigationProperty().getToRole())) {
-        partner = navProp;
-      }
-    }
+    partnerRole = partnerEnd.getRole();
   }
 
   protected NavigationProperty getXMLNavigationProperty() {
@@ -122,7 +116,21 @@ public class EdmNavigationPropertyProxy extends AbstractEdmNavigationProperty {
 
   @Override
   public EdmNavigationProperty getPartner() {
-    return partner == null ? this : partner;
+    // Looked up lazily, as the navigation properties of the target type may still be under construction.
+    EdmNavigationProperty result = partner;
+    if (result == null) {
+      result = this;
+      final EdmEntityType partnerEntity = edm.getEntityType(typeFQN);
+      for (String navPropName : partnerEntity.getNavigationPropertyNames()) {
+        final EdmNavigationPropertyProxy navProp =
+                (EdmNavigationPropertyProxy) partnerEntity.getNavigationProperty(navPropName);
+        if (partnerRole.equals(navProp.getXMLNavigationProperty().getToRole())) {
+          result = navProp;
+        }
+      }
+      partner = result;
+    }
+    return result;
   }
 
   @Override
@@ -22,6 +22,7 @@ import java.net.URI;
 
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.olingo.commons.api.http.HttpMethod;
 
@@ -35,6 +36,13 @@ public class BasicAuthHttpClientFactory extends DefaultHttpClientFactory {
   private final String password;
 
   public BasicAuthHttpClientFactory(final String username, final String password) {
+    this(username, password, null);
+  }
+
+  public BasicAuthHttpClientFactory(final String username, final String password,
+          final ClientConnectionManager connectionManager) {
+
+    super(connectionManager);
     this.username = username;
     this.password = password;
   }
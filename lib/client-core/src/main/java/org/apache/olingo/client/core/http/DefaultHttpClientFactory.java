@@ -21,6 +21,7 @@ package org.apache.olingo.client.core.http;
 import java.net.URI;
 
 import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.params.CoreProtocolPNames;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -30,16 +31,43 @@ import org.apache.olingo.commons.api.http.HttpMethod;
  */
 public class DefaultHttpClientFactory extends AbstractHttpClientFactory {
 
+  private final ClientConnectionManager connectionManager;
+
+  public DefaultHttpClientFactory() {
+    this(null);
+  }
+
+  /**
+   * Creates a factory whose HttpClients share the given connection manager; the shared manager is not shut down
+   * when a single client is closed.
+   *
+   * @param connectionManager shared connection manager, or <tt>null</tt> for a new manager per HttpClient
+   */
+  public DefaultHttpClientFactory(final ClientConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
+  /**
+   * @return the shared connection manager, or <tt>null</tt> if every HttpClient uses its own
+   */
+  public ClientConnectionManager getConnectionManager() {
+    return connectionManager;
+  }
+
   @Override
   public DefaultHttpClient create(final HttpMethod method, final URI uri) {
-    final DefaultHttpClient client = new DefaultHttpClient();
+    final DefaultHttpClient client = connectionManager == null
+        ? new DefaultHttpClient()
+        : new DefaultHttpClient(connectionManager);
     client.getParams().setParameter(CoreProtocolPNames.USER_AGENT, USER_AGENT);
     return client;
   }
 
   @Override
   public void close(final HttpClient httpClient) {
-    httpClient.getConnectionManager().shutdown();
+    if (connectionManager == null) {
+      httpClient.getConnectionManager().shutdown();
+    }
   }
 
 }
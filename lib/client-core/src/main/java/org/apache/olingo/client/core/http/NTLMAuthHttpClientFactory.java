@@ -23,6 +23,7 @@ import java.net.URI;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.NTCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -49,6 +50,13 @@ public class NTLMAuthHttpClientFactory extends DefaultHttpClientFactory {
   public NTLMAuthHttpClientFactory(final String username, final String password,
           final String workstation, final String domain) {
 
+    this(username, password, workstation, domain, null);
+  }
+
+  public NTLMAuthHttpClientFactory(final String username, final String password,
+          final String workstation, final String domain, final ClientConnectionManager connectionManager) {
+
+    super(connectionManager);
     this.username = username;
     this.password = password;
     this.workstation = workstation;
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Implementation returning HttpClients which share one pool of persistent connections, so that consecutive requests
+ * to the same service reuse kept-alive connections instead of opening a new one each time.
+ * <br/>
+ * Expired and idle connections are evicted periodically by a background daemon thread; call {@link #shutdown()} to
+ * close all pooled connections once the factory is no longer needed.
+ */
+public class PoolingHttpClientFactory extends DefaultHttpClientFactory {
+
+  public static final int DEFAULT_MAX_TOTAL = 20;
+
+  public static final int DEFAULT_MAX_PER_ROUTE = 10;
+
+  public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30000;
+
+  private final long idleTimeoutMillis;
+
+  private final ScheduledExecutorService evictor;
+
+  public PoolingHttpClientFactory() {
+    this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param maxTotal maximum number of pooled connections
+   * @param maxPerRoute maximum number of pooled connections per route (i.e. per target host)
+   * @param idleTimeoutMillis time after which an unused connection is closed
+   */
+  public PoolingHttpClientFactory(final int maxTotal, final int maxPerRoute, final long idleTimeoutMillis) {
+    super(newConnectionManager(maxTotal, maxPerRoute));
+    if (idleTimeoutMillis <= 0) {
+      throw new IllegalArgumentException("Idle timeout must be positive: " + idleTimeoutMillis);
+    }
+    this.idleTimeoutMillis = idleTimeoutMillis;
+
+    evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "olingo-http-connection-evictor");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    final long period = Math.max(idleTimeoutMillis / 2, 1);
+    evictor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        evictConnections();
+      }
+    }, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  private static PoolingClientConnectionManager newConnectionManager(final int maxTotal, final int maxPerRoute) {
+    if (maxTotal <= 0 || maxPerRoute <= 0) {
+      throw new IllegalArgumentException("Pool limits must be positive: " + maxTotal + ", " + maxPerRoute);
+    }
+    final PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager();
+    connectionManager.setMaxTotal(maxTotal);
+    connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+    return connectionManager;
+  }
+
+  @Override
+  public PoolingClientConnectionManager getConnectionManager() {
+    return (PoolingClientConnectionManager) super.getConnectionManager();
+  }
+
+  /**
+   * Closes expired connections and connections which have been idle longer than the configured timeout.
+   */
+  public void evictConnections() {
+    getConnectionManager().closeExpiredConnections();
+    getConnectionManager().closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return number of connections currently in use by a request
+   */
+  public int getLeasedConnections() {
+    return getPoolStats().getLeased();
+  }
+
+  /**
+   * @return number of kept-alive connections ready to be reused
+   */
+  public int getAvailableConnections() {
+    return getPoolStats().getAvailable();
+  }
+
+  /**
+   * @return number of requests waiting for a connection
+   */
+  public int getPendingRequests() {
+    return getPoolStats().getPending();
+  }
+
+  private PoolStats getPoolStats() {
+    return getConnectionManager().getTotalStats();
+  }
+
+  /**
+   * Stops the eviction thread and closes all pooled connections.
+   */
+  public void shutdown() {
+    evictor.shutdownNow();
+    getConnectionManager().shutdown();
+  }
+}
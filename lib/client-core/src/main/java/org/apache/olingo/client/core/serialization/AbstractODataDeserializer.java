@@ -20,8 +20,11 @@ package org.apache.olingo.client.core.serialization;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ResWrap;
@@ -46,6 +49,9 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 public abstract class AbstractODataDeserializer {
 
+  private static final ConcurrentMap<ODataServiceVersion, XmlMapper> XML_MAPPERS =
+      new ConcurrentHashMap<ODataServiceVersion, XmlMapper>();
+
   protected final ODataServiceVersion version;
 
   protected final ODataDeserializer deserializer;
@@ -64,6 +70,10 @@ public abstract class AbstractODataDeserializer {
     return deserializer.toEntitySet(input);
   }
 
+  public EntityIterator toEntityIterator(final InputStream input) throws ODataDeserializerException {
+    return deserializer.toEntityIterator(input);
+  }
+
   public ResWrap<Entity> toEntity(final InputStream input) throws ODataDeserializerException {
     return deserializer.toEntity(input);
   }
@@ -76,7 +86,25 @@ public abstract class AbstractODataDeserializer {
     return deserializer.toError(input);
   }
 
+  /**
+   * Gets the mapper for XML documents such as metadata; it is configured once per service version and then shared,
+   * keeping Jackson's internal caches warm across documents.
+   *
+   * @return XML mapper for the current service version
+   */
   protected XmlMapper getXmlMapper() {
+    XmlMapper xmlMapper = XML_MAPPERS.get(version);
+    if (xmlMapper == null) {
+      final XmlMapper created = newXmlMapper();
+      xmlMapper = XML_MAPPERS.putIfAbsent(version, created);
+      if (xmlMapper == null) {
+        xmlMapper = created;
+      }
+    }
+    return xmlMapper;
+  }
+
+  private XmlMapper newXmlMapper() {
     final XmlMapper xmlMapper = new XmlMapper(
             new XmlFactory(new InputFactoryImpl(), new OutputFactoryImpl()), new JacksonXmlModule());
 
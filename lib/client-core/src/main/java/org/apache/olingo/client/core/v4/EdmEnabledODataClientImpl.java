@@ -18,22 +18,34 @@
  */
 package org.apache.olingo.client.core.v4;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpStatus;
 import org.apache.olingo.client.api.communication.request.invoke.EdmEnabledInvokeRequestFactory;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.apache.olingo.client.api.edm.xml.v4.XMLMetadata;
 import org.apache.olingo.client.api.uri.v4.URIBuilder;
 import org.apache.olingo.client.api.v4.EdmEnabledODataClient;
 import org.apache.olingo.client.core.communication.request.invoke.v4.EdmEnabledInvokeRequestFactoryImpl;
 import org.apache.olingo.client.core.uri.v4.URIBuilderImpl;
+import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.format.ODataFormat;
 
 public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEnabledODataClient {
 
   private final String serviceRoot;
 
-  private Edm edm;
+  /**
+   * Metadata in use; read without locking, replaced while holding {@link #metadataLock}.
+   */
+  private volatile EdmMetadataCache.Entry metadata;
 
-  private String metadataETag;
+  private final Object metadataLock = new Object();
 
   private EdmEnabledInvokeRequestFactory edmEnabledInvokeRequestFactory;
 
@@ -41,8 +53,7 @@ public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEna
     super();
 
     this.serviceRoot = serviceRoot;
-    this.edm = edm;
-    this.metadataETag = metadataETag;
+    this.metadata = edm == null ? null : new EdmMetadataCache.Entry(metadataETag, null, edm);
   }
 
   @Override
@@ -52,23 +63,86 @@ public class EdmEnabledODataClientImpl extends ODataClientImpl implements EdmEna
 
   @Override
   public Edm getEdm(final String metadataETag) {
-    synchronized (this) {
-      if (this.edm == null || (metadataETag != null && !metadataETag.equals(this.metadataETag))) {
-        final EdmMetadataRequest metadataReq = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
-        final ODataRetrieveResponse<Edm> metadataRes = metadataReq.execute();
-        this.metadataETag = metadataRes.getETag();
-        this.edm = metadataRes.getBody();
+    EdmMetadataCache.Entry current = metadata;
+    if (current == null || (metadataETag != null && !metadataETag.equals(current.getETag()))) {
+      synchronized (metadataLock) {
+        current = metadata;
+        if (current == null || (metadataETag != null && !metadataETag.equals(current.getETag()))) {
+          current = loadMetadata(metadataETag);
+          metadata = current;
+        }
+      }
+    }
+    return current.getEdm();
+  }
+
+  /**
+   * Gets the metadata from the service. Metadata known to this client or held by the configured cache is revalidated
+   * with <tt>If-None-Match</tt>, unless its ETag matches the given one; a snapshot which has not been parsed in this
+   * JVM yet is only parsed when the service answers 304 Not Modified, and only if it does not reference other
+   * documents.
+   */
+  private EdmMetadataCache.Entry loadMetadata(final String metadataETag) {
+    final EdmMetadataCache cache = getConfiguration().getEdmMetadataCache();
+    final EdmMetadataCache.Entry cached = cache == null ? metadata : cache.get(serviceRoot);
+    if (cached != null && cached.getEdm() != null
+        && metadataETag != null && metadataETag.equals(cached.getETag())) {
+      return cached;
+    }
+
+    EdmMetadataCache.Entry loaded = retrieveMetadata(cached);
+    if (loaded == null) {
+      // The unchanged snapshot references other documents, which are not part of it.
+      loaded = retrieveMetadata(null);
+    }
+    if (cache != null) {
+      cache.put(serviceRoot, loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * @return the retrieved metadata, or <tt>null</tt> if the given snapshot is unchanged but cannot be parsed locally
+   */
+  private EdmMetadataCache.Entry retrieveMetadata(final EdmMetadataCache.Entry cached) {
+    final EdmMetadataRequest request = getRetrieveRequestFactory().getMetadataRequest(serviceRoot);
+    if (cached != null && cached.getETag() != null) {
+      request.setIfNoneMatch(cached.getETag());
+    }
+
+    final ODataRetrieveResponse<Edm> response = request.execute();
+    try {
+      if (cached != null && response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+        if (cached.getEdm() != null) {
+          return cached;
+        }
+        final Edm edm = parse(cached.getDocument());
+        return edm == null ? null : new EdmMetadataCache.Entry(cached.getETag(), cached.getDocument(), edm);
+      } else {
+        final Edm edm = response.getBody();
+        return new EdmMetadataCache.Entry(response.getETag(), IOUtils.toByteArray(response.getRawResponse()), edm);
       }
+    } catch (final IOException e) {
+      throw new ODataRuntimeException("Could not read metadata document", e);
+    } finally {
+      response.close();
     }
-    return this.edm;
+  }
+
+  /**
+   * @return parsed metadata, or <tt>null</tt> if the document references other documents
+   */
+  private Edm parse(final byte[] document) {
+    final XMLMetadata xmlMetadata = getDeserializer(ODataFormat.XML).toMetadata(new ByteArrayInputStream(document));
+    return xmlMetadata.getReferences().isEmpty()
+        ? getReader().readMetadata(xmlMetadata.getSchemaByNsOrAlias())
+        : null;
   }
 
   @Override
   public Edm getCachedEdm() {
-    if (this.edm == null) {
-      getEdm(null);
-    }
-    return this.edm;
+    final EdmMetadataCache.Entry current = metadata;
+    return current == null ? getEdm(null) : current.getEdm();
   }
 
   @Override
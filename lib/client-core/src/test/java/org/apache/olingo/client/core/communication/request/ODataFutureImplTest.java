@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.olingo.client.api.communication.request.ODataCallback;
+import org.junit.Test;
+
+public class ODataFutureImplTest {
+
+  private static final Runnable NO_ABORT = new Runnable() {
+    @Override
+    public void run() {}
+  };
+
+  private static class RecordingCallback implements ODataCallback<String> {
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final AtomicReference<String> response = new AtomicReference<String>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    @Override
+    public void onSuccess(final String value) {
+      response.set(value);
+      completed.countDown();
+    }
+
+    @Override
+    public void onFailure(final Throwable cause) {
+      failure.set(cause);
+      completed.countDown();
+    }
+
+    void await() throws InterruptedException {
+      assertTrue(completed.await(5, TimeUnit.SECONDS));
+    }
+  }
+
+  private static ODataFutureImpl<String> future(final Callable<String> callable, final Runnable abort) {
+    return new ODataFutureImpl<String>(callable, abort);
+  }
+
+  @Test
+  public void callbacksBeforeAndAfterCompletion() throws Exception {
+    final ODataFutureImpl<String> future = future(new Callable<String>() {
+      @Override
+      public String call() {
+        return "response";
+      }
+    }, NO_ABORT);
+    final RecordingCallback before = new RecordingCallback();
+    future.addCallback(before);
+    future.run();
+    before.await();
+    assertEquals("response", before.response.get());
+
+    final RecordingCallback after = new RecordingCallback();
+    future.addCallback(after);
+    after.await();
+    assertEquals("response", after.response.get());
+  }
+
+  @Test
+  public void failureIsUnwrapped() throws Exception {
+    final IllegalStateException exception = new IllegalStateException();
+    final ODataFutureImpl<String> future = future(new Callable<String>() {
+      @Override
+      public String call() {
+        throw exception;
+      }
+    }, NO_ABORT);
+    final RecordingCallback callback = new RecordingCallback();
+    future.addCallback(callback);
+    future.run();
+    callback.await();
+    assertNull(callback.response.get());
+    assertSame(exception, callback.failure.get());
+  }
+
+  @Test
+  public void timeoutAbortsRequest() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicBoolean aborted = new AtomicBoolean();
+    final ODataFutureImpl<String> future = future(new Callable<String>() {
+      @Override
+      public String call() throws InterruptedException {
+        release.await();
+        return "late";
+      }
+    }, new Runnable() {
+      @Override
+      public void run() {
+        aborted.set(true);
+        release.countDown();
+      }
+    });
+    final RecordingCallback callback = new RecordingCallback();
+    future.addCallback(callback);
+    future.setTimeout(50, TimeUnit.MILLISECONDS);
+    new Thread(future).start();
+
+    callback.await();
+    assertTrue(callback.failure.get() instanceof CancellationException);
+    assertTrue(future.isCancelled());
+    // the request is aborted right after the cancellation has been signalled
+    assertTrue(release.await(5, TimeUnit.SECONDS));
+    assertTrue(aborted.get());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchLineIterator;
+import org.apache.olingo.commons.api.Constants;
+import org.junit.Test;
+
+public class ODataBatchPartInputStreamTest {
+
+  private static final String BOUNDARY = "--batch_1";
+
+  private static final String BATCH = BOUNDARY + "\r\n"
+      + "Content-Type: application/http\r\n"
+      + "\r\n"
+      + "HTTP/1.1 200 OK\r\n"
+      + "Content-Type: application/json\r\n"
+      + "\r\n"
+      + "{\"value\":\r\n"
+      + "1}\r\n"
+      + BOUNDARY + "\r\n"
+      + "Content-Type: application/http\r\n"
+      + "\r\n"
+      + "HTTP/1.1 201 Created\r\n"
+      + "\r\n"
+      + "{\"value\":2}\r\n"
+      + BOUNDARY + "--\r\n";
+
+  private ODataBatchLineIterator iterator() throws Exception {
+    return new ODataBatchLineIteratorImpl(
+        IOUtils.lineIterator(new ByteArrayInputStream(BATCH.getBytes(Constants.UTF8)), Constants.UTF8));
+  }
+
+  private Map.Entry<Integer, String> nextItem(final ODataBatchLineIterator iterator) {
+    ODataBatchUtilities.nextItemHeaders(iterator, BOUNDARY);
+    final Map.Entry<Integer, String> responseLine = ODataBatchUtilities.readResponseLine(iterator);
+    ODataBatchUtilities.readHeaders(iterator);
+    return responseLine;
+  }
+
+  @Test
+  public void readItems() throws Exception {
+    final ODataBatchLineIterator iterator = iterator();
+
+    assertEquals(Integer.valueOf(200), nextItem(iterator).getKey());
+    InputStream part = new ODataBatchPartInputStream(new ODataBatchController(iterator, BOUNDARY));
+    assertEquals("{\"value\":\r\n1}\r\n", IOUtils.toString(part, Constants.UTF8));
+    assertEquals(-1, part.read());
+
+    assertEquals(Integer.valueOf(201), nextItem(iterator).getKey());
+    part = new ODataBatchPartInputStream(new ODataBatchController(iterator, BOUNDARY));
+    assertEquals('{', part.read());
+    assertEquals("\"value\":2}\r\n", IOUtils.toString(part, Constants.UTF8));
+  }
+
+  @Test
+  public void invalidatedItem() throws Exception {
+    final ODataBatchLineIterator iterator = iterator();
+
+    nextItem(iterator);
+    final ODataBatchController controller = new ODataBatchController(iterator, BOUNDARY);
+    final InputStream part = new ODataBatchPartInputStream(controller);
+    assertEquals('{', part.read());
+
+    // closing the item response invalidates the controller: the rest is skipped by the next item lookup
+    controller.setValidBatch(false);
+    IOUtils.toString(part, Constants.UTF8);
+    assertEquals(Integer.valueOf(201), nextItem(iterator).getKey());
+  }
+}
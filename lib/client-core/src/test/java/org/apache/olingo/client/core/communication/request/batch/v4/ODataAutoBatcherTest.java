@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.batch.v4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.communication.ODataClientErrorException;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
+import org.apache.olingo.client.api.communication.request.batch.v4.ODataAutoBatcher;
+import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
+import org.apache.olingo.client.api.v4.ODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.domain.ODataPrimitiveValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class ODataAutoBatcherTest {
+
+  private static final Pattern ITEM_REQUEST = Pattern.compile("GET \\S*People\\((\\d+)\\)/Name/\\$value HTTP/1.1");
+
+  private static final String BOUNDARY = "batchresponse_1";
+
+  private final AtomicInteger batches = new AtomicInteger();
+
+  private HttpServer server;
+
+  private String serviceRoot;
+
+  private ODataClient client;
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/service/$batch", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        batches.incrementAndGet();
+
+        // answers each item with the name of the requested person, or 404 for person 0
+        final StringBuilder body = new StringBuilder();
+        final Matcher matcher = ITEM_REQUEST.matcher(IOUtils.toString(exchange.getRequestBody(), "UTF-8"));
+        while (matcher.find()) {
+          body.append("--").append(BOUNDARY).append("\r\n")
+              .append("Content-Type: application/http\r\n")
+              .append("Content-Transfer-Encoding: binary\r\n\r\n");
+          if ("0".equals(matcher.group(1))) {
+            body.append("HTTP/1.1 404 Not Found\r\n")
+                .append("Content-Type: application/json\r\n\r\n")
+                .append("{\"error\":{\"code\":\"404\",\"message\":\"Person not found\"}}\r\n");
+          } else {
+            body.append("HTTP/1.1 200 OK\r\n")
+                .append("Content-Type: text/plain\r\n\r\n")
+                .append("Person ").append(matcher.group(1)).append("\r\n");
+          }
+        }
+        body.append("--").append(BOUNDARY).append("--\r\n");
+
+        final byte[] response = body.toString().getBytes("UTF-8");
+        exchange.getResponseHeaders().set("Content-Type", "multipart/mixed;boundary=" + BOUNDARY);
+        exchange.sendResponseHeaders(200, response.length);
+        final OutputStream output = exchange.getResponseBody();
+        output.write(response);
+        output.close();
+        exchange.close();
+      }
+    });
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service";
+    client = ODataClientFactory.getV4();
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  private ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>> submit(final ODataAutoBatcher batcher, final int id) {
+    return batcher.submit(client.getRetrieveRequestFactory().getValueRequest(
+        URI.create(serviceRoot + "/People(" + id + ")/Name/$value")));
+  }
+
+  private String name(final ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>> future) throws Exception {
+    return future.get(10, TimeUnit.SECONDS).getBody().toString().trim();
+  }
+
+  @Test
+  public void timeWindow() throws Exception {
+    final ODataAutoBatcher batcher =
+        client.getBatchRequestFactory().getAutoBatcher(serviceRoot, 100, 50, TimeUnit.MILLISECONDS);
+    final List<ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>>> futures =
+        new ArrayList<ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>>>();
+    for (int i = 1; i <= 5; i++) {
+      futures.add(submit(batcher, i));
+    }
+
+    for (int i = 1; i <= 5; i++) {
+      assertEquals("Person " + i, name(futures.get(i - 1)));
+    }
+    assertEquals(1, batches.get());
+  }
+
+  @Test
+  public void sizeLimit() throws Exception {
+    final ODataAutoBatcher batcher =
+        client.getBatchRequestFactory().getAutoBatcher(serviceRoot, 3, 1, TimeUnit.HOURS);
+    final List<ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>>> futures =
+        new ArrayList<ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>>>();
+    for (int i = 1; i <= 7; i++) {
+      futures.add(submit(batcher, i));
+    }
+
+    assertEquals("Person 3", name(futures.get(2)));
+    assertEquals("Person 6", name(futures.get(5)));
+    assertEquals(2, batches.get());
+    assertFalse(futures.get(6).isDone());
+
+    batcher.close();
+    assertEquals("Person 7", name(futures.get(6)));
+    assertEquals(3, batches.get());
+  }
+
+  @Test
+  public void failedItem() throws Exception {
+    final ODataAutoBatcher batcher =
+        client.getBatchRequestFactory().getAutoBatcher(serviceRoot, 100, 1, TimeUnit.HOURS);
+    final ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>> first = submit(batcher, 1);
+    final ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>> missing = submit(batcher, 0);
+    final ODataFuture<ODataRetrieveResponse<ODataPrimitiveValue>> last = submit(batcher, 2);
+    batcher.flush();
+
+    assertEquals("Person 1", name(first));
+    try {
+      missing.get(10, TimeUnit.SECONDS);
+      fail("Expected exception not thrown.");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause() instanceof ODataClientErrorException);
+      assertEquals(404, ((ODataClientErrorException) e.getCause()).getStatusLine().getStatusCode());
+    }
+    // without the continue-on-error preference the service stops processing at the failed item
+    try {
+      last.get(10, TimeUnit.SECONDS);
+      fail("Expected exception not thrown.");
+    } catch (final ExecutionException e) {
+      assertTrue(e.getCause().getMessage().contains("not processed"));
+    }
+  }
+
+  @Test
+  public void sentOnSenderThreads() throws Exception {
+    client.getConfiguration().setMaxConcurrentRequests(1);
+    final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+    final CountDownLatch sent = new CountDownLatch(2);
+    final ODataAutoBatcherImpl batcher = new ODataAutoBatcherImpl(client, serviceRoot, 100, 10, TimeUnit.MILLISECONDS) {
+      @Override
+      protected void execute(final List<BatchedRequest<?>> requests) {
+        threads.add(Thread.currentThread().getName());
+        sent.countDown();
+      }
+    };
+
+    submit(batcher, 1);
+    Thread.sleep(100);
+    submit(batcher, 2);
+    batcher.flush();
+
+    assertTrue(sent.await(10, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("olingo-auto-batch-send", "olingo-auto-batch-send"), threads);
+    batcher.close();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.communication.request.v4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.olingo.client.api.communication.request.ODataCallback;
+import org.apache.olingo.client.api.communication.request.ODataFuture;
+import org.apache.olingo.client.api.communication.response.ODataDeleteResponse;
+import org.apache.olingo.client.api.communication.response.v4.AsyncResponseWrapper;
+import org.apache.olingo.client.api.v4.ODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class AsyncRequestWrapperTest {
+
+  private static final int PENDING_CHECKS = 3;
+
+  private final AtomicInteger monitorChecks = new AtomicInteger();
+
+  private HttpServer server;
+
+  private String serviceRoot;
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/service", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Location", serviceRoot.replace("/service", "/monitor"));
+        exchange.getResponseHeaders().set("Retry-After", "0");
+        exchange.getResponseHeaders().set("Preference-Applied", "respond-async");
+        exchange.sendResponseHeaders(202, -1);
+        exchange.close();
+      }
+    });
+    server.createContext("/monitor", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        if (monitorChecks.incrementAndGet() < PENDING_CHECKS
+            || exchange.getRequestURI().getPath().endsWith("pending")) {
+          exchange.getResponseHeaders().set("Retry-After", "0");
+          exchange.sendResponseHeaders(202, -1);
+        } else {
+          final byte[] enclosed = "HTTP/1.1 204 No Content\r\n\r\n".getBytes("UTF-8");
+          exchange.getResponseHeaders().set("Content-Type", "application/http");
+          exchange.sendResponseHeaders(200, enclosed.length);
+          final OutputStream output = exchange.getResponseBody();
+          output.write(enclosed);
+          output.close();
+        }
+        exchange.close();
+      }
+    });
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service";
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  private AsyncResponseWrapper<ODataDeleteResponse> executeDelete() {
+    final ODataClient client = ODataClientFactory.getV4();
+    final AsyncResponseWrapper<ODataDeleteResponse> wrapper = client.getAsyncRequestFactory().
+        <ODataDeleteResponse> getAsyncRequestWrapper(
+            client.getCUDRequestFactory().getDeleteRequest(URI.create(serviceRoot + "/People(1)"))).execute();
+    assertTrue(wrapper.isPreferenceApplied());
+    return wrapper;
+  }
+
+  @Test
+  public void pollsUntilDone() throws Exception {
+    final CountDownLatch notified = new CountDownLatch(1);
+    final AtomicReference<ODataDeleteResponse> callbackResponse = new AtomicReference<ODataDeleteResponse>();
+
+    final ODataFuture<ODataDeleteResponse> future = executeDelete().asyncGetODataResponse(10, TimeUnit.SECONDS);
+    future.addCallback(new ODataCallback<ODataDeleteResponse>() {
+      @Override
+      public void onSuccess(final ODataDeleteResponse response) {
+        callbackResponse.set(response);
+        notified.countDown();
+      }
+
+      @Override
+      public void onFailure(final Throwable cause) {
+        notified.countDown();
+      }
+    });
+
+    assertEquals(204, future.get(10, TimeUnit.SECONDS).getStatusCode());
+    assertTrue(notified.await(10, TimeUnit.SECONDS));
+    assertEquals(204, callbackResponse.get().getStatusCode());
+    assertEquals(PENDING_CHECKS, monitorChecks.get());
+  }
+
+  @Test
+  public void cancelStopsPolling() throws Exception {
+    final AsyncResponseWrapper<ODataDeleteResponse> wrapper = executeDelete();
+    wrapper.forceNextMonitorCheck(URI.create(serviceRoot.replace("/service", "/monitor/pending")));
+    final ODataFuture<ODataDeleteResponse> future = wrapper.asyncGetODataResponse();
+    while (monitorChecks.get() < PENDING_CHECKS) {
+      Thread.sleep(10);
+    }
+
+    assertTrue(future.cancel(true));
+    Thread.sleep(200);
+    final int checks = monitorChecks.get();
+    Thread.sleep(200);
+    assertEquals(checks, monitorChecks.get());
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.http;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.util.EntityUtils;
+import org.apache.olingo.client.api.communication.response.ODataRawResponse;
+import org.apache.olingo.client.api.v4.ODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class PoolingHttpClientFactoryTest {
+
+  private HttpServer server;
+
+  private URI uri;
+
+  @Before
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final byte[] body = "OK".getBytes("UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        final OutputStream output = exchange.getResponseBody();
+        output.write(body);
+        output.close();
+      }
+    });
+    server.createContext("/endless", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, 0);
+        final OutputStream output = exchange.getResponseBody();
+        final byte[] chunk = new byte[8192];
+        try {
+          while (true) {
+            output.write(chunk);
+          }
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    server.start();
+    uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  private void get(final PoolingHttpClientFactory factory) throws IOException {
+    final HttpClient client = factory.create(HttpMethod.GET, uri);
+    final HttpResponse response = client.execute(new HttpGet(uri));
+    assertEquals(200, response.getStatusLine().getStatusCode());
+    assertEquals("OK", EntityUtils.toString(response.getEntity()));
+    factory.close(client);
+  }
+
+  @Test
+  public void connectionIsReused() throws Exception {
+    final PoolingHttpClientFactory factory = new PoolingHttpClientFactory();
+    try {
+      for (int i = 0; i < 5; i++) {
+        get(factory);
+        assertEquals(0, factory.getLeasedConnections());
+        assertEquals(1, factory.getAvailableConnections());
+      }
+      assertEquals(0, factory.getPendingRequests());
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Test
+  public void idleConnectionIsEvicted() throws Exception {
+    final PoolingHttpClientFactory factory = new PoolingHttpClientFactory(2, 2, 50);
+    try {
+      get(factory);
+      Thread.sleep(200);
+      factory.evictConnections();
+      assertEquals(0, factory.getAvailableConnections());
+      get(factory);
+      assertEquals(1, factory.getAvailableConnections());
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void responseCloseReleasesConnectionOfSharedManager() throws Exception {
+    final ThreadSafeClientConnManager connectionManager = new ThreadSafeClientConnManager();
+    connectionManager.setMaxTotal(1);
+    connectionManager.setDefaultMaxPerRoute(1);
+    final ODataClient client = ODataClientFactory.getV4();
+    client.getConfiguration().setHttpClientFactory(new DefaultHttpClientFactory(connectionManager));
+    try {
+      // With a single connection, the second request would wait forever if the first one kept it.
+      for (int i = 0; i < 3; i++) {
+        final ODataRawResponse response = client.getRetrieveRequestFactory().getRawRequest(uri).execute();
+        assertEquals(200, response.getStatusCode());
+        response.close();
+      }
+    } finally {
+      connectionManager.shutdown();
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void responseCloseDoesNotReadBodyOfOwnConnection() throws Exception {
+    final ODataClient client = ODataClientFactory.getV4();
+    final ODataRawResponse response =
+        client.getRetrieveRequestFactory().getRawRequest(uri.resolve("endless")).execute();
+    assertEquals(200, response.getStatusCode());
+    // The body never ends, so reading it up to its end would not terminate.
+    response.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPoolSize() {
+    new PoolingHttpClientFactory(0, 1, 1000);
+  }
+}
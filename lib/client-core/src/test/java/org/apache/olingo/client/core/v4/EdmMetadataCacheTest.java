@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.v4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.client.api.edm.EdmMetadataCache;
+import org.apache.olingo.client.api.v4.EdmEnabledODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.client.core.edm.FileEdmMetadataCache;
+import org.apache.olingo.client.core.edm.InMemoryEdmMetadataCache;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class EdmMetadataCacheTest {
+
+  private static final String ETAG = "W/\"1\"";
+
+  private final AtomicInteger downloads = new AtomicInteger();
+
+  private final AtomicInteger notModified = new AtomicInteger();
+
+  private HttpServer server;
+
+  private String serviceRoot;
+
+  @Before
+  public void startServer() throws IOException {
+    final byte[] metadata = IOUtils.toByteArray(getClass().getResourceAsStream("demo-metadata.xml"));
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/service", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("ETag", ETAG);
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+          notModified.incrementAndGet();
+          exchange.sendResponseHeaders(304, -1);
+        } else {
+          downloads.incrementAndGet();
+          exchange.getResponseHeaders().set("Content-Type", "application/xml");
+          exchange.sendResponseHeaders(200, metadata.length);
+          final OutputStream output = exchange.getResponseBody();
+          output.write(metadata);
+          output.close();
+        }
+        exchange.close();
+      }
+    });
+    server.start();
+    serviceRoot = "http://localhost:" + server.getAddress().getPort() + "/service";
+  }
+
+  @After
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  private EdmEnabledODataClient client(final EdmMetadataCache cache) {
+    final EdmEnabledODataClient client = ODataClientFactory.getEdmEnabledV4(serviceRoot);
+    client.getConfiguration().setEdmMetadataCache(cache);
+    return client;
+  }
+
+  @Test
+  public void sharedInMemory() {
+    final InMemoryEdmMetadataCache cache = new InMemoryEdmMetadataCache();
+    final EdmEnabledODataClient client = client(cache);
+    final Edm edm = client.getCachedEdm();
+    assertFalse(edm.getSchemas().isEmpty());
+    assertEquals(1, downloads.get());
+    assertSame(edm, client.getCachedEdm());
+    assertEquals(0, notModified.get());
+
+    // without an ETag to compare with, the shared entry is revalidated
+    assertSame(edm, client(cache).getCachedEdm());
+    assertEquals(1, notModified.get());
+    assertSame(edm, client(cache).getEdm(ETAG));
+    assertEquals(1, downloads.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void noCacheByDefault() {
+    ODataClientFactory.getEdmEnabledV4(serviceRoot).getCachedEdm();
+    ODataClientFactory.getEdmEnabledV4(serviceRoot).getCachedEdm();
+    assertEquals(2, downloads.get());
+  }
+
+  @Test
+  public void leastRecentlyUsedEvicted() {
+    final InMemoryEdmMetadataCache cache = new InMemoryEdmMetadataCache(1);
+    client(cache).getCachedEdm();
+    cache.put("http://localhost/other", cache.get(serviceRoot));
+    assertNull(cache.get(serviceRoot));
+  }
+
+  @Test
+  public void changedETag() {
+    final EdmEnabledODataClient client = client(new InMemoryEdmMetadataCache());
+    client.getCachedEdm();
+    client.getEdm("W/\"2\"");
+    assertEquals(1, downloads.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void outdatedSnapshotNotParsed() throws IOException {
+    final InMemoryEdmMetadataCache cache = new InMemoryEdmMetadataCache();
+    // the snapshot cannot even be parsed, which must not matter as the service sends a new document
+    cache.put(serviceRoot, new EdmMetadataCache.Entry("W/\"0\"", "<outdated/>".getBytes("UTF-8"), null));
+    assertFalse(client(cache).getCachedEdm().getSchemas().isEmpty());
+    assertEquals(1, downloads.get());
+    assertEquals(0, notModified.get());
+  }
+
+  @Test
+  public void persistedSnapshot() throws IOException {
+    final File directory = new File(System.getProperty("java.io.tmpdir"), "olingo-metadata-" + System.nanoTime());
+    try {
+      client(new FileEdmMetadataCache(directory, new InMemoryEdmMetadataCache())).getCachedEdm();
+      assertEquals(1, downloads.get());
+      assertEquals(1, directory.list().length);
+
+      // a new in-memory cache simulates a JVM restart
+      final Edm edm = client(new FileEdmMetadataCache(directory, new InMemoryEdmMetadataCache())).getCachedEdm();
+      assertFalse(edm.getSchemas().isEmpty());
+      assertEquals(1, downloads.get());
+      assertEquals(1, notModified.get());
+    } finally {
+      FileUtils.deleteQuietly(directory);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.client.core.v4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import org.apache.olingo.client.api.domain.ODataEntitySetIterator;
+import org.apache.olingo.client.api.domain.ODataPagedEntitySetIterator;
+import org.apache.olingo.client.api.v4.ODataClient;
+import org.apache.olingo.client.core.AbstractTest;
+import org.apache.olingo.commons.api.domain.v4.ODataEntity;
+import org.apache.olingo.commons.api.domain.v4.ODataEntitySet;
+import org.apache.olingo.commons.api.format.ODataFormat;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class EntitySetIteratorTest extends AbstractTest {
+
+  @Override
+  protected ODataClient getClient() {
+    return v4Client;
+  }
+
+  private ODataEntitySetIterator<ODataEntitySet, ODataEntity> iterator(final InputStream input,
+      final ODataFormat format) {
+    return new ODataEntitySetIterator<ODataEntitySet, ODataEntity>(getClient(), input, format);
+  }
+
+  private void read(final ODataFormat format) {
+    final ODataEntitySetIterator<ODataEntitySet, ODataEntity> iterator =
+        iterator(getClass().getResourceAsStream("Customers." + getSuffix(format)), format);
+    int count = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      count++;
+    }
+    assertEquals(2, count);
+    assertNull(iterator.getNext());
+  }
+
+  @Test
+  public void fromAtom() {
+    read(ODataFormat.ATOM);
+  }
+
+  @Test
+  public void fromJSON() {
+    read(ODataFormat.JSON);
+  }
+
+  @Test
+  public void bracesInsideStrings() throws Exception {
+    final String payload = "{\"@odata.context\":\"http://host/service/$metadata#People\","
+        + "\"value\":[{\"Name\":\"}{ ]\"},{\"Name\":\"{\\\"}\"}],"
+        + "\"@odata.nextLink\":\"http://host/service/People?$skiptoken=2\"}";
+    final ODataEntitySetIterator<ODataEntitySet, ODataEntity> iterator =
+        iterator(new ByteArrayInputStream(payload.getBytes("UTF-8")), ODataFormat.JSON);
+
+    assertEquals("}{ ]", iterator.next().getProperty("Name").getPrimitiveValue().toString());
+    assertEquals("{\"}", iterator.next().getProperty("Name").getPrimitiveValue().toString());
+    assertFalse(iterator.hasNext());
+    assertEquals(URI.create("http://host/service/People?$skiptoken=2"), iterator.getNext());
+  }
+
+  @Test
+  public void atomEntriesInheritFeedBase() throws Exception {
+    final String payload = "<feed xmlns=\"http://www.w3.org/2005/Atom\""
+        + " xmlns:m=\"http://docs.oasis-open.org/odata/ns/metadata\""
+        + " xmlns:d=\"http://docs.oasis-open.org/odata/ns/data\" xml:base=\"http://host/service/\">"
+        + "<id>http://host/service/People</id>"
+        + "<entry><id>http://host/service/People(1)</id><link rel=\"edit\" href=\"People(1)\"/>"
+        + "<content type=\"application/xml\"><m:properties><d:ID m:type=\"Int32\">1</d:ID></m:properties>"
+        + "</content></entry></feed>";
+    final ODataEntitySetIterator<ODataEntitySet, ODataEntity> iterator =
+        iterator(new ByteArrayInputStream(payload.getBytes("UTF-8")), ODataFormat.ATOM);
+
+    assertEquals(URI.create("http://host/service/People(1)"), iterator.next().getEditLink());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void jsonEntriesResolveAgainstContext() throws Exception {
+    final String payload = "{\"@odata.context\":\"http://host/service/$metadata#People\","
+        + "\"value\":[{\"@odata.editLink\":\"People(1)\",\"ID\":1}]}";
+    final ODataEntitySetIterator<ODataEntitySet, ODataEntity> iterator =
+        iterator(new ByteArrayInputStream(payload.getBytes("UTF-8")), ODataFormat.JSON);
+
+    assertEquals(URI.create("http://host/service/People(1)"), iterator.next().getEditLink());
+    assertFalse(iterator.hasNext());
+  }
+
+  private HttpServer pagingServer(final int pages) throws IOException {
+    final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/People", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final String query = exchange.getRequestURI().getQuery();
+        final int page = query == null ? 0 : Integer.parseInt(query.substring(query.indexOf('=') + 1));
+        final StringBuilder body = new StringBuilder("{\"value\":[{\"ID\":").append(2 * page)
+            .append("},{\"ID\":").append(2 * page + 1).append("}]");
+        if (page + 1 < pages) {
+          body.append(",\"@odata.nextLink\":\"http://localhost:").append(exchange.getLocalAddress().getPort())
+              .append("/People?$skiptoken=").append(page + 1).append('"');
+        }
+        body.append('}');
+
+        final byte[] bytes = body.toString().getBytes("UTF-8");
+        exchange.getResponseHeaders().set("Content-Type", "application/json;odata.metadata=minimal");
+        exchange.sendResponseHeaders(200, bytes.length);
+        final OutputStream output = exchange.getResponseBody();
+        output.write(bytes);
+        output.close();
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  private void paged(final int prefetchSize) throws Exception {
+    final HttpServer server = pagingServer(3);
+    try {
+      final URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/People");
+      final ODataPagedEntitySetIterator<ODataEntitySet, ODataEntity> iterator =
+          new ODataPagedEntitySetIterator<ODataEntitySet, ODataEntity>(getClient(),
+              getClient().getRetrieveRequestFactory().getEntitySetIteratorRequest(uri).execute().getBody(),
+              prefetchSize);
+      int expected = 0;
+      while (iterator.hasNext()) {
+        assertEquals(expected, iterator.next().getProperty("ID").getPrimitiveValue().toCastValue(Integer.class)
+            .intValue());
+        expected++;
+      }
+      assertEquals(6, expected);
+      iterator.close();
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void followsNextLinks() throws Exception {
+    paged(0);
+  }
+
+  @Test
+  public void followsNextLinksWithPrefetch() throws Exception {
+    paged(1);
+  }
+}
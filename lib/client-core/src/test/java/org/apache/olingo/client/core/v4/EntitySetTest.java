@@ -28,6 +28,7 @@ import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.api.serialization.ODataDeserializerException;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -92,4 +93,23 @@ public class EntitySetTest extends AbstractTest {
   public void jsonRef() throws Exception {
     ref(ODataFormat.JSON);
   }
+
+  @Test
+  public void jsonControlInformationAfterValue() throws Exception {
+    final String payload = "{\"value\":[{\"ID\":1},{\"ID\":2}],"
+        + "\"@odata.context\":\"http://host/service/$metadata#People\","
+        + "\"@odata.count\":5,"
+        + "\"@odata.nextLink\":\"http://host/service/People?$skiptoken=2\","
+        + "\"@custom.note\":\"text\"}";
+    final ResWrap<EntitySet> entitySet = getClient().getDeserializer(ODataFormat.JSON).toEntitySet(
+        new ByteArrayInputStream(payload.getBytes("UTF-8")));
+    assertNotNull(entitySet);
+
+    assertEquals(URI.create("http://host/service/$metadata#People"), entitySet.getContextURL());
+    assertEquals(2, entitySet.getPayload().getEntities().size());
+    assertEquals(Integer.valueOf(5), entitySet.getPayload().getCount());
+    assertEquals(URI.create("http://host/service/People?$skiptoken=2"), entitySet.getPayload().getNext());
+    assertEquals(1, entitySet.getPayload().getAnnotations().size());
+    assertEquals("custom.note", entitySet.getPayload().getAnnotations().get(0).getTerm());
+  }
 }
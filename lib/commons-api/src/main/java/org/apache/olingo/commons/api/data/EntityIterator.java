@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.api.data;
+
+import java.net.URI;
+import java.util.Iterator;
+
+/**
+ * Data representation for a collection of entities which are provided one at a time,
+ * e.g., read from a database cursor, instead of being held completely in memory
+ * as in an {@link EntitySet}.
+ */
+public abstract class EntityIterator implements Iterator<Entity> {
+
+  @Override
+  public abstract boolean hasNext();
+
+  @Override
+  public abstract Entity next();
+
+  /**
+   * Not supported.
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Entities can not be removed from an EntityIterator.");
+  }
+
+  /**
+   * Gets the number of entities - if it was required.
+   * It is requested before the first entity is read.
+   * @return number of entities or <code>null</code> if not known
+   */
+  public Integer getCount() {
+    return null;
+  }
+
+  /**
+   * Gets the next link if it exists.
+   * It is requested only after all entities have been read.
+   * @return next link or <code>null</code>
+   */
+  public URI getNext() {
+    return null;
+  }
+
+  /**
+   * Gets the context URL of the collection if it is known, e.g., from a deserialized payload.
+   * It is available at the latest after the first entity has been read.
+   * @return context URL or <code>null</code>
+   */
+  public URI getContextURL() {
+    return null;
+  }
+
+  /**
+   * Gets the metadata ETag of the collection if it is known.
+   * It is available at the latest after the first entity has been read.
+   * @return metadata ETag or <code>null</code>
+   */
+  public String getMetadataETag() {
+    return null;
+  }
+}
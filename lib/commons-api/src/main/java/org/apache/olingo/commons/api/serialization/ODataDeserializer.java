@@ -19,6 +19,7 @@
 package org.apache.olingo.commons.api.serialization;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ResWrap;
@@ -39,6 +40,16 @@ public interface ODataDeserializer {
    */
   ResWrap<EntitySet> toEntitySet(InputStream input) throws ODataDeserializerException;
 
+  /**
+   * Gets an iterator reading the entities of an entity set one at a time from the given InputStream.
+   * <br/>
+   * Entity set information following the entities, like the next link, is available once all entities have been read.
+   *
+   * @param input stream to be de-serialized.
+   * @return {@link EntityIterator} instance.
+   */
+  EntityIterator toEntityIterator(InputStream input) throws ODataDeserializerException;
+
   /**
    * Gets an entity object from the given InputStream.
    * 
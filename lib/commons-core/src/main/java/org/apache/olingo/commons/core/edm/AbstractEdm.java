@@ -20,14 +20,22 @@ package org.apache.olingo.commons.core.edm;
 
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmAction;
+import org.apache.olingo.commons.api.edm.EdmActionImport;
 import org.apache.olingo.commons.api.edm.EdmAnnotation;
 import org.apache.olingo.commons.api.edm.EdmAnnotations;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntityContainer;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmFunction;
+import org.apache.olingo.commons.api.edm.EdmFunctionImport;
+import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmOperation;
 import org.apache.olingo.commons.api.edm.EdmSchema;
+import org.apache.olingo.commons.api.edm.EdmSingleton;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
 import org.apache.olingo.commons.api.edm.EdmTerm;
 import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
@@ -37,45 +45,63 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Base class for Entity Data Model implementations.
+ * Created elements are cached in concurrent maps so that one instance can be shared between threads;
+ * see {@link #preload()} for resolving the complete model in advance.
+ */
 public abstract class AbstractEdm implements Edm {
 
-  protected Map<String, EdmSchema> schemas;
+  protected volatile Map<String, EdmSchema> schemas;
+
+  protected volatile List<EdmSchema> schemaList;
 
-  protected List<EdmSchema> schemaList;
+  private final ConcurrentMap<FullQualifiedName, EdmEntityContainer> entityContainers =
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityContainer>();
 
-  private final Map<FullQualifiedName, EdmEntityContainer> entityContainers =
-      new HashMap<FullQualifiedName, EdmEntityContainer>();
+  private final ConcurrentMap<FullQualifiedName, EdmEnumType> enumTypes =
+      new ConcurrentHashMap<FullQualifiedName, EdmEnumType>();
 
-  private final Map<FullQualifiedName, EdmEnumType> enumTypes = new HashMap<FullQualifiedName, EdmEnumType>();
+  private final ConcurrentMap<FullQualifiedName, EdmTypeDefinition> typeDefinitions =
+      new ConcurrentHashMap<FullQualifiedName, EdmTypeDefinition>();
 
-  private final Map<FullQualifiedName, EdmTypeDefinition> typeDefinitions =
-      new HashMap<FullQualifiedName, EdmTypeDefinition>();
+  private final ConcurrentMap<FullQualifiedName, EdmEntityType> entityTypes =
+      new ConcurrentHashMap<FullQualifiedName, EdmEntityType>();
 
-  private final Map<FullQualifiedName, EdmEntityType> entityTypes = new HashMap<FullQualifiedName, EdmEntityType>();
+  private final ConcurrentMap<FullQualifiedName, EdmComplexType> complexTypes =
+      new ConcurrentHashMap<FullQualifiedName, EdmComplexType>();
 
-  private final Map<FullQualifiedName, EdmComplexType> complexTypes = new HashMap<FullQualifiedName, EdmComplexType>();
+  private final ConcurrentMap<FullQualifiedName, EdmAction> unboundActions =
+      new ConcurrentHashMap<FullQualifiedName, EdmAction>();
 
-  private final Map<FullQualifiedName, EdmAction> unboundActions = new HashMap<FullQualifiedName, EdmAction>();
+  private final ConcurrentMap<FullQualifiedName, List<EdmFunction>> unboundFunctionsByName =
+      new ConcurrentHashMap<FullQualifiedName, List<EdmFunction>>();
 
-  private final Map<FullQualifiedName, List<EdmFunction>> unboundFunctionsByName =
-      new HashMap<FullQualifiedName, List<EdmFunction>>();
+  private final ConcurrentMap<FunctionMapKey, EdmFunction> unboundFunctionsByKey =
+      new ConcurrentHashMap<FunctionMapKey, EdmFunction>();
 
-  private final Map<FunctionMapKey, EdmFunction> unboundFunctionsByKey = new HashMap<FunctionMapKey, EdmFunction>();
+  private final ConcurrentMap<ActionMapKey, EdmAction> boundActions =
+      new ConcurrentHashMap<ActionMapKey, EdmAction>();
 
-  private final Map<ActionMapKey, EdmAction> boundActions = new HashMap<ActionMapKey, EdmAction>();
+  private final ConcurrentMap<FunctionMapKey, EdmFunction> boundFunctions =
+      new ConcurrentHashMap<FunctionMapKey, EdmFunction>();
 
-  private final Map<FunctionMapKey, EdmFunction> boundFunctions = new HashMap<FunctionMapKey, EdmFunction>();
+  private final ConcurrentMap<FullQualifiedName, EdmTerm> terms =
+      new ConcurrentHashMap<FullQualifiedName, EdmTerm>();
 
-  private final Map<FullQualifiedName, EdmTerm> terms = new HashMap<FullQualifiedName, EdmTerm>();
+  private final ConcurrentMap<FullQualifiedName, EdmAnnotations> annotationGroups =
+      new ConcurrentHashMap<FullQualifiedName, EdmAnnotations>();
 
-  private final Map<FullQualifiedName, EdmAnnotations> annotationGroups =
-      new HashMap<FullQualifiedName, EdmAnnotations>();
+  private final ConcurrentMap<FullQualifiedName, List<EdmAnnotation>> annotations =
+      new ConcurrentHashMap<FullQualifiedName, List<EdmAnnotation>>();
 
-  private final Map<FullQualifiedName, List<EdmAnnotation>> annotations =
-      new HashMap<FullQualifiedName, List<EdmAnnotation>>();
+  /** The default entity container; kept separately because concurrent maps do not allow <code>null</code> keys. */
+  private volatile EdmEntityContainer defaultEntityContainer;
 
-  private Map<String, String> aliasToNamespaceInfo;
+  private volatile Map<String, String> aliasToNamespaceInfo;
 
   @Override
   public List<EdmSchema> getSchemas() {
@@ -89,10 +115,7 @@ public abstract class AbstractEdm implements Edm {
 
     EdmSchema schema = schemas.get(namespace);
     if (schema == null) {
-      if (aliasToNamespaceInfo == null) {
-        aliasToNamespaceInfo = createAliasToNamespaceInfo();
-      }
-      schema = schemas.get(aliasToNamespaceInfo.get(namespace));
+      schema = schemas.get(getAliasToNamespaceInfo().get(namespace));
     }
 
     return schema;
@@ -100,102 +123,206 @@ public abstract class AbstractEdm implements Edm {
 
   private void initSchemas() {
     if (schemas == null) {
-      schemas = createSchemas();
-      if (schemas != null) {
-        schemaList = Collections.unmodifiableList(new ArrayList<EdmSchema>(schemas.values()));
-        aliasToNamespaceInfo = new HashMap<String, String>();
-        for (EdmSchema schema : schemas.values()) {
-          final String namespace = schema.getNamespace();
-
-          if (schema.getAlias() != null) {
-            aliasToNamespaceInfo.put(schema.getAlias(), namespace);
-          }
+      synchronized (this) {
+        if (schemas == null) {
+          loadSchemas();
+        }
+      }
+    }
+  }
 
-          final List<EdmEnumType> localEnumTypes = schema.getEnumTypes();
-          if (localEnumTypes != null) {
-            for (EdmEnumType enumType : localEnumTypes) {
-              enumTypes.put(new FullQualifiedName(namespace, enumType.getName()), enumType);
-            }
+  private void loadSchemas() {
+    final Map<String, EdmSchema> localSchemas = createSchemas();
+    if (localSchemas != null) {
+      final Map<String, String> localAliasToNamespaceInfo = new HashMap<String, String>();
+      final Map<FullQualifiedName, List<EdmFunction>> localUnboundFunctionsByName =
+          new HashMap<FullQualifiedName, List<EdmFunction>>();
+      for (EdmSchema schema : localSchemas.values()) {
+        final String namespace = schema.getNamespace();
+
+        if (schema.getAlias() != null) {
+          localAliasToNamespaceInfo.put(schema.getAlias(), namespace);
+        }
+
+        final List<EdmEnumType> localEnumTypes = schema.getEnumTypes();
+        if (localEnumTypes != null) {
+          for (EdmEnumType enumType : localEnumTypes) {
+            enumTypes.put(new FullQualifiedName(namespace, enumType.getName()), enumType);
           }
+        }
 
-          final List<EdmTypeDefinition> localTypeDefinitions = schema.getTypeDefinitions();
-          if (localTypeDefinitions != null) {
-            for (EdmTypeDefinition typeDef : localTypeDefinitions) {
-              typeDefinitions.put(new FullQualifiedName(namespace, typeDef.getName()), typeDef);
-            }
+        final List<EdmTypeDefinition> localTypeDefinitions = schema.getTypeDefinitions();
+        if (localTypeDefinitions != null) {
+          for (EdmTypeDefinition typeDef : localTypeDefinitions) {
+            typeDefinitions.put(new FullQualifiedName(namespace, typeDef.getName()), typeDef);
           }
+        }
 
-          final List<EdmComplexType> localComplexTypes = schema.getComplexTypes();
-          if (localComplexTypes != null) {
-            for (EdmComplexType complexType : localComplexTypes) {
-              complexTypes.put(new FullQualifiedName(namespace, complexType.getName()), complexType);
-            }
+        final List<EdmComplexType> localComplexTypes = schema.getComplexTypes();
+        if (localComplexTypes != null) {
+          for (EdmComplexType complexType : localComplexTypes) {
+            complexTypes.put(new FullQualifiedName(namespace, complexType.getName()), complexType);
           }
+        }
 
-          List<EdmEntityType> localEntityTypes = schema.getEntityTypes();
-          if (localEntityTypes != null) {
-            for (EdmEntityType entityType : localEntityTypes) {
-              entityTypes.put(new FullQualifiedName(namespace, entityType.getName()), entityType);
-            }
+        List<EdmEntityType> localEntityTypes = schema.getEntityTypes();
+        if (localEntityTypes != null) {
+          for (EdmEntityType entityType : localEntityTypes) {
+            entityTypes.put(new FullQualifiedName(namespace, entityType.getName()), entityType);
           }
+        }
 
-          final List<EdmAction> localActions = schema.getActions();
-          if (localActions != null) {
-            for (EdmAction action : localActions) {
-              final FullQualifiedName name = new FullQualifiedName(namespace, action.getName());
-              if (action.isBound()) {
-                final ActionMapKey key = new ActionMapKey(name,
-                    action.getBindingParameterTypeFqn(), action.isBindingParameterTypeCollection());
-                boundActions.put(key, action);
-              } else {
-                unboundActions.put(name, action);
-              }
+        final List<EdmAction> localActions = schema.getActions();
+        if (localActions != null) {
+          for (EdmAction action : localActions) {
+            final FullQualifiedName name = new FullQualifiedName(namespace, action.getName());
+            if (action.isBound()) {
+              final ActionMapKey key = new ActionMapKey(name,
+                  action.getBindingParameterTypeFqn(), action.isBindingParameterTypeCollection());
+              boundActions.put(key, action);
+            } else {
+              unboundActions.put(name, action);
             }
           }
+        }
 
-          final List<EdmFunction> localFunctions = schema.getFunctions();
-          if (localFunctions != null) {
-            for (EdmFunction function : localFunctions) {
-              final FullQualifiedName name = new FullQualifiedName(namespace, function.getName());
-              final FunctionMapKey key = new FunctionMapKey(name,
-                  function.getBindingParameterTypeFqn(), function.isBindingParameterTypeCollection(),
-                  function.getParameterNames());
-
-              if (function.isBound()) {
-                boundFunctions.put(key, function);
-              } else {
-                if (!unboundFunctionsByName.containsKey(name)) {
-                  unboundFunctionsByName.put(name, new ArrayList<EdmFunction>());
-                }
-                unboundFunctionsByName.get(name).add(function);
-
-                unboundFunctionsByKey.put(key, function);
+        final List<EdmFunction> localFunctions = schema.getFunctions();
+        if (localFunctions != null) {
+          for (EdmFunction function : localFunctions) {
+            final FullQualifiedName name = new FullQualifiedName(namespace, function.getName());
+            final FunctionMapKey key = new FunctionMapKey(name,
+                function.getBindingParameterTypeFqn(), function.isBindingParameterTypeCollection(),
+                function.getParameterNames());
+
+            if (function.isBound()) {
+              boundFunctions.put(key, function);
+            } else {
+              if (!localUnboundFunctionsByName.containsKey(name)) {
+                localUnboundFunctionsByName.put(name, new ArrayList<EdmFunction>());
               }
+              localUnboundFunctionsByName.get(name).add(function);
+
+              unboundFunctionsByKey.put(key, function);
             }
           }
+        }
 
-          final EdmEntityContainer entityContainer = schema.getEntityContainer();
-          if (entityContainer != null) {
-            entityContainers.put(new FullQualifiedName(namespace, entityContainer.getName()), entityContainer);
-            if (!entityContainers.containsKey(null)) {
-              entityContainers.put(null, entityContainer);
-            }
+        final EdmEntityContainer entityContainer = schema.getEntityContainer();
+        if (entityContainer != null) {
+          entityContainers.put(new FullQualifiedName(namespace, entityContainer.getName()), entityContainer);
+          if (defaultEntityContainer == null) {
+            defaultEntityContainer = entityContainer;
           }
         }
       }
+      unboundFunctionsByName.putAll(localUnboundFunctionsByName);
+      aliasToNamespaceInfo = localAliasToNamespaceInfo;
+      schemaList = Collections.unmodifiableList(new ArrayList<EdmSchema>(localSchemas.values()));
+    }
+    schemas = localSchemas;
+  }
+
+  /**
+   * Resolves the complete Entity Data Model at once, i.e., all schemas with their types, operations,
+   * and entity containers including the lazily computed details of all these elements.
+   * Afterwards no more requests to the underlying metadata source are necessary
+   * and all lookups are pure reads.
+   */
+  public void preload() {
+    final List<EdmSchema> localSchemas = getSchemas();
+    if (localSchemas != null) {
+      for (final EdmSchema schema : localSchemas) {
+        preloadSchema(schema);
+      }
+    }
+  }
+
+  private void preloadSchema(final EdmSchema schema) {
+    if (schema.getEnumTypes() != null) {
+      for (final EdmEnumType enumType : schema.getEnumTypes()) {
+        enumType.getMemberNames();
+      }
+    }
+    if (schema.getTypeDefinitions() != null) {
+      for (final EdmTypeDefinition typeDefinition : schema.getTypeDefinitions()) {
+        typeDefinition.getUnderlyingType();
+      }
+    }
+    if (schema.getComplexTypes() != null) {
+      for (final EdmComplexType complexType : schema.getComplexTypes()) {
+        preloadStructuredType(complexType);
+      }
+    }
+    if (schema.getEntityTypes() != null) {
+      for (final EdmEntityType entityType : schema.getEntityTypes()) {
+        preloadStructuredType(entityType);
+        entityType.getKeyPredicateNames();
+        for (final EdmKeyPropertyRef keyPropertyRef : entityType.getKeyPropertyRefs()) {
+          keyPropertyRef.getProperty();
+        }
+      }
+    }
+    if (schema.getActions() != null) {
+      for (final EdmAction action : schema.getActions()) {
+        preloadOperation(action);
+      }
+    }
+    if (schema.getFunctions() != null) {
+      for (final EdmFunction function : schema.getFunctions()) {
+        preloadOperation(function);
+      }
+    }
+    final EdmEntityContainer entityContainer = schema.getEntityContainer();
+    if (entityContainer != null) {
+      for (final EdmEntitySet entitySet : entityContainer.getEntitySets()) {
+        entitySet.getEntityType();
+      }
+      for (final EdmSingleton singleton : entityContainer.getSingletons()) {
+        singleton.getEntityType();
+      }
+      for (final EdmActionImport actionImport : entityContainer.getActionImports()) {
+        actionImport.getUnboundAction();
+      }
+      for (final EdmFunctionImport functionImport : entityContainer.getFunctionImports()) {
+        functionImport.getUnboundFunctions();
+      }
+    }
+  }
+
+  private void preloadStructuredType(final EdmStructuredType type) {
+    type.getBaseType();
+    for (final String propertyName : type.getPropertyNames()) {
+      type.getStructuralProperty(propertyName).getType();
+    }
+    for (final String propertyName : type.getNavigationPropertyNames()) {
+      final EdmNavigationProperty navigationProperty = type.getNavigationProperty(propertyName);
+      navigationProperty.getType();
+      navigationProperty.getPartner();
+    }
+  }
+
+  private void preloadOperation(final EdmOperation operation) {
+    for (final String parameterName : operation.getParameterNames()) {
+      operation.getParameter(parameterName).getType();
+    }
+    if (operation.getReturnType() != null) {
+      operation.getReturnType().getType();
     }
   }
 
   @Override
   public EdmEntityContainer getEntityContainer(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
-    EdmEntityContainer container = entityContainers.get(fqn);
+    EdmEntityContainer container = fqn == null ? defaultEntityContainer : entityContainers.get(fqn);
     if (container == null) {
       container = createEntityContainer(fqn);
       if (container != null) {
-        entityContainers.put(fqn, container);
         if (fqn == null) {
-          entityContainers.put(new FullQualifiedName(container.getNamespace(), container.getName()), container);
+          container = cache(entityContainers,
+              new FullQualifiedName(container.getNamespace(), container.getName()), container);
+          defaultEntityContainer = container;
+        } else {
+          container = cache(entityContainers, fqn, container);
         }
       }
     }
@@ -205,11 +332,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEnumType getEnumType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
+    if (fqn == null) {
+      return null;
+    }
     EdmEnumType enumType = enumTypes.get(fqn);
     if (enumType == null) {
       enumType = createEnumType(fqn);
       if (enumType != null) {
-        enumTypes.put(fqn, enumType);
+        enumType = cache(enumTypes, fqn, enumType);
       }
     }
     return enumType;
@@ -218,11 +348,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmTypeDefinition getTypeDefinition(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
+    if (fqn == null) {
+      return null;
+    }
     EdmTypeDefinition typeDefinition = typeDefinitions.get(fqn);
     if (typeDefinition == null) {
       typeDefinition = createTypeDefinition(fqn);
       if (typeDefinition != null) {
-        typeDefinitions.put(fqn, typeDefinition);
+        typeDefinition = cache(typeDefinitions, fqn, typeDefinition);
       }
     }
     return typeDefinition;
@@ -231,11 +364,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmEntityType getEntityType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
+    if (fqn == null) {
+      return null;
+    }
     EdmEntityType entityType = entityTypes.get(fqn);
     if (entityType == null) {
       entityType = createEntityType(fqn);
       if (entityType != null) {
-        entityTypes.put(fqn, entityType);
+        entityType = cache(entityTypes, fqn, entityType);
       }
     }
     return entityType;
@@ -244,11 +380,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmComplexType getComplexType(final FullQualifiedName namespaceOrAliasFQN) {
     final FullQualifiedName fqn = resolvePossibleAlias(namespaceOrAliasFQN);
+    if (fqn == null) {
+      return null;
+    }
     EdmComplexType complexType = complexTypes.get(fqn);
     if (complexType == null) {
       complexType = createComplexType(fqn);
       if (complexType != null) {
-        complexTypes.put(fqn, complexType);
+        complexType = cache(complexTypes, fqn, complexType);
       }
     }
     return complexType;
@@ -256,11 +395,14 @@ public abstract class AbstractEdm implements Edm {
 
   @Override
   public EdmAction getUnboundAction(final FullQualifiedName actionName) {
+    if (actionName == null) {
+      return null;
+    }
     EdmAction action = unboundActions.get(actionName);
     if (action == null) {
       action = createUnboundAction(resolvePossibleAlias(actionName));
       if (action != null) {
-        unboundActions.put(actionName, action);
+        action = cache(unboundActions, actionName, action);
       }
     }
 
@@ -278,7 +420,7 @@ public abstract class AbstractEdm implements Edm {
     if (action == null) {
       action = createBoundAction(actionFqn, bindingParameterTypeFqn, isBindingParameterCollection);
       if (action != null) {
-        boundActions.put(key, action);
+        action = cache(boundActions, key, action);
       }
     }
 
@@ -288,12 +430,15 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public List<EdmFunction> getUnboundFunctions(final FullQualifiedName functionName) {
     final FullQualifiedName functionFqn = resolvePossibleAlias(functionName);
+    if (functionFqn == null) {
+      return null;
+    }
 
     List<EdmFunction> functions = unboundFunctionsByName.get(functionFqn);
     if (functions == null) {
       functions = createUnboundFunctions(functionFqn);
       if (functions != null) {
-        unboundFunctionsByName.put(functionFqn, functions);
+        functions = cache(unboundFunctionsByName, functionFqn, functions);
 
         for (EdmFunction unbound : functions) {
           final FunctionMapKey key = new FunctionMapKey(
@@ -301,7 +446,7 @@ public abstract class AbstractEdm implements Edm {
               unbound.getBindingParameterTypeFqn(),
               unbound.isBindingParameterTypeCollection(),
               unbound.getParameterNames());
-          unboundFunctionsByKey.put(key, unbound);
+          unboundFunctionsByKey.putIfAbsent(key, unbound);
         }
       }
     }
@@ -318,7 +463,7 @@ public abstract class AbstractEdm implements Edm {
     if (function == null) {
       function = createUnboundFunction(functionFqn, parameterNames);
       if (function != null) {
-        unboundFunctionsByKey.put(key, function);
+        function = cache(unboundFunctionsByKey, key, function);
       }
     }
 
@@ -339,7 +484,7 @@ public abstract class AbstractEdm implements Edm {
       function = createBoundFunction(functionFqn, bindingParameterTypeFqn, isBindingParameterCollection,
           parameterNames);
       if (function != null) {
-        boundFunctions.put(key, function);
+        function = cache(boundFunctions, key, function);
       }
     }
 
@@ -349,11 +494,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public EdmTerm getTerm(final FullQualifiedName termName) {
     final FullQualifiedName fqn = resolvePossibleAlias(termName);
+    if (fqn == null) {
+      return null;
+    }
     EdmTerm term = terms.get(fqn);
     if (term == null) {
       term = createTerm(fqn);
       if (term != null) {
-        terms.put(fqn, term);
+        term = cache(terms, fqn, term);
       }
     }
     return term;
@@ -361,11 +509,14 @@ public abstract class AbstractEdm implements Edm {
 
   @Override
   public EdmAnnotations getAnnotationGroup(final FullQualifiedName targetName) {
+    if (targetName == null) {
+      return null;
+    }
     EdmAnnotations _annotations = annotationGroups.get(targetName);
     if (_annotations == null) {
       _annotations = createAnnotationGroup(targetName);
       if (_annotations != null) {
-        annotationGroups.put(targetName, _annotations);
+        _annotations = cache(annotationGroups, targetName, _annotations);
       }
     }
     return _annotations;
@@ -374,11 +525,14 @@ public abstract class AbstractEdm implements Edm {
   @Override
   public List<EdmAnnotation> getAnnotations(final FullQualifiedName annotatableName) {
     final FullQualifiedName fqn = resolvePossibleAlias(annotatableName);
+    if (fqn == null) {
+      return null;
+    }
     List<EdmAnnotation> _annotations = annotations.get(fqn);
     if (_annotations == null) {
       _annotations = createAnnotations(fqn);
       if (_annotations != null) {
-        annotations.put(fqn, _annotations);
+        _annotations = cache(annotations, fqn, _annotations);
       }
     }
     return _annotations;
@@ -398,13 +552,29 @@ public abstract class AbstractEdm implements Edm {
     return result;
   }
 
-  private FullQualifiedName resolvePossibleAlias(final FullQualifiedName namespaceOrAliasFQN) {
-    if (aliasToNamespaceInfo == null) {
-      aliasToNamespaceInfo = createAliasToNamespaceInfo();
+  /**
+   * Puts a newly created element into the cache unless another thread has been faster;
+   * in that case the element of the other thread is returned so that there is only one instance.
+   */
+  private static <K, V> V cache(final ConcurrentMap<K, V> map, final K key, final V value) {
+    final V previous = map.putIfAbsent(key, value);
+    return previous == null ? value : previous;
+  }
+
+  private Map<String, String> getAliasToNamespaceInfo() {
+    Map<String, String> info = aliasToNamespaceInfo;
+    if (info == null) {
+      info = createAliasToNamespaceInfo();
+      aliasToNamespaceInfo = info;
     }
+    return info;
+  }
+
+  private FullQualifiedName resolvePossibleAlias(final FullQualifiedName namespaceOrAliasFQN) {
+    final Map<String, String> info = getAliasToNamespaceInfo();
     FullQualifiedName finalFQN = null;
     if (namespaceOrAliasFQN != null) {
-      final String namespace = aliasToNamespaceInfo.get(namespaceOrAliasFQN.getNamespace());
+      final String namespace = info.get(namespaceOrAliasFQN.getNamespace());
       // If not contained in info it must be a namespace
       if (namespace == null) {
         finalFQN = namespaceOrAliasFQN;
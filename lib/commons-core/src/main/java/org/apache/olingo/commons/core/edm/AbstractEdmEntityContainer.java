@@ -27,31 +27,35 @@ import org.apache.olingo.commons.api.edm.EdmSingleton;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class AbstractEdmEntityContainer extends EdmNamedImpl implements EdmEntityContainer {
 
   protected final FullQualifiedName entityContainerName;
 
-  protected final Map<String, EdmSingleton> singletons = new HashMap<String, EdmSingleton>();
+  protected final ConcurrentMap<String, EdmSingleton> singletons =
+      new ConcurrentHashMap<String, EdmSingleton>();
 
-  private boolean allSingletonsLoaded = false;
+  private volatile boolean allSingletonsLoaded = false;
 
-  protected final Map<String, EdmEntitySet> entitySets = new HashMap<String, EdmEntitySet>();
+  protected final ConcurrentMap<String, EdmEntitySet> entitySets =
+      new ConcurrentHashMap<String, EdmEntitySet>();
 
-  private boolean allEntitySetsLoaded = false;
+  private volatile boolean allEntitySetsLoaded = false;
 
-  protected final Map<String, EdmActionImport> actionImports = new HashMap<String, EdmActionImport>();
+  protected final ConcurrentMap<String, EdmActionImport> actionImports =
+      new ConcurrentHashMap<String, EdmActionImport>();
 
   private final FullQualifiedName parentContainerName;
 
-  private boolean allActionImportsLoaded = false;
+  private volatile boolean allActionImportsLoaded = false;
 
-  protected final Map<String, EdmFunctionImport> functionImports = new HashMap<String, EdmFunctionImport>();
+  protected final ConcurrentMap<String, EdmFunctionImport> functionImports =
+      new ConcurrentHashMap<String, EdmFunctionImport>();
 
-  private boolean allFunctionImportsLoaded = false;
+  private volatile boolean allFunctionImportsLoaded = false;
 
   public AbstractEdmEntityContainer(final Edm edm, final FullQualifiedName entityContainerName,
       final FullQualifiedName parentContainerName) {
@@ -79,11 +83,17 @@ public abstract class AbstractEdmEntityContainer extends EdmNamedImpl implements
 
   @Override
   public EdmSingleton getSingleton(final String singletonName) {
+    if (singletonName == null) {
+      return createSingleton(null);
+    }
     EdmSingleton singleton = singletons.get(singletonName);
     if (singleton == null) {
       singleton = createSingleton(singletonName);
       if (singleton != null) {
-        singletons.put(singletonName, singleton);
+        final EdmSingleton previous = singletons.putIfAbsent(singletonName, singleton);
+        if (previous != null) {
+          singleton = previous;
+        }
       }
     }
     return singleton;
@@ -93,11 +103,17 @@ public abstract class AbstractEdmEntityContainer extends EdmNamedImpl implements
 
   @Override
   public EdmEntitySet getEntitySet(final String entitySetName) {
+    if (entitySetName == null) {
+      return createEntitySet(null);
+    }
     EdmEntitySet entitySet = entitySets.get(entitySetName);
     if (entitySet == null) {
       entitySet = createEntitySet(entitySetName);
       if (entitySet != null) {
-        entitySets.put(entitySetName, entitySet);
+        final EdmEntitySet previous = entitySets.putIfAbsent(entitySetName, entitySet);
+        if (previous != null) {
+          entitySet = previous;
+        }
       }
     }
     return entitySet;
@@ -107,11 +123,17 @@ public abstract class AbstractEdmEntityContainer extends EdmNamedImpl implements
 
   @Override
   public EdmActionImport getActionImport(final String actionImportName) {
+    if (actionImportName == null) {
+      return createActionImport(null);
+    }
     EdmActionImport actionImport = actionImports.get(actionImportName);
     if (actionImport == null) {
       actionImport = createActionImport(actionImportName);
       if (actionImport != null) {
-        actionImports.put(actionImportName, actionImport);
+        final EdmActionImport previous = actionImports.putIfAbsent(actionImportName, actionImport);
+        if (previous != null) {
+          actionImport = previous;
+        }
       }
     }
     return actionImport;
@@ -121,11 +143,17 @@ public abstract class AbstractEdmEntityContainer extends EdmNamedImpl implements
 
   @Override
   public EdmFunctionImport getFunctionImport(final String functionImportName) {
+    if (functionImportName == null) {
+      return createFunctionImport(null);
+    }
     EdmFunctionImport functionImport = functionImports.get(functionImportName);
     if (functionImport == null) {
       functionImport = createFunctionImport(functionImportName);
       if (functionImport != null) {
-        functionImports.put(functionImportName, functionImport);
+        final EdmFunctionImport previous = functionImports.putIfAbsent(functionImportName, functionImport);
+        if (previous != null) {
+          functionImport = previous;
+        }
       }
     }
     return functionImport;
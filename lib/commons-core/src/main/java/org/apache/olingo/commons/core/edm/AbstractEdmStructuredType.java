@@ -34,13 +34,13 @@ import java.util.Map;
 
 public abstract class AbstractEdmStructuredType extends EdmTypeImpl implements EdmStructuredType {
 
-  protected EdmStructuredType baseType;
+  protected volatile EdmStructuredType baseType;
 
   protected FullQualifiedName baseTypeName;
 
-  private List<String> propertyNames;
+  private volatile List<String> propertyNames;
 
-  private List<String> navigationPropertyNames;
+  private volatile List<String> navigationPropertyNames;
 
   public AbstractEdmStructuredType(
       final Edm edm,
@@ -62,28 +62,33 @@ public abstract class AbstractEdmStructuredType extends EdmTypeImpl implements E
 
   @Override
   public List<String> getPropertyNames() {
-    if (propertyNames == null) {
-      propertyNames = new ArrayList<String>();
+    List<String> names = propertyNames;
+    if (names == null) {
+      // The list is published only when complete; concurrent callers at worst build it twice.
+      names = new ArrayList<String>();
       checkBaseType();
       if (baseType != null) {
-        propertyNames.addAll(baseType.getPropertyNames());
+        names.addAll(baseType.getPropertyNames());
       }
-      propertyNames.addAll(getProperties().keySet());
+      names.addAll(getProperties().keySet());
+      propertyNames = names;
     }
-    return propertyNames;
+    return names;
   }
 
   @Override
   public List<String> getNavigationPropertyNames() {
-    if (navigationPropertyNames == null) {
-      navigationPropertyNames = new ArrayList<String>();
+    List<String> names = navigationPropertyNames;
+    if (names == null) {
+      names = new ArrayList<String>();
       checkBaseType();
       if (baseType != null) {
-        navigationPropertyNames.addAll(baseType.getNavigationPropertyNames());
+        names.addAll(baseType.getNavigationPropertyNames());
       }
-      navigationPropertyNames.addAll(getNavigationProperties().keySet());
+      names.addAll(getNavigationProperties().keySet());
+      navigationPropertyNames = names;
     }
-    return navigationPropertyNames;
+    return names;
   }
 
   @Override
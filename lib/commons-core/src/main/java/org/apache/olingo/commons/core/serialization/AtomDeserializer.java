@@ -21,10 +21,12 @@ package org.apache.olingo.commons.core.serialization;
 import com.fasterxml.aalto.stax.InputFactoryImpl;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.commons.api.data.Annotation;
 import org.apache.olingo.commons.api.data.DeletedEntity.Reason;
 import org.apache.olingo.commons.api.data.Delta;
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.LinkedComplexValue;
 import org.apache.olingo.commons.api.data.Property;
@@ -64,6 +66,8 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.text.ParseException;
@@ -71,6 +75,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 public class AtomDeserializer extends AbstractAtomDealer implements ODataDeserializer {
 
@@ -786,57 +791,183 @@ public class AtomDeserializer extends AbstractAtomDealer implements ODataDeseria
     if (!Constants.QNAME_ATOM_ELEM_FEED.equals(start.getName())) {
       return null;
     }
-    final EntitySetImpl entitySet = new EntitySetImpl();
-    final Attribute xmlBase = start.getAttributeByName(Constants.QNAME_ATTR_XML_BASE);
-    if (xmlBase != null) {
-      entitySet.setBaseURI(xmlBase.getValue());
+    final AtomEntityIterator iterator = new AtomEntityIterator(reader, start, null);
+    final List<Entity> entities = new ArrayList<Entity>();
+    for (Entity entity = iterator.readNext(); entity != null; entity = iterator.readNext()) {
+      entities.add(entity);
     }
+    iterator.entitySet.getEntities().addAll(entities);
+    return iterator.entitySet;
+  }
 
-    boolean foundEndFeed = false;
-    while (reader.hasNext() && !foundEndFeed) {
-      final XMLEvent event = reader.nextEvent();
-      if (event.isStartElement()) {
-        if (countQName.equals(event.asStartElement().getName())) {
-          count(reader, event.asStartElement(), entitySet);
-        } else if (Constants.QNAME_ATOM_ELEM_ID.equals(event.asStartElement().getName())) {
-          common(reader, event.asStartElement(), entitySet, "id");
-        } else if (Constants.QNAME_ATOM_ELEM_TITLE.equals(event.asStartElement().getName())) {
-          common(reader, event.asStartElement(), entitySet, "title");
-        } else if (Constants.QNAME_ATOM_ELEM_SUMMARY.equals(event.asStartElement().getName())) {
-          common(reader, event.asStartElement(), entitySet, "summary");
-        } else if (Constants.QNAME_ATOM_ELEM_UPDATED.equals(event.asStartElement().getName())) {
-          common(reader, event.asStartElement(), entitySet, "updated");
-        } else if (Constants.QNAME_ATOM_ELEM_LINK.equals(event.asStartElement().getName())) {
-          final Attribute rel = event.asStartElement().getAttributeByName(QName.valueOf(Constants.ATTR_REL));
-          if (rel != null) {
-            if (Constants.NEXT_LINK_REL.equals(rel.getValue())) {
-              final Attribute href = event.asStartElement().getAttributeByName(QName.valueOf(Constants.ATTR_HREF));
-              if (href != null) {
-                entitySet.setNext(URI.create(href.getValue()));
-              }
-            }
-            if (ODataServiceVersion.V40.getNamespace(NamespaceKey.DELTA_LINK_REL).equals(rel.getValue())) {
-              final Attribute href = event.asStartElement().getAttributeByName(QName.valueOf(Constants.ATTR_HREF));
-              if (href != null) {
-                entitySet.setDeltaLink(URI.create(href.getValue()));
-              }
-            }
+  /**
+   * Reads the entries of a feed one at a time; feed elements are collected while reading.
+   */
+  private class AtomEntityIterator extends EntityIterator implements Closeable {
+
+    private final XMLEventReader reader;
+
+    private final StartElement start;
+
+    private final InputStream input;
+
+    private final EntitySetImpl entitySet = new EntitySetImpl();
+
+    private boolean finished;
+
+    private Entity cached;
+
+    AtomEntityIterator(final XMLEventReader reader, final StartElement start, final InputStream input) {
+      this.reader = reader;
+      this.start = start;
+      this.input = input;
+
+      final Attribute xmlBase = start.getAttributeByName(Constants.QNAME_ATTR_XML_BASE);
+      if (xmlBase != null) {
+        entitySet.setBaseURI(xmlBase.getValue());
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (cached == null && !finished) {
+        try {
+          cached = readNext();
+        } catch (final XMLStreamException e) {
+          close();
+          throw new ODataRuntimeException(e);
+        } catch (final EdmPrimitiveTypeException e) {
+          close();
+          throw new ODataRuntimeException(e);
+        }
+      }
+      return cached != null;
+    }
+
+    @Override
+    public Entity next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No entity found");
+      }
+      final Entity entity = cached;
+      cached = null;
+      return withFeedBase(entity);
+    }
+
+    private Entity readNext() throws XMLStreamException, EdmPrimitiveTypeException {
+      while (!finished && reader.hasNext()) {
+        final XMLEvent event = reader.nextEvent();
+        if (event.isStartElement()) {
+          final StartElement element = event.asStartElement();
+          if (countQName.equals(element.getName())) {
+            count(reader, element, entitySet);
+          } else if (Constants.QNAME_ATOM_ELEM_ID.equals(element.getName())) {
+            common(reader, element, entitySet, "id");
+          } else if (Constants.QNAME_ATOM_ELEM_TITLE.equals(element.getName())) {
+            common(reader, element, entitySet, "title");
+          } else if (Constants.QNAME_ATOM_ELEM_SUMMARY.equals(element.getName())) {
+            common(reader, element, entitySet, "summary");
+          } else if (Constants.QNAME_ATOM_ELEM_UPDATED.equals(element.getName())) {
+            common(reader, element, entitySet, "updated");
+          } else if (Constants.QNAME_ATOM_ELEM_LINK.equals(element.getName())) {
+            link(element);
+          } else if (Constants.QNAME_ATOM_ELEM_ENTRY.equals(element.getName())) {
+            return entity(reader, element);
+          } else if (entryRefQName.equals(element.getName())) {
+            return entityRef(element);
+          } else if (annotationQName.equals(element.getName())) {
+            entitySet.getAnnotations().add(annotation(reader, element));
           }
-        } else if (Constants.QNAME_ATOM_ELEM_ENTRY.equals(event.asStartElement().getName())) {
-          entitySet.getEntities().add(entity(reader, event.asStartElement()));
-        } else if (entryRefQName.equals(event.asStartElement().getName())) {
-          entitySet.getEntities().add(entityRef(event.asStartElement()));
-        } else if (annotationQName.equals(event.asStartElement().getName())) {
-          entitySet.getAnnotations().add(annotation(reader, event.asStartElement()));
+        }
+
+        if (event.isEndElement() && start.getName().equals(event.asEndElement().getName())) {
+          finished = true;
         }
       }
+      finished = true;
+      return null;
+    }
 
-      if (event.isEndElement() && start.getName().equals(event.asEndElement().getName())) {
-        foundEndFeed = true;
+    /**
+     * Streamed entries without their own xml:base inherit the one of the feed,
+     * since the feed itself is not available to resolve relative links against.
+     */
+    private Entity withFeedBase(final Entity entity) {
+      if (entity.getBaseURI() == null && entitySet.getBaseURI() != null) {
+        ((EntityImpl) entity).setBaseURI(entitySet.getBaseURI().toASCIIString());
       }
+      return entity;
+    }
+
+    private void link(final StartElement element) {
+      final Attribute rel = element.getAttributeByName(QName.valueOf(Constants.ATTR_REL));
+      if (rel != null) {
+        if (Constants.NEXT_LINK_REL.equals(rel.getValue())) {
+          final Attribute href = element.getAttributeByName(QName.valueOf(Constants.ATTR_HREF));
+          if (href != null) {
+            entitySet.setNext(URI.create(href.getValue()));
+          }
+        }
+        if (ODataServiceVersion.V40.getNamespace(NamespaceKey.DELTA_LINK_REL).equals(rel.getValue())) {
+          final Attribute href = element.getAttributeByName(QName.valueOf(Constants.ATTR_HREF));
+          if (href != null) {
+            entitySet.setDeltaLink(URI.create(href.getValue()));
+          }
+        }
+      }
+    }
+
+    @Override
+    public Integer getCount() {
+      return entitySet.getCount();
     }
 
-    return entitySet;
+    @Override
+    public URI getNext() {
+      return entitySet.getNext();
+    }
+
+    @Override
+    public URI getContextURL() {
+      final Attribute context = start.getAttributeByName(contextQName);
+      return context == null ? null : URI.create(context.getValue());
+    }
+
+    @Override
+    public String getMetadataETag() {
+      final Attribute metadataETag = start.getAttributeByName(metadataEtagQName);
+      return metadataETag == null ? null : metadataETag.getValue();
+    }
+
+    @Override
+    public void close() {
+      try {
+        reader.close();
+      } catch (final XMLStreamException e) {
+        // nothing left to do
+      }
+      if (input != null) {
+        try {
+          input.close();
+        } catch (final IOException e) {
+          // nothing left to do
+        }
+      }
+    }
+  }
+
+  @Override
+  public EntityIterator toEntityIterator(final InputStream input) throws ODataDeserializerException {
+    try {
+      final XMLEventReader reader = getReader(input);
+      final StartElement start = skipBeforeFirstStartElement(reader);
+      if (!Constants.QNAME_ATOM_ELEM_FEED.equals(start.getName())) {
+        throw new ODataDeserializerException("No feed found!");
+      }
+      return new AtomEntityIterator(reader, start, input);
+    } catch (XMLStreamException e) {
+      throw new ODataDeserializerException(e);
+    }
   }
 
   @Override
@@ -31,6 +31,7 @@ import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.data.Annotatable;
 import org.apache.olingo.commons.api.data.Annotation;
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Linked;
 import org.apache.olingo.commons.api.data.LinkedComplexValue;
@@ -69,6 +70,11 @@ import java.util.regex.Pattern;
 
 public class JsonDeserializer implements ODataDeserializer {
 
+  /**
+   * Shared, thread-safe factory; creating a new one (and its object mapper) per payload is expensive.
+   */
+  protected static final JsonFactory JSON_FACTORY = new JsonFactory(new ObjectMapper());
+
   protected final Pattern CUSTOM_ANNOTATION = Pattern.compile("(.+)@(.+)\\.(.+)");
 
   protected final ODataServiceVersion version;
@@ -444,17 +450,27 @@ public class JsonDeserializer implements ODataDeserializer {
   @Override
   public ResWrap<EntitySet> toEntitySet(final InputStream input) throws ODataDeserializerException {
     try {
-      parser = new JsonFactory(new ObjectMapper()).createParser(input);
+      parser = JSON_FACTORY.createParser(input);
       return new JsonEntitySetDeserializer(version, serverMode).doDeserialize(parser);
     } catch (final IOException e) {
       throw new ODataDeserializerException(e);
     }
   }
 
+  @Override
+  public EntityIterator toEntityIterator(final InputStream input) throws ODataDeserializerException {
+    try {
+      return new JsonEntityIterator(new JsonEntitySetDeserializer(version, serverMode),
+          JSON_FACTORY.createParser(input));
+    } catch (final IOException e) {
+      throw new ODataDeserializerException(e);
+    }
+  }
+
   @Override
   public ResWrap<Entity> toEntity(final InputStream input) throws ODataDeserializerException {
     try {
-      parser = new JsonFactory(new ObjectMapper()).createParser(input);
+      parser = JSON_FACTORY.createParser(input);
       return new JsonEntityDeserializer(version, serverMode).doDeserialize(parser);
     } catch (final IOException e) {
       throw new ODataDeserializerException(e);
@@ -464,7 +480,7 @@ public class JsonDeserializer implements ODataDeserializer {
   @Override
   public ResWrap<Property> toProperty(final InputStream input) throws ODataDeserializerException {
     try {
-      parser = new JsonFactory(new ObjectMapper()).createParser(input);
+      parser = JSON_FACTORY.createParser(input);
       return new JsonPropertyDeserializer(version, serverMode).doDeserialize(parser);
     } catch (final IOException e) {
       throw new ODataDeserializerException(e);
@@ -474,7 +490,7 @@ public class JsonDeserializer implements ODataDeserializer {
   @Override
   public ODataError toError(final InputStream input) throws ODataDeserializerException {
     try {
-      parser = new JsonFactory(new ObjectMapper()).createParser(input);
+      parser = JSON_FACTORY.createParser(input);
       return new JsonODataErrorDeserializer(version, serverMode).doDeserialize(parser);
     } catch (final IOException e) {
       throw new ODataDeserializerException(e);
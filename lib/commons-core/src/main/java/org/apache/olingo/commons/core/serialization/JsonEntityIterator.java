@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.commons.core.serialization;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.commons.api.data.Annotation;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.commons.api.data.EntitySet;
+import org.apache.olingo.commons.api.data.ResWrap;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.core.data.AnnotationImpl;
+import org.apache.olingo.commons.core.data.EntitySetImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the entities of a JSON entity set one at a time from the parser tokens, so that the payload is never held
+ * completely in memory.
+ * <br/>
+ * Control information and annotations are collected while reading; those following the entities are available only
+ * once all entities have been read.
+ * <br/>
+ * Each entity is handed to {@link JsonEntityDeserializer}, which reads it into a tree before mapping it, so memory
+ * use is bounded by the largest single entity (including its inline entities) rather than by the whole payload.
+ */
+public class JsonEntityIterator extends EntityIterator implements Closeable {
+
+  private final JsonEntitySetDeserializer deserializer;
+
+  private final JsonEntityDeserializer entityDeserializer;
+
+  private final JsonParser parser;
+
+  private final EntitySetImpl entitySet = new EntitySetImpl();
+
+  private String context;
+
+  private String metadata;
+
+  private String metadataETag;
+
+  private boolean hasValue;
+
+  private boolean inValue;
+
+  private boolean finished;
+
+  private Entity cached;
+
+  /**
+   * Constructor.
+   *
+   * @param deserializer entity set deserializer
+   * @param parser parser positioned before or at the start of the entity set object
+   * @throws IOException if the payload does not start with a JSON object
+   */
+  public JsonEntityIterator(final JsonEntitySetDeserializer deserializer, final JsonParser parser)
+      throws IOException {
+
+    this.deserializer = deserializer;
+    this.parser = parser;
+    entityDeserializer = new JsonEntityDeserializer(deserializer.version, deserializer.serverMode);
+
+    if (parser.getCurrentToken() == null) {
+      parser.nextToken();
+    }
+    if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+      throw new JsonParseException("Expected OData EntitySet", parser.getCurrentLocation());
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (cached == null && !finished) {
+      try {
+        cached = readNext();
+      } catch (final IOException e) {
+        close();
+        throw new ODataRuntimeException(e);
+      }
+    }
+    return cached != null;
+  }
+
+  @Override
+  public Entity next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No entity found");
+    }
+    final Entity entity = cached;
+    cached = null;
+    return entity;
+  }
+
+  /**
+   * Reads up to and including the next entity.
+   *
+   * @return next entity, or <tt>null</tt> if the end of the entity set has been reached
+   * @throws IOException in case of a parsing error
+   */
+  protected Entity readNext() throws IOException {
+    while (!finished) {
+      if (inValue) {
+        final JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+          return entityDeserializer.doDeserialize(parser).getPayload();
+        } else if (token == JsonToken.END_ARRAY) {
+          inValue = false;
+        } else if (token == null) {
+          throw new JsonParseException("Unexpected end of entity set", parser.getCurrentLocation());
+        } else {
+          parser.skipChildren();
+        }
+      } else if (parser.nextToken() == JsonToken.FIELD_NAME) {
+        field(parser.getCurrentName(), parser.nextToken());
+      } else {
+        finished = true;
+      }
+    }
+    return null;
+  }
+
+  private void field(final String name, final JsonToken token) throws IOException {
+    final boolean isNull = token == JsonToken.VALUE_NULL;
+
+    if (Constants.VALUE.equals(name)) {
+      hasValue = true;
+      if (token == JsonToken.START_ARRAY) {
+        inValue = true;
+      } else {
+        parser.skipChildren();
+      }
+    } else if (!isNull && Constants.JSON_CONTEXT.equals(name)) {
+      context = parser.getText();
+    } else if (!isNull && Constants.JSON_METADATA.equals(name)) {
+      metadata = parser.getText();
+    } else if (!isNull && Constants.JSON_METADATA_ETAG.equals(name)) {
+      metadataETag = parser.getText();
+    } else if (!isNull && deserializer.jsonCount.equals(name)) {
+      entitySet.setCount(parser.getValueAsInt());
+    } else if (!isNull && deserializer.jsonNextLink.equals(name)) {
+      entitySet.setNext(URI.create(parser.getText()));
+    } else if (!isNull && deserializer.jsonDeltaLink.equals(name)) {
+      entitySet.setDeltaLink(URI.create(parser.getText()));
+    } else if (name.startsWith("@")) {
+      // any other entry is supposed to be an annotation or is ignored
+      final Annotation annotation = new AnnotationImpl();
+      annotation.setTerm(name.substring(1));
+      try {
+        deserializer.value(annotation, parser.getCodec().<JsonNode> readTree(parser), parser.getCodec());
+      } catch (final EdmPrimitiveTypeException e) {
+        throw new IOException(e);
+      }
+      entitySet.getAnnotations().add(annotation);
+    } else {
+      parser.skipChildren();
+    }
+  }
+
+  @Override
+  public Integer getCount() {
+    return entitySet.getCount();
+  }
+
+  @Override
+  public URI getNext() {
+    return entitySet.getNext();
+  }
+
+  @Override
+  public URI getContextURL() {
+    return context == null
+        ? metadata == null ? null : URI.create(metadata)
+        : URI.create(context);
+  }
+
+  @Override
+  public String getMetadataETag() {
+    return metadataETag;
+  }
+
+  /**
+   * Gets the entity set read so far - without entities - together with its context URL and metadata ETag.
+   *
+   * @return entity set, or <tt>null</tt> if the payload does not contain a <tt>value</tt> entry
+   */
+  public ResWrap<EntitySet> getEntitySet() {
+    if (!hasValue) {
+      return null;
+    }
+
+    final URI contextURL = getContextURL();
+    if (contextURL != null) {
+      entitySet.setBaseURI(StringUtils.substringBefore(contextURL.toASCIIString(), Constants.METADATA));
+    }
+
+    return new ResWrap<EntitySet>(contextURL, metadataETag, entitySet);
+  }
+
+  /**
+   * Closes the underlying parser and input stream.
+   */
+  @Override
+  public void close() {
+    try {
+      parser.close();
+    } catch (final IOException e) {
+      // nothing left to do
+    }
+  }
+}
@@ -19,22 +19,14 @@
 package org.apache.olingo.commons.core.serialization;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.olingo.commons.api.Constants;
-import org.apache.olingo.commons.api.data.Annotation;
+import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.ResWrap;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
-import org.apache.olingo.commons.core.data.AnnotationImpl;
-import org.apache.olingo.commons.core.data.EntitySetImpl;
 
 import java.io.IOException;
-import java.net.URI;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Reads JSON string into an entity set.
@@ -47,76 +39,22 @@ public class JsonEntitySetDeserializer extends JsonDeserializer {
     super(version, serverMode);
   }
 
+  /**
+   * Reads the entity set in a single pass over the parser tokens: every entity is deserialized as soon as it is
+   * encountered, so no tree of the whole payload is ever built.
+   * Each single entity is still read into a tree first, see {@link JsonEntityIterator}.
+   */
   protected ResWrap<EntitySet> doDeserialize(final JsonParser parser) throws IOException {
-
-    final ObjectNode tree = (ObjectNode) parser.getCodec().readTree(parser);
-
-    if (!tree.has(Constants.VALUE)) {
-      return null;
-    }
-
-    final EntitySetImpl entitySet = new EntitySetImpl();
-
-    URI contextURL;
-    if (tree.hasNonNull(Constants.JSON_CONTEXT)) {
-      contextURL = URI.create(tree.get(Constants.JSON_CONTEXT).textValue());
-      tree.remove(Constants.JSON_CONTEXT);
-    } else if (tree.hasNonNull(Constants.JSON_METADATA)) {
-      contextURL = URI.create(tree.get(Constants.JSON_METADATA).textValue());
-      tree.remove(Constants.JSON_METADATA);
-    } else {
-      contextURL = null;
-    }
-    if (contextURL != null) {
-      entitySet.setBaseURI(StringUtils.substringBefore(contextURL.toASCIIString(), Constants.METADATA));
-    }
-
-    final String metadataETag;
-    if (tree.hasNonNull(Constants.JSON_METADATA_ETAG)) {
-      metadataETag = tree.get(Constants.JSON_METADATA_ETAG).textValue();
-      tree.remove(Constants.JSON_METADATA_ETAG);
-    } else {
-      metadataETag = null;
+    final JsonEntityIterator iterator = new JsonEntityIterator(this, parser);
+    final List<Entity> entities = new ArrayList<Entity>();
+    for (Entity entity = iterator.readNext(); entity != null; entity = iterator.readNext()) {
+      entities.add(entity);
     }
 
-    if (tree.hasNonNull(jsonCount)) {
-      entitySet.setCount(tree.get(jsonCount).asInt());
-      tree.remove(jsonCount);
+    final ResWrap<EntitySet> entitySet = iterator.getEntitySet();
+    if (entitySet != null) {
+      entitySet.getPayload().getEntities().addAll(entities);
     }
-    if (tree.hasNonNull(jsonNextLink)) {
-      entitySet.setNext(URI.create(tree.get(jsonNextLink).textValue()));
-      tree.remove(jsonNextLink);
-    }
-    if (tree.hasNonNull(jsonDeltaLink)) {
-      entitySet.setDeltaLink(URI.create(tree.get(jsonDeltaLink).textValue()));
-      tree.remove(jsonDeltaLink);
-    }
-
-    if (tree.hasNonNull(Constants.VALUE)) {
-      final JsonEntityDeserializer entityDeserializer = new JsonEntityDeserializer(version, serverMode);
-      for (JsonNode jsonNode : tree.get(Constants.VALUE)) {
-        entitySet.getEntities().add(
-            entityDeserializer.doDeserialize(jsonNode.traverse(parser.getCodec())).getPayload());
-      }
-      tree.remove(Constants.VALUE);
-    }
-
-    // any remaining entry is supposed to be an annotation or is ignored
-    for (final Iterator<Map.Entry<String, JsonNode>> itor = tree.fields(); itor.hasNext();) {
-      final Map.Entry<String, JsonNode> field = itor.next();
-      if (field.getKey().charAt(0) == '@') {
-        final Annotation annotation = new AnnotationImpl();
-        annotation.setTerm(field.getKey().substring(1));
-
-        try {
-          value(annotation, field.getValue(), parser.getCodec());
-        } catch (final EdmPrimitiveTypeException e) {
-          throw new IOException(e);
-        }
-        entitySet.getAnnotations().add(annotation);
-      }
-    }
-
-    return new ResWrap<EntitySet>(contextURL, metadataETag, entitySet);
+    return entitySet;
   }
 }
@@ -56,6 +56,8 @@ import java.util.Map;
 
 public class JsonSerializer implements ODataSerializer {
 
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
   private static final EdmPrimitiveTypeKind[] NUMBER_TYPES = {
       EdmPrimitiveTypeKind.Byte, EdmPrimitiveTypeKind.SByte,
       EdmPrimitiveTypeKind.Single, EdmPrimitiveTypeKind.Double,
@@ -84,7 +86,7 @@ public class JsonSerializer implements ODataSerializer {
   @Override
   public <T> void write(final Writer writer, final T obj) throws ODataSerializerException {
     try {
-      final JsonGenerator json = new JsonFactory().createGenerator(writer);
+      final JsonGenerator json = JSON_FACTORY.createGenerator(writer);
       if (obj instanceof EntitySet) {
         new JsonEntitySetSerializer(version, serverMode).doSerialize((EntitySet) obj, json);
       } else if (obj instanceof Entity) {
@@ -116,7 +118,7 @@ public class JsonSerializer implements ODataSerializer {
   public <T> void write(final Writer writer, final ResWrap<T> container) throws ODataSerializerException {
     final T obj = container == null ? null : container.getPayload();
     try {
-      final JsonGenerator json = new JsonFactory().createGenerator(writer);
+      final JsonGenerator json = JSON_FACTORY.createGenerator(writer);
       if (obj instanceof EntitySet) {
         new JsonEntitySetSerializer(version, serverMode).doContainerSerialize((ResWrap<EntitySet>) container, json);
       } else if (obj instanceof Entity) {
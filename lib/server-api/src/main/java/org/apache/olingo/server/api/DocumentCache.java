@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.olingo.commons.api.ODataRuntimeException;
+
+/**
+ * Thread-safe cache for serialized documents which depend only on the {@link ServiceMetadata},
+ * like the metadata document, or on the metadata and the base URI of the request, like the service document.
+ * Each cached document carries a strong entity tag computed from its content.
+ */
+public final class DocumentCache {
+
+  /** Upper bound for the number of cached documents per key; further documents are served uncached. */
+  private static final int MAX_DOCUMENTS = 64;
+
+  /** Number of documents per base URI kept; the least recently used one is evicted first. */
+  private static final int MAX_BASE_URI_DOCUMENTS = 64;
+
+  private final ConcurrentMap<String, Document> documents = new ConcurrentHashMap<String, Document>();
+
+  /**
+   * Documents depending on the base URI, kept apart so that requests with arbitrary base URIs
+   * cannot displace the documents depending only on the metadata.
+   */
+  private final Map<String, Document> baseUriDocuments = new LinkedHashMap<String, Document>(16, 0.75f, true) {
+    private static final long serialVersionUID = 2658353187470466573L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, Document> eldest) {
+      return size() > MAX_BASE_URI_DOCUMENTS;
+    }
+  };
+
+  /**
+   * Gets a cached document.
+   * @param key the key of the document, e.g., built from the kind of document and its content type
+   * @return the cached document or <code>null</code> if there is none
+   */
+  public Document get(final String key) {
+    return documents.get(key);
+  }
+
+  /**
+   * Reads the given content completely and caches it under the given key.
+   * If another thread has cached a document for this key in the meantime, that document is returned.
+   * @param key     the key of the document
+   * @param content the serialized document; it is closed after reading
+   * @return the cached document
+   * @throws IOException if the content could not be read
+   */
+  public Document put(final String key, final InputStream content) throws IOException {
+    final Document document = new Document(read(content));
+    if (documents.size() >= MAX_DOCUMENTS) {
+      return document;
+    }
+    final Document previous = documents.putIfAbsent(key, document);
+    return previous == null ? document : previous;
+  }
+
+  /**
+   * Gets a cached document depending on the base URI of the request.
+   * @param key     the key of the document, e.g., built from the kind of document and its content type
+   * @param baseUri the base URI the document has been serialized for
+   * @return the cached document or <code>null</code> if there is none
+   */
+  public Document get(final String key, final String baseUri) {
+    synchronized (baseUriDocuments) {
+      return baseUriDocuments.get(key + ' ' + baseUri);
+    }
+  }
+
+  /**
+   * Reads the given content completely and caches it under the given key and base URI,
+   * evicting the least recently used document depending on a base URI if necessary.
+   * @param key     the key of the document
+   * @param baseUri the base URI the document has been serialized for
+   * @param content the serialized document; it is closed after reading
+   * @return the cached document
+   * @throws IOException if the content could not be read
+   */
+  public Document put(final String key, final String baseUri, final InputStream content) throws IOException {
+    final Document document = new Document(read(content));
+    synchronized (baseUriDocuments) {
+      baseUriDocuments.put(key + ' ' + baseUri, document);
+    }
+    return document;
+  }
+
+  private static byte[] read(final InputStream content) throws IOException {
+    try {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[8192];
+      int count;
+      while ((count = content.read(buffer)) != -1) {
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    } finally {
+      content.close();
+    }
+  }
+
+  /**
+   * A serialized document together with its entity tag.
+   */
+  public static final class Document {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] content;
+    private final String eTag;
+
+    private Document(final byte[] content) {
+      this.content = content;
+      eTag = computeETag(content);
+    }
+
+    /**
+     * Gets the content of the document.
+     * @return a new stream over the serialized document
+     */
+    public InputStream getContent() {
+      return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Gets the strong entity tag of the document, including the surrounding double quotes.
+     * @return the entity tag
+     */
+    public String getETag() {
+      return eTag;
+    }
+
+    private static String computeETag(final byte[] content) {
+      try {
+        final byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+        final StringBuilder result = new StringBuilder(digest.length * 2 + 2).append('"');
+        for (final byte b : digest) {
+          result.append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+        }
+        return result.append('"').toString();
+      } catch (final NoSuchAlgorithmException e) {
+        throw new ODataRuntimeException(e);
+      }
+    }
+  }
+}
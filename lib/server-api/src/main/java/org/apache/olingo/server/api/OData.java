@@ -22,15 +22,24 @@ import java.util.List;
 
 import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ODataFormat;
+import org.apache.olingo.server.api.deserializer.DeserializerConfiguration;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.FixedFormatDeserializer;
 import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 import org.apache.olingo.server.api.edm.provider.EdmProvider;
 import org.apache.olingo.server.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.query.Pager;
+import org.apache.olingo.server.api.query.PagingConfiguration;
+import org.apache.olingo.server.api.query.QueryPlan;
+import org.apache.olingo.server.api.query.QueryTranslator;
+import org.apache.olingo.server.api.query.SqlQuery;
 import org.apache.olingo.server.api.serializer.FixedFormatSerializer;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.apache.olingo.server.api.serializer.SerializerConfiguration;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriHelper;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionEvaluator;
 
 /**
  * Root object for serving factory tasks and support loose coupling of implementation (core) from the API.
@@ -66,6 +75,17 @@ public abstract class OData {
    */
   public abstract ODataSerializer createSerializer(ODataFormat format) throws SerializerException;
 
+  /**
+   * Creates a new serializer object for rendering content in the specified format
+   * with the given configuration.
+   * Serializers are used in Processor implementations.
+   *
+   * @param format any format supported by Olingo (XML, JSON ...)
+   * @param configuration the serializer configuration
+   */
+  public abstract ODataSerializer createSerializer(ODataFormat format, SerializerConfiguration configuration)
+      throws SerializerException;
+
   /**
    * Creates a new serializer object for rendering content in a fixed format, e.g., for binary output.
    * Serializers are used in Processor implementations.
@@ -93,11 +113,66 @@ public abstract class OData {
    */
   public abstract ServiceMetadata createServiceMetadata(EdmProvider edmProvider, List<EdmxReference> references);
 
+  /**
+   * Creates a metadata object for this service.
+   * If <code>preload</code> is set, the complete entity data model is loaded from the provider
+   * before this method returns; the returned metadata can then be shared by concurrent requests
+   * without any further calls to the provider.
+   *
+   * @param edmProvider a custom or default implementation for creating metadata
+   * @param references list of edmx references
+   * @param preload whether the entity data model should be loaded eagerly
+   */
+  public abstract ServiceMetadata createServiceMetadata(EdmProvider edmProvider, List<EdmxReference> references,
+      boolean preload);
+
   /**
    * Creates a new URI helper object for performing URI-related tasks.
    * It can be used in Processor implementations.
    */
   public abstract UriHelper createUriHelper();
 
+  /**
+   * Creates a new evaluator which compiles $filter and $orderby expressions
+   * for the evaluation against in-memory entities.
+   * It can be used in Processor implementations.
+   */
+  public abstract ExpressionEvaluator createExpressionEvaluator();
+
+  /**
+   * Creates a backend-neutral query plan for reading an entity collection.
+   * It can be used in Processor implementations to push the evaluation of the system query options
+   * down to the data store.
+   *
+   * @param uriInfo information about the request URI; the resource path must address an entity set
+   * @throws ODataApplicationException if the request cannot be described by a query plan
+   */
+  public abstract QueryPlan createQueryPlan(UriInfoResource uriInfo) throws ODataApplicationException;
+
+  /**
+   * Creates the reference translator of query plans into standard SQL.
+   * Entity sets are mapped to tables and properties to columns of the same names.
+   */
+  public abstract QueryTranslator<SqlQuery> createSqlQueryTranslator();
+
+  /**
+   * Creates a pager for server-driven paging of entity collections.
+   * It can be used in Processor implementations.
+   *
+   * @param configuration the maximum page sizes and the secret for signing skip tokens
+   */
+  public abstract Pager createPager(PagingConfiguration configuration);
+
   public abstract ODataDeserializer createDeserializer(ODataFormat format) throws DeserializerException;
+
+  /**
+   * Creates a new deserializer object for reading content in the specified format
+   * with the given configuration.
+   * Deserializers are used in Processor implementations.
+   *
+   * @param format any format supported by Olingo (XML, JSON ...)
+   * @param configuration the deserializer configuration
+   */
+  public abstract ODataDeserializer createDeserializer(ODataFormat format, DeserializerConfiguration configuration)
+      throws DeserializerException;
 }
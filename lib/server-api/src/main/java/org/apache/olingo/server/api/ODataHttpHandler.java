@@ -21,6 +21,8 @@ package org.apache.olingo.server.api;
 import org.apache.olingo.server.api.processor.Processor;
 import org.apache.olingo.server.api.serializer.CustomContentTypeSupport;
 
+import java.util.concurrent.Executor;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -59,4 +61,45 @@ public interface ODataHttpHandler {
    */
   void setSplit(int split);
 
+  /**
+   * Enables a bounded cache for parsed request URIs.
+   * Requests with a URI that has been parsed before then skip URI parsing.
+   * @param maxSize the maximum number of cached URIs; 0 disables the cache (the default)
+   */
+  void setUriInfoCacheSize(int maxSize);
+
+  /**
+   * Enables concurrent execution of the query operations in batch requests.
+   * Query operations outside of change sets are then run with the given executor,
+   * at most <code>maxParallelism</code> of them at the same time for each batch request;
+   * change sets are still executed one after another, and responses keep the request order.
+   * Batch requests which stop at the first error (no <code>odata.continue-on-error</code> preference)
+   * are always executed sequentially so that no operation runs after a failed one.
+   * This applies to batch processors that use
+   * {@link org.apache.olingo.server.api.batch.BatchFacade#handleBatchRequests}.
+   * @param executor the executor for query operations; <code>null</code> disables concurrent execution (the default)
+   * @param maxParallelism the maximum number of concurrently running query operations per batch request
+   */
+  void setBatchExecutor(Executor executor, int maxParallelism);
+
+  /**
+   * Enables compression of response content with gzip or deflate, if accepted by the client
+   * according to its Accept-Encoding header.
+   * Content smaller than <code>minimumSize</code> bytes is sent uncompressed.
+   * Request bodies compressed with gzip or deflate, as stated in their Content-Encoding header,
+   * are accepted regardless of this setting.
+   * @param minimumSize the minimum content size in bytes for compression; a negative value disables
+   *                    compression (the default)
+   * @param level the compression level, from 1 (fastest) to 9 (best compression)
+   */
+  void setCompression(int minimumSize, int level);
+
+  /**
+   * Limits the size of request bodies after decoding them according to their Content-Encoding header,
+   * so that a small compressed body cannot expand without bounds. A request whose decoded body exceeds
+   * the limit fails with status 413 (Request Entity Too Large).
+   * @param maxSize the maximum decoded size in bytes, 100 MiB by default; a negative value removes the limit
+   */
+  void setMaxDecodedRequestSize(long maxSize);
+
 }
@@ -78,6 +78,14 @@ public class ODataRequest {
     }
   }
 
+  /**
+   * Removes a header from the request.
+   * @param name case-insensitive header name
+   */
+  public void removeHeader(final String name) {
+    headers.remove(name.toUpperCase());
+  }
+
   /**
    * Gets header value for a given name.
    * @param name the header name as a case-insensitive key
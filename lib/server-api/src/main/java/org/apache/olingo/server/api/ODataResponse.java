@@ -33,6 +33,7 @@ public class ODataResponse {
   private int statusCode = HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode();
   private Map<String, String> headers = new HashMap<String, String>();
   private InputStream content;
+  private ODataContent odataContent;
 
 
   /**
@@ -84,4 +85,21 @@ public class ODataResponse {
     return content;
   }
 
+  /**
+   * Sets the content (body) which is written directly into the response output.
+   * If set, it takes precedence over the content set as {@link InputStream}.
+   * @param odataContent the content as {@link ODataContent}
+   */
+  public void setODataContent(final ODataContent odataContent) {
+    this.odataContent = odataContent;
+  }
+
+  /**
+   * Gets the content (body) which is written directly into the response output.
+   * @return the content as {@link ODataContent} or <code>null</code>
+   */
+  public ODataContent getODataContent() {
+    return odataContent;
+  }
+
 }
@@ -45,4 +45,11 @@ public interface ServiceMetadata {
    * @return list of defined emdx references of this service
    */
   List<EdmxReference> getReferences();
+
+  /**
+   * Gets the cache for serialized documents that depend only on this metadata,
+   * like the metadata document and the service document.
+   * @return document cache of this service or <code>null</code> if documents are not cached
+   */
+  DocumentCache getDocumentCache();
 }
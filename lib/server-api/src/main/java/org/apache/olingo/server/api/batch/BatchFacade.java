@@ -17,10 +17,13 @@
  * under the License.
  */package org.apache.olingo.server.api.batch;
 
+import java.util.List;
+
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.processor.BatchProcessor;
 
@@ -55,6 +58,22 @@ public interface BatchFacade {
    * @throws BatchDeserializerException
    */
   public ODataResponsePart handleBatchRequest(BatchRequestPart request) throws BatchDeserializerException;
+
+  /**
+   * Handles all parts of a batch request.
+   * If the service has been configured for it and processing continues after errors, query operations
+   * outside of change sets are executed concurrently; change sets are always executed one after another.
+   * Without <code>continueOnError</code>, all parts are executed sequentially and none after a failed one.
+   * The response parts are returned in the order of the request parts.
+   *
+   * @param requests          Request parts to process
+   * @param continueOnError   whether processing continues after a failed part;
+   *                          if not, the response of the failed part is the last one returned
+   * @return                  Corresponding {@link ODataResponsePart}s
+   * @throws BatchDeserializerException
+   */
+  public List<ODataResponsePart> handleBatchRequests(BatchRequestPartIterator requests, boolean continueOnError)
+      throws BatchDeserializerException;
   
   /**
    * Extracts the boundary of a multipart/mixed header. 
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.deserializer;
+
+/**
+ * Configuration of an OData deserializer.
+ * A configuration is immutable and can be used for any number of deserializers.
+ */
+public class DeserializerConfiguration {
+
+  private boolean streaming;
+
+  /**
+   * Gets whether the deserializer maps the request content token by token
+   * instead of building an intermediate document tree first.
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  private DeserializerConfiguration() {}
+
+  /** Initializes the configuration builder. */
+  public static Builder with() {
+    return new Builder();
+  }
+
+  /** Builder of OData deserializer configurations. */
+  public static final class Builder {
+
+    private DeserializerConfiguration configuration;
+
+    private Builder() {
+      configuration = new DeserializerConfiguration();
+    }
+
+    /**
+     * Sets whether the deserializer maps the request content token by token
+     * instead of building an intermediate document tree first.
+     * Streaming needs less memory for large request bodies and stops at the first unknown property;
+     * if a document contains several errors, the reported error can differ from the one of the default mode.
+     */
+    public Builder streaming(final boolean streaming) {
+      configuration.streaming = streaming;
+      return this;
+    }
+
+    /** Builds the OData deserializer configuration. */
+    public DeserializerConfiguration build() {
+      return configuration;
+    }
+  }
+}
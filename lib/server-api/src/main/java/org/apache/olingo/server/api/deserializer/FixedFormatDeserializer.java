@@ -24,6 +24,7 @@ import java.util.List;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 
 public interface FixedFormatDeserializer {
 
@@ -36,4 +37,16 @@ public interface FixedFormatDeserializer {
 
   public List<BatchRequestPart> parseBatchRequest(InputStream content, String boundary, BatchOptions options)
       throws BatchDeserializerException;
+
+  /**
+   * Parses a batch request part by part while it is processed.
+   * In contrast to {@link #parseBatchRequest(InputStream, String, BatchOptions)},
+   * only the part currently returned by the iterator is held in memory.
+   * @param content the batch request body
+   * @param boundary the boundary of the batch request
+   * @param options options for the batch deserializer
+   * @return an iterator over the parts of the batch request
+   */
+  public BatchRequestPartIterator parseBatchRequestStreamed(InputStream content, String boundary,
+      BatchOptions options) throws BatchDeserializerException;
 }
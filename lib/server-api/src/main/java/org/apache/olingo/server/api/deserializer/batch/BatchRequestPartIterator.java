@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.deserializer.batch;
+
+import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
+
+/**
+ * Iterates over the parts of a batch request while the request body is read.
+ * Each part is parsed only when it is requested, so a part can be processed
+ * before the rest of the batch request has been read.
+ */
+public interface BatchRequestPartIterator {
+
+  /**
+   * Returns whether the batch request has another part.
+   * Reads the next part from the request body if necessary.
+   * @return <code>true</code> if there is another part
+   * @throws BatchDeserializerException if the next part could not be parsed
+   */
+  boolean hasNext() throws BatchDeserializerException;
+
+  /**
+   * Returns the next part of the batch request.
+   * @return the next part
+   * @throws BatchDeserializerException if the next part could not be parsed
+   * @throws java.util.NoSuchElementException if there are no more parts
+   */
+  BatchRequestPart next() throws BatchDeserializerException;
+}
@@ -19,11 +19,14 @@
 package org.apache.olingo.server.api.processor;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.DocumentCache;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataRequest;
@@ -39,6 +42,9 @@ import org.apache.olingo.server.api.uri.UriInfo;
  * <ul><li>request for the metadata document</li>
  * <li>request for the service document</li>
  * <li>error handling</li></ul></p>
+ * <p>The metadata document and the service document are serialized only once per format (and base URI)
+ * and served from the {@link DocumentCache} of the service metadata, together with an entity tag;
+ * without such a cache they are serialized for every request.</p>
  * <p>This implementation is registered in the ODataHandler by default.
  * The default can be replaced by re-registering a custom implementation.</p>
  */
@@ -55,19 +61,61 @@ public class DefaultProcessor implements MetadataProcessor, ServiceDocumentProce
   @Override
   public void readServiceDocument(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, SerializerException {
-    ODataSerializer serializer = odata.createSerializer(ODataFormat.fromContentType(requestedContentType));
-    response.setContent(serializer.serviceDocument(serviceMetadata.getEdm(), request.getRawBaseUri()));
-    response.setStatusCode(HttpStatusCode.OK.getStatusCode());
-    response.setHeader(HttpHeader.CONTENT_TYPE, requestedContentType.toContentTypeString());
+    final DocumentCache cache = serviceMetadata.getDocumentCache();
+    final String key = "service " + requestedContentType.toContentTypeString();
+    DocumentCache.Document document = cache == null ? null : cache.get(key, request.getRawBaseUri());
+    if (document == null) {
+      ODataSerializer serializer = odata.createSerializer(ODataFormat.fromContentType(requestedContentType));
+      final InputStream content = serializer.serviceDocument(serviceMetadata.getEdm(), request.getRawBaseUri());
+      if (cache == null) {
+        setContent(response, content, requestedContentType);
+        return;
+      }
+      try {
+        document = cache.put(key, request.getRawBaseUri(), content);
+      } catch (final IOException e) {
+        throw ioException(e);
+      }
+    }
+    setDocument(response, document, requestedContentType);
   }
 
   @Override
   public void readMetadata(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, SerializerException {
-    ODataSerializer serializer = odata.createSerializer(ODataFormat.fromContentType(requestedContentType));
-    response.setContent(serializer.metadataDocument(serviceMetadata));
+    final DocumentCache cache = serviceMetadata.getDocumentCache();
+    final String key = "metadata " + requestedContentType.toContentTypeString();
+    DocumentCache.Document document = cache == null ? null : cache.get(key);
+    if (document == null) {
+      ODataSerializer serializer = odata.createSerializer(ODataFormat.fromContentType(requestedContentType));
+      final InputStream content = serializer.metadataDocument(serviceMetadata);
+      if (cache == null) {
+        setContent(response, content, requestedContentType);
+        return;
+      }
+      try {
+        document = cache.put(key, content);
+      } catch (final IOException e) {
+        throw ioException(e);
+      }
+    }
+    setDocument(response, document, requestedContentType);
+  }
+
+  private SerializerException ioException(final IOException e) {
+    return new SerializerException("An I/O exception occurred.", e, SerializerException.MessageKeys.IO_EXCEPTION);
+  }
+
+  private void setContent(final ODataResponse response, final InputStream content, final ContentType contentType) {
+    response.setContent(content);
     response.setStatusCode(HttpStatusCode.OK.getStatusCode());
-    response.setHeader(HttpHeader.CONTENT_TYPE, requestedContentType.toContentTypeString());
+    response.setHeader(HttpHeader.CONTENT_TYPE, contentType.toContentTypeString());
+  }
+
+  private void setDocument(final ODataResponse response, final DocumentCache.Document document,
+      final ContentType contentType) {
+    setContent(response, document.getContent(), contentType);
+    response.setHeader(HttpHeader.ETAG, document.getETag());
   }
 
   @Override
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import java.net.URI;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntitySet;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataResponse;
+
+/**
+ * A page of an entity collection as determined by a {@link Pager}.
+ * <p>In-memory collections are paged completely by {@link #apply(EntitySet, ODataResponse)}.
+ * Data stores can instead use the page size and the start position to read only the page
+ * (with the $orderby expressions followed by the key properties as sort order),
+ * and {@link #createNextLink(Entity)} to continue after it.</p>
+ */
+public interface Page {
+
+  /**
+   * Gets the maximum number of entities on this page.
+   * The value already takes into account how many entities $top still allows.
+   */
+  int getSize();
+
+  /**
+   * Gets the number of entities to skip before the page.
+   * $skip applies to the first page only; later pages start after the position of the skip token.
+   */
+  int getSkip();
+
+  /**
+   * Gets the values of the $orderby expressions followed by the values of the key properties
+   * of the last entity of the previous page.
+   * @return the values or <code>null</code> for the first page
+   */
+  Object[] getStartAfter();
+
+  /**
+   * Gets the value of the <code>Preference-Applied</code> header.
+   * @return the applied preference or <code>null</code> if the client's page-size preference
+   * has not been honored or there was none
+   */
+  String getPreferenceApplied();
+
+  /**
+   * Creates the link to the page following this one.
+   * @param lastEntity the last entity of this page
+   * @return the link or <code>null</code> if $top does not allow a further page
+   * @throws ODataApplicationException if a sort value cannot be represented in a skip token
+   */
+  URI createNextLink(Entity lastEntity) throws ODataApplicationException;
+
+  /**
+   * Extracts this page from an in-memory entity collection.
+   * The collection is sorted according to $orderby, the page is cut out, the next link is set if further
+   * entities follow, and the <code>Preference-Applied</code> header is set in the response.
+   * Collections which fit into a single page keep their original order apart from $orderby.
+   * @param entitySet the complete collection, already filtered; it is not modified
+   * @param response the response
+   * @return a new collection with the entities of the page and the count of the original collection
+   * @throws ODataApplicationException if the evaluation of an order expression fails
+   */
+  EntitySet apply(EntitySet entitySet, ODataResponse response) throws ODataApplicationException;
+}
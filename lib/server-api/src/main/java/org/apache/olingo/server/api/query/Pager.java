@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+
+/**
+ * Server-driven paging of entity collections.
+ * <p>The page size is the maximum page size configured for the entity set, reduced to the value of the
+ * <code>odata.maxpagesize</code> preference of the client if that is smaller.
+ * Pages are positioned by keyset: the skip token identifies the values of the $orderby expressions
+ * and of the key properties of the last entity delivered so far, so that inserts and deletes
+ * between two requests neither skip nor repeat entities.
+ * Skip tokens are opaque to clients; they are signed and bound to the request they continue.</p>
+ */
+public interface Pager {
+
+  /**
+   * Determines the page to be delivered for a request to an entity collection.
+   * @param request the request; its <code>Prefer</code> header and raw URI parts are used
+   * @param uriInfo information about the request URI
+   * @param entitySet the entity set the collection belongs to
+   * @return the page
+   * @throws ODataApplicationException if the skip token is not valid for the request (400)
+   * or the key of the entity type is not supported (501)
+   */
+  Page createPage(ODataRequest request, UriInfoResource uriInfo, EdmEntitySet entitySet)
+      throws ODataApplicationException;
+}
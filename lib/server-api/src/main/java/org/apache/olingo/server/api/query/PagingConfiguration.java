@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration of server-driven paging.
+ * A configuration is immutable and can be used for any number of pagers.
+ */
+public class PagingConfiguration {
+
+  /** Maximum page size of entity sets without explicit configuration. */
+  public static final int DEFAULT_MAX_PAGE_SIZE = 1000;
+
+  private static final int SECRET_LENGTH = 32;
+
+  private final int defaultMaxPageSize;
+  private final Map<String, Integer> maxPageSizes;
+  private final byte[] secret;
+
+  private PagingConfiguration(final int defaultMaxPageSize, final Map<String, Integer> maxPageSizes,
+      final byte[] secret) {
+    this.defaultMaxPageSize = defaultMaxPageSize;
+    this.maxPageSizes = maxPageSizes;
+    this.secret = secret;
+  }
+
+  /**
+   * Gets the maximum number of entities in a response for an entity set.
+   * @param entitySetName the name of the entity set
+   */
+  public int getMaxPageSize(final String entitySetName) {
+    final Integer maxPageSize = maxPageSizes.get(entitySetName);
+    return maxPageSize == null ? defaultMaxPageSize : maxPageSize;
+  }
+
+  /** Gets the secret used to sign skip tokens. */
+  public byte[] getSecret() {
+    return secret.clone();
+  }
+
+  /** Initializes the configuration builder. */
+  public static Builder with() {
+    return new Builder();
+  }
+
+  /**
+   * Builder of paging configurations.
+   * Each call of {@link #build()} creates a new configuration from a copy of the builder's settings.
+   */
+  public static final class Builder {
+
+    private int defaultMaxPageSize = DEFAULT_MAX_PAGE_SIZE;
+    private final Map<String, Integer> maxPageSizes = new HashMap<String, Integer>();
+    private byte[] secret;
+
+    private Builder() {}
+
+    /** Sets the maximum page size of entity sets without explicit configuration. */
+    public Builder defaultMaxPageSize(final int maxPageSize) {
+      defaultMaxPageSize = checkPageSize(maxPageSize);
+      return this;
+    }
+
+    /** Sets the maximum page size of an entity set. */
+    public Builder maxPageSize(final String entitySetName, final int maxPageSize) {
+      maxPageSizes.put(entitySetName, checkPageSize(maxPageSize));
+      return this;
+    }
+
+    /**
+     * Sets the secret used to sign skip tokens so that clients cannot forge them.
+     * Without a secret, a random one is generated; skip tokens then become invalid when
+     * the configuration is re-created, and they cannot be used across the nodes of a cluster.
+     */
+    public Builder secret(final byte[] secret) {
+      if (secret == null || secret.length == 0) {
+        throw new IllegalArgumentException("The secret must not be empty.");
+      }
+      this.secret = secret.clone();
+      return this;
+    }
+
+    /** Builds the paging configuration. */
+    public PagingConfiguration build() {
+      byte[] configurationSecret = secret;
+      if (configurationSecret == null) {
+        configurationSecret = new byte[SECRET_LENGTH];
+        new SecureRandom().nextBytes(configurationSecret);
+      } else {
+        configurationSecret = configurationSecret.clone();
+      }
+      return new PagingConfiguration(defaultMaxPageSize,
+          Collections.unmodifiableMap(new HashMap<String, Integer>(maxPageSizes)), configurationSecret);
+    }
+
+    private int checkPageSize(final int maxPageSize) {
+      if (maxPageSize <= 0) {
+        throw new IllegalArgumentException("The maximum page size must be positive.");
+      }
+      return maxPageSize;
+    }
+  }
+}
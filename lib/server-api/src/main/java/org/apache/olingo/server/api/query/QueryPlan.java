@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import java.util.List;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+
+/**
+ * Backend-neutral description of a read request for an entity collection,
+ * extracted from the resource path and the system query options.
+ * <p>A plan contains everything a data store needs to evaluate the request itself:
+ * the entity set, the projection, the filter, the order, and the paging.
+ * It can be handed to a {@link QueryTranslator} to build a query for a concrete backend.</p>
+ */
+public interface QueryPlan {
+
+  /**
+   * @return the entity set the entities are read from
+   */
+  EdmEntitySet getEntitySet();
+
+  /**
+   * Gets the names of the structural properties which have to be read.
+   * The key properties are always included.
+   * @return the property names or <code>null</code> if all properties are needed
+   */
+  List<String> getSelectedProperties();
+
+  /**
+   * @return the filter expression or <code>null</code> if all entities are requested
+   */
+  Expression getFilter();
+
+  /**
+   * @return the order items in the order of their precedence; empty if no order has been requested
+   */
+  List<OrderByItem> getOrderBy();
+
+  /**
+   * @return the number of entities to skip or <code>null</code>
+   */
+  Integer getSkip();
+
+  /**
+   * @return the maximum number of entities to return or <code>null</code>
+   */
+  Integer getTop();
+
+  /**
+   * @return whether the total number of entities matching the filter has been requested
+   */
+  boolean isCount();
+}
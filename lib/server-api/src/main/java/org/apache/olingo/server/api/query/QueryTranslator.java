@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+
+/**
+ * Translates a {@link QueryPlan} into a query for a concrete data store.
+ * Implementations which cannot push down a part of the plan must reject it instead of ignoring it.
+ *
+ * @param <T> type of the backend query
+ */
+public interface QueryTranslator<T> {
+
+  /**
+   * Translates a query plan.
+   * @param plan the query plan
+   * @return the backend query
+   * @throws ODataApplicationException if the plan contains constructs the backend does not support
+   */
+  T translate(QueryPlan plan) throws ODataApplicationException;
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.query;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL statements with positional parameters, as created by the reference SQL query translator.
+ * <p>Parameter values can be bound with <code>java.sql.PreparedStatement.setObject</code> in the given order:
+ * {@link Long} for integral numbers, {@link java.math.BigDecimal} for decimals and for durations in seconds,
+ * {@link java.sql.Date}, {@link java.sql.Timestamp}, and {@link java.sql.Time} for dates and times,
+ * and {@link String} for strings and GUIDs.</p>
+ */
+public final class SqlQuery {
+
+  private final String statement;
+  private final List<Object> parameters;
+  private final String countStatement;
+  private final List<Object> countParameters;
+
+  public SqlQuery(final String statement, final List<Object> parameters,
+      final String countStatement, final List<Object> countParameters) {
+    this.statement = statement;
+    this.parameters = Collections.unmodifiableList(parameters);
+    this.countStatement = countStatement;
+    this.countParameters = countParameters == null ? null : Collections.unmodifiableList(countParameters);
+  }
+
+  /**
+   * @return the statement selecting the requested entities
+   */
+  public String getStatement() {
+    return statement;
+  }
+
+  /**
+   * @return the values of the parameters of the statement
+   */
+  public List<Object> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the statement counting all entities matching the filter, or <code>null</code> if no count
+   * has been requested
+   */
+  public String getCountStatement() {
+    return countStatement;
+  }
+
+  /**
+   * @return the values of the parameters of the count statement, or <code>null</code>
+   */
+  public List<Object> getCountParameters() {
+    return countParameters;
+  }
+
+  @Override
+  public String toString() {
+    return statement + ' ' + parameters;
+  }
+}
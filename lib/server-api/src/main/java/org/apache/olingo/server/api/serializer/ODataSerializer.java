@@ -21,12 +21,14 @@ package org.apache.olingo.server.api.serializer;
 import java.io.InputStream;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.ServiceMetadata;
 
@@ -65,6 +67,17 @@ public interface ODataSerializer {
   InputStream entityCollection(EdmEntityType entityType, EntitySet entitySet,
       EntityCollectionSerializerOptions options) throws SerializerException;
 
+  /**
+   * Writes entity-collection data into the response output while the entities are read from the iterator;
+   * so the entities do not have to be held in memory all at once.
+   * @param entityType the {@link EdmEntityType}
+   * @param entities   the data of the entity set, provided one entity at a time
+   * @param options    options for the serializer
+   * @return the content to be set at the response
+   */
+  ODataContent entityCollectionStreamed(EdmEntityType entityType, EntityIterator entities,
+      EntityCollectionSerializerOptions options) throws SerializerException;
+
   /**
    * Writes entity data into an InputStream.
    * @param entityType the {@link EdmEntityType}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.serializer;
+
+/**
+ * Configuration of an OData serializer.
+ * A configuration is immutable and can be used for any number of serializers.
+ */
+public class SerializerConfiguration {
+
+  /** The default initial size in bytes of the buffer holding the serialized content. */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+  /** Gets the initial size in bytes of the buffer holding the serialized content. */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  private SerializerConfiguration() {}
+
+  /** Initializes the configuration builder. */
+  public static Builder with() {
+    return new Builder();
+  }
+
+  /** Builder of OData serializer configurations. */
+  public static final class Builder {
+
+    private SerializerConfiguration configuration;
+
+    private Builder() {
+      configuration = new SerializerConfiguration();
+    }
+
+    /**
+     * Sets the initial size in bytes of the buffer holding the serialized content.
+     * Larger buffers avoid buffer allocations for large responses,
+     * smaller buffers save memory for small responses.
+     */
+    public Builder bufferSize(final int bufferSize) {
+      if (bufferSize <= 0) {
+        throw new IllegalArgumentException("The buffer size must be positive.");
+      }
+      configuration.bufferSize = bufferSize;
+      return this;
+    }
+
+    /** Builds the OData serializer configuration. */
+    public SerializerConfiguration build() {
+      return configuration;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.uri.queryoption.expression;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+/**
+ * A $filter expression compiled by an {@link ExpressionEvaluator}.
+ */
+public interface CompiledFilter {
+
+  /**
+   * Evaluates the filter expression for the given entity.
+   * @param entity the entity
+   * @return <code>true</code> if the expression evaluates to true;
+   * <code>false</code> if it evaluates to false or to null
+   * @throws ODataApplicationException if the evaluation fails, e.g., because of a division by zero
+   */
+  boolean matches(Entity entity) throws ODataApplicationException;
+
+  /**
+   * Filters a list of entities, keeping their order.
+   * Large lists are split into chunks which are evaluated concurrently if an executor is given.
+   * @param entities the entities; the list is not modified
+   * @param executor executor for the concurrent evaluation or <code>null</code> to evaluate in the calling thread
+   * @return a new list with the entities matching the filter expression
+   * @throws ODataApplicationException if the evaluation fails for one of the entities
+   */
+  List<Entity> filter(List<Entity> entities, ExecutorService executor) throws ODataApplicationException;
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.uri.queryoption.expression;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+/**
+ * An $orderby option compiled by an {@link ExpressionEvaluator}.
+ * <p>As a {@link Comparator}, it evaluates the order expressions of both entities in each comparison
+ * and reports evaluation failures as {@link org.apache.olingo.commons.api.ODataRuntimeException}.
+ * Sorting through {@link #sort(List)} evaluates the expressions only once per entity.</p>
+ */
+public interface CompiledOrderBy extends Comparator<Entity> {
+
+  /**
+   * Sorts a list of entities; entities which are equal with respect to the order keep their relative order.
+   * @param entities the entities; the list is not modified
+   * @return a new, sorted list
+   * @throws ODataApplicationException if the evaluation of an order expression fails
+   */
+  List<Entity> sort(List<Entity> entities) throws ODataApplicationException;
+
+  /**
+   * Gets the values of the order expressions for an entity, e.g., to remember a position in the sorted list.
+   * @param entity the entity
+   * @return the values, in the order of the expressions
+   * @throws ODataApplicationException if the evaluation of an order expression fails
+   */
+  Object[] getSortValues(Entity entity) throws ODataApplicationException;
+
+  /**
+   * Compares two arrays of values as returned by {@link #getSortValues(Entity)}.
+   * @return a negative number, zero, or a positive number if the left values sort before,
+   * equal to, or after the right values
+   */
+  int compareSortValues(Object[] left, Object[] right);
+}
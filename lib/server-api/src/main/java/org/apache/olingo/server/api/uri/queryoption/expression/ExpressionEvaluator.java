@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api.uri.queryoption.expression;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+
+/**
+ * Compiles the expression trees of system query options into objects which can be evaluated
+ * directly against in-memory entities.
+ * <p>Literals are converted into values of their primitive types and member paths are resolved once,
+ * during compilation; the compiled objects are thread-safe and can be reused for any number of entities.
+ * Expressions the evaluator does not support (e.g., lambda expressions, navigation, or aliases)
+ * are rejected during compilation.</p>
+ */
+public interface ExpressionEvaluator {
+
+  /**
+   * Compiles a $filter option.
+   * @param filterOption the filter option
+   * @return the compiled filter
+   * @throws ODataApplicationException if the expression is not a boolean expression
+   * or contains unsupported constructs
+   */
+  CompiledFilter compile(FilterOption filterOption) throws ODataApplicationException;
+
+  /**
+   * Compiles an $orderby option.
+   * @param orderByOption the orderby option
+   * @return the compiled order
+   * @throws ODataApplicationException if an expression contains unsupported constructs
+   */
+  CompiledOrderBy compile(OrderByOption orderByOption) throws ODataApplicationException;
+}
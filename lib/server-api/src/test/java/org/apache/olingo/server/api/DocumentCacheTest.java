@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+public class DocumentCacheTest {
+
+  private static InputStream content(final String text) throws Exception {
+    return new ByteArrayInputStream(text.getBytes("UTF-8"));
+  }
+
+  @Test
+  public void baseUriDocumentsDoNotDisplaceOthers() throws Exception {
+    final DocumentCache cache = new DocumentCache();
+    final String eTag = cache.put("metadata", content("metadata")).getETag();
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put("service", "http://host" + i + "/", content("service " + i));
+    }
+
+    assertEquals(eTag, cache.get("metadata").getETag());
+    assertNull(cache.get("service", "http://host0/"));
+    assertNotNull(cache.get("service", "http://host999/"));
+  }
+
+  @Test
+  public void leastRecentlyUsedEvicted() throws Exception {
+    final DocumentCache cache = new DocumentCache();
+    cache.put("service", "http://host0/", content("service"));
+    for (int i = 1; i < 100; i++) {
+      // keeps the first document in use
+      assertNotNull(cache.get("service", "http://host0/"));
+      cache.put("service", "http://host" + i + "/", content("service " + i));
+    }
+    assertNotNull(cache.get("service", "http://host0/"));
+    assertNull(cache.get("service", "http://host1/"));
+  }
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+
+/**
+ * Content encodings (compression) of request and response bodies.
+ */
+final class ContentCompression {
+
+  static final String GZIP = "gzip";
+  static final String DEFLATE = "deflate";
+  private static final String X_GZIP = "x-gzip";
+  private static final String IDENTITY = "identity";
+  private static final int BUFFER_SIZE = 8192;
+
+  private ContentCompression() {
+    // private constructor for static utility class
+  }
+
+  /**
+   * Chooses the response content encoding from the value of the Accept-Encoding header.
+   * Among the encodings with non-zero quality, gzip is preferred over deflate.
+   * @return {@link #GZIP}, {@link #DEFLATE}, or <code>null</code> if none of them is acceptable
+   */
+  static String negotiate(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+    float gzip = -1;
+    float deflate = -1;
+    float any = -1;
+    for (final String encoding : acceptEncoding.split(",")) {
+      final String[] parts = encoding.split(";");
+      final String name = parts[0].trim().toLowerCase(Locale.ENGLISH);
+      float quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        final String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            quality = Float.parseFloat(parameter.substring(2));
+          } catch (final NumberFormatException e) {
+            quality = 0;
+          }
+        }
+      }
+      if (GZIP.equals(name) || X_GZIP.equals(name)) {
+        gzip = quality;
+      } else if (DEFLATE.equals(name)) {
+        deflate = quality;
+      } else if ("*".equals(name)) {
+        any = quality;
+      }
+    }
+    gzip = gzip < 0 ? any : gzip;
+    deflate = deflate < 0 ? any : deflate;
+    return gzip > 0 && gzip >= deflate ? GZIP : deflate > 0 ? DEFLATE : null;
+  }
+
+  /**
+   * Decodes a request body according to the value of its Content-Encoding header.
+   * An empty body stays empty, whatever its content encoding.
+   * Reading more than the maximum size from the decoded body fails with an {@link IOException}
+   * caused by an {@link ODataHandlerException} with message key
+   * {@link ODataHandlerException.MessageKeys#DECODED_CONTENT_TOO_LARGE}.
+   * @param maxDecodedSize the maximum size of the decoded body in bytes; a negative value for no limit
+   * @return the decoded body; the given body itself if it is not encoded
+   * @throws ODataHandlerException if the content encoding is not supported
+   * or the body does not start with a valid header of its content encoding
+   * @throws IOException if the body cannot be read
+   */
+  static InputStream decode(final String contentEncoding, final InputStream body, final long maxDecodedSize)
+      throws ODataHandlerException, IOException {
+    if (contentEncoding == null || body == null) {
+      return body;
+    }
+    final String name = contentEncoding.trim().toLowerCase(Locale.ENGLISH);
+    if (name.length() == 0 || IDENTITY.equals(name)) {
+      return body;
+    } else if (GZIP.equals(name) || X_GZIP.equals(name)) {
+      final PushbackInputStream input = new PushbackInputStream(body);
+      if (isEmpty(input)) {
+        return input;
+      }
+      try {
+        return limit(new GZIPInputStream(input, BUFFER_SIZE), maxDecodedSize);
+      } catch (final ZipException e) {
+        throw invalidContent(contentEncoding, e);
+      } catch (final EOFException e) {
+        throw invalidContent(contentEncoding, e);
+      }
+    } else if (DEFLATE.equals(name)) {
+      final PushbackInputStream input = new PushbackInputStream(body);
+      return isEmpty(input) ? input :
+          limit(new InflaterInputStream(input, new Inflater(), BUFFER_SIZE), maxDecodedSize);
+    } else {
+      throw new ODataHandlerException("Unsupported content encoding " + contentEncoding,
+          ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, contentEncoding);
+    }
+  }
+
+  private static boolean isEmpty(final PushbackInputStream input) throws IOException {
+    final int first = input.read();
+    if (first == -1) {
+      return true;
+    }
+    input.unread(first);
+    return false;
+  }
+
+  private static InputStream limit(final InputStream decoded, final long maxDecodedSize) {
+    return maxDecodedSize < 0 ? decoded : new LimitedInputStream(decoded, maxDecodedSize);
+  }
+
+  private static ODataHandlerException invalidContent(final String contentEncoding, final IOException cause) {
+    return new ODataHandlerException("Invalid " + contentEncoding + " content: " + cause.getMessage(), cause,
+        ODataHandlerException.MessageKeys.INVALID_ENCODED_CONTENT, contentEncoding);
+  }
+
+  /**
+   * Gets the validator for compressed content, which is not byte-for-byte the one the entity tag was computed for.
+   * @param eTag the entity tag of the uncompressed content
+   * @return the entity tag weakened
+   */
+  static String weaken(final String eTag) {
+    return eTag.startsWith("W/") ? eTag : "W/" + eTag;
+  }
+
+  /**
+   * Output to the HTTP response that compresses the content once it reaches a minimum size.
+   * Content is held back until that size is reached, so the Content-Encoding and ETag headers can still be set;
+   * smaller content is written uncompressed when the stream is closed.
+   */
+  static final class CompressingOutputStream extends OutputStream {
+
+    private final HttpServletResponse response;
+    private final String eTag;
+    private final String encoding;
+    private final int minimumSize;
+    private final int level;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private OutputStream output;
+    private Deflater deflater;
+
+    CompressingOutputStream(final HttpServletResponse response, final String eTag, final String encoding,
+        final int minimumSize, final int level) {
+      this.response = response;
+      this.eTag = eTag;
+      this.encoding = encoding;
+      this.minimumSize = minimumSize;
+      this.level = level;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+      if (output == null) {
+        if (pending.size() + length < minimumSize) {
+          pending.write(buffer, offset, length);
+          return;
+        }
+        start(true);
+      }
+      output.write(buffer, offset, length);
+    }
+
+    private void start(final boolean compress) throws IOException {
+      final OutputStream raw = response.getOutputStream();
+      if (compress) {
+        response.setHeader(HttpHeader.CONTENT_ENCODING, encoding);
+        if (eTag != null) {
+          response.setHeader(HttpHeader.ETAG, weaken(eTag));
+        }
+        if (GZIP.equals(encoding)) {
+          output = new LevelGZIPOutputStream(raw, level);
+        } else {
+          deflater = new Deflater(level);
+          output = new DeflaterOutputStream(raw, deflater, BUFFER_SIZE);
+        }
+      } else {
+        output = raw;
+      }
+      pending.writeTo(output);
+      pending = null;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      // Flushing before the minimum size is reached would force the decision against compression.
+      if (output != null) {
+        output.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (output == null) {
+        start(false);
+      }
+      try {
+        output.close();
+      } finally {
+        if (deflater != null) {
+          deflater.end();
+        }
+      }
+    }
+  }
+
+  /**
+   * Input that fails once more than a maximum number of bytes has been read,
+   * so that a small compressed body cannot expand without bounds.
+   */
+  private static final class LimitedInputStream extends FilterInputStream {
+
+    private final long maxSize;
+    private long remaining;
+
+    LimitedInputStream(final InputStream input, final long maxSize) {
+      super(input);
+      this.maxSize = maxSize;
+      remaining = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      if (b != -1) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+      // One byte more than allowed is requested to detect content exceeding the limit.
+      final int read = super.read(buffer, offset, (int) Math.min(length, remaining + 1));
+      if (read > 0) {
+        count(read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      final long skipped = super.skip(Math.min(n, remaining + 1));
+      count(skipped);
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    private void count(final long read) throws IOException {
+      remaining -= read;
+      if (remaining < 0) {
+        final String size = String.valueOf(maxSize);
+        throw new IOException("Decoded request body exceeds " + size + " bytes.",
+            new ODataHandlerException("Decoded request body exceeds " + size + " bytes.",
+                ODataHandlerException.MessageKeys.DECODED_CONTENT_TOO_LARGE, size));
+      }
+    }
+  }
+
+  /** GZIP output with a configurable compression level. */
+  private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+    LevelGZIPOutputStream(final OutputStream output, final int level) throws IOException {
+      super(output, BUFFER_SIZE);
+      def.setLevel(level);
+    }
+  }
+}
@@ -80,10 +80,15 @@ public class ODataExceptionHelper {
       serverError.setStatusCode(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode());
     } else if (ODataHandlerException.MessageKeys.ODATA_VERSION_NOT_SUPPORTED.equals(e.getMessageKey())
         || ODataHandlerException.MessageKeys.INVALID_HTTP_METHOD.equals(e.getMessageKey())
-        || ODataHandlerException.MessageKeys.AMBIGUOUS_XHTTP_METHOD.equals(e.getMessageKey())) {
+        || ODataHandlerException.MessageKeys.AMBIGUOUS_XHTTP_METHOD.equals(e.getMessageKey())
+        || ODataHandlerException.MessageKeys.INVALID_ENCODED_CONTENT.equals(e.getMessageKey())) {
       serverError.setStatusCode(HttpStatusCode.BAD_REQUEST.getStatusCode());
     } else if (ODataHandlerException.MessageKeys.HTTP_METHOD_NOT_ALLOWED.equals(e.getMessageKey())) {
       serverError.setStatusCode(HttpStatusCode.METHOD_NOT_ALLOWED.getStatusCode());
+    } else if (ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING.equals(e.getMessageKey())) {
+      serverError.setStatusCode(HttpStatusCode.UNSUPPORTED_MEDIA_TYPE.getStatusCode());
+    } else if (ODataHandlerException.MessageKeys.DECODED_CONTENT_TOO_LARGE.equals(e.getMessageKey())) {
+      serverError.setStatusCode(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.getStatusCode());
     }
 
     return serverError;
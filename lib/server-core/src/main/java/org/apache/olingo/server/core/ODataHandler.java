@@ -18,8 +18,11 @@
  */
 package org.apache.olingo.server.core;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.commons.api.edm.EdmAction;
 import org.apache.olingo.commons.api.edm.EdmActionImport;
@@ -33,6 +36,7 @@ import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -80,7 +84,9 @@ import org.apache.olingo.server.api.uri.UriResourcePartTyped;
 import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
 import org.apache.olingo.server.api.uri.UriResourceProperty;
 import org.apache.olingo.server.core.batchhandler.BatchHandler;
+import org.apache.olingo.server.core.batchhandler.BatchPartExecutor;
 import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
 import org.apache.olingo.server.core.uri.parser.UriParserException;
 import org.apache.olingo.server.core.uri.parser.UriParserSemanticException;
 import org.apache.olingo.server.core.uri.parser.UriParserSyntaxException;
@@ -91,10 +97,12 @@ public class ODataHandler {
 
   private final OData odata;
   private final ServiceMetadata serviceMetadata;
-  private List<Processor> processors = new LinkedList<Processor>();
-  private CustomContentTypeSupport customContentTypeSupport = null;
+  private volatile List<Processor> processors = Collections.emptyList();
+  private volatile Map<Class<?>, Processor> processorTable = Collections.emptyMap();
+  private volatile CustomContentTypeSupport customContentTypeSupport = null;
 
-  private UriInfo uriInfo;
+  private volatile UriInfoCache uriInfoCache = null;
+  private volatile BatchPartExecutor batchPartExecutor = null;
 
   public ODataHandler(final OData server, final ServiceMetadata serviceMetadata) {
     odata = server;
@@ -106,54 +114,57 @@ public class ODataHandler {
 
   public ODataResponse process(final ODataRequest request) {
     ODataResponse response = new ODataResponse();
+    final RequestContext context = new RequestContext();
     try {
 
-      processInternal(request, response);
+      processInternal(request, response, context);
 
     } catch (final UriValidationException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (final UriParserSemanticException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (final UriParserSyntaxException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (final UriParserException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (ContentNegotiatorException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (SerializerException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (BatchDeserializerException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (DeserializerException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (ODataHandlerException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e, null);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (ODataApplicationException e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     } catch (Exception e) {
       ODataServerError serverError = ODataExceptionHelper.createServerErrorObject(e);
-      handleException(request, response, serverError);
+      handleException(request, response, serverError, context.uriInfo);
     }
     return response;
   }
 
-  private void processInternal(final ODataRequest request, final ODataResponse response)
+  private void processInternal(final ODataRequest request, final ODataResponse response,
+                               final RequestContext context)
           throws ODataHandlerException, UriParserException, UriValidationException, ContentNegotiatorException,
           ODataApplicationException, SerializerException, DeserializerException {
     validateODataVersion(request, response);
 
-    uriInfo = new Parser().parseUri(request.getRawODataPath(), request.getRawQueryPath(), null,
-            serviceMetadata.getEdm());
+    final UriInfo uriInfo = new Parser().setUriInfoCache(uriInfoCache)
+        .parseUri(request.getRawODataPath(), request.getRawQueryPath(), null, serviceMetadata.getEdm());
+    context.uriInfo = uriInfo;
 
     final HttpMethod method = request.getMethod();
     new UriValidator().validate(uriInfo, method);
@@ -165,6 +176,7 @@ public class ODataHandler {
                   request, customContentTypeSupport, RepresentationType.METADATA);
           selectProcessor(MetadataProcessor.class)
                   .readMetadata(request, response, uriInfo, requestedContentType);
+          checkNotModified(request, response);
         } else {
           throw new ODataHandlerException("HttpMethod " + method + " not allowed for metadata document",
                   ODataHandlerException.MessageKeys.HTTP_METHOD_NOT_ALLOWED, method.toString());
@@ -181,6 +193,7 @@ public class ODataHandler {
 
             selectProcessor(ServiceDocumentProcessor.class)
                     .readServiceDocument(request, response, uriInfo, requestedContentType);
+            checkNotModified(request, response);
           }
         } else {
           throw new ODataHandlerException("HttpMethod " + method + " not allowed for service document",
@@ -189,7 +202,7 @@ public class ODataHandler {
         break;
 
       case resource:
-        handleResourceDispatching(request, response);
+        handleResourceDispatching(request, response, uriInfo);
         break;
 
       case batch:
@@ -211,6 +224,15 @@ public class ODataHandler {
 
   public void handleException(final ODataRequest request, final ODataResponse response,
                               final ODataServerError serverError) {
+    handleException(request, response, serverError, null);
+  }
+
+  private void handleException(final ODataRequest request, final ODataResponse response,
+                               final ODataServerError error, final UriInfo uriInfo) {
+    // Reading a decoded request body beyond its limit fails deep inside deserializers and processors.
+    final ODataHandlerException tooLarge = getDecodedContentTooLarge(error.getException());
+    final ODataServerError serverError = tooLarge == null ? error :
+        ODataExceptionHelper.createServerErrorObject(tooLarge, null);
 
     ErrorProcessor exceptionProcessor;
     try {
@@ -230,7 +252,18 @@ public class ODataHandler {
     exceptionProcessor.processError(request, response, serverError, requestedContentType);
   }
 
-  private void handleResourceDispatching(final ODataRequest request, final ODataResponse response)
+  private ODataHandlerException getDecodedContentTooLarge(final Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ODataHandlerException && ODataHandlerException.MessageKeys.DECODED_CONTENT_TOO_LARGE
+          .equals(((ODataHandlerException) cause).getMessageKey())) {
+        return (ODataHandlerException) cause;
+      }
+    }
+    return null;
+  }
+
+  private void handleResourceDispatching(final ODataRequest request, final ODataResponse response,
+                                         final UriInfo uriInfo)
           throws ODataHandlerException, ContentNegotiatorException, ODataApplicationException,
           SerializerException, DeserializerException {
 
@@ -239,38 +272,38 @@ public class ODataHandler {
 
     switch (lastPathSegment.getKind()) {
       case action:
-        handleActionDispatching(request, response, (UriResourceAction) lastPathSegment);
+        handleActionDispatching(request, response, uriInfo, (UriResourceAction) lastPathSegment);
         break;
 
       case function:
-        handleFunctionDispatching(request, response, (UriResourceFunction) lastPathSegment);
+        handleFunctionDispatching(request, response, uriInfo, (UriResourceFunction) lastPathSegment);
         break;
 
       case entitySet:
       case navigationProperty:
-        handleEntityDispatching(request, response, (UriResourcePartTyped) lastPathSegment);
+        handleEntityDispatching(request, response, uriInfo, (UriResourcePartTyped) lastPathSegment);
         break;
 
       case count:
-        handleCountDispatching(request, response, lastPathSegmentIndex);
+        handleCountDispatching(request, response, uriInfo, lastPathSegmentIndex);
         break;
 
       case primitiveProperty:
-        handlePrimitivePropertyDispatching(request, response, false,
+        handlePrimitivePropertyDispatching(request, response, uriInfo, false,
                 ((UriResourceProperty) lastPathSegment).isCollection());
         break;
 
       case complexProperty:
-        handleComplexPropertyDispatching(request, response, false,
+        handleComplexPropertyDispatching(request, response, uriInfo, false,
                 ((UriResourceProperty) lastPathSegment).isCollection());
         break;
 
       case value:
-        handleValueDispatching(request, response, lastPathSegmentIndex);
+        handleValueDispatching(request, response, uriInfo, lastPathSegmentIndex);
         break;
 
       case ref:
-        handleReferenceDispatching(request, response, lastPathSegmentIndex);
+        handleReferenceDispatching(request, response, uriInfo, lastPathSegmentIndex);
         break;
 
       default:
@@ -280,7 +313,7 @@ public class ODataHandler {
   }
 
   private void handleFunctionDispatching(final ODataRequest request, final ODataResponse response,
-                                         final UriResourceFunction uriResourceFunction)
+                                         final UriInfo uriInfo, final UriResourceFunction uriResourceFunction)
           throws ODataHandlerException, SerializerException, ContentNegotiatorException,
           ODataApplicationException, DeserializerException {
     final HttpMethod method = request.getMethod();
@@ -302,11 +335,11 @@ public class ODataHandler {
               ODataHandlerException.MessageKeys.FUNCTIONALITY_NOT_IMPLEMENTED);
     }
     EdmReturnType returnType = unboundFunctions.get(0).getReturnType();
-    handleOperationDispatching(request, response, false, returnType);
+    handleOperationDispatching(request, response, uriInfo, false, returnType);
   }
 
   private void handleActionDispatching(final ODataRequest request, final ODataResponse response,
-                                       final UriResourceAction uriResourceAction)
+                                       final UriInfo uriInfo, final UriResourceAction uriResourceAction)
           throws ODataHandlerException, SerializerException, ContentNegotiatorException,
           ODataApplicationException, DeserializerException {
 
@@ -329,24 +362,25 @@ public class ODataHandler {
               ODataHandlerException.MessageKeys.FUNCTIONALITY_NOT_IMPLEMENTED);
     }
     EdmReturnType returnType = unboundActions.getReturnType();
-    handleOperationDispatching(request, response, true, returnType);
+    handleOperationDispatching(request, response, uriInfo, true, returnType);
   }
 
 
   private void handleOperationDispatching(final ODataRequest request, final ODataResponse response,
-                                          final boolean isAction, final EdmReturnType edmReturnTypeKind)
+                                          final UriInfo uriInfo, final boolean isAction,
+                                          final EdmReturnType edmReturnTypeKind)
           throws ODataHandlerException, SerializerException, ContentNegotiatorException,
           ODataApplicationException, DeserializerException {
 
     switch (edmReturnTypeKind.getType().getKind()) {
       case ENTITY:
-        handleEntityDispatching(request, response, edmReturnTypeKind.isCollection(), false, isAction);
+        handleEntityDispatching(request, response, uriInfo, edmReturnTypeKind.isCollection(), false, isAction);
         break;
       case PRIMITIVE:
-        handlePrimitivePropertyDispatching(request, response, isAction, edmReturnTypeKind.isCollection());
+        handlePrimitivePropertyDispatching(request, response, uriInfo, isAction, edmReturnTypeKind.isCollection());
         break;
       case COMPLEX:
-        handleComplexPropertyDispatching(request, response, isAction, edmReturnTypeKind.isCollection());
+        handleComplexPropertyDispatching(request, response, uriInfo, isAction, edmReturnTypeKind.isCollection());
         break;
       default:
         throw new ODataHandlerException("not implemented",
@@ -356,7 +390,7 @@ public class ODataHandler {
 
 
   private void handleReferenceDispatching(final ODataRequest request, final ODataResponse response,
-                                          final int lastPathSegmentIndex)
+                                          final UriInfo uriInfo, final int lastPathSegmentIndex)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
     final HttpMethod method = request.getMethod();
@@ -396,7 +430,7 @@ public class ODataHandler {
   }
 
   private void handleValueDispatching(final ODataRequest request, final ODataResponse response,
-                                      final int lastPathSegmentIndex)
+                                      final UriInfo uriInfo, final int lastPathSegmentIndex)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
     final HttpMethod method = request.getMethod();
@@ -447,7 +481,8 @@ public class ODataHandler {
   }
 
   private void handleComplexPropertyDispatching(final ODataRequest request, final ODataResponse response,
-                                                final boolean isAction, final boolean isCollection)
+                                                final UriInfo uriInfo, final boolean isAction,
+                                                final boolean isCollection)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
 
@@ -501,7 +536,7 @@ public class ODataHandler {
   }
 
   private void handlePrimitivePropertyDispatching(final ODataRequest request, final ODataResponse response,
-                                                  boolean isAction, final boolean isCollection)
+                                                  final UriInfo uriInfo, boolean isAction, final boolean isCollection)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
 
@@ -554,7 +589,7 @@ public class ODataHandler {
   }
 
   private void handleCountDispatching(final ODataRequest request, final ODataResponse response,
-                                      final int lastPathSegmentIndex)
+                                      final UriInfo uriInfo, final int lastPathSegmentIndex)
           throws ODataApplicationException, SerializerException, ODataHandlerException {
 
     final HttpMethod method = request.getMethod();
@@ -577,14 +612,16 @@ public class ODataHandler {
   }
 
   private void handleEntityDispatching(final ODataRequest request, final ODataResponse response,
-                                       final UriResourcePartTyped uriResourcePart)
+                                       final UriInfo uriInfo, final UriResourcePartTyped uriResourcePart)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
-    handleEntityDispatching(request, response, uriResourcePart.isCollection(), isMedia(uriResourcePart), false);
+    handleEntityDispatching(request, response, uriInfo, uriResourcePart.isCollection(), isMedia(uriResourcePart),
+            false);
   }
 
   private void handleEntityDispatching(final ODataRequest request, final ODataResponse response,
-                                       final boolean isCollection, final boolean isMedia, boolean isAction)
+                                       final UriInfo uriInfo, final boolean isCollection, final boolean isMedia,
+                                       boolean isAction)
           throws ContentNegotiatorException, ODataApplicationException, SerializerException, ODataHandlerException,
           DeserializerException {
 
@@ -658,6 +695,30 @@ public class ODataHandler {
     }
   }
 
+  /**
+   * Replaces a successful response with <code>304 Not Modified</code>
+   * if its entity tag matches one of the entity tags in the request's <code>If-None-Match</code> header.
+   */
+  private void checkNotModified(final ODataRequest request, final ODataResponse response) {
+    final String eTag = response.getHeaders().get(HttpHeader.ETAG);
+    final String ifNoneMatch = request.getHeader(HttpHeader.IF_NONE_MATCH);
+    if (response.getStatusCode() != HttpStatusCode.OK.getStatusCode() || eTag == null || ifNoneMatch == null) {
+      return;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      // GET uses the weak comparison function, so a weak validator matches as well.
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if ("*".equals(candidate) || candidate.equals(eTag)) {
+        response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+        response.setContent(null);
+        return;
+      }
+    }
+  }
+
   private void validateODataVersion(final ODataRequest request, final ODataResponse response)
           throws ODataHandlerException {
     final String maxVersion = request.getHeader(HttpHeader.ODATA_MAX_VERSION);
@@ -679,21 +740,76 @@ public class ODataHandler {
   }
 
   private <T extends Processor> T selectProcessor(final Class<T> cls) throws ODataHandlerException {
+    final Processor processor = processorTable.get(cls);
+    if (processor == null) {
+      throw new ODataHandlerException("Processor: " + cls.getSimpleName() + " not registered.",
+              ODataHandlerException.MessageKeys.PROCESSOR_NOT_IMPLEMENTED, cls.getSimpleName());
+    }
+    processor.init(odata, serviceMetadata);
+    return cls.cast(processor);
+  }
+
+  /**
+   * Registers a processor; processors registered later take precedence over earlier ones
+   * for the processor interfaces they implement.
+   * Registration is meant to happen before the handler processes requests;
+   * request processing itself does not modify the handler.
+   */
+  public synchronized void register(final Processor processor) {
+    final List<Processor> newProcessors = new ArrayList<Processor>(processors.size() + 1);
+    newProcessors.add(processor);
+    newProcessors.addAll(processors);
+    processorTable = createProcessorTable(newProcessors);
+    processors = Collections.unmodifiableList(newProcessors);
+  }
+
+  /**
+   * Maps every processor type implemented by one of the processors to the first processor implementing it.
+   */
+  private static Map<Class<?>, Processor> createProcessorTable(final List<Processor> processors) {
+    final Map<Class<?>, Processor> table = new HashMap<Class<?>, Processor>();
     for (final Processor processor : processors) {
-      if (cls.isAssignableFrom(processor.getClass())) {
-        processor.init(odata, serviceMetadata);
-        return cls.cast(processor);
-      }
+      addProcessorTypes(table, processor.getClass(), processor);
     }
-    throw new ODataHandlerException("Processor: " + cls.getSimpleName() + " not registered.",
-            ODataHandlerException.MessageKeys.PROCESSOR_NOT_IMPLEMENTED, cls.getSimpleName());
+    return Collections.unmodifiableMap(table);
   }
 
-  public void register(final Processor processor) {
-    processors.add(0, processor);
+  private static void addProcessorTypes(final Map<Class<?>, Processor> table, final Class<?> type,
+      final Processor processor) {
+    if (type == null || !Processor.class.isAssignableFrom(type) || table.get(type) == processor) {
+      return;
+    }
+    if (!table.containsKey(type)) {
+      table.put(type, processor);
+    }
+    addProcessorTypes(table, type.getSuperclass(), processor);
+    for (final Class<?> interfaceType : type.getInterfaces()) {
+      addProcessorTypes(table, interfaceType, processor);
+    }
   }
 
   public void register(final CustomContentTypeSupport customContentTypeSupport) {
     this.customContentTypeSupport = customContentTypeSupport;
   }
+
+  public void setUriInfoCache(final UriInfoCache uriInfoCache) {
+    this.uriInfoCache = uriInfoCache;
+  }
+
+  public UriInfoCache getUriInfoCache() {
+    return uriInfoCache;
+  }
+
+  public void setBatchPartExecutor(final BatchPartExecutor batchPartExecutor) {
+    this.batchPartExecutor = batchPartExecutor;
+  }
+
+  public BatchPartExecutor getBatchPartExecutor() {
+    return batchPartExecutor;
+  }
+
+  /** Holds the state of one request while it is processed. */
+  private static final class RequestContext {
+    private UriInfo uriInfo;
+  }
 }
@@ -31,6 +31,9 @@ public class ODataHandlerException extends ODataTranslatedException {
     /** parameter: processor interface */ PROCESSOR_NOT_IMPLEMENTED,
     /** no parameter */ FUNCTIONALITY_NOT_IMPLEMENTED,
     /** parameter: content type */ UNSUPPORTED_CONTENT_TYPE,
+    /** parameter: content encoding */ UNSUPPORTED_CONTENT_ENCODING,
+    /** parameter: content encoding */ INVALID_ENCODED_CONTENT,
+    /** parameter: maximum size */ DECODED_CONTENT_TOO_LARGE,
     /** parameter: version */ ODATA_VERSION_NOT_SUPPORTED;
 
     @Override
@@ -44,6 +47,11 @@ public class ODataHandlerException extends ODataTranslatedException {
     super(developmentMessage, messageKey, parameters);
   }
 
+  public ODataHandlerException(final String developmentMessage, final Throwable cause, final MessageKey messageKey,
+      final String... parameters) {
+    super(developmentMessage, cause, messageKey, parameters);
+  }
+
   @Override
   protected String getBundleName() {
     return DEFAULT_SERVER_BUNDLE_NAME;
@@ -19,13 +19,19 @@
 package org.apache.olingo.server.core;
 
 import java.io.Closeable;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -34,6 +40,7 @@ import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataHttpHandler;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
@@ -43,15 +50,23 @@ import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.processor.Processor;
 import org.apache.olingo.server.api.serializer.CustomContentTypeSupport;
 import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.core.batchhandler.BatchPartExecutor;
+import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ODataHttpHandlerImpl implements ODataHttpHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(ODataHttpHandlerImpl.class);
+  private static final int COPY_BUFFER_SIZE = 8192;
+  private static final long DEFAULT_MAX_DECODED_REQUEST_SIZE = 100L * 1024 * 1024;
 
-  private ODataHandler handler;
+  private final ODataHandler handler;
   private int split = 0;
+  private int compressionMinimumSize = -1;
+  private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+  private long maxDecodedRequestSize = DEFAULT_MAX_DECODED_REQUEST_SIZE;
 
   public ODataHttpHandlerImpl(final OData odata, final ServiceMetadata serviceMetadata) {
     handler = new ODataHandler(odata, serviceMetadata);
@@ -69,7 +84,9 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
       odResponse = handleException(odRequest, e);
     }
 
-    convertToHttp(response, odResponse);
+    final String encoding = compressionMinimumSize < 0 ? null :
+        ContentCompression.negotiate(request.getHeader(HttpHeader.ACCEPT_ENCODING));
+    convertToHttp(response, odResponse, encoding, compressionMinimumSize, compressionLevel);
   }
 
   @Override
@@ -92,22 +109,44 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
   }
 
   static void convertToHttp(final HttpServletResponse response, final ODataResponse odResponse) {
+    convertToHttp(response, odResponse, null, 0, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Writes the OData response to the HTTP response, compressing the content with the given encoding
+   * once it reaches the minimum size.
+   * Content with a fixed length or encoding set by the application is never compressed;
+   * the ETag of compressed content is weakened.
+   * @param encoding the negotiated content encoding or <code>null</code> for no compression
+   */
+  static void convertToHttp(final HttpServletResponse response, final ODataResponse odResponse,
+      final String encoding, final int minimumSize, final int level) {
     response.setStatus(odResponse.getStatusCode());
 
     for (Entry<String, String> entry : odResponse.getHeaders().entrySet()) {
       response.setHeader(entry.getKey(), entry.getValue());
     }
 
+    final boolean compress = encoding != null
+        && (odResponse.getODataContent() != null || odResponse.getContent() != null)
+        && odResponse.getHeaders().get(HttpHeader.CONTENT_LENGTH) == null
+        && odResponse.getHeaders().get(HttpHeader.CONTENT_ENCODING) == null;
+    if (compress) {
+      response.addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    }
+    final String eTag = odResponse.getHeaders().get(HttpHeader.ETAG);
+
+    if (odResponse.getODataContent() != null) {
+      writeContent(response, odResponse.getODataContent(), eTag, compress ? encoding : null, minimumSize, level);
+      return;
+    }
+
     InputStream input = odResponse.getContent();
     if (input != null) {
       OutputStream output = null;
       try {
-        output = response.getOutputStream();
-        byte[] buffer = new byte[1024];
-        int n;
-        while (-1 != (n = input.read(buffer))) {
-          output.write(buffer, 0, n);
-        }
+        output = getOutputStream(response, eTag, compress ? encoding : null, minimumSize, level);
+        copy(input, output);
       } catch (IOException e) {
         LOG.error(e.getMessage(), e);
         throw new ODataRuntimeException(e);
@@ -118,6 +157,55 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     }
   }
 
+  /**
+   * Copies the content into the response output.
+   * Serializer output is written directly from its buffers, and file content is transferred
+   * by the file channel; other streams are copied with an intermediate buffer.
+   */
+  static void copy(final InputStream input, final OutputStream output) throws IOException {
+    if (input instanceof CircleStreamBuffer.InternalInputStream) {
+      ((CircleStreamBuffer.InternalInputStream) input).transferTo(output);
+    } else if (input instanceof FileInputStream) {
+      final FileChannel channel = ((FileInputStream) input).getChannel();
+      final WritableByteChannel target = Channels.newChannel(output);
+      long position = channel.position();
+      final long size = channel.size();
+      while (position < size) {
+        position += channel.transferTo(position, size - position, target);
+      }
+    } else {
+      byte[] buffer = new byte[COPY_BUFFER_SIZE];
+      int n;
+      while (-1 != (n = input.read(buffer))) {
+        output.write(buffer, 0, n);
+      }
+    }
+  }
+
+  private static OutputStream getOutputStream(final HttpServletResponse response, final String eTag,
+      final String encoding, final int minimumSize, final int level) throws IOException {
+    return encoding == null ? response.getOutputStream() :
+        new ContentCompression.CompressingOutputStream(response, eTag, encoding, minimumSize, level);
+  }
+
+  private static void writeContent(final HttpServletResponse response, final ODataContent content,
+      final String eTag, final String encoding, final int minimumSize, final int level) {
+    OutputStream output = null;
+    try {
+      output = getOutputStream(response, eTag, encoding, minimumSize, level);
+      content.write(output);
+    } catch (IOException e) {
+      LOG.error(e.getMessage(), e);
+      throw new ODataRuntimeException(e);
+    } catch (SerializerException e) {
+      // The status code and the headers have already been sent, so no error document is possible anymore.
+      LOG.error(e.getMessage(), e);
+      throw new ODataRuntimeException(e);
+    } finally {
+      closeStream(output);
+    }
+  }
+
   private static void closeStream(Closeable closeable) {
     if(closeable != null) {
       try {
@@ -133,8 +221,8 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     try {
       ODataRequest odRequest = new ODataRequest();
 
-      odRequest.setBody(httpRequest.getInputStream());
       extractHeaders(odRequest, httpRequest);
+      extractBody(odRequest, httpRequest, maxDecodedRequestSize);
       extractMethod(odRequest, httpRequest);
       extractUri(odRequest, httpRequest, split);
 
@@ -145,6 +233,22 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
     }
   }
 
+  /**
+   * Sets the request body, decoded according to its content encoding. The headers describing the encoded body
+   * are removed, since they do not apply to the decoded one.
+   */
+  static void extractBody(final ODataRequest odRequest, final HttpServletRequest httpRequest,
+      final long maxDecodedSize) throws ODataHandlerException, IOException {
+    final InputStream input = httpRequest.getInputStream();
+    final InputStream body = ContentCompression.decode(httpRequest.getHeader(HttpHeader.CONTENT_ENCODING), input,
+        maxDecodedSize);
+    if (body != input) {
+      odRequest.removeHeader(HttpHeader.CONTENT_ENCODING);
+      odRequest.removeHeader(HttpHeader.CONTENT_LENGTH);
+    }
+    odRequest.setBody(body);
+  }
+
   static void extractMethod(final ODataRequest odRequest, final HttpServletRequest httpRequest)
       throws ODataTranslatedException {
     try {
@@ -242,4 +346,36 @@ public class ODataHttpHandlerImpl implements ODataHttpHandler {
   public void register(final CustomContentTypeSupport customContentTypeSupport) {
     handler.register(customContentTypeSupport);
   }
+
+  @Override
+  public void setUriInfoCacheSize(final int maxSize) {
+    handler.setUriInfoCache(maxSize > 0 ? new UriInfoCache(maxSize) : null);
+  }
+
+  @Override
+  public void setCompression(final int minimumSize, final int level) {
+    if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Compression level must be between 1 and 9.");
+    }
+    compressionMinimumSize = minimumSize;
+    compressionLevel = level;
+  }
+
+  @Override
+  public void setMaxDecodedRequestSize(final long maxSize) {
+    maxDecodedRequestSize = maxSize;
+  }
+
+  @Override
+  public void setBatchExecutor(final Executor executor, final int maxParallelism) {
+    handler.setBatchPartExecutor(executor == null ? null : new BatchPartExecutor(executor, maxParallelism));
+  }
+
+  /**
+   * Returns the cache for parsed URIs, e.g., to read its hit and miss counters,
+   * or <code>null</code> if no cache has been configured.
+   */
+  public UriInfoCache getUriInfoCache() {
+    return handler.getUriInfoCache();
+  }
 }
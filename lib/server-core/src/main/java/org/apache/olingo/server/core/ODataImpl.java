@@ -23,34 +23,55 @@ import java.util.List;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataHttpHandler;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.deserializer.DeserializerConfiguration;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.FixedFormatDeserializer;
 import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 import org.apache.olingo.server.api.edm.provider.EdmProvider;
 import org.apache.olingo.server.api.edmx.EdmxReference;
+import org.apache.olingo.server.api.query.Pager;
+import org.apache.olingo.server.api.query.PagingConfiguration;
+import org.apache.olingo.server.api.query.QueryPlan;
+import org.apache.olingo.server.api.query.QueryTranslator;
+import org.apache.olingo.server.api.query.SqlQuery;
 import org.apache.olingo.server.api.serializer.FixedFormatSerializer;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
+import org.apache.olingo.server.api.serializer.SerializerConfiguration;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriHelper;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionEvaluator;
 import org.apache.olingo.server.core.deserializer.FixedFormatDeserializerImpl;
 import org.apache.olingo.server.core.deserializer.json.ODataJsonDeserializer;
+import org.apache.olingo.server.core.deserializer.json.ODataJsonStreamDeserializer;
+import org.apache.olingo.server.core.query.PagerImpl;
+import org.apache.olingo.server.core.query.QueryPlanImpl;
+import org.apache.olingo.server.core.query.SqlQueryTranslator;
 import org.apache.olingo.server.core.serializer.FixedFormatSerializerImpl;
 import org.apache.olingo.server.core.serializer.json.ODataJsonSerializer;
 import org.apache.olingo.server.core.serializer.xml.ODataXmlSerializerImpl;
 import org.apache.olingo.server.core.uri.UriHelperImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionEvaluatorImpl;
 
 public class ODataImpl extends OData {
 
   @Override
   public ODataSerializer createSerializer(final ODataFormat format) throws SerializerException {
+    return createSerializer(format, SerializerConfiguration.with().build());
+  }
+
+  @Override
+  public ODataSerializer createSerializer(final ODataFormat format, final SerializerConfiguration configuration)
+      throws SerializerException {
     ODataSerializer serializer;
     switch (format) {
     case JSON:
     case JSON_NO_METADATA:
     case JSON_FULL_METADATA:
-      serializer = new ODataJsonSerializer(format);
+      serializer = new ODataJsonSerializer(format, configuration);
       break;
     case XML:
       serializer = new ODataXmlSerializerImpl();
@@ -78,6 +99,12 @@ public class ODataImpl extends OData {
     return new ServiceMetadataImpl(ODataServiceVersion.V40, edmProvider, references);
   }
 
+  @Override
+  public ServiceMetadata createServiceMetadata(final EdmProvider edmProvider, final List<EdmxReference> references,
+      final boolean preload) {
+    return new ServiceMetadataImpl(ODataServiceVersion.V40, edmProvider, references, preload);
+  }
+
   @Override
   public FixedFormatDeserializer createFixedFormatDeserializer() {
     return new FixedFormatDeserializerImpl();
@@ -88,14 +115,40 @@ public class ODataImpl extends OData {
     return new UriHelperImpl();
   }
 
+  @Override
+  public ExpressionEvaluator createExpressionEvaluator() {
+    return new ExpressionEvaluatorImpl();
+  }
+
+  @Override
+  public QueryPlan createQueryPlan(final UriInfoResource uriInfo) throws ODataApplicationException {
+    return QueryPlanImpl.create(uriInfo);
+  }
+
+  @Override
+  public QueryTranslator<SqlQuery> createSqlQueryTranslator() {
+    return new SqlQueryTranslator();
+  }
+
+  @Override
+  public Pager createPager(final PagingConfiguration configuration) {
+    return new PagerImpl(configuration);
+  }
+
   @Override
   public ODataDeserializer createDeserializer(ODataFormat format) throws DeserializerException{
+    return createDeserializer(format, DeserializerConfiguration.with().build());
+  }
+
+  @Override
+  public ODataDeserializer createDeserializer(final ODataFormat format,
+      final DeserializerConfiguration configuration) throws DeserializerException {
     ODataDeserializer serializer;
     switch (format) {
     case JSON:
     case JSON_NO_METADATA:
     case JSON_FULL_METADATA:
-      serializer = new ODataJsonDeserializer();
+      serializer = configuration.isStreaming() ? new ODataJsonStreamDeserializer() : new ODataJsonDeserializer();
       break;
     case XML:
       //We do not support xml deserialization right now so this mus lead to an error
@@ -20,10 +20,13 @@ package org.apache.olingo.server.core;
 
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
+import org.apache.olingo.server.api.DocumentCache;
 import org.apache.olingo.server.api.edmx.EdmxReference;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.edm.provider.EdmProvider;
 import org.apache.olingo.server.core.edm.provider.EdmProviderImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -33,14 +36,27 @@ import java.util.List;
  */
 public class ServiceMetadataImpl implements ServiceMetadata {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ServiceMetadataImpl.class);
+
   private final EdmProviderImpl edm;
   private final ODataServiceVersion version;
   private final List<EdmxReference> references = new ArrayList<EdmxReference>();
+  private final DocumentCache documentCache = new DocumentCache();
 
   public ServiceMetadataImpl(ODataServiceVersion version, EdmProvider edmProvider, List<EdmxReference> references) {
+    this(version, edmProvider, references, false);
+  }
+
+  public ServiceMetadataImpl(final ODataServiceVersion version, final EdmProvider edmProvider,
+      final List<EdmxReference> references, final boolean preload) {
     this.edm = new EdmProviderImpl(edmProvider);
     this.version = version;
     this.references.addAll(references);
+    if (preload) {
+      final long start = System.nanoTime();
+      edm.preload();
+      LOG.info("Entity data model preloaded in {} ms.", (System.nanoTime() - start) / 1000000);
+    }
   }
 
   @Override
@@ -57,4 +73,9 @@ public class ServiceMetadataImpl implements ServiceMetadata {
   public List<EdmxReference> getReferences() {
     return Collections.unmodifiableList(references);
   }
+
+  @Override
+  public DocumentCache getDocumentCache() {
+    return documentCache;
+  }
 }
@@ -18,11 +18,15 @@
  */
 package org.apache.olingo.server.core.batchhandler;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.processor.BatchProcessor;
 import org.apache.olingo.server.core.ODataHandler;
@@ -30,10 +34,12 @@ import org.apache.olingo.server.core.deserializer.batch.BatchParserCommon;
 
 public class BatchFascadeImpl implements BatchFacade {
   private final BatchPartHandler partHandler;
+  private final BatchPartExecutor partExecutor;
 
   public BatchFascadeImpl(ODataHandler oDataHandler, ODataRequest request, BatchProcessor batchProcessor,
       final boolean isStrict) {
     partHandler = new BatchPartHandler(oDataHandler, batchProcessor, this);
+    partExecutor = oDataHandler.getBatchPartExecutor();
   }
 
   @Override
@@ -46,6 +52,29 @@ public class BatchFascadeImpl implements BatchFacade {
     return partHandler.handleBatchRequest(request);
   }
 
+  @Override
+  public List<ODataResponsePart> handleBatchRequests(final BatchRequestPartIterator requests,
+      final boolean continueOnError) throws BatchDeserializerException {
+    if (partExecutor != null) {
+      return partExecutor.execute(this, requests, continueOnError);
+    }
+    List<ODataResponsePart> responseParts = new ArrayList<ODataResponsePart>();
+    while (requests.hasNext()) {
+      final ODataResponsePart responsePart = handleBatchRequest(requests.next());
+      responseParts.add(responsePart);
+      if (!continueOnError && isError(responsePart)) {
+        break;
+      }
+    }
+    return responseParts;
+  }
+
+  /** Returns whether the response part reports a failed request. */
+  static boolean isError(final ODataResponsePart responsePart) {
+    final int statusCode = responsePart.getResponses().get(0).getStatusCode();
+    return statusCode >= 400 && statusCode <= 600;
+  }
+
   @Override
   public String extractBoundaryFromContentType(String contentType) throws BatchDeserializerException {
     return BatchParserCommon.getBoundary(contentType, 0);
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.batchhandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.server.api.batch.BatchFacade;
+import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
+import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
+
+/**
+ * Executes the query operations of a batch request concurrently.
+ * Query operations outside of change sets are handed to an executor, with at most
+ * <code>maxParallelism</code> of them running at the same time for one batch request.
+ * A change set waits for all preceding operations and is executed on the calling thread,
+ * so change sets are still executed atomically and in order.
+ * The response parts are returned in the order of the request parts.
+ * <p>Operations run concurrently only if processing continues after errors; otherwise no operation
+ * may be executed after a failed one, so all parts are executed one after another on the calling thread.</p>
+ */
+public class BatchPartExecutor {
+
+  private final Executor executor;
+  private final int maxParallelism;
+
+  public BatchPartExecutor(final Executor executor, final int maxParallelism) {
+    if (executor == null) {
+      throw new IllegalArgumentException("An executor is required.");
+    }
+    if (maxParallelism <= 0) {
+      throw new IllegalArgumentException("The maximum parallelism must be positive.");
+    }
+    this.executor = executor;
+    this.maxParallelism = maxParallelism;
+  }
+
+  public int getMaxParallelism() {
+    return maxParallelism;
+  }
+
+  public List<ODataResponsePart> execute(final BatchFacade facade, final BatchRequestPartIterator parts,
+      final boolean continueOnError) throws BatchDeserializerException {
+    final List<ODataResponsePart> responseParts = new ArrayList<ODataResponsePart>();
+    if (!continueOnError) {
+      while (parts.hasNext()) {
+        final ODataResponsePart responsePart = facade.handleBatchRequest(parts.next());
+        responseParts.add(responsePart);
+        if (BatchFascadeImpl.isError(responsePart)) {
+          break;
+        }
+      }
+      return responseParts;
+    }
+    final List<Future<ODataResponsePart>> pending = new ArrayList<Future<ODataResponsePart>>();
+    final Semaphore permits = new Semaphore(maxParallelism);
+
+    try {
+      while (parts.hasNext()) {
+        final BatchRequestPart part = parts.next();
+        if (part.isChangeSet()) {
+          collect(pending, responseParts);
+          responseParts.add(facade.handleBatchRequest(part));
+        } else {
+          pending.add(submit(facade, part, permits));
+        }
+      }
+      collect(pending, responseParts);
+      return responseParts;
+    } finally {
+      for (final Future<ODataResponsePart> future : pending) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  private Future<ODataResponsePart> submit(final BatchFacade facade, final BatchRequestPart part,
+      final Semaphore permits) {
+    try {
+      permits.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataRuntimeException("Interrupted while waiting for batch query operations.", e);
+    }
+    final FutureTask<ODataResponsePart> task = new FutureTask<ODataResponsePart>(new Callable<ODataResponsePart>() {
+      @Override
+      public ODataResponsePart call() throws BatchDeserializerException {
+        try {
+          return facade.handleBatchRequest(part);
+        } finally {
+          permits.release();
+        }
+      }
+    });
+    try {
+      executor.execute(task);
+    } catch (final RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+    return task;
+  }
+
+  /** Waits for the pending operations and adds their responses in request order. */
+  private void collect(final List<Future<ODataResponsePart>> pending, final List<ODataResponsePart> responseParts)
+      throws BatchDeserializerException {
+    for (final Future<ODataResponsePart> future : pending) {
+      responseParts.add(getResult(future));
+    }
+    pending.clear();
+  }
+
+  private ODataResponsePart getResult(final Future<ODataResponsePart> future) throws BatchDeserializerException {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataRuntimeException("Interrupted while waiting for batch query operations.", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof BatchDeserializerException) {
+        throw (BatchDeserializerException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw new ODataRuntimeException((Exception) cause);
+      }
+    }
+  }
+}
@@ -28,6 +28,7 @@ import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.FixedFormatDeserializer;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 import org.apache.olingo.server.core.deserializer.batch.BatchParser;
 
 public class FixedFormatDeserializerImpl implements FixedFormatDeserializer {
@@ -57,4 +58,10 @@ public class FixedFormatDeserializerImpl implements FixedFormatDeserializer {
 
     return parser.parseBatchRequest(content, boundary, options);
   }
+
+  @Override
+  public BatchRequestPartIterator parseBatchRequestStreamed(InputStream content, String boundary,
+      BatchOptions options) throws BatchDeserializerException {
+    return new BatchParser().parseBatchRequestStreamed(content, boundary, options);
+  }
 }
@@ -21,62 +21,141 @@ package org.apache.olingo.server.core.deserializer.batch;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 
 import org.apache.olingo.commons.api.ODataRuntimeException;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 
 public class BatchParser {
 
-  private BatchOptions options;
-
   public List<BatchRequestPart> parseBatchRequest(InputStream content, String boundary, BatchOptions options)
       throws BatchDeserializerException {
-    this.options = options;
+    final List<BatchRequestPart> resultList = new LinkedList<BatchRequestPart>();
+    final BatchRequestPartIterator iterator = parseBatchRequestStreamed(content, boundary, options);
+    while (iterator.hasNext()) {
+      resultList.add(iterator.next());
+    }
+    return resultList;
+  }
 
-    BatchRequestTransformator transformator = new BatchRequestTransformator(options.getRawBaseUri(), 
-                                                                            options.getRawServiceResolutionUri());
-    return parse(content, boundary, transformator);
+  /**
+   * Parses the batch request body part by part.
+   * The body is read line by line up to the boundary of the part currently requested,
+   * so memory consumption is bounded by the largest part instead of the whole batch request.
+   */
+  public BatchRequestPartIterator parseBatchRequestStreamed(InputStream content, String boundary,
+      BatchOptions options) {
+    final BatchRequestTransformator transformator = new BatchRequestTransformator(options.getRawBaseUri(),
+        options.getRawServiceResolutionUri());
+    return new PartIterator(content, boundary, options.isStrict(), transformator);
   }
 
-  private List<BatchRequestPart> parse(final InputStream in, String boundary,
-      final BatchRequestTransformator transformator)
-      throws BatchDeserializerException {
-    try {
-      return parseBatch(in, boundary, transformator);
-    } catch (IOException e) {
-      throw new ODataRuntimeException(e);
-    } finally {
-      try {
-        in.close();
-      } catch (IOException e) {
-        throw new ODataRuntimeException(e);
-      }
+  private static final class PartIterator implements BatchRequestPartIterator {
+
+    private final InputStream in;
+    private final BufferedReaderIncludingLineEndings reader;
+    private final String boundary;
+    private final boolean isStrict;
+    private final BatchRequestTransformator transformator;
+    private final Pattern boundaryDelimiterPattern;
+    private final Pattern boundaryPattern;
+    private final LinkedList<BatchRequestPart> pendingParts = new LinkedList<BatchRequestPart>();
+    private int lineNumber = 0;
+    private boolean isPreambleRead = false;
+    private boolean isEndReached = false;
+
+    private PartIterator(final InputStream in, final String boundary, final boolean isStrict,
+        final BatchRequestTransformator transformator) {
+      this.in = in;
+      reader = new BufferedReaderIncludingLineEndings(new InputStreamReader(in));
+      this.boundary = boundary;
+      this.isStrict = isStrict;
+      this.transformator = transformator;
+
+      final String quotedBoundary = Pattern.quote(boundary);
+      boundaryDelimiterPattern = Pattern.compile("--" + quotedBoundary + "--[\\s ]*");
+      boundaryPattern = Pattern.compile("--" + quotedBoundary + "[\\s ]*");
     }
-  }
 
-  private List<BatchRequestPart> parseBatch(final InputStream in, final String boundary,
-      final BatchRequestTransformator transformator) throws IOException, BatchDeserializerException {
-    final List<BatchRequestPart> resultList = new LinkedList<BatchRequestPart>();
-    final List<List<Line>> bodyPartStrings = splitBodyParts(in, boundary);
+    @Override
+    public boolean hasNext() throws BatchDeserializerException {
+      while (pendingParts.isEmpty() && !isEndReached) {
+        final List<Line> bodyPartLines = readBodyPart();
+        if (bodyPartLines != null) {
+          BatchBodyPart bodyPart = new BatchBodyPart(bodyPartLines, boundary, isStrict).parse();
+          pendingParts.addAll(transformator.transform(bodyPart));
+        }
+      }
+      return !pendingParts.isEmpty();
+    }
 
-    for (List<Line> bodyPartString : bodyPartStrings) {
-      BatchBodyPart bodyPart = new BatchBodyPart(bodyPartString, boundary, options.isStrict()).parse();
-      resultList.addAll(transformator.transform(bodyPart));
+    @Override
+    public BatchRequestPart next() throws BatchDeserializerException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return pendingParts.removeFirst();
     }
 
-    return resultList;
-  }
+    /**
+     * Reads the lines up to the next boundary; the preamble before the first boundary is skipped.
+     * @return the lines of the body part or <code>null</code> if the close delimiter has been reached
+     */
+    private List<Line> readBodyPart() throws BatchDeserializerException {
+      try {
+        if (!isPreambleRead) {
+          readUntilBoundary(null);
+          isPreambleRead = true;
+          if (isEndReached) {
+            return null;
+          }
+        }
+        final List<Line> bodyPart = new ArrayList<Line>();
+        readUntilBoundary(bodyPart);
+        if (!bodyPart.isEmpty()) {
+          bodyPart.add(BatchParserCommon.removeEndingCRLF(bodyPart.remove(bodyPart.size() - 1)));
+        }
+        return bodyPart;
+      } catch (final IOException e) {
+        close();
+        throw new ODataRuntimeException(e);
+      } catch (final BatchDeserializerException e) {
+        close();
+        throw e;
+      }
+    }
 
-  private List<List<Line>> splitBodyParts(final InputStream in, final String boundary) throws IOException,
-      BatchDeserializerException {
-    final BufferedReaderIncludingLineEndings reader = new BufferedReaderIncludingLineEndings(new InputStreamReader(in));
-    final List<Line> message = reader.toLineList();
-    reader.close();
+    private void readUntilBoundary(final List<Line> lines) throws IOException, BatchDeserializerException {
+      String currentLine;
+      while ((currentLine = reader.readLine()) != null) {
+        lineNumber++;
+        if (boundaryDelimiterPattern.matcher(currentLine).matches()) {
+          isEndReached = true;
+          close();
+          return;
+        } else if (boundaryPattern.matcher(currentLine).matches()) {
+          return;
+        } else if (lines != null) {
+          lines.add(new Line(currentLine, lineNumber));
+        }
+      }
+      throw new BatchDeserializerException("Missing close boundary delimiter",
+          BatchDeserializerException.MessageKeys.MISSING_CLOSE_DELIMITER, "" + lineNumber);
+    }
 
-    return BatchParserCommon.splitMessageByBoundary(message, boundary);
+    private void close() {
+      try {
+        in.close();
+      } catch (IOException e) {
+        throw new ODataRuntimeException(e);
+      }
+    }
   }
 }
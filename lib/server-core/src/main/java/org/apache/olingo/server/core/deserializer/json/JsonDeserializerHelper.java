@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.deserializer.json;
+
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Link;
+import org.apache.olingo.commons.api.domain.ODataLinkType;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
+import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
+import org.apache.olingo.commons.core.data.LinkImpl;
+import org.apache.olingo.server.api.deserializer.DeserializerException;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Validation and conversion of JSON values shared by {@link ODataJsonDeserializer} and
+ * {@link ODataJsonStreamDeserializer}.
+ * Values are described by their {@link JsonToken}; tree nodes provide it with <code>asToken()</code>.
+ */
+abstract class JsonDeserializerHelper {
+
+  static final String ODATA_ANNOTATION_MARKER = "@";
+  static final String ODATA_CONTROL_INFORMATION_PREFIX = "@odata.";
+
+  /** Throws an exception if the value is <code>null</code> but the property is not nullable. */
+  static void checkNullable(final String propertyName, final Boolean nullable, final JsonToken token)
+      throws DeserializerException {
+    if (token == JsonToken.VALUE_NULL && nullable != null && !nullable) {
+      throw new DeserializerException("Property: " + propertyName + " must not be null.",
+          DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, propertyName);
+    }
+  }
+
+  /**
+   * Returns whether the value is an allowed <code>null</code> value.
+   * @throws DeserializerException if the value is <code>null</code> but the property is not nullable
+   */
+  static boolean isValidNull(final EdmProperty edmProperty, final JsonToken token) throws DeserializerException {
+    checkNullable(edmProperty.getName(), edmProperty.isNullable(), token);
+    return token == JsonToken.VALUE_NULL;
+  }
+
+  /**
+   * Checks whether a field that is not a property can be ignored.
+   * Control information is ignored for requests as per specification chapter "4.5 Control Information".
+   * @return <code>false</code> if the field is no annotation at all
+   * @throws DeserializerException for custom annotations, which are not supported
+   */
+  static boolean isIgnoredAnnotation(final String name) throws DeserializerException {
+    if (name.contains(ODATA_CONTROL_INFORMATION_PREFIX)) {
+      return true;
+    } else if (name.contains(ODATA_ANNOTATION_MARKER)) {
+      throw new DeserializerException("Custom annotation with field name: " + name + " not supported",
+          DeserializerException.MessageKeys.NOT_IMPLEMENTED);
+    }
+    return false;
+  }
+
+  static void checkScalarValue(final EdmProperty edmProperty, final JsonToken token) throws DeserializerException {
+    if (!token.isScalarValue()) {
+      throw new DeserializerException(
+          "Invalid value for property: " + edmProperty.getName() + " must not be an object or array.",
+          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmProperty.getName());
+    }
+  }
+
+  static void checkComplexValue(final EdmProperty edmProperty, final JsonToken token) throws DeserializerException {
+    if (token != JsonToken.START_OBJECT) {
+      throw new DeserializerException(
+          "Invalid value for property: " + edmProperty.getName() + " must not be an array or primitive value.",
+          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmProperty.getName());
+    }
+  }
+
+  /** Converts the text of a non-null scalar value of a primitive, type-definition, or enumeration property. */
+  static Object readPrimitiveValue(final EdmProperty edmProperty, final String text, final JsonToken token)
+      throws DeserializerException {
+    try {
+      switch (edmProperty.getType().getKind()) {
+      case DEFINITION:
+        final EdmTypeDefinition edmTypeDefinition = (EdmTypeDefinition) edmProperty.getType();
+        checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmTypeDefinition.getUnderlyingType().getName(),
+            token);
+        return edmTypeDefinition.valueOfString(text, edmProperty.isNullable(),
+            edmTypeDefinition.getMaxLength(), edmTypeDefinition.getPrecision(), edmTypeDefinition.getScale(),
+            edmTypeDefinition.isUnicode(), edmTypeDefinition.getDefaultType());
+      case ENUM:
+        final EdmEnumType edmEnumType = (EdmEnumType) edmProperty.getType();
+        checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmEnumType.getUnderlyingType().getName(), token);
+        return edmEnumType.valueOfString(text, edmProperty.isNullable(), edmProperty.getMaxLength(),
+            edmProperty.getPrecision(), edmProperty.getScale(), edmProperty.isUnicode(),
+            edmEnumType.getDefaultType());
+      default:
+        final EdmPrimitiveType edmPrimitiveType = (EdmPrimitiveType) edmProperty.getType();
+        checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmPrimitiveType.getName(), token);
+        return edmPrimitiveType.valueOfString(text, edmProperty.isNullable(), edmProperty.getMaxLength(),
+            edmProperty.getPrecision(), edmProperty.getScale(), edmProperty.isUnicode(),
+            edmPrimitiveType.getDefaultType());
+      }
+    } catch (final EdmPrimitiveTypeException e) {
+      throw new DeserializerException("Invalid value: " + text + " for property: " + edmProperty.getName(), e,
+          DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, edmProperty.getName());
+    }
+  }
+
+  private static void checkJsonTypeBasedOnPrimitiveType(final String propertyName,
+      final String edmPrimitiveTypeName, final JsonToken token) throws DeserializerException {
+    EdmPrimitiveTypeKind primKind;
+    try {
+      primKind = EdmPrimitiveTypeKind.valueOf(ODataServiceVersion.V40, edmPrimitiveTypeName);
+    } catch (IllegalArgumentException e) {
+      throw new DeserializerException("Unknown Primitive Type: " + edmPrimitiveTypeName, e,
+          DeserializerException.MessageKeys.UNKNOWN_PRIMITIVE_TYPE, edmPrimitiveTypeName, propertyName);
+    }
+    boolean valid;
+    switch (primKind) {
+    // Booleans
+    case Boolean:
+      valid = token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE;
+      break;
+    // Numbers
+    case Int16:
+    case Int32:
+    case Int64:
+    case Byte:
+    case SByte:
+    case Single:
+    case Double:
+    case Decimal:
+      valid = token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+      break;
+    // Strings
+    case String:
+    case Binary:
+    case Date:
+    case DateTimeOffset:
+    case Duration:
+    case Guid:
+    case TimeOfDay:
+      valid = token == JsonToken.VALUE_STRING;
+      break;
+    default:
+      throw new DeserializerException("Unsupported Edm Primitive Type: " + primKind,
+          DeserializerException.MessageKeys.NOT_IMPLEMENTED);
+    }
+    if (!valid) {
+      throw new DeserializerException("Invalid json type: " + token + " for edm " + primKind
+          + " property: " + propertyName, DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, propertyName);
+    }
+  }
+
+  /** Gets the navigation property a binding annotation like <code>NavProperty@odata.bind</code> refers to. */
+  static EdmNavigationProperty getBindingNavigationProperty(final String key, final EdmEntityType edmEntityType)
+      throws DeserializerException {
+    final String navigationPropertyName = key.substring(0, key.indexOf(ODATA_ANNOTATION_MARKER));
+    final EdmNavigationProperty edmNavigationProperty = edmEntityType.getNavigationProperty(navigationPropertyName);
+    if (edmNavigationProperty == null) {
+      throw new DeserializerException("Invalid navigationPropertyName: " + navigationPropertyName,
+          DeserializerException.MessageKeys.NAVIGATION_PROPERTY_NOT_FOUND, navigationPropertyName);
+    }
+    return edmNavigationProperty;
+  }
+
+  /** Checks the value of a binding annotation for a collection-valued navigation property. */
+  static void checkBindingArray(final String key, final JsonToken token) throws DeserializerException {
+    assertNotNullAnnotation(key, token);
+    if (token != JsonToken.START_ARRAY) {
+      throw new DeserializerException("Binding annotation: " + key + " must be an array.",
+          DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
+    }
+  }
+
+  /** Checks an element of the value of a binding annotation for a collection-valued navigation property. */
+  static void checkBindingArrayElement(final String key, final JsonToken token) throws DeserializerException {
+    assertNotNullAnnotation(key, token);
+    if (token != JsonToken.VALUE_STRING) {
+      throw new DeserializerException("Binding annotation: " + key + " must have string valued array.",
+          DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
+    }
+  }
+
+  /** Checks the value of a binding annotation for a single-valued navigation property. */
+  static void checkBindingValue(final String key, final JsonToken token) throws DeserializerException {
+    assertNotNullAnnotation(key, token);
+    if (!token.isScalarValue()) {
+      throw new DeserializerException("Binding annotation: " + key + " must be a string value.",
+          DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
+    }
+  }
+
+  private static void assertNotNullAnnotation(final String key, final JsonToken token)
+      throws DeserializerException {
+    if (token == JsonToken.VALUE_NULL) {
+      throw new DeserializerException("Annotation: " + key + "must not have a null value.",
+          DeserializerException.MessageKeys.INVALID_NULL_ANNOTATION, key);
+    }
+  }
+
+  static Link createBindingLink(final EdmNavigationProperty edmNavigationProperty,
+      final List<String> bindingLinks) {
+    LinkImpl bindingLink = new LinkImpl();
+    bindingLink.setTitle(edmNavigationProperty.getName());
+    bindingLink.setType(ODataLinkType.ENTITY_COLLECTION_BINDING.toString());
+    bindingLink.setBindingLinks(bindingLinks);
+    return bindingLink;
+  }
+
+  static Link createBindingLink(final EdmNavigationProperty edmNavigationProperty, final String bindingLink) {
+    LinkImpl link = new LinkImpl();
+    link.setTitle(edmNavigationProperty.getName());
+    link.setType(ODataLinkType.ENTITY_BINDING.toString());
+    link.setBindingLink(bindingLink);
+    return link;
+  }
+}
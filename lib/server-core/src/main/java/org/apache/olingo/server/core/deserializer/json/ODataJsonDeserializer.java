@@ -35,14 +35,8 @@ import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.domain.ODataLinkType;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
-import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
-import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
 import org.apache.olingo.commons.api.edm.EdmProperty;
-import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
-import org.apache.olingo.commons.api.edm.constants.ODataServiceVersion;
 import org.apache.olingo.commons.core.data.EntityImpl;
 import org.apache.olingo.commons.core.data.EntitySetImpl;
 import org.apache.olingo.commons.core.data.LinkImpl;
@@ -50,7 +44,6 @@ import org.apache.olingo.commons.core.data.PropertyImpl;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -61,15 +54,14 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class ODataJsonDeserializer implements ODataDeserializer {
 
-  private static final String ODATA_ANNOTATION_MARKER = "@";
-  private static final String ODATA_CONTROL_INFORMATION_PREFIX = "@odata.";
+  /** Configured once and then only read from, so it can be shared by all deserializers. */
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true);
 
   @Override
   public EntitySet entityCollection(InputStream stream, EdmEntityType edmEntityType) throws DeserializerException {
     try {
-      ObjectMapper objectMapper = new ObjectMapper();
-      objectMapper.configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true);
-      JsonParser parser = new JsonFactory(objectMapper).createParser(stream);
+      JsonParser parser = OBJECT_MAPPER.getFactory().createParser(stream);
       final ObjectNode tree = parser.getCodec().readTree(parser);
 
       return consumeEntitySetNode(edmEntityType, tree);
@@ -108,12 +100,8 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     while (fieldsIterator.hasNext()) {
       Map.Entry<String, JsonNode> field = fieldsIterator.next();
 
-      if (field.getKey().contains(ODATA_CONTROL_INFORMATION_PREFIX)) {
-        // Control Information is ignored for requests as per specification chapter "4.5 Control Information"
+      if (JsonDeserializerHelper.isIgnoredAnnotation(field.getKey())) {
         toRemove.add(field.getKey());
-      } else if (field.getKey().contains(ODATA_ANNOTATION_MARKER)) {
-        throw new DeserializerException("Custom annotation with field name: " + field.getKey() + " not supported",
-            DeserializerException.MessageKeys.NOT_IMPLEMENTED);
       }
     }
     // remove here to avoid iterator issues.
@@ -140,9 +128,7 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   @Override
   public Entity entity(InputStream stream, EdmEntityType edmEntityType) throws DeserializerException {
     try {
-      ObjectMapper objectMapper = new ObjectMapper();
-      objectMapper.configure(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY, true);
-      JsonParser parser = new JsonFactory(objectMapper).createParser(stream);
+      JsonParser parser = OBJECT_MAPPER.getFactory().createParser(stream);
       final ObjectNode tree = parser.getCodec().readTree(parser);
 
       return consumeEntityNode(edmEntityType, tree);
@@ -198,12 +184,8 @@ public class ODataJsonDeserializer implements ODataDeserializer {
         Link bindingLink = consumeBindingLink(field.getKey(), field.getValue(), edmEntityType);
         entity.getNavigationBindings().add(bindingLink);
         toRemove.add(field.getKey());
-      } else if (field.getKey().contains(ODATA_CONTROL_INFORMATION_PREFIX)) {
-        // Control Information is ignored for requests as per specification chapter "4.5 Control Information"
+      } else if (JsonDeserializerHelper.isIgnoredAnnotation(field.getKey())) {
         toRemove.add(field.getKey());
-      } else if (field.getKey().contains(ODATA_ANNOTATION_MARKER)) {
-        throw new DeserializerException("Custom annotation with field name: " + field.getKey() + " not supported",
-            DeserializerException.MessageKeys.NOT_IMPLEMENTED);
       }
     }
     // remove here to avoid iterator issues.
@@ -217,10 +199,7 @@ public class ODataJsonDeserializer implements ODataDeserializer {
       JsonNode jsonNode = node.get(propertyName);
       if (jsonNode != null) {
         EdmProperty edmProperty = (EdmProperty) edmEntityType.getProperty(propertyName);
-        if (jsonNode.isNull() && !isNullable(edmProperty)) {
-          throw new DeserializerException("Property: " + propertyName + " must not be null.",
-              DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, propertyName);
-        }
+        JsonDeserializerHelper.checkNullable(propertyName, edmProperty.isNullable(), jsonNode.asToken());
         Property property = consumePropertyNode(edmProperty, jsonNode);
         entity.addProperty(property);
         node.remove(propertyName);
@@ -236,11 +215,8 @@ public class ODataJsonDeserializer implements ODataDeserializer {
       JsonNode jsonNode = node.get(navigationPropertyName);
       if (jsonNode != null) {
         EdmNavigationProperty edmNavigationProperty = edmEntityType.getNavigationProperty(navigationPropertyName);
-        boolean isNullable = edmNavigationProperty.isNullable() == null ? true : edmNavigationProperty.isNullable();
-        if (jsonNode.isNull() && !isNullable) {
-          throw new DeserializerException("Property: " + navigationPropertyName + " must not be null.",
-              DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, navigationPropertyName);
-        }
+        JsonDeserializerHelper.checkNullable(navigationPropertyName, edmNavigationProperty.isNullable(),
+            jsonNode.asToken());
 
         LinkImpl link = new LinkImpl();
         link.setTitle(navigationPropertyName);
@@ -268,49 +244,19 @@ public class ODataJsonDeserializer implements ODataDeserializer {
 
   private Link consumeBindingLink(String key, JsonNode jsonNode, EdmEntityType edmEntityType)
       throws DeserializerException {
-    String[] splitKey = key.split("@");
-    String navigationPropertyName = splitKey[0];
-    EdmNavigationProperty edmNavigationProperty = edmEntityType.getNavigationProperty(navigationPropertyName);
-    if (edmNavigationProperty == null) {
-      throw new DeserializerException("Invalid navigationPropertyName: " + navigationPropertyName,
-          DeserializerException.MessageKeys.NAVIGATION_PROPERTY_NOT_FOUND, navigationPropertyName);
-    }
-    LinkImpl bindingLink = new LinkImpl();
-    bindingLink.setTitle(navigationPropertyName);
-
+    final EdmNavigationProperty edmNavigationProperty =
+        JsonDeserializerHelper.getBindingNavigationProperty(key, edmEntityType);
     if (edmNavigationProperty.isCollection()) {
-      assertIsNullNode(key, jsonNode);
-      if (!jsonNode.isArray()) {
-        throw new DeserializerException("Binding annotation: " + key + " must be an array.",
-            DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
-      }
+      JsonDeserializerHelper.checkBindingArray(key, jsonNode.asToken());
       List<String> bindingLinkStrings = new ArrayList<String>();
       for (JsonNode arrayValue : jsonNode) {
-        assertIsNullNode(key, arrayValue);
-        if (!arrayValue.isTextual()) {
-          throw new DeserializerException("Binding annotation: " + key + " must have string valued array.",
-              DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
-        }
+        JsonDeserializerHelper.checkBindingArrayElement(key, arrayValue.asToken());
         bindingLinkStrings.add(arrayValue.asText());
       }
-      bindingLink.setType(ODataLinkType.ENTITY_COLLECTION_BINDING.toString());
-      bindingLink.setBindingLinks(bindingLinkStrings);
+      return JsonDeserializerHelper.createBindingLink(edmNavigationProperty, bindingLinkStrings);
     } else {
-      assertIsNullNode(key, jsonNode);
-      if (!jsonNode.isValueNode()) {
-        throw new DeserializerException("Binding annotation: " + key + " must be a string value.",
-            DeserializerException.MessageKeys.INVALID_ANNOTATION_TYPE, key);
-      }
-      bindingLink.setBindingLink(jsonNode.asText());
-      bindingLink.setType(ODataLinkType.ENTITY_BINDING.toString());
-    }
-    return bindingLink;
-  }
-
-  private void assertIsNullNode(String key, JsonNode jsonNode) throws DeserializerException {
-    if (jsonNode.isNull()) {
-      throw new DeserializerException("Annotation: " + key + "must not have a null value.",
-          DeserializerException.MessageKeys.INVALID_NULL_ANNOTATION, key);
+      JsonDeserializerHelper.checkBindingValue(key, jsonNode.asToken());
+      return JsonDeserializerHelper.createBindingLink(edmNavigationProperty, jsonNode.asText());
     }
   }
 
@@ -332,15 +278,9 @@ public class ODataJsonDeserializer implements ODataDeserializer {
       throws DeserializerException {
     switch (edmProperty.getType().getKind()) {
     case PRIMITIVE:
-      Object value = readPrimitiveValue(edmProperty, jsonNode);
-      property.setValue(ValueType.PRIMITIVE, value);
-      break;
     case DEFINITION:
-      value = readTypeDefinitionValue(edmProperty, jsonNode);
-      property.setValue(ValueType.PRIMITIVE, value);
-      break;
     case ENUM:
-      value = readEnumValue(edmProperty, jsonNode);
+      Object value = readPrimitiveValue(edmProperty, jsonNode);
       property.setValue(ValueType.PRIMITIVE, value);
       break;
     case COMPLEX:
@@ -364,12 +304,8 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     while (fieldsIterator.hasNext()) {
       Entry<String, JsonNode> field = fieldsIterator.next();
 
-      if (field.getKey().contains(ODATA_CONTROL_INFORMATION_PREFIX)) {
-        // Control Information is ignored for requests as per specification chapter "4.5 Control Information"
+      if (JsonDeserializerHelper.isIgnoredAnnotation(field.getKey())) {
         toRemove.add(field.getKey());
-      } else if (field.getKey().contains(ODATA_ANNOTATION_MARKER)) {
-        throw new DeserializerException("Custom annotation with field name: " + field.getKey() + " not supported",
-            DeserializerException.MessageKeys.NOT_IMPLEMENTED);
       }
     }
     // remove here to avoid iterator issues.
@@ -393,17 +329,10 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     Iterator<JsonNode> iterator = jsonNode.iterator();
     switch (edmProperty.getType().getKind()) {
     case PRIMITIVE:
-      while (iterator.hasNext()) {
-        JsonNode arrayElement = iterator.next();
-        Object value = readPrimitiveValue(edmProperty, arrayElement);
-        valueArray.add(value);
-      }
-      property.setValue(ValueType.COLLECTION_PRIMITIVE, valueArray);
-      break;
     case DEFINITION:
       while (iterator.hasNext()) {
         JsonNode arrayElement = iterator.next();
-        Object value = readTypeDefinitionValue(edmProperty, arrayElement);
+        Object value = readPrimitiveValue(edmProperty, arrayElement);
         valueArray.add(value);
       }
       property.setValue(ValueType.COLLECTION_PRIMITIVE, valueArray);
@@ -411,7 +340,7 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     case ENUM:
       while (iterator.hasNext()) {
         JsonNode arrayElement = iterator.next();
-        Object value = readEnumValue(edmProperty, arrayElement);
+        Object value = readPrimitiveValue(edmProperty, arrayElement);
         valueArray.add(value);
       }
       property.setValue(ValueType.COLLECTION_ENUM, valueArray);
@@ -431,14 +360,10 @@ public class ODataJsonDeserializer implements ODataDeserializer {
   }
 
   private Object readComplexValue(EdmProperty edmComplexProperty, JsonNode jsonNode) throws DeserializerException {
-    if(isValidNull(edmComplexProperty, jsonNode)) {
+    if (JsonDeserializerHelper.isValidNull(edmComplexProperty, jsonNode.asToken())) {
       return null;
     }
-    if (jsonNode.isArray() || !jsonNode.isContainerNode()) {
-      throw new DeserializerException(
-          "Invalid value for property: " + edmComplexProperty.getName() + " must not be an array or primitive value.",
-          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmComplexProperty.getName());
-    }
+    JsonDeserializerHelper.checkComplexValue(edmComplexProperty, jsonNode.asToken());
     // Even if there are no properties defined we have to give back an empty list
     List<Property> propertyList = new ArrayList<Property>();
     EdmComplexType edmType = (EdmComplexType) edmComplexProperty.getType();
@@ -447,10 +372,7 @@ public class ODataJsonDeserializer implements ODataDeserializer {
       JsonNode subNode = jsonNode.get(propertyName);
       if (subNode != null) {
         EdmProperty edmProperty = (EdmProperty) edmType.getProperty(propertyName);
-        if (subNode.isNull() && !isNullable(edmProperty)) {
-          throw new DeserializerException("Property: " + propertyName + " must not be null.",
-              DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, propertyName);
-        }
+        JsonDeserializerHelper.checkNullable(propertyName, edmProperty.isNullable(), subNode.asToken());
         Property property = consumePropertyNode(edmProperty, subNode);
         propertyList.add(property);
         ((ObjectNode) jsonNode).remove(propertyName);
@@ -459,94 +381,12 @@ public class ODataJsonDeserializer implements ODataDeserializer {
     return propertyList;
   }
 
-  private boolean isNullable(EdmProperty edmProperty) {
-    return edmProperty.isNullable() == null ? true : edmProperty.isNullable();
-  }
-
-  private Object readTypeDefinitionValue(EdmProperty edmProperty, JsonNode jsonNode) throws DeserializerException {
-    checkForValueNode(edmProperty, jsonNode);
-    if(isValidNull(edmProperty, jsonNode)) {
-      return null;
-    }
-    try {
-      EdmTypeDefinition edmTypeDefinition = (EdmTypeDefinition) edmProperty.getType();
-      checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmTypeDefinition.getUnderlyingType().getName(),
-          jsonNode);
-      return edmTypeDefinition.valueOfString(jsonNode.asText(), edmProperty.isNullable(),
-          edmTypeDefinition.getMaxLength(),
-          edmTypeDefinition.getPrecision(), edmTypeDefinition.getScale(), edmTypeDefinition.isUnicode(),
-          edmTypeDefinition.getDefaultType());
-    } catch (EdmPrimitiveTypeException e) {
-      throw new DeserializerException(
-          "Invalid value: " + jsonNode.asText() + " for property: " + edmProperty.getName(), e,
-          DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, edmProperty.getName());
-    }
-  }
-
-  private boolean isValidNull(EdmProperty edmProperty, JsonNode jsonNode) throws DeserializerException {
-    if (jsonNode.isNull()) {
-      if (isNullable(edmProperty)) {
-        return true;
-      } else {
-        throw new DeserializerException("Property: " + edmProperty.getName() + " must not be null.",
-            DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, edmProperty.getName());
-      }
-
-    }
-    return false;
-  }
-
-  private Object readEnumValue(EdmProperty edmProperty, JsonNode jsonNode) throws DeserializerException {
-    checkForValueNode(edmProperty, jsonNode);
-    if(isValidNull(edmProperty, jsonNode)) {
-      return null;
-    }
-    try {
-      EdmEnumType edmEnumType = (EdmEnumType) edmProperty.getType();
-      checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmEnumType.getUnderlyingType().getName(), jsonNode);
-      return edmEnumType
-          .valueOfString(jsonNode.asText(), edmProperty.isNullable(), edmProperty.getMaxLength(), edmProperty
-              .getPrecision(), edmProperty.getScale(), edmProperty.isUnicode(), edmEnumType.getDefaultType());
-    } catch (EdmPrimitiveTypeException e) {
-      throw new DeserializerException(
-          "Invalid value: " + jsonNode.asText() + " for property: " + edmProperty.getName(), e,
-          DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, edmProperty.getName());
-    }
-  }
-
   private Object readPrimitiveValue(EdmProperty edmProperty, JsonNode jsonNode) throws DeserializerException {
-    checkForValueNode(edmProperty, jsonNode);
-    if(isValidNull(edmProperty, jsonNode)) {
+    JsonDeserializerHelper.checkScalarValue(edmProperty, jsonNode.asToken());
+    if (JsonDeserializerHelper.isValidNull(edmProperty, jsonNode.asToken())) {
       return null;
     }
-    try {
-      EdmPrimitiveType edmPrimitiveType = (EdmPrimitiveType) edmProperty.getType();
-      checkJsonTypeBasedOnPrimitiveType(edmProperty.getName(), edmPrimitiveType.getName(), jsonNode);
-      return edmPrimitiveType.valueOfString(jsonNode.asText(), edmProperty.isNullable(),
-          edmProperty.getMaxLength(), edmProperty.getPrecision(), edmProperty.getScale(),
-          edmProperty.isUnicode(), edmPrimitiveType.getDefaultType());
-    } catch (EdmPrimitiveTypeException e) {
-      throw new DeserializerException(
-          "Invalid value: " + jsonNode.asText() + " for property: " + edmProperty.getName(), e,
-          DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, edmProperty.getName());
-    }
-  }
-
-  /**
-   * Check if JsonNode is a value node (<code>jsonNode.isValueNode()</code>) and if not throw
-   * an DeserializerException.
-   * 
-   * @param edmProperty property which is checked
-   * @param jsonNode node which is checked
-   * @throws DeserializerException is thrown if json node is not a value node
-   */
-  private void checkForValueNode(final EdmProperty edmProperty, final JsonNode jsonNode)
-      throws DeserializerException {
-    if (!jsonNode.isValueNode()) {
-      throw new DeserializerException(
-          "Invalid value for property: " + edmProperty.getName() + " must not be an object or array.",
-          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmProperty.getName());
-    }
+    return JsonDeserializerHelper.readPrimitiveValue(edmProperty, jsonNode.asText(), jsonNode.asToken());
   }
 
   /**
@@ -563,54 +403,4 @@ public class ODataJsonDeserializer implements ODataDeserializer {
           DeserializerException.MessageKeys.UNKOWN_CONTENT, unknownField);
     }
   }
-
-  private void checkJsonTypeBasedOnPrimitiveType(String propertyName, String edmPrimitiveTypeName, JsonNode jsonNode)
-      throws DeserializerException {
-    EdmPrimitiveTypeKind primKind;
-    try {
-      primKind = EdmPrimitiveTypeKind.valueOf(ODataServiceVersion.V40, edmPrimitiveTypeName);
-    } catch (IllegalArgumentException e) {
-      throw new DeserializerException("Unknown Primitive Type: " + edmPrimitiveTypeName, e,
-          DeserializerException.MessageKeys.UNKNOWN_PRIMITIVE_TYPE, edmPrimitiveTypeName, propertyName);
-    }
-    switch (primKind) {
-    // Booleans
-    case Boolean:
-      if (!jsonNode.isBoolean()) {
-        throw new DeserializerException("Invalid json type: " + jsonNode.getNodeType() + " for edm " + primKind
-            + " property: " + propertyName, DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, propertyName);
-      }
-      break;
-    // Numbers
-    case Int16:
-    case Int32:
-    case Int64:
-    case Byte:
-    case SByte:
-    case Single:
-    case Double:
-    case Decimal:
-      if (!jsonNode.isNumber()) {
-        throw new DeserializerException("Invalid json type: " + jsonNode.getNodeType() + " for edm " + primKind
-            + " property: " + propertyName, DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, propertyName);
-      }
-      break;
-    // Strings
-    case String:
-    case Binary:
-    case Date:
-    case DateTimeOffset:
-    case Duration:
-    case Guid:
-    case TimeOfDay:
-      if (!jsonNode.isTextual()) {
-        throw new DeserializerException("Invalid json type: " + jsonNode.getNodeType() + " for edm " + primKind
-            + " property: " + propertyName, DeserializerException.MessageKeys.INVALID_VALUE_FOR_PROPERTY, propertyName);
-      }
-      break;
-    default:
-      throw new DeserializerException("Unsupported Edm Primitive Type: " + primKind,
-          DeserializerException.MessageKeys.NOT_IMPLEMENTED);
-    }
-  }
 }
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.deserializer.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.Constants;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntitySet;
+import org.apache.olingo.commons.api.data.Link;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.domain.ODataLinkType;
+import org.apache.olingo.commons.api.edm.EdmComplexType;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.core.data.EntityImpl;
+import org.apache.olingo.commons.core.data.EntitySetImpl;
+import org.apache.olingo.commons.core.data.LinkImpl;
+import org.apache.olingo.commons.core.data.PropertyImpl;
+import org.apache.olingo.server.api.deserializer.DeserializerException;
+import org.apache.olingo.server.api.deserializer.ODataDeserializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * JSON deserializer that maps the request content directly from the parser tokens,
+ * driven by the entity data model, without building a document tree first.
+ * It accepts the same documents as {@link ODataJsonDeserializer} but stops reading
+ * at the first content that cannot be mapped.
+ */
+public class ODataJsonStreamDeserializer implements ODataDeserializer {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Override
+  public EntitySet entityCollection(final InputStream stream, final EdmEntityType edmEntityType)
+      throws DeserializerException {
+    try {
+      final JsonParser parser = JSON_FACTORY.createParser(stream);
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DeserializerException("Could not find value array.",
+            DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT);
+      }
+      return readEntitySet(parser, edmEntityType);
+    } catch (final JsonParseException e) {
+      throw new DeserializerException("An JsonParseException occurred", e,
+          DeserializerException.MessageKeys.JSON_SYNTAX_EXCEPTION);
+    } catch (final DuplicateNameException e) {
+      throw new DeserializerException("Duplicate json property detected", e,
+          DeserializerException.MessageKeys.DUPLICATE_JSON_PROPERTY);
+    } catch (final IOException e) {
+      throw new DeserializerException("An IOException occurred", e, DeserializerException.MessageKeys.IO_EXCEPTION);
+    }
+  }
+
+  @Override
+  public Entity entity(final InputStream stream, final EdmEntityType edmEntityType) throws DeserializerException {
+    try {
+      final JsonParser parser = JSON_FACTORY.createParser(stream);
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new DeserializerException("The content must be a JSON object.",
+            DeserializerException.MessageKeys.INVALID_ENTITY);
+      }
+      return readEntity(parser, edmEntityType);
+    } catch (final JsonParseException e) {
+      throw new DeserializerException("An JsonParseException occurred", e,
+          DeserializerException.MessageKeys.JSON_SYNTAX_EXCEPTION);
+    } catch (final DuplicateNameException e) {
+      throw new DeserializerException("Duplicate property detected", e,
+          DeserializerException.MessageKeys.DUPLICATE_PROPERTY);
+    } catch (final IOException e) {
+      throw new DeserializerException("An IOException occurred", e, DeserializerException.MessageKeys.IO_EXCEPTION);
+    }
+  }
+
+  /** Reads the fields of an entity collection; the parser must be positioned at the start of the object. */
+  private EntitySet readEntitySet(final JsonParser parser, final EdmEntityType edmEntityType)
+      throws IOException, DeserializerException {
+    EntitySetImpl entitySet = new EntitySetImpl();
+    boolean valueFound = false;
+    Set<String> names = new HashSet<String>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      checkDuplicate(names, name);
+      final JsonToken token = parser.nextToken();
+      if (Constants.VALUE.equals(name)) {
+        if (token != JsonToken.START_ARRAY) {
+          throw new DeserializerException("The content of the value tag must be an Array but is not. ",
+              DeserializerException.MessageKeys.VALUE_TAG_MUST_BE_AN_ARRAY);
+        }
+        readEntityArray(parser, edmEntityType, entitySet.getEntities());
+        valueFound = true;
+      } else {
+        skipAnnotation(parser, name);
+      }
+    }
+    if (!valueFound) {
+      throw new DeserializerException("Could not find value array.",
+          DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT);
+    }
+    return entitySet;
+  }
+
+  /** Reads entities until the end of the current array. */
+  private void readEntityArray(final JsonParser parser, final EdmEntityType edmEntityType,
+      final List<Entity> entities) throws IOException, DeserializerException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token != JsonToken.START_OBJECT) {
+        throw new DeserializerException("Nested Arrays and primitive values are not allowed for an entity value.",
+            DeserializerException.MessageKeys.INVALID_ENTITY);
+      }
+      entities.add(readEntity(parser, edmEntityType));
+    }
+  }
+
+  /** Reads the fields of an entity; the parser must be positioned at the start of the object. */
+  private Entity readEntity(final JsonParser parser, final EdmEntityType edmEntityType)
+      throws IOException, DeserializerException {
+    EntityImpl entity = new EntityImpl();
+    entity.setType(edmEntityType.getFullQualifiedName().getFullQualifiedNameAsString());
+    Set<String> names = new HashSet<String>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      checkDuplicate(names, name);
+      parser.nextToken();
+      final EdmProperty edmProperty = edmEntityType.getStructuralProperty(name);
+      final EdmNavigationProperty edmNavigationProperty =
+          edmProperty == null ? edmEntityType.getNavigationProperty(name) : null;
+      if (edmProperty != null) {
+        entity.addProperty(readProperty(parser, edmProperty));
+      } else if (edmNavigationProperty != null) {
+        entity.getNavigationLinks().add(readExpandedNavigationProperty(parser, edmNavigationProperty));
+      } else if (name.contains(Constants.JSON_BIND_LINK_SUFFIX)) {
+        entity.getNavigationBindings().add(readBindingLink(parser, name, edmEntityType));
+      } else {
+        skipAnnotation(parser, name);
+      }
+    }
+    return entity;
+  }
+
+  private Link readExpandedNavigationProperty(final JsonParser parser,
+      final EdmNavigationProperty edmNavigationProperty) throws IOException, DeserializerException {
+    final String name = edmNavigationProperty.getName();
+    final JsonToken token = parser.getCurrentToken();
+    JsonDeserializerHelper.checkNullable(name, edmNavigationProperty.isNullable(), token);
+
+    LinkImpl link = new LinkImpl();
+    link.setTitle(name);
+    if (token == JsonToken.START_ARRAY && edmNavigationProperty.isCollection()) {
+      link.setType(ODataLinkType.ENTITY_SET_NAVIGATION.toString());
+      EntitySetImpl inlineEntitySet = new EntitySetImpl();
+      readEntityArray(parser, edmNavigationProperty.getType(), inlineEntitySet.getEntities());
+      link.setInlineEntitySet(inlineEntitySet);
+    } else if (token == JsonToken.START_OBJECT && !edmNavigationProperty.isCollection()) {
+      link.setType(ODataLinkType.ENTITY_NAVIGATION.toString());
+      link.setInlineEntity(readEntity(parser, edmNavigationProperty.getType()));
+    } else {
+      throw new DeserializerException("Invalid value: " + token + " for expanded navigation property: " + name,
+          DeserializerException.MessageKeys.INVALID_VALUE_FOR_NAVIGATION_PROPERTY, name);
+    }
+    return link;
+  }
+
+  private Link readBindingLink(final JsonParser parser, final String key, final EdmEntityType edmEntityType)
+      throws IOException, DeserializerException {
+    final EdmNavigationProperty edmNavigationProperty =
+        JsonDeserializerHelper.getBindingNavigationProperty(key, edmEntityType);
+    JsonToken token = parser.getCurrentToken();
+    if (edmNavigationProperty.isCollection()) {
+      JsonDeserializerHelper.checkBindingArray(key, token);
+      List<String> bindingLinkStrings = new ArrayList<String>();
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        JsonDeserializerHelper.checkBindingArrayElement(key, token);
+        bindingLinkStrings.add(parser.getText());
+      }
+      return JsonDeserializerHelper.createBindingLink(edmNavigationProperty, bindingLinkStrings);
+    } else {
+      JsonDeserializerHelper.checkBindingValue(key, token);
+      return JsonDeserializerHelper.createBindingLink(edmNavigationProperty, parser.getText());
+    }
+  }
+
+  /**
+   * Skips the value of a field that is not a property:
+   * control information is ignored for requests as per specification chapter "4.5 Control Information",
+   * custom annotations are not supported, and everything else is unknown content.
+   */
+  private void skipAnnotation(final JsonParser parser, final String name) throws IOException, DeserializerException {
+    if (JsonDeserializerHelper.isIgnoredAnnotation(name)) {
+      parser.skipChildren();
+    } else {
+      throw new DeserializerException("Unknown content: " + name,
+          DeserializerException.MessageKeys.UNKOWN_CONTENT, name);
+    }
+  }
+
+  private Property readProperty(final JsonParser parser, final EdmProperty edmProperty)
+      throws IOException, DeserializerException {
+    JsonDeserializerHelper.checkNullable(edmProperty.getName(), edmProperty.isNullable(), parser.getCurrentToken());
+    Property property = new PropertyImpl();
+    property.setName(edmProperty.getName());
+    property.setType(edmProperty.getType().getFullQualifiedName().getFullQualifiedNameAsString());
+    if (edmProperty.isCollection()) {
+      readCollectionValue(parser, edmProperty, property);
+    } else {
+      readSingleValue(parser, edmProperty, property);
+    }
+    return property;
+  }
+
+  private void readSingleValue(final JsonParser parser, final EdmProperty edmProperty, final Property property)
+      throws IOException, DeserializerException {
+    switch (edmProperty.getType().getKind()) {
+    case PRIMITIVE:
+    case DEFINITION:
+    case ENUM:
+      property.setValue(ValueType.PRIMITIVE, readPrimitiveValue(parser, edmProperty));
+      break;
+    case COMPLEX:
+      property.setValue(ValueType.COMPLEX, readComplexValue(parser, edmProperty));
+      break;
+    default:
+      throw new DeserializerException("Invalid Type Kind for a property found: " + edmProperty.getType().getKind(),
+          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmProperty.getName());
+    }
+  }
+
+  private void readCollectionValue(final JsonParser parser, final EdmProperty edmProperty, final Property property)
+      throws IOException, DeserializerException {
+    if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+      throw new DeserializerException("Value for property: " + edmProperty.getName()
+          + " must be an array but is not.", DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY,
+          edmProperty.getName());
+    }
+    ValueType valueType;
+    switch (edmProperty.getType().getKind()) {
+    case PRIMITIVE:
+    case DEFINITION:
+      valueType = ValueType.COLLECTION_PRIMITIVE;
+      break;
+    case ENUM:
+      valueType = ValueType.COLLECTION_ENUM;
+      break;
+    case COMPLEX:
+      valueType = ValueType.COLLECTION_COMPLEX;
+      break;
+    default:
+      throw new DeserializerException("Invalid Type Kind for a property found: " + edmProperty.getType().getKind(),
+          DeserializerException.MessageKeys.INVALID_JSON_TYPE_FOR_PROPERTY, edmProperty.getName());
+    }
+    List<Object> valueArray = new ArrayList<Object>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      valueArray.add(valueType == ValueType.COLLECTION_COMPLEX ?
+          readComplexValue(parser, edmProperty) :
+          readPrimitiveValue(parser, edmProperty));
+    }
+    property.setValue(valueType, valueArray);
+  }
+
+  /** Reads the properties of a complex value; the parser must be positioned at its first token. */
+  private List<Property> readComplexValue(final JsonParser parser, final EdmProperty edmComplexProperty)
+      throws IOException, DeserializerException {
+    final JsonToken token = parser.getCurrentToken();
+    if (JsonDeserializerHelper.isValidNull(edmComplexProperty, token)) {
+      return null;
+    }
+    JsonDeserializerHelper.checkComplexValue(edmComplexProperty, token);
+    // Even if there are no properties defined we have to give back an empty list
+    List<Property> propertyList = new ArrayList<Property>();
+    final EdmComplexType edmType = (EdmComplexType) edmComplexProperty.getType();
+    Set<String> names = new HashSet<String>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String name = parser.getCurrentName();
+      checkDuplicate(names, name);
+      parser.nextToken();
+      final EdmProperty edmProperty = edmType.getStructuralProperty(name);
+      if (edmProperty == null) {
+        skipAnnotation(parser, name);
+      } else {
+        propertyList.add(readProperty(parser, edmProperty));
+      }
+    }
+    return propertyList;
+  }
+
+  /** Reads a primitive, type-definition, or enumeration value from the current token. */
+  private Object readPrimitiveValue(final JsonParser parser, final EdmProperty edmProperty)
+      throws IOException, DeserializerException {
+    final JsonToken token = parser.getCurrentToken();
+    JsonDeserializerHelper.checkScalarValue(edmProperty, token);
+    return JsonDeserializerHelper.isValidNull(edmProperty, token) ? null :
+        JsonDeserializerHelper.readPrimitiveValue(edmProperty, parser.getText(), token);
+  }
+
+  private void checkDuplicate(final Set<String> names, final String name) throws DuplicateNameException {
+    if (!names.add(name)) {
+      throw new DuplicateNameException(name);
+    }
+  }
+
+  /** Signals a field name that occurs twice in the same JSON object. */
+  private static final class DuplicateNameException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateNameException(final String name) {
+      super("Duplicate field '" + name + "'");
+    }
+  }
+}
@@ -43,7 +43,7 @@ public class EdmEntityContainerImpl extends AbstractEdmEntityContainer {
 
   private final EdmProvider provider;
 
-  private EntityContainer container;
+  private volatile EntityContainer container;
 
   public EdmEntityContainerImpl(final Edm edm, final EdmProvider provider,
       final EntityContainerInfo entityContainerInfo) {
@@ -129,8 +129,7 @@ public class EdmEntityContainerImpl extends AbstractEdmEntityContainer {
     if (providerEntitySets != null) {
       for (EntitySet entitySet : providerEntitySets) {
         if (!entitySets.containsKey(entitySet.getName())) {
-          EdmEntitySetImpl impl = new EdmEntitySetImpl(edm, this, entitySet);
-          entitySets.put(impl.getName(), impl);
+          entitySets.putIfAbsent(entitySet.getName(), new EdmEntitySetImpl(edm, this, entitySet));
         }
       }
     }
@@ -144,8 +143,7 @@ public class EdmEntityContainerImpl extends AbstractEdmEntityContainer {
       for (FunctionImport functionImport : providerFuctionImports) {
         String functionName = functionImport.getName();
         if (!functionImports.containsKey(functionName)) {
-          EdmFunctionImportImpl impl = new EdmFunctionImportImpl(edm, this, functionImport);
-          functionImports.put(functionName, impl);
+          functionImports.putIfAbsent(functionName, new EdmFunctionImportImpl(edm, this, functionImport));
         }
       }
     }
@@ -159,8 +157,7 @@ public class EdmEntityContainerImpl extends AbstractEdmEntityContainer {
     if (providerSingletons != null) {
       for (Singleton singleton : providerSingletons) {
         if (!singletons.containsKey(singleton.getName())) {
-          EdmSingletonImpl impl = new EdmSingletonImpl(edm, this, singleton);
-          singletons.put(singleton.getName(), impl);
+          singletons.putIfAbsent(singleton.getName(), new EdmSingletonImpl(edm, this, singleton));
         }
       }
     }
@@ -174,8 +171,7 @@ public class EdmEntityContainerImpl extends AbstractEdmEntityContainer {
     if (providerActionImports != null) {
       for (ActionImport actionImport : providerActionImports) {
         if (!actionImports.containsKey(actionImport.getName())) {
-          EdmActionImportImpl impl = new EdmActionImportImpl(edm, this, actionImport);
-          actionImports.put(actionImport.getName(), impl);
+          actionImports.putIfAbsent(actionImport.getName(), new EdmActionImportImpl(edm, this, actionImport));
         }
       }
     }
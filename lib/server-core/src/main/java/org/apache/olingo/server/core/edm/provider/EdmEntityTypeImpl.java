@@ -41,7 +41,7 @@ public class EdmEntityTypeImpl extends AbstractEdmEntityType {
 
   private EntityType entityType;
 
-  private boolean baseTypeChecked = false;
+  private volatile boolean baseTypeChecked = false;
 
   public static EdmEntityTypeImpl getInstance(final Edm edm, final FullQualifiedName name,
       final EntityType entityType) {
@@ -69,22 +69,27 @@ public class EdmEntityTypeImpl extends AbstractEdmEntityType {
   @Override
   protected void checkBaseType() {
     if (!baseTypeChecked) {
-      if (baseTypeName != null) {
-        baseType = buildBaseType(baseTypeName);
-        entityBaseType = (EdmEntityType) baseType;
-      }
-      if (baseType == null
-          || (baseType.isAbstract() && ((AbstractEdmEntityType) baseType).getKeyPropertyRefs().size() == 0)) {
-        final List<PropertyRef> key = entityType.getKey();
-        if (key != null) {
-          final List<EdmKeyPropertyRef> edmKey = new ArrayList<EdmKeyPropertyRef>();
-          for (PropertyRef ref : key) {
-            edmKey.add(new EdmKeyPropertyRefImpl(this, ref));
+      // The key is filled exactly once, and only visible to other threads after the flag has been set.
+      synchronized (this) {
+        if (!baseTypeChecked) {
+          if (baseTypeName != null) {
+            baseType = buildBaseType(baseTypeName);
+            entityBaseType = (EdmEntityType) baseType;
+          }
+          if (baseType == null
+              || (baseType.isAbstract() && ((AbstractEdmEntityType) baseType).getKeyPropertyRefs().size() == 0)) {
+            final List<PropertyRef> key = entityType.getKey();
+            if (key != null) {
+              final List<EdmKeyPropertyRef> edmKey = new ArrayList<EdmKeyPropertyRef>();
+              for (PropertyRef ref : key) {
+                edmKey.add(new EdmKeyPropertyRefImpl(this, ref));
+              }
+              setEdmKeyPropertyRef(edmKey);
+            }
           }
-          setEdmKeyPropertyRef(edmKey);
+          baseTypeChecked = true;
         }
       }
-      baseTypeChecked = true;
     }
   }
 
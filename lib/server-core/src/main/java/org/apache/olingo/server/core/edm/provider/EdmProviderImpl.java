@@ -51,14 +51,17 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EdmProviderImpl extends AbstractEdm {
 
   private final EdmProvider provider;
 
-  private final Map<FullQualifiedName, List<Action>> actionsMap = new HashMap<FullQualifiedName, List<Action>>();
+  private final Map<FullQualifiedName, List<Action>> actionsMap =
+      new ConcurrentHashMap<FullQualifiedName, List<Action>>();
 
-  private final Map<FullQualifiedName, List<Function>> functionsMap = new HashMap<FullQualifiedName, List<Function>>();
+  private final Map<FullQualifiedName, List<Function>> functionsMap =
+      new ConcurrentHashMap<FullQualifiedName, List<Function>>();
 
   public EdmProviderImpl(final EdmProvider provider) {
     this.provider = provider;
@@ -317,8 +320,11 @@ public class EdmProviderImpl extends AbstractEdm {
   protected Map<String, EdmSchema> createSchemas() {
     try {
       final Map<String, EdmSchema> _schemas = new LinkedHashMap<String, EdmSchema>();
-      for (Schema schema : provider.getSchemas()) {
-        _schemas.put(schema.getNamespace(), new EdmSchemaImpl(this, provider, schema));
+      final List<Schema> providerSchemas = provider.getSchemas();
+      if (providerSchemas != null) {
+        for (Schema schema : providerSchemas) {
+          _schemas.put(schema.getNamespace(), new EdmSchemaImpl(this, provider, schema));
+        }
       }
       return _schemas;
     } catch (ODataException e) {
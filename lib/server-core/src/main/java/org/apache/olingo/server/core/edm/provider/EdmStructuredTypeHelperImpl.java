@@ -38,9 +38,9 @@ public class EdmStructuredTypeHelperImpl implements EdmStructuredTypeHelper {
 
   private final StructuredType structuredType;
 
-  private Map<String, EdmProperty> properties;
+  private volatile Map<String, EdmProperty> properties;
 
-  private Map<String, EdmNavigationProperty> navigationProperties;
+  private volatile Map<String, EdmNavigationProperty> navigationProperties;
 
   public EdmStructuredTypeHelperImpl(
       final Edm edm, final FullQualifiedName structuredTypeName, final StructuredType structuredType) {
@@ -52,29 +52,33 @@ public class EdmStructuredTypeHelperImpl implements EdmStructuredTypeHelper {
 
   @Override
   public Map<String, EdmProperty> getProperties() {
-    if (properties == null) {
-      properties = new LinkedHashMap<String, EdmProperty>();
+    Map<String, EdmProperty> result = properties;
+    if (result == null) {
+      result = new LinkedHashMap<String, EdmProperty>();
       if (structuredType.getProperties() != null) {
         for (Property property : structuredType.getProperties()) {
-          properties.put(property.getName(), new EdmPropertyImpl(edm, structuredTypeName, property));
+          result.put(property.getName(), new EdmPropertyImpl(edm, structuredTypeName, property));
         }
       }
+      properties = result;
     }
-    return properties;
+    return result;
   }
 
   @Override
   public Map<String, EdmNavigationProperty> getNavigationProperties() {
-    if (navigationProperties == null) {
-      navigationProperties = new LinkedHashMap<String, EdmNavigationProperty>();
+    Map<String, EdmNavigationProperty> result = navigationProperties;
+    if (result == null) {
+      result = new LinkedHashMap<String, EdmNavigationProperty>();
       if (structuredType.getNavigationProperties() != null) {
         for (NavigationProperty navigationProperty : structuredType.getNavigationProperties()) {
-          navigationProperties.put(navigationProperty.getName(),
+          result.put(navigationProperty.getName(),
               new EdmNavigationPropertyImpl(edm, structuredTypeName, navigationProperty));
         }
       }
+      navigationProperties = result;
     }
-    return navigationProperties;
+    return result;
   }
 
   @Override
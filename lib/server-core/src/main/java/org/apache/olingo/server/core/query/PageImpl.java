@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import java.net.URI;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntitySet;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.core.data.EntitySetImpl;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.query.Page;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledOrderBy;
+
+class PageImpl implements Page {
+
+  private final byte[] secret;
+  private final String binding;
+  private final String nextLinkPrefix;
+  private final int size;
+  private final int skip;
+  private final int remaining;
+  private final int delivered;
+  private final Object[] startAfter;
+  private final String preferenceApplied;
+  private final CompiledOrderBy order;
+  private final CompiledOrderBy totalOrder;
+
+  /**
+   * @param remaining the number of entities $top still allows
+   * @param delivered the number of entities delivered on previous pages
+   * @param order the compiled $orderby option or <code>null</code>
+   * @param totalOrder the compiled $orderby option extended by the key properties
+   */
+  PageImpl(final byte[] secret, final String binding, final String nextLinkPrefix, final int pageSize,
+      final int skip, final int remaining, final int delivered, final Object[] startAfter,
+      final String preferenceApplied, final CompiledOrderBy order, final CompiledOrderBy totalOrder) {
+    this.secret = secret;
+    this.binding = binding;
+    this.nextLinkPrefix = nextLinkPrefix;
+    size = Math.min(pageSize, remaining);
+    this.skip = skip;
+    this.remaining = remaining;
+    this.delivered = delivered;
+    this.startAfter = startAfter;
+    this.preferenceApplied = preferenceApplied;
+    this.order = order;
+    this.totalOrder = totalOrder;
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public int getSkip() {
+    return skip;
+  }
+
+  @Override
+  public Object[] getStartAfter() {
+    return startAfter == null ? null : startAfter.clone();
+  }
+
+  @Override
+  public String getPreferenceApplied() {
+    return preferenceApplied;
+  }
+
+  @Override
+  public URI createNextLink(final Entity lastEntity) throws ODataApplicationException {
+    if (remaining <= size) {
+      return null;
+    }
+    final SkipToken token = new SkipToken(delivered + size, totalOrder.getSortValues(lastEntity));
+    return URI.create(nextLinkPrefix + token.encode(secret, binding));
+  }
+
+  @Override
+  public EntitySet apply(final EntitySet entitySet, final ODataResponse response) throws ODataApplicationException {
+    final List<Entity> entities = entitySet.getEntities();
+    List<Entity> sorted;
+    int start;
+    if (startAfter == null && (entities.size() - skip <= size || remaining <= size)) {
+      // No further page follows, so there is no position to be described and the order can stay as it is.
+      sorted = order == null ? entities : order.sort(entities);
+      start = Math.min(skip, sorted.size());
+    } else {
+      sorted = totalOrder.sort(entities);
+      start = startAfter == null ? Math.min(skip, sorted.size()) : findStart(sorted);
+    }
+    final int end = size >= sorted.size() - start ? sorted.size() : start + size;
+
+    EntitySet result = new EntitySetImpl();
+    result.getEntities().addAll(sorted.subList(start, end));
+    result.setCount(entitySet.getCount());
+    if (end < sorted.size() && end > start) {
+      result.setNext(createNextLink(sorted.get(end - 1)));
+    }
+    if (preferenceApplied != null) {
+      response.setHeader(HttpHeader.PREFERENCE_APPLIED, preferenceApplied);
+    }
+    return result;
+  }
+
+  /** Finds the first entity sorting after the start position by binary search. */
+  private int findStart(final List<Entity> sorted) throws ODataApplicationException {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (totalOrder.compareSortValues(totalOrder.getSortValues(sorted.get(middle)), startAfter) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.query.Page;
+import org.apache.olingo.server.api.query.Pager;
+import org.apache.olingo.server.api.query.PagingConfiguration;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledOrderBy;
+import org.apache.olingo.server.core.uri.UriInfoImpl;
+import org.apache.olingo.server.core.uri.UriResourceComplexPropertyImpl;
+import org.apache.olingo.server.core.uri.UriResourcePrimitivePropertyImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByItemImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionEvaluatorImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MemberImpl;
+
+public class PagerImpl implements Pager {
+
+  private static final String MAX_PAGE_SIZE_PREFERENCE = "odata.maxpagesize";
+  private static final String SKIP_TOKEN = "$skiptoken=";
+  private static final String ENCODED_SKIP_TOKEN = "%24skiptoken=";
+
+  private final PagingConfiguration configuration;
+
+  public PagerImpl(final PagingConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  @Override
+  public Page createPage(final ODataRequest request, final UriInfoResource uriInfo, final EdmEntitySet entitySet)
+      throws ODataApplicationException {
+    final int maxPageSize = configuration.getMaxPageSize(entitySet.getName());
+    final Integer preferredPageSize = getPreferredPageSize(request);
+    final boolean preferenceHonored = preferredPageSize != null && preferredPageSize <= maxPageSize;
+
+    final ExpressionEvaluatorImpl evaluator = new ExpressionEvaluatorImpl();
+    final OrderByOption orderBy = uriInfo.getOrderByOption();
+    final OrderByOptionImpl totalOrder = createTotalOrder(orderBy, entitySet);
+
+    // The token is bound to the request without the token itself, which is exactly what the next link repeats.
+    final String query = removeSkipToken(request.getRawQueryPath());
+    final String binding = request.getRawODataPath() + '?' + query;
+    SkipToken skipToken = null;
+    if (uriInfo.getSkipTokenOption() != null) {
+      skipToken = SkipToken.decode(uriInfo.getSkipTokenOption().getValue(), configuration.getSecret(), binding);
+      if (skipToken.getValues().length != totalOrder.getOrders().size()) {
+        throw new ODataApplicationException("The skip token is not valid.",
+            HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+      }
+    }
+
+    final int delivered = skipToken == null ? 0 : skipToken.getDelivered();
+    final int remaining = uriInfo.getTopOption() == null ? Integer.MAX_VALUE :
+        Math.max(uriInfo.getTopOption().getValue() - delivered, 0);
+    return new PageImpl(configuration.getSecret(), binding,
+        request.getRawBaseUri() + request.getRawODataPath() + '?' + (query.isEmpty() ? "" : query + '&') + SKIP_TOKEN,
+        preferenceHonored ? preferredPageSize : maxPageSize,
+        skipToken == null && uriInfo.getSkipOption() != null ? uriInfo.getSkipOption().getValue() : 0,
+        remaining, delivered,
+        skipToken == null ? null : skipToken.getValues(),
+        preferenceHonored ? MAX_PAGE_SIZE_PREFERENCE + '=' + preferredPageSize : null,
+        orderBy == null ? null : evaluator.compile(orderBy),
+        evaluator.compile(totalOrder));
+  }
+
+  /**
+   * Appends the key properties to the $orderby items so that the order is total
+   * and a position can be described by sort values.
+   */
+  private OrderByOptionImpl createTotalOrder(final OrderByOption orderBy, final EdmEntitySet entitySet)
+      throws ODataApplicationException {
+    OrderByOptionImpl totalOrder = new OrderByOptionImpl();
+    if (orderBy != null) {
+      for (final OrderByItem item : orderBy.getOrders()) {
+        OrderByItemImpl order = new OrderByItemImpl();
+        order.setExpression((ExpressionImpl) item.getExpression());
+        order.setDescending(item.isDescending());
+        totalOrder.addOrder(order);
+      }
+    }
+    for (final EdmKeyPropertyRef keyRef : entitySet.getEntityType().getKeyPropertyRefs()) {
+      OrderByItemImpl order = new OrderByItemImpl();
+      order.setExpression((ExpressionImpl) new MemberImpl().setResourcePath(
+          createKeyPath(entitySet.getEntityType(), keyRef)));
+      totalOrder.addOrder(order);
+    }
+    return totalOrder;
+  }
+
+  /** Creates the resource path to a key property; aliased key properties are nested in complex properties. */
+  private UriInfoImpl createKeyPath(final EdmEntityType entityType, final EdmKeyPropertyRef keyRef) {
+    UriInfoImpl path = new UriInfoImpl().setKind(UriInfoKind.resource);
+    if (keyRef.getAlias() != null) {
+      final String[] segments = keyRef.getPath().split("/");
+      EdmStructuredType type = entityType;
+      for (int i = 0; i < segments.length - 1; i++) {
+        final EdmProperty property = type.getStructuralProperty(segments[i]);
+        path.addResourcePart(new UriResourceComplexPropertyImpl().setProperty(property));
+        type = (EdmStructuredType) property.getType();
+      }
+    }
+    return path.addResourcePart(new UriResourcePrimitivePropertyImpl().setProperty(keyRef.getProperty()));
+  }
+
+  /** Reads the page-size preference; malformed preferences are ignored as the protocol demands. */
+  private Integer getPreferredPageSize(final ODataRequest request) {
+    final List<String> values = request.getHeaders(HttpHeader.PREFER);
+    if (values == null) {
+      return null;
+    }
+    for (final String value : values) {
+      for (final String preference : value.split(",")) {
+        // Preference parameters after a semicolon are not defined for this preference.
+        final String[] nameAndValue = preference.split(";")[0].split("=", 2);
+        if (nameAndValue.length == 2 && MAX_PAGE_SIZE_PREFERENCE.equalsIgnoreCase(nameAndValue[0].trim())) {
+          String size = nameAndValue[1].trim();
+          if (size.length() > 1 && size.startsWith("\"") && size.endsWith("\"")) {
+            size = size.substring(1, size.length() - 1);
+          }
+          try {
+            final int pageSize = Integer.parseInt(size);
+            return pageSize > 0 ? pageSize : null;
+          } catch (final NumberFormatException e) {
+            return null;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  private String removeSkipToken(final String query) {
+    if (query == null || query.isEmpty()) {
+      return "";
+    }
+    StringBuilder result = new StringBuilder();
+    for (final String option : query.split("&")) {
+      if (!option.isEmpty() && !option.startsWith(SKIP_TOKEN)
+          && !option.regionMatches(true, 0, ENCODED_SKIP_TOKEN, 0, ENCODED_SKIP_TOKEN.length())) {
+        result.append(result.length() == 0 ? "" : "&").append(option);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.query.QueryPlan;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.SelectItem;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+
+public class QueryPlanImpl implements QueryPlan {
+
+  private final EdmEntitySet entitySet;
+  private final List<String> selectedProperties;
+  private final Expression filter;
+  private final List<OrderByItem> orderBy;
+  private final Integer skip;
+  private final Integer top;
+  private final boolean count;
+
+  private QueryPlanImpl(final EdmEntitySet entitySet, final List<String> selectedProperties,
+      final Expression filter, final List<OrderByItem> orderBy, final Integer skip, final Integer top,
+      final boolean count) {
+    this.entitySet = entitySet;
+    this.selectedProperties = selectedProperties;
+    this.filter = filter;
+    this.orderBy = orderBy;
+    this.skip = skip;
+    this.top = top;
+    this.count = count;
+  }
+
+  /**
+   * Creates the query plan for a request to an entity collection.
+   * @param uriInfo information about the request URI
+   * @return the query plan
+   * @throws ODataApplicationException if the resource path does not address an entity set
+   * or if system query options are present which cannot be expressed in a plan
+   */
+  public static QueryPlan create(final UriInfoResource uriInfo) throws ODataApplicationException {
+    final List<UriResource> parts = uriInfo.getUriResourceParts();
+    if (parts.size() != 1 || !(parts.get(0) instanceof UriResourceEntitySet)) {
+      throw notImplemented("Only entity sets can be queried.");
+    }
+    final UriResourceEntitySet resource = (UriResourceEntitySet) parts.get(0);
+    if (!resource.getKeyPredicates().isEmpty()
+        || resource.getTypeFilterOnCollection() != null || resource.getTypeFilterOnEntry() != null) {
+      throw notImplemented("Key predicates and type filters cannot be queried.");
+    }
+    if (uriInfo.getSearchOption() != null || uriInfo.getSkipTokenOption() != null
+        || !uriInfo.getCustomQueryOptions().isEmpty()) {
+      throw notImplemented("Not all of the specified options are supported.");
+    }
+
+    final EdmEntitySet entitySet = resource.getEntitySet();
+    return new QueryPlanImpl(entitySet,
+        getSelectedProperties(entitySet, uriInfo.getSelectOption()),
+        uriInfo.getFilterOption() == null ? null : uriInfo.getFilterOption().getExpression(),
+        uriInfo.getOrderByOption() == null ? Collections.<OrderByItem> emptyList() :
+            Collections.unmodifiableList(uriInfo.getOrderByOption().getOrders()),
+        uriInfo.getSkipOption() == null ? null : uriInfo.getSkipOption().getValue(),
+        uriInfo.getTopOption() == null ? null : uriInfo.getTopOption().getValue(),
+        uriInfo.getCountOption() != null && uriInfo.getCountOption().getValue());
+  }
+
+  private static List<String> getSelectedProperties(final EdmEntitySet entitySet, final SelectOption select) {
+    if (select == null) {
+      return null;
+    }
+    Set<String> names = new LinkedHashSet<String>(entitySet.getEntityType().getKeyPredicateNames());
+    for (final SelectItem item : select.getSelectItems()) {
+      if (item.isStar()) {
+        return null;
+      }
+      final UriInfoResource path = item.getResourcePath();
+      if (path != null && !path.getUriResourceParts().isEmpty()
+          && path.getUriResourceParts().get(0) instanceof UriResourceProperty) {
+        // Only the top-level property is relevant for reading; nested selections are applied on top of it.
+        names.add(((UriResourceProperty) path.getUriResourceParts().get(0)).getProperty().getName());
+      }
+    }
+    return Collections.unmodifiableList(new ArrayList<String>(names));
+  }
+
+  private static ODataApplicationException notImplemented(final String message) {
+    return new ODataApplicationException(message, HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+  }
+
+  @Override
+  public EdmEntitySet getEntitySet() {
+    return entitySet;
+  }
+
+  @Override
+  public List<String> getSelectedProperties() {
+    return selectedProperties;
+  }
+
+  @Override
+  public Expression getFilter() {
+    return filter;
+  }
+
+  @Override
+  public List<OrderByItem> getOrderBy() {
+    return orderBy;
+  }
+
+  @Override
+  public Integer getSkip() {
+    return skip;
+  }
+
+  @Override
+  public Integer getTop() {
+    return top;
+  }
+
+  @Override
+  public boolean isCount() {
+    return count;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+/**
+ * Position in a sorted entity collection, exchanged with clients as opaque skip token.
+ * <p>The token consists of the number of entities delivered so far (needed for $top)
+ * and the sort values of the last delivered entity, each prefixed with a type tag.
+ * It is signed with an HMAC over the token and the request it belongs to, so that clients can neither
+ * forge positions nor reuse a token for a request with different options.</p>
+ */
+final class SkipToken {
+
+  private static final byte VERSION = 1;
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final int MAC_LENGTH = 16;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final byte NULL = 'N';
+  private static final byte BOOLEAN = 'B';
+  private static final byte LONG = 'L';
+  private static final byte DOUBLE = 'D';
+  private static final byte DECIMAL = 'M';
+  private static final byte STRING = 'S';
+  private static final byte TEMPORAL = 'T';
+  private static final byte GUID = 'G';
+  private static final byte BINARY = 'X';
+
+  private final int delivered;
+  private final Object[] values;
+
+  SkipToken(final int delivered, final Object[] values) {
+    this.delivered = delivered;
+    this.values = values;
+  }
+
+  /** Gets the number of entities delivered before the position. */
+  int getDelivered() {
+    return delivered;
+  }
+
+  /** Gets the sort values of the last delivered entity. */
+  Object[] getValues() {
+    return values;
+  }
+
+  /**
+   * Encodes the token.
+   * @param secret the signing secret
+   * @param binding the request the token belongs to
+   * @return the URL-safe token text
+   * @throws ODataApplicationException if a value type cannot be represented (501)
+   */
+  String encode(final byte[] secret, final String binding) throws ODataApplicationException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    try {
+      output.writeByte(VERSION);
+      output.writeInt(delivered);
+      output.writeShort(values.length);
+      for (final Object value : values) {
+        writeValue(value, output);
+      }
+      output.write(sign(secret, binding, bytes.toByteArray()));
+      output.flush();
+    } catch (final IOException e) {
+      throw new ODataRuntimeException(e);
+    }
+    return Base64.encodeBase64URLSafeString(bytes.toByteArray());
+  }
+
+  /**
+   * Decodes and verifies a token.
+   * @param token the token text
+   * @param secret the signing secret
+   * @param binding the request the token must belong to
+   * @return the position
+   * @throws ODataApplicationException if the token is not valid for the request (400)
+   */
+  static SkipToken decode(final String token, final byte[] secret, final String binding)
+      throws ODataApplicationException {
+    final byte[] bytes = Base64.decodeBase64(token);
+    if (bytes.length <= MAC_LENGTH) {
+      throw invalid();
+    }
+    final byte[] payload = Arrays.copyOf(bytes, bytes.length - MAC_LENGTH);
+    // Signatures are compared in constant time so that they cannot be guessed byte by byte.
+    if (!MessageDigest.isEqual(sign(secret, binding, payload),
+        Arrays.copyOfRange(bytes, payload.length, bytes.length))) {
+      throw invalid();
+    }
+    final ByteArrayInputStream stream = new ByteArrayInputStream(payload);
+    final DataInputStream input = new DataInputStream(stream);
+    try {
+      if (input.readByte() != VERSION) {
+        throw invalid();
+      }
+      final int delivered = input.readInt();
+      Object[] values = new Object[input.readUnsignedShort()];
+      for (int index = 0; index < values.length; index++) {
+        values[index] = readValue(input);
+      }
+      if (stream.available() > 0) {
+        throw invalid();
+      }
+      return new SkipToken(delivered, values);
+    } catch (final IOException e) {
+      throw invalid();
+    }
+  }
+
+  private static void writeValue(final Object value, final DataOutputStream output)
+      throws IOException, ODataApplicationException {
+    if (value == null) {
+      output.writeByte(NULL);
+    } else if (value instanceof Boolean) {
+      output.writeByte(BOOLEAN);
+      output.writeBoolean((Boolean) value);
+    } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+        || value instanceof Byte) {
+      output.writeByte(LONG);
+      output.writeLong(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      output.writeByte(DOUBLE);
+      output.writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof BigDecimal) {
+      output.writeByte(DECIMAL);
+      writeBytes(((BigDecimal) value).toString().getBytes(UTF_8), output);
+    } else if (value instanceof String) {
+      output.writeByte(STRING);
+      writeBytes(((String) value).getBytes(UTF_8), output);
+    } else if (value instanceof Calendar || value instanceof Date) {
+      // Temporal values are ordered by their instant only.
+      output.writeByte(TEMPORAL);
+      output.writeLong(value instanceof Calendar ? ((Calendar) value).getTimeInMillis() : ((Date) value).getTime());
+    } else if (value instanceof UUID) {
+      output.writeByte(GUID);
+      output.writeLong(((UUID) value).getMostSignificantBits());
+      output.writeLong(((UUID) value).getLeastSignificantBits());
+    } else if (value instanceof byte[]) {
+      output.writeByte(BINARY);
+      writeBytes((byte[]) value, output);
+    } else {
+      throw new ODataApplicationException("Values of type " + value.getClass().getSimpleName()
+          + " cannot be used for paging.", HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+    }
+  }
+
+  private static Object readValue(final DataInputStream input) throws IOException, ODataApplicationException {
+    final byte tag = input.readByte();
+    switch (tag) {
+    case NULL:
+      return null;
+    case BOOLEAN:
+      return input.readBoolean();
+    case LONG:
+      return input.readLong();
+    case DOUBLE:
+      return input.readDouble();
+    case DECIMAL:
+      try {
+        return new BigDecimal(new String(readBytes(input), UTF_8));
+      } catch (final NumberFormatException e) {
+        throw invalid();
+      }
+    case STRING:
+      return new String(readBytes(input), UTF_8);
+    case TEMPORAL:
+      return new Date(input.readLong());
+    case GUID:
+      return new UUID(input.readLong(), input.readLong());
+    case BINARY:
+      return readBytes(input);
+    default:
+      throw invalid();
+    }
+  }
+
+  private static void writeBytes(final byte[] bytes, final DataOutputStream output) throws IOException {
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static byte[] readBytes(final DataInputStream input) throws IOException, ODataApplicationException {
+    final int length = input.readInt();
+    if (length < 0 || length > input.available()) {
+      throw invalid();
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return bytes;
+  }
+
+  private static byte[] sign(final byte[] secret, final String binding, final byte[] payload) {
+    try {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+      mac.update(binding.getBytes(UTF_8));
+      mac.update((byte) 0);
+      return Arrays.copyOf(mac.doFinal(payload), MAC_LENGTH);
+    } catch (final GeneralSecurityException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  private static ODataApplicationException invalid() {
+    return new ODataApplicationException("The skip token is not valid.",
+        HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+  }
+}
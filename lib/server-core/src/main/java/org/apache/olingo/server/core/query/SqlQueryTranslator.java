@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.olingo.commons.api.edm.EdmComplexType;
+import org.apache.olingo.commons.api.edm.EdmElement;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.query.QueryPlan;
+import org.apache.olingo.server.api.query.QueryTranslator;
+import org.apache.olingo.server.api.query.SqlQuery;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.expression.Binary;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.Method;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Unary;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.apache.olingo.server.core.uri.queryoption.expression.LiteralConverter;
+
+/**
+ * Reference translator of query plans into standard SQL (SQL:2008).
+ * <p>The entity set is mapped to a table of the same name, and each primitive property to a column
+ * of the same name; properties nested in complex properties are mapped to columns named by the
+ * property path joined with underscores. Subclasses can change this mapping and the quoting of
+ * identifiers. All literals are passed as positional parameters.</p>
+ * <p>Comparisons follow OData semantics and are never unknown, so that negated comparisons select
+ * the same rows as without a database: NULL is tested for explicitly, and columns are compared
+ * with <code>IS [NOT] DISTINCT FROM</code>.</p>
+ */
+public class SqlQueryTranslator implements QueryTranslator<SqlQuery> {
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  @Override
+  public SqlQuery translate(final QueryPlan plan) throws ODataApplicationException {
+    final String table = getTableName(plan.getEntitySet());
+    StringBuilder where = new StringBuilder();
+    List<Object> whereParameters = new ArrayList<Object>();
+    if (plan.getFilter() != null) {
+      where.append(" WHERE ");
+      appendExpression(plan.getFilter(), where, whereParameters);
+    }
+
+    StringBuilder statement = new StringBuilder("SELECT ");
+    appendColumns(plan, statement);
+    statement.append(" FROM ").append(table).append(where);
+    List<Object> parameters = new ArrayList<Object>(whereParameters);
+    if (!plan.getOrderBy().isEmpty()) {
+      statement.append(" ORDER BY ");
+      boolean first = true;
+      for (final OrderByItem item : plan.getOrderBy()) {
+        statement.append(first ? "" : ", ");
+        appendExpression(item.getExpression(), statement, parameters);
+        // OData sorts null values before all other values in ascending order.
+        statement.append(item.isDescending() ? " DESC NULLS LAST" : " ASC NULLS FIRST");
+        first = false;
+      }
+    }
+    if (plan.getSkip() != null) {
+      statement.append(" OFFSET ? ROWS");
+      parameters.add(plan.getSkip());
+    }
+    if (plan.getTop() != null) {
+      statement.append(" FETCH FIRST ? ROWS ONLY");
+      parameters.add(plan.getTop());
+    }
+
+    return plan.isCount() ?
+        new SqlQuery(statement.toString(), parameters, "SELECT COUNT(*) FROM " + table + where, whereParameters) :
+        new SqlQuery(statement.toString(), parameters, null, null);
+  }
+
+  /**
+   * Gets the (quoted) name of the table holding the entities of an entity set.
+   * @param entitySet the entity set
+   * @return the table name
+   */
+  protected String getTableName(final EdmEntitySet entitySet) {
+    return quote(entitySet.getName());
+  }
+
+  /**
+   * Gets the (quoted) name of the column holding the value of a primitive property.
+   * @param path the names of the properties from the entity to the primitive property
+   * @return the column name
+   */
+  protected String getColumnName(final List<String> path) {
+    StringBuilder name = new StringBuilder();
+    for (final String segment : path) {
+      name.append(name.length() == 0 ? "" : "_").append(segment);
+    }
+    return quote(name.toString());
+  }
+
+  /**
+   * Quotes an identifier as delimited identifier.
+   * @param identifier the identifier
+   * @return the quoted identifier
+   */
+  protected String quote(final String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+
+  private void appendColumns(final QueryPlan plan, final StringBuilder sql) throws ODataApplicationException {
+    if (plan.getSelectedProperties() == null) {
+      sql.append('*');
+      return;
+    }
+    List<String> columns = new ArrayList<String>();
+    final EdmStructuredType type = plan.getEntitySet().getEntityType();
+    for (final String name : plan.getSelectedProperties()) {
+      final EdmElement element = type.getProperty(name);
+      if (element instanceof EdmProperty) {
+        List<String> path = new ArrayList<String>();
+        path.add(name);
+        addColumns((EdmProperty) element, path, columns);
+      }
+    }
+    boolean first = true;
+    for (final String column : columns) {
+      sql.append(first ? "" : ", ").append(column);
+      first = false;
+    }
+  }
+
+  private void addColumns(final EdmProperty property, final List<String> path, final List<String> columns)
+      throws ODataApplicationException {
+    if (property.isCollection()) {
+      throw notImplemented("Collection properties cannot be mapped to columns.");
+    } else if (property.isPrimitive()) {
+      columns.add(getColumnName(path));
+    } else {
+      final EdmComplexType complexType = (EdmComplexType) property.getType();
+      for (final String name : complexType.getPropertyNames()) {
+        final EdmElement element = complexType.getProperty(name);
+        if (element instanceof EdmProperty) {
+          path.add(name);
+          addColumns((EdmProperty) element, path, columns);
+          path.remove(path.size() - 1);
+        }
+      }
+    }
+  }
+
+  private void appendExpression(final Expression expression, final StringBuilder sql, final List<Object> parameters)
+      throws ODataApplicationException {
+    if (expression instanceof Literal) {
+      final Object value = toParameter((Literal) expression);
+      if (value == null) {
+        sql.append("NULL");
+      } else {
+        sql.append('?');
+        parameters.add(value);
+      }
+    } else if (expression instanceof Member) {
+      sql.append(getColumnName(getPath((Member) expression)));
+    } else if (expression instanceof Unary) {
+      final Unary unary = (Unary) expression;
+      sql.append(unary.getOperator() == UnaryOperatorKind.NOT ? "(NOT " : "(-");
+      appendExpression(unary.getOperand(), sql, parameters);
+      sql.append(')');
+    } else if (expression instanceof Binary) {
+      appendBinary((Binary) expression, sql, parameters);
+    } else if (expression instanceof Method) {
+      appendMethod((Method) expression, sql, parameters);
+    } else {
+      throw notImplemented("The expression '" + expression + "' is not supported.");
+    }
+  }
+
+  /**
+   * Converts a literal into a value for <code>PreparedStatement.setObject</code>:
+   * dates and times of day become their <code>java.sql</code> types (date-time offsets already are
+   * timestamps), and GUIDs become strings.
+   */
+  private Object toParameter(final Literal literal) throws ODataApplicationException {
+    final Object value = LiteralConverter.convert(literal);
+    if (value == null) {
+      return null;
+    }
+    switch (LiteralConverter.getKind(literal)) {
+    case Date:
+      final Calendar date = (Calendar) value;
+      return java.sql.Date.valueOf(String.format(Locale.ROOT, "%04d-%02d-%02d",
+          date.get(Calendar.YEAR), date.get(Calendar.MONTH) + 1, date.get(Calendar.DAY_OF_MONTH)));
+    case TimeOfDay:
+      final Calendar time = (Calendar) value;
+      return new Time(Time.valueOf(String.format(Locale.ROOT, "%02d:%02d:%02d",
+          time.get(Calendar.HOUR_OF_DAY), time.get(Calendar.MINUTE), time.get(Calendar.SECOND))).getTime()
+          + time.get(Calendar.MILLISECOND));
+    case Guid:
+      return value.toString();
+    default:
+      return value;
+    }
+  }
+
+  private List<String> getPath(final Member member) throws ODataApplicationException {
+    if (member.getStartTypeFilter() != null) {
+      throw notImplemented("Type filters are not supported.");
+    }
+    List<String> path = new ArrayList<String>();
+    final List<UriResource> parts = member.getResourcePath().getUriResourceParts();
+    for (int index = 0; index < parts.size(); index++) {
+      final UriResource part = parts.get(index);
+      final boolean last = index == parts.size() - 1;
+      if (!(last ? part instanceof UriResourcePrimitiveProperty : part instanceof UriResourceComplexProperty)
+          || ((UriResourceProperty) part).isCollection()) {
+        throw notImplemented("Only paths to single primitive properties are supported.");
+      }
+      path.add(((UriResourceProperty) part).getProperty().getName());
+    }
+    return path;
+  }
+
+  private void appendBinary(final Binary binary, final StringBuilder sql, final List<Object> parameters)
+      throws ODataApplicationException {
+    final BinaryOperatorKind operator = binary.getOperator();
+    if (operator == BinaryOperatorKind.EQ || operator == BinaryOperatorKind.NE
+        || operator == BinaryOperatorKind.LT || operator == BinaryOperatorKind.LE
+        || operator == BinaryOperatorKind.GT || operator == BinaryOperatorKind.GE) {
+      appendComparison(binary, sql, parameters);
+      return;
+    }
+    final String sqlOperator;
+    switch (operator) {
+    case AND:
+      sqlOperator = " AND ";
+      break;
+    case OR:
+      sqlOperator = " OR ";
+      break;
+    case ADD:
+      sqlOperator = " + ";
+      break;
+    case SUB:
+      sqlOperator = " - ";
+      break;
+    case MUL:
+      sqlOperator = " * ";
+      break;
+    case DIV:
+      sqlOperator = " / ";
+      break;
+    case MOD:
+      sqlOperator = ", ";
+      sql.append("MOD");
+      break;
+    default:
+      throw notImplemented("The operator '" + operator + "' is not supported.");
+    }
+    sql.append('(');
+    appendExpression(binary.getLeftOperand(), sql, parameters);
+    sql.append(sqlOperator);
+    appendExpression(binary.getRightOperand(), sql, parameters);
+    sql.append(')');
+  }
+
+  /**
+   * Appends a comparison that is never unknown, as in OData: null equals null and differs from all
+   * other values, and ordering comparisons with null are false except null le/ge null.
+   */
+  private void appendComparison(final Binary binary, final StringBuilder sql, final List<Object> parameters)
+      throws ODataApplicationException {
+    final BinaryOperatorKind operator = binary.getOperator();
+    final Expression left = binary.getLeftOperand();
+    final Expression right = binary.getRightOperand();
+    if (isNull(left) || isNull(right)) {
+      if (operator == BinaryOperatorKind.LT || operator == BinaryOperatorKind.GT) {
+        sql.append("(1 = 0)");
+      } else {
+        sql.append('(');
+        appendExpression(isNull(left) ? right : left, sql, parameters);
+        sql.append(operator == BinaryOperatorKind.NE ? " IS NOT NULL)" : " IS NULL)");
+      }
+      return;
+    }
+    final boolean literalOperand = left instanceof Literal || right instanceof Literal;
+    if (!literalOperand && (operator == BinaryOperatorKind.EQ || operator == BinaryOperatorKind.NE)) {
+      sql.append('(');
+      appendExpression(left, sql, parameters);
+      sql.append(operator == BinaryOperatorKind.EQ ? " IS NOT DISTINCT FROM " : " IS DISTINCT FROM ");
+      appendExpression(right, sql, parameters);
+      sql.append(')');
+    } else if (operator == BinaryOperatorKind.NE) {
+      sql.append('(');
+      appendExpression(left, sql, parameters);
+      sql.append(" <> ");
+      appendExpression(right, sql, parameters);
+      sql.append(" OR ");
+      appendExpression(left instanceof Literal ? right : left, sql, parameters);
+      sql.append(" IS NULL)");
+    } else {
+      final boolean orBothNull = !literalOperand
+          && (operator == BinaryOperatorKind.LE || operator == BinaryOperatorKind.GE);
+      sql.append(orBothNull ? "((" : "(");
+      appendExpression(left, sql, parameters);
+      sql.append(operator == BinaryOperatorKind.EQ ? " = " :
+          operator == BinaryOperatorKind.LT ? " < " :
+              operator == BinaryOperatorKind.LE ? " <= " :
+                  operator == BinaryOperatorKind.GT ? " > " : " >= ");
+      appendExpression(right, sql, parameters);
+      appendNotNull(left, sql, parameters);
+      appendNotNull(right, sql, parameters);
+      if (orBothNull) {
+        sql.append(") OR (");
+        appendExpression(left, sql, parameters);
+        sql.append(" IS NULL AND ");
+        appendExpression(right, sql, parameters);
+        sql.append(" IS NULL)");
+      }
+      sql.append(')');
+    }
+  }
+
+  private void appendNotNull(final Expression expression, final StringBuilder sql, final List<Object> parameters)
+      throws ODataApplicationException {
+    if (!(expression instanceof Literal)) {
+      sql.append(" AND ");
+      appendExpression(expression, sql, parameters);
+      sql.append(" IS NOT NULL");
+    }
+  }
+
+  private boolean isNull(final Expression expression) {
+    return expression instanceof Literal && "null".equals(((Literal) expression).getText());
+  }
+
+  private void appendMethod(final Method method, final StringBuilder sql, final List<Object> parameters)
+      throws ODataApplicationException {
+    final MethodKind kind = method.getMethod();
+    final List<Expression> arguments = method.getParameters();
+    switch (kind) {
+    case CONTAINS:
+      appendLike(arguments, "%", "%", sql, parameters);
+      break;
+    case STARTSWITH:
+      appendLike(arguments, "", "%", sql, parameters);
+      break;
+    case ENDSWITH:
+      appendLike(arguments, "%", "", sql, parameters);
+      break;
+    case LENGTH:
+      appendFunction("CHAR_LENGTH(", arguments, ")", sql, parameters);
+      break;
+    case INDEXOF:
+      // POSITION is one-based and returns zero if not found; indexof is zero-based and returns -1.
+      sql.append("(POSITION(");
+      appendExpression(arguments.get(1), sql, parameters);
+      sql.append(" IN ");
+      appendExpression(arguments.get(0), sql, parameters);
+      sql.append(") - 1)");
+      break;
+    case SUBSTRING:
+      sql.append("SUBSTRING(");
+      appendExpression(arguments.get(0), sql, parameters);
+      sql.append(" FROM (");
+      appendExpression(arguments.get(1), sql, parameters);
+      sql.append(" + 1)");
+      if (arguments.size() > 2) {
+        sql.append(" FOR ");
+        appendExpression(arguments.get(2), sql, parameters);
+      }
+      sql.append(')');
+      break;
+    case TOLOWER:
+      appendFunction("LOWER(", arguments, ")", sql, parameters);
+      break;
+    case TOUPPER:
+      appendFunction("UPPER(", arguments, ")", sql, parameters);
+      break;
+    case TRIM:
+      appendFunction("TRIM(", arguments, ")", sql, parameters);
+      break;
+    case CONCAT:
+      sql.append('(');
+      appendExpression(arguments.get(0), sql, parameters);
+      sql.append(" || ");
+      appendExpression(arguments.get(1), sql, parameters);
+      sql.append(')');
+      break;
+    case YEAR:
+    case MONTH:
+    case DAY:
+    case HOUR:
+    case MINUTE:
+    case SECOND:
+      appendFunction("EXTRACT(" + kind.name() + " FROM ", arguments, ")", sql, parameters);
+      break;
+    case ROUND:
+    case FLOOR:
+    case CEILING:
+      appendFunction(kind.name() + '(', arguments, ")", sql, parameters);
+      break;
+    default:
+      throw notImplemented("The method '" + kind + "' is not supported.");
+    }
+  }
+
+  private void appendFunction(final String prefix, final List<Expression> arguments, final String suffix,
+      final StringBuilder sql, final List<Object> parameters) throws ODataApplicationException {
+    sql.append(prefix);
+    appendExpression(arguments.get(0), sql, parameters);
+    sql.append(suffix);
+  }
+
+  /** Translates the string-matching methods into LIKE; the pattern must be a literal. */
+  private void appendLike(final List<Expression> arguments, final String prefix, final String suffix,
+      final StringBuilder sql, final List<Object> parameters) throws ODataApplicationException {
+    if (!(arguments.get(1) instanceof Literal)) {
+      throw notImplemented("Only literal search strings are supported.");
+    }
+    final Object value = LiteralConverter.convert((Literal) arguments.get(1));
+    if (!(value instanceof String)) {
+      throw new ODataApplicationException("The search string must be a string.",
+          HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+    }
+    sql.append('(');
+    appendExpression(arguments.get(0), sql, parameters);
+    sql.append(" LIKE ? ESCAPE '").append(LIKE_ESCAPE).append("')");
+    parameters.add(prefix + escapeLike((String) value) + suffix);
+  }
+
+  private String escapeLike(final String value) {
+    StringBuilder result = new StringBuilder(value.length());
+    for (final char c : value.toCharArray()) {
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        result.append(LIKE_ESCAPE);
+      }
+      result.append(c);
+    }
+    return result.toString();
+  }
+
+  private ODataApplicationException notImplemented(final String message) {
+    return new ODataApplicationException(message, HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+  }
+}
@@ -34,6 +34,7 @@ import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.batch.exception.BatchSerializerException;
 import org.apache.olingo.server.api.batch.exception.BatchSerializerException.MessageKeys;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
+import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.core.deserializer.batch.BatchParserCommon;
 
 public class BatchResponseSerializer {
@@ -101,7 +102,17 @@ public class BatchResponseSerializer {
     final InputStream content = response.getContent();
     final ByteArrayOutputStream out = new ByteArrayOutputStream();
 
-    if (content != null) {
+    if (response.getODataContent() != null) {
+      try {
+        response.getODataContent().write(out);
+      } catch (IOException e) {
+        throw new ODataRuntimeException(e);
+      } catch (SerializerException e) {
+        throw new ODataRuntimeException(e);
+      }
+
+      return out.toByteArray();
+    } else if (content != null) {
       byte[] buffer = new byte[BUFFER_SIZE];
       int n;
 
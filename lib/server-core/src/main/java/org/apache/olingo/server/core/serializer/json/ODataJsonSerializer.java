@@ -20,13 +20,17 @@ package org.apache.olingo.server.core.serializer.json;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.olingo.commons.api.Constants;
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.data.Linked;
@@ -43,20 +47,20 @@ import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.apache.olingo.commons.api.edm.EdmStructuredType;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.ComplexSerializerOptions;
 import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.PrimitiveSerializerOptions;
+import org.apache.olingo.server.api.serializer.SerializerConfiguration;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.serializer.EntitySerializerOptions;
-import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
 import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
 import org.apache.olingo.server.api.uri.queryoption.SelectOption;
 import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.apache.olingo.server.core.serializer.utils.ContextURLBuilder;
-import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,10 +72,19 @@ public class ODataJsonSerializer implements ODataSerializer {
 
   private static final Logger log = LoggerFactory.getLogger(ODataJsonSerializer.class);
 
+  /** Jackson factories are thread-safe and expensive to create, so all serializers share one. */
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
   private final ODataFormat format;
+  private final int bufferSize;
 
   public ODataJsonSerializer(final ODataFormat format) {
+    this(format, SerializerConfiguration.with().build());
+  }
+
+  public ODataJsonSerializer(final ODataFormat format, final SerializerConfiguration configuration) {
     this.format = format;
+    bufferSize = configuration.getBufferSize();
   }
 
   @Override
@@ -81,8 +94,8 @@ public class ODataJsonSerializer implements ODataSerializer {
 
     // TODO: move stream initialization into separate method
     try {
-      buffer = new CircleStreamBuffer();
-      gen = new JsonFactory().createGenerator(buffer.getOutputStream())
+      buffer = new CircleStreamBuffer(bufferSize);
+      gen = JSON_FACTORY.createGenerator(buffer.getOutputStream())
           .setPrettyPrinter(new DefaultPrettyPrinter());
 
       new ServiceDocumentJsonSerializer(edm, serviceRoot).writeServiceDocument(gen);
@@ -119,9 +132,9 @@ public class ODataJsonSerializer implements ODataSerializer {
 
   @Override
   public InputStream error(final ODataServerError error) throws SerializerException {
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       new ODataErrorSerializer().writeErrorDocument(json, error);
       json.close();
     } catch (final IOException e) {
@@ -134,27 +147,13 @@ public class ODataJsonSerializer implements ODataSerializer {
   @Override
   public InputStream entityCollection(final EdmEntityType entityType, final EntitySet entitySet,
       final EntityCollectionSerializerOptions options) throws SerializerException {
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
-      json.writeStartObject();
-
-      final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-      if (contextURL != null) {
-        json.writeStringField(Constants.JSON_CONTEXT,
-            ContextURLBuilder.create(contextURL).toASCIIString());
-      }
-
-      if (options != null && options.getCount() != null && options.getCount().getValue()
-          && entitySet.getCount() != null) {
-        json.writeNumberField(Constants.JSON_COUNT, entitySet.getCount());
-      }
-      json.writeFieldName(Constants.VALUE);
-      writeEntitySet(entityType, entitySet,
-          options == null ? null : options.getExpand(), options == null ? null : options.getSelect(), json);
-      if (entitySet.getNext() != null) {
-        json.writeStringField(Constants.JSON_NEXT_LINK, entitySet.getNext().toASCIIString());
-      }
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
+      writeEntityCollection(entityType, entitySet.getEntities().iterator(), entitySet.getCount(), contextURL,
+          options, json);
+      writeNextLink(entitySet.getNext(), json);
       json.close();
     } catch (final IOException e) {
       throw new SerializerException("An I/O exception occurred.", e,
@@ -163,13 +162,51 @@ public class ODataJsonSerializer implements ODataSerializer {
     return buffer.getInputStream();
   }
 
+  @Override
+  public ODataContent entityCollectionStreamed(final EdmEntityType entityType, final EntityIterator entities,
+      final EntityCollectionSerializerOptions options) throws SerializerException {
+    final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
+    return new ODataContent() {
+      @Override
+      public void write(final OutputStream output) throws IOException, SerializerException {
+        JsonGenerator json = JSON_FACTORY.createGenerator(output)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        writeEntityCollection(entityType, entities, entities.getCount(), contextURL, options, json);
+        writeNextLink(entities.getNext(), json);
+        json.writeEndObject();
+        json.close();
+      }
+    };
+  }
+
+  private void writeEntityCollection(final EdmEntityType entityType, final Iterator<Entity> entities,
+      final Integer count, final ContextURL contextURL, final EntityCollectionSerializerOptions options,
+      final JsonGenerator json) throws IOException, SerializerException {
+    json.writeStartObject();
+    if (contextURL != null) {
+      json.writeStringField(Constants.JSON_CONTEXT, ContextURLBuilder.create(contextURL).toASCIIString());
+    }
+    if (options != null && options.getCount() != null && options.getCount().getValue() && count != null) {
+      json.writeNumberField(Constants.JSON_COUNT, count);
+    }
+    json.writeFieldName(Constants.VALUE);
+    writeEntities(entityType, entities,
+        options == null ? null : options.getExpand(), options == null ? null : options.getSelect(), json);
+  }
+
+  private void writeNextLink(final URI next, final JsonGenerator json) throws IOException {
+    if (next != null) {
+      json.writeStringField(Constants.JSON_NEXT_LINK, next.toASCIIString());
+    }
+  }
+
   @Override
   public InputStream entity(final EdmEntityType entityType, final Entity entity,
       final EntitySerializerOptions options) throws SerializerException {
     final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       writeEntity(entityType, entity, contextURL,
           options == null ? null : options.getExpand(), options == null ? null : options.getSelect(), json);
       json.close();
@@ -192,9 +229,21 @@ public class ODataJsonSerializer implements ODataSerializer {
   protected void writeEntitySet(final EdmEntityType entityType, final EntitySet entitySet,
       final ExpandOption expand, final SelectOption select, final JsonGenerator json)
       throws IOException, SerializerException {
+    writeEntities(entityType, entitySet.getEntities().iterator(), expand, select, json);
+  }
+
+  protected void writeEntities(final EdmEntityType entityType, final Iterator<Entity> entities,
+      final ExpandOption expand, final SelectOption select, final JsonGenerator json)
+      throws IOException, SerializerException {
     json.writeStartArray();
-    for (final Entity entity : entitySet.getEntities()) {
-      writeEntity(entityType, entity, null, expand, select, json);
+    SerializationPlan plan = null;
+    while (entities.hasNext()) {
+      final Entity entity = entities.next();
+      // The plan is compiled once for all entities, when it is needed for the first time.
+      if (plan == null) {
+        plan = SerializationPlan.compile(entityType, expand, select);
+      }
+      writeEntity(plan, entity, null, json);
     }
     json.writeEndArray();
   }
@@ -202,6 +251,11 @@ public class ODataJsonSerializer implements ODataSerializer {
   protected void writeEntity(final EdmEntityType entityType, final Entity entity, final ContextURL contextURL,
       final ExpandOption expand, final SelectOption select, final JsonGenerator json)
       throws IOException, SerializerException {
+    writeEntity(SerializationPlan.compile(entityType, expand, select), entity, contextURL, json);
+  }
+
+  private void writeEntity(final SerializationPlan plan, final Entity entity, final ContextURL contextURL,
+      final JsonGenerator json) throws IOException, SerializerException {
     json.writeStartObject();
     if (format != ODataFormat.JSON_NO_METADATA) {
       if (contextURL != null) {
@@ -210,7 +264,7 @@ public class ODataJsonSerializer implements ODataSerializer {
       if (entity.getETag() != null) {
         json.writeStringField(Constants.JSON_ETAG, entity.getETag());
       }
-      if (entityType.hasStream()) {
+      if (((EdmEntityType) plan.getType()).hasStream()) {
         if (entity.getMediaETag() != null) {
           json.writeStringField(Constants.JSON_MEDIA_ETAG, entity.getMediaETag());
         }
@@ -219,68 +273,60 @@ public class ODataJsonSerializer implements ODataSerializer {
         }
       }
     }
-    writeProperties(entityType, entity.getProperties(), select, json);
-    writeNavigationProperties(entityType, entity, expand, json);
+    writeProperties(plan, entity.getProperties(), json);
+    writeNavigationProperties(plan, entity, json);
     json.writeEndObject();
   }
 
   protected void writeProperties(final EdmStructuredType type, final List<Property> properties,
-      final SelectOption select, JsonGenerator json) throws IOException, SerializerException {
-    final boolean all = ExpandSelectHelper.isAll(select);
-    final Set<String> selected = all ? null :
-        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
-    for (final String propertyName : type.getPropertyNames()) {
-      if (all || selected.contains(propertyName)) {
-        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
-        final Property property = findProperty(propertyName, properties);
-        final Set<List<String>> selectedPaths = all || edmProperty.isPrimitive() ? null :
-            ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName);
-        writeProperty(edmProperty, property, selectedPaths, json);
-      }
+      final SelectOption select, final JsonGenerator json) throws IOException, SerializerException {
+    writeProperties(SerializationPlan.compile(type, null, select), properties, json);
+  }
+
+  private void writeProperties(final SerializationPlan plan, final List<Property> properties,
+      final JsonGenerator json) throws IOException, SerializerException {
+    for (final SerializationPlan.PropertyPlan propertyPlan : plan.getProperties()) {
+      json.writeFieldName(propertyPlan.getName());
+      writePropertyContent(propertyPlan, propertyPlan.find(properties), json);
     }
   }
 
   protected void writeNavigationProperties(final EdmStructuredType type, final Linked linked,
       final ExpandOption expand, final JsonGenerator json) throws SerializerException, IOException {
-    if (ExpandSelectHelper.hasExpand(expand)) {
-      final boolean expandAll = ExpandSelectHelper.isExpandAll(expand);
-      final Set<String> expanded = expandAll ? null :
-          ExpandSelectHelper.getExpandedPropertyNames(expand.getExpandItems());
-      for (final String propertyName : type.getNavigationPropertyNames()) {
-        if (expandAll || expanded.contains(propertyName)) {
-          final EdmNavigationProperty property = type.getNavigationProperty(propertyName);
-          final Link navigationLink = linked.getNavigationLink(property.getName());
-          final ExpandItem innerOptions = expandAll ? null :
-              ExpandSelectHelper.getExpandItem(expand.getExpandItems(), propertyName);
-          if (innerOptions != null && (innerOptions.isRef() || innerOptions.getLevelsOption() != null)) {
-            throw new SerializerException("Expand options $ref and $levels are not supported.",
-                SerializerException.MessageKeys.NOT_IMPLEMENTED);
-          }
-          writeExpandedNavigationProperty(property, navigationLink,
-              innerOptions == null ? null : innerOptions.getExpandOption(),
-              innerOptions == null ? null : innerOptions.getSelectOption(),
-              json);
-        }
-      }
+    writeNavigationProperties(SerializationPlan.compile(type, expand, null), linked, json);
+  }
+
+  private void writeNavigationProperties(final SerializationPlan plan, final Linked linked,
+      final JsonGenerator json) throws IOException, SerializerException {
+    for (final SerializationPlan.NavigationPlan navigationPlan : plan.getNavigationProperties()) {
+      writeExpandedNavigationProperty(navigationPlan,
+          linked.getNavigationLink(navigationPlan.getProperty().getName()), json);
     }
   }
 
   protected void writeExpandedNavigationProperty(final EdmNavigationProperty property, final Link navigationLink,
-      final ExpandOption innerExpand, final SelectOption innerSelect, JsonGenerator json)
+      final ExpandOption innerExpand, final SelectOption innerSelect, final JsonGenerator json)
       throws IOException, SerializerException {
-    json.writeFieldName(property.getName());
-    if (property.isCollection()) {
-      if (navigationLink == null || navigationLink.getInlineEntitySet() == null) {
-        json.writeStartArray();
-        json.writeEndArray();
-      } else {
-        writeEntitySet(property.getType(), navigationLink.getInlineEntitySet(), innerExpand, innerSelect, json);
+    writeExpandedNavigationProperty(SerializationPlan.compileNavigation(property, innerExpand, innerSelect),
+        navigationLink, json);
+  }
+
+  private void writeExpandedNavigationProperty(final SerializationPlan.NavigationPlan navigationPlan,
+      final Link navigationLink, final JsonGenerator json) throws IOException, SerializerException {
+    json.writeFieldName(navigationPlan.getName());
+    if (navigationPlan.getProperty().isCollection()) {
+      json.writeStartArray();
+      if (navigationLink != null && navigationLink.getInlineEntitySet() != null) {
+        for (final Entity entity : navigationLink.getInlineEntitySet().getEntities()) {
+          writeEntity(navigationPlan.getTarget(), entity, null, json);
+        }
       }
+      json.writeEndArray();
     } else {
       if (navigationLink == null || navigationLink.getInlineEntity() == null) {
         json.writeNull();
       } else {
-        writeEntity(property.getType(), navigationLink.getInlineEntity(), null, innerExpand, innerSelect, json);
+        writeEntity(navigationPlan.getTarget(), navigationLink.getInlineEntity(), null, json);
       }
     }
   }
@@ -288,6 +334,12 @@ public class ODataJsonSerializer implements ODataSerializer {
   protected void writeProperty(final EdmProperty edmProperty, final Property property,
       final Set<List<String>> selectedPaths, final JsonGenerator json) throws IOException, SerializerException {
     json.writeFieldName(edmProperty.getName());
+    writePropertyContent(SerializationPlan.compileProperty(edmProperty, selectedPaths), property, json);
+  }
+
+  private void writePropertyContent(final SerializationPlan.PropertyPlan propertyPlan, final Property property,
+      final JsonGenerator json) throws IOException, SerializerException {
+    final EdmProperty edmProperty = propertyPlan.getEdmProperty();
     if (property == null || property.isNull()) {
       if (edmProperty.isNullable() == Boolean.FALSE) {
         throw new SerializerException("Non-nullable property not present!",
@@ -296,13 +348,13 @@ public class ODataJsonSerializer implements ODataSerializer {
         json.writeNull();
       }
     } else {
-      writePropertyValue(edmProperty, property, selectedPaths, json);
+      writePropertyValue(propertyPlan, property, json);
     }
   }
 
-  private void writePropertyValue(final EdmProperty edmProperty,
-      final Property property, final Set<List<String>> selectedPaths,
-      final JsonGenerator json) throws IOException, SerializerException {
+  private void writePropertyValue(final SerializationPlan.PropertyPlan propertyPlan,
+      final Property property, final JsonGenerator json) throws IOException, SerializerException {
+    final EdmProperty edmProperty = propertyPlan.getEdmProperty();
     try {
       if (edmProperty.isPrimitive()) {
         if (edmProperty.isCollection()) {
@@ -317,12 +369,11 @@ public class ODataJsonSerializer implements ODataSerializer {
               json);
         }
       } else if (edmProperty.isCollection()) {
-        writeComplexCollection((EdmComplexType) edmProperty.getType(), property, selectedPaths, json);
+        writeComplexCollection(propertyPlan.getComplexPlan(), property, json);
       } else if (property.isLinkedComplex()) {
-        writeComplexValue((EdmComplexType) edmProperty.getType(), property.asLinkedComplex().getValue(),
-            selectedPaths, json);
+        writeComplexValue(propertyPlan.getComplexPlan(), property.asLinkedComplex().getValue(), json);
       } else if (property.isComplex()) {
-        writeComplexValue((EdmComplexType) edmProperty.getType(), property.asComplex(), selectedPaths, json);
+        writeComplexValue(propertyPlan.getComplexPlan(), property.asComplex(), json);
       } else {
         throw new SerializerException("Property type not yet supported!",
             SerializerException.MessageKeys.UNSUPPORTED_PROPERTY_TYPE, edmProperty.getName());
@@ -358,17 +409,16 @@ public class ODataJsonSerializer implements ODataSerializer {
     json.writeEndArray();
   }
 
-  private void writeComplexCollection(final EdmComplexType type, final Property property,
-      final Set<List<String>> selectedPaths, JsonGenerator json)
-      throws IOException, EdmPrimitiveTypeException, SerializerException {
+  private void writeComplexCollection(final SerializationPlan plan, final Property property,
+      final JsonGenerator json) throws IOException, EdmPrimitiveTypeException, SerializerException {
     json.writeStartArray();
     for (Object value : property.asCollection()) {
       switch (property.getValueType()) {
       case COLLECTION_LINKED_COMPLEX:
-        writeComplexValue(type, ((LinkedComplexValue) value).getValue(), selectedPaths, json);
+        writeComplexValue(plan, ((LinkedComplexValue) value).getValue(), json);
         break;
       case COLLECTION_COMPLEX:
-        writeComplexValue(type, ((Property) value).asComplex(), selectedPaths, json);
+        writeComplexValue(plan, ((Property) value).asComplex(), json);
         break;
       default:
         throw new SerializerException("Property type not yet supported!",
@@ -422,34 +472,23 @@ public class ODataJsonSerializer implements ODataSerializer {
   protected void writeComplexValue(final EdmComplexType type, final List<Property> properties,
       final Set<List<String>> selectedPaths, JsonGenerator json)
       throws IOException, EdmPrimitiveTypeException, SerializerException {
-    json.writeStartObject();
-    for (final String propertyName : type.getPropertyNames()) {
-      final Property property = findProperty(propertyName, properties);
-      if (selectedPaths == null || ExpandSelectHelper.isSelected(selectedPaths, propertyName)) {
-        writeProperty((EdmProperty) type.getProperty(propertyName), property,
-            selectedPaths == null ? null : ExpandSelectHelper.getReducedSelectedPaths(selectedPaths, propertyName),
-            json);
-      }
-    }
-    json.writeEndObject();
+    writeComplexValue(SerializationPlan.compile(type, selectedPaths), properties, json);
   }
 
-  private Property findProperty(final String propertyName, final List<Property> properties) {
-    for (final Property property : properties) {
-      if (propertyName.equals(property.getName())) {
-        return property;
-      }
-    }
-    return null;
+  private void writeComplexValue(final SerializationPlan plan, final List<Property> properties,
+      final JsonGenerator json) throws IOException, SerializerException {
+    json.writeStartObject();
+    writeProperties(plan, properties, json);
+    json.writeEndObject();
   }
 
   @Override
   public InputStream primitive(final EdmPrimitiveType type, final Property property,
       final PrimitiveSerializerOptions options) throws SerializerException {
     final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       json.writeStartObject();
       if (contextURL != null) {
         json.writeStringField(Constants.JSON_CONTEXT, ContextURLBuilder.create(contextURL).toASCIIString());
@@ -480,19 +519,20 @@ public class ODataJsonSerializer implements ODataSerializer {
   public InputStream complex(final EdmComplexType type, final Property property,
       final ComplexSerializerOptions options) throws SerializerException {
     final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       json.writeStartObject();
       if (contextURL != null) {
         json.writeStringField(Constants.JSON_CONTEXT, ContextURLBuilder.create(contextURL).toASCIIString());
       }
       final List<Property> values = property.isNull() ? Collections.<Property> emptyList() :
           property.isComplex() ? property.asComplex() : property.asLinkedComplex().getValue();
-      writeProperties(type, values, options == null ? null : options.getSelect(), json);
+      final SerializationPlan plan = SerializationPlan.compile(type,
+          options == null ? null : options.getExpand(), options == null ? null : options.getSelect());
+      writeProperties(plan, values, json);
       if (!property.isNull() && property.isLinkedComplex()) {
-        writeNavigationProperties(type, property.asLinkedComplex(),
-            options == null ? null : options.getExpand(), json);
+        writeNavigationProperties(plan, property.asLinkedComplex(), json);
       }
       json.writeEndObject();
       json.close();
@@ -507,9 +547,9 @@ public class ODataJsonSerializer implements ODataSerializer {
   public InputStream primitiveCollection(final EdmPrimitiveType type, final Property property,
       final PrimitiveSerializerOptions options) throws SerializerException {
     final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       json.writeStartObject();
       if (contextURL != null) {
         json.writeStringField(Constants.JSON_CONTEXT, ContextURLBuilder.create(contextURL).toASCIIString());
@@ -536,15 +576,15 @@ public class ODataJsonSerializer implements ODataSerializer {
   public InputStream complexCollection(final EdmComplexType type, final Property property,
       final ComplexSerializerOptions options) throws SerializerException {
     final ContextURL contextURL = checkContextURL(options == null ? null : options.getContextURL());
-    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    CircleStreamBuffer buffer = new CircleStreamBuffer(bufferSize);
     try {
-      JsonGenerator json = new JsonFactory().createGenerator(buffer.getOutputStream());
+      JsonGenerator json = JSON_FACTORY.createGenerator(buffer.getOutputStream());
       json.writeStartObject();
       if (contextURL != null) {
         json.writeStringField(Constants.JSON_CONTEXT, ContextURLBuilder.create(contextURL).toASCIIString());
       }
       json.writeFieldName(Constants.VALUE);
-      writeComplexCollection(type, property, null, json);
+      writeComplexCollection(SerializationPlan.compile(type, null), property, json);
       json.writeEndObject();
       json.close();
     } catch (final IOException e) {
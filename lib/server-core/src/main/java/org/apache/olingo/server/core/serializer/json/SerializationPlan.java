@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.serializer.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.edm.EdmNavigationProperty;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmStructuredType;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.uri.queryoption.ExpandItem;
+import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.SelectOption;
+import org.apache.olingo.server.core.serializer.utils.ExpandSelectHelper;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Evaluation of the $select and $expand options for entities or complex values of one structured type,
+ * compiled once and then executed for every entity to be serialized.
+ * A plan is used by a single serialization and is therefore not thread-safe.
+ */
+final class SerializationPlan {
+
+  private final EdmStructuredType type;
+  private final List<PropertyPlan> properties = new ArrayList<PropertyPlan>();
+  private final List<NavigationPlan> navigationProperties = new ArrayList<NavigationPlan>();
+
+  private SerializationPlan(final EdmStructuredType type) {
+    this.type = type;
+  }
+
+  static SerializationPlan compile(final EdmStructuredType type, final ExpandOption expand,
+      final SelectOption select) throws SerializerException {
+    SerializationPlan plan = new SerializationPlan(type);
+
+    final boolean all = ExpandSelectHelper.isAll(select);
+    final Set<String> selected = all ? null :
+        ExpandSelectHelper.getSelectedPropertyNames(select.getSelectItems());
+    for (final String propertyName : type.getPropertyNames()) {
+      if (all || selected.contains(propertyName)) {
+        final EdmProperty edmProperty = type.getStructuralProperty(propertyName);
+        plan.properties.add(new PropertyPlan(edmProperty,
+            all || edmProperty.isPrimitive() ? null :
+                ExpandSelectHelper.getSelectedPaths(select.getSelectItems(), propertyName)));
+      }
+    }
+
+    if (ExpandSelectHelper.hasExpand(expand)) {
+      final boolean expandAll = ExpandSelectHelper.isExpandAll(expand);
+      final Set<String> expanded = expandAll ? null :
+          ExpandSelectHelper.getExpandedPropertyNames(expand.getExpandItems());
+      for (final String propertyName : type.getNavigationPropertyNames()) {
+        if (expandAll || expanded.contains(propertyName)) {
+          final ExpandItem innerOptions = expandAll ? null :
+              ExpandSelectHelper.getExpandItem(expand.getExpandItems(), propertyName);
+          if (innerOptions != null && (innerOptions.isRef() || innerOptions.getLevelsOption() != null)) {
+            throw new SerializerException("Expand options $ref and $levels are not supported.",
+                SerializerException.MessageKeys.NOT_IMPLEMENTED);
+          }
+          plan.navigationProperties.add(new NavigationPlan(type.getNavigationProperty(propertyName),
+              innerOptions == null ? null : innerOptions.getExpandOption(),
+              innerOptions == null ? null : innerOptions.getSelectOption()));
+        }
+      }
+    }
+
+    return plan;
+  }
+
+  /**
+   * Compiles the plan for complex values of the given type.
+   * @param selectedPaths the selected paths within the complex values, or <code>null</code> if all is selected
+   */
+  static SerializationPlan compile(final EdmStructuredType type, final Set<List<String>> selectedPaths) {
+    SerializationPlan plan = new SerializationPlan(type);
+    for (final String propertyName : type.getPropertyNames()) {
+      if (selectedPaths == null || ExpandSelectHelper.isSelected(selectedPaths, propertyName)) {
+        plan.properties.add(new PropertyPlan(type.getStructuralProperty(propertyName),
+            selectedPaths == null ? null : ExpandSelectHelper.getReducedSelectedPaths(selectedPaths, propertyName)));
+      }
+    }
+    return plan;
+  }
+
+  static PropertyPlan compileProperty(final EdmProperty edmProperty, final Set<List<String>> selectedPaths) {
+    return new PropertyPlan(edmProperty, selectedPaths);
+  }
+
+  static NavigationPlan compileNavigation(final EdmNavigationProperty property,
+      final ExpandOption innerExpand, final SelectOption innerSelect) {
+    return new NavigationPlan(property, innerExpand, innerSelect);
+  }
+
+  EdmStructuredType getType() {
+    return type;
+  }
+
+  /** Returns the selected structural properties in the order of the type. */
+  List<PropertyPlan> getProperties() {
+    return properties;
+  }
+
+  /** Returns the expanded navigation properties in the order of the type. */
+  List<NavigationPlan> getNavigationProperties() {
+    return navigationProperties;
+  }
+
+  /** A selected structural property. */
+  static final class PropertyPlan {
+    private final EdmProperty edmProperty;
+    private final SerializableString name;
+    private final Set<List<String>> selectedPaths;
+    /** Position of the property in the last property list; most entities share the same order. */
+    private int position = 0;
+    private SerializationPlan complexPlan;
+
+    private PropertyPlan(final EdmProperty edmProperty, final Set<List<String>> selectedPaths) {
+      this.edmProperty = edmProperty;
+      name = new SerializedString(edmProperty.getName());
+      this.selectedPaths = selectedPaths;
+    }
+
+    EdmProperty getEdmProperty() {
+      return edmProperty;
+    }
+
+    /** Returns the pre-encoded JSON field name. */
+    SerializableString getName() {
+      return name;
+    }
+
+    /** Returns the selected paths within a complex property, or <code>null</code> if all is selected. */
+    Set<List<String>> getSelectedPaths() {
+      return selectedPaths;
+    }
+
+    /** Returns the plan for the values of a complex property, compiled on first use. */
+    SerializationPlan getComplexPlan() {
+      if (complexPlan == null) {
+        complexPlan = compile((EdmStructuredType) edmProperty.getType(), selectedPaths);
+      }
+      return complexPlan;
+    }
+
+    /** Finds this property among the properties of an entity or a complex value. */
+    Property find(final List<Property> entityProperties) {
+      if (position < entityProperties.size()) {
+        final Property property = entityProperties.get(position);
+        if (edmProperty.getName().equals(property.getName())) {
+          return property;
+        }
+      }
+      for (int index = 0; index < entityProperties.size(); index++) {
+        final Property property = entityProperties.get(index);
+        if (edmProperty.getName().equals(property.getName())) {
+          position = index;
+          return property;
+        }
+      }
+      return null;
+    }
+  }
+
+  /** An expanded navigation property, with the plan for the inline entities compiled on first use. */
+  static final class NavigationPlan {
+    private final EdmNavigationProperty property;
+    private final SerializableString name;
+    private final ExpandOption innerExpand;
+    private final SelectOption innerSelect;
+    private SerializationPlan target;
+
+    private NavigationPlan(final EdmNavigationProperty property,
+        final ExpandOption innerExpand, final SelectOption innerSelect) {
+      this.property = property;
+      name = new SerializedString(property.getName());
+      this.innerExpand = innerExpand;
+      this.innerSelect = innerSelect;
+    }
+
+    EdmNavigationProperty getProperty() {
+      return property;
+    }
+
+    /** Returns the pre-encoded JSON field name. */
+    SerializableString getName() {
+      return name;
+    }
+
+    SerializationPlan getTarget() throws SerializerException {
+      if (target == null) {
+        target = compile(property.getType(), innerExpand, innerSelect);
+      }
+      return target;
+    }
+  }
+}
@@ -184,6 +184,23 @@ public class CircleStreamBuffer {
     return toReadLength;
   }
 
+  /**
+   * Writes all remaining data directly from the internal buffers into the given stream.
+   * @return the number of bytes written
+   */
+  private long transferTo(final OutputStream output) throws IOException {
+    long count = 0;
+    ByteBuffer readBuffer = getReadBuffer();
+    while (readBuffer != null) {
+      final int length = readBuffer.remaining();
+      output.write(readBuffer.array(), readBuffer.arrayOffset() + readBuffer.position(), length);
+      readBuffer.position(readBuffer.limit());
+      count += length;
+      readBuffer = getReadBuffer();
+    }
+    return count;
+  }
+
   private int read() throws IOException {
     ByteBuffer readBuffer = getReadBuffer();
     if (readBuffer == null) {
@@ -268,9 +285,10 @@ public class CircleStreamBuffer {
   // #############################################
 
   /**
-   * 
+   * Input stream on the buffered data which can hand over its internal buffers
+   * to an output stream without copying them first.
    */
-  private static class InternalInputStream extends InputStream {
+  public static class InternalInputStream extends InputStream {
 
     private final CircleStreamBuffer inBuffer;
 
@@ -293,6 +311,15 @@ public class CircleStreamBuffer {
       return inBuffer.read(b, off, len);
     }
 
+    /**
+     * Writes all remaining data into the given stream, one internal buffer at a time.
+     * @param output the target stream, which is not closed
+     * @return the number of bytes written
+     */
+    public long transferTo(final OutputStream output) throws IOException {
+      return inBuffer.transferTo(output);
+    }
+
     @Override
     public void close() throws IOException {
       inBuffer.closeRead();
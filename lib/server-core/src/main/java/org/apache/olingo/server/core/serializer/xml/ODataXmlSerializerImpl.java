@@ -25,12 +25,14 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmComplexType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.ComplexSerializerOptions;
@@ -101,6 +103,13 @@ public class ODataXmlSerializerImpl implements ODataSerializer {
         SerializerException.MessageKeys.NOT_IMPLEMENTED);
   }
 
+  @Override
+  public ODataContent entityCollectionStreamed(final EdmEntityType entityType, final EntityIterator entities,
+      final EntityCollectionSerializerOptions options) throws SerializerException {
+    throw new SerializerException("Entityset serialization not implemented for XML format",
+        SerializerException.MessageKeys.NOT_IMPLEMENTED);
+  }
+
   @Override
   public InputStream error(ODataServerError error) throws SerializerException {
     throw new SerializerException("error serialization not implemented for XML format",
@@ -63,21 +63,54 @@ import org.apache.olingo.server.core.uri.queryoption.TopOptionImpl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Parser {
+  private static final int MAX_POOL_SIZE = 64;
+  private static final Queue<ParserInstance> POOL = new ConcurrentLinkedQueue<ParserInstance>();
+  private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+  private static final UriParserStatistics STATISTICS = new UriParserStatistics();
+
   int logLevel = 0;
 
   private enum ParserEntryRules {
     All, Batch, CrossJoin, Entity, ExpandItems, FilterExpression, Metadata, PathSegment, Orderby, Select
   };
 
+  private UriInfoCache uriInfoCache;
+
   public Parser setLogLevel(final int logLevel) {
     this.logLevel = logLevel;
     return this;
   }
 
+  /**
+   * Sets a cache for parsed URIs; successfully parsed URIs are stored in it and
+   * repeated URIs are taken from it without parsing them again.
+   * @param uriInfoCache the cache or <code>null</code> to disable caching
+   */
+  public Parser setUriInfoCache(final UriInfoCache uriInfoCache) {
+    this.uriInfoCache = uriInfoCache;
+    return this;
+  }
+
   public UriInfo parseUri(final String path, final String query, final String fragment, final Edm edm)
       throws UriParserException {
+    if (uriInfoCache == null) {
+      return parse(path, query, fragment, edm);
+    }
+    UriInfo uriInfo = uriInfoCache.get(path, query, fragment);
+    if (uriInfo == null) {
+      uriInfo = parse(path, query, fragment, edm);
+      uriInfoCache.put(path, query, fragment, uriInfo);
+    }
+    return uriInfo;
+  }
+
+  private UriInfo parse(final String path, final String query, final String fragment, final Edm edm)
+      throws UriParserException {
 
     UriContext context = new UriContext();
     UriParseTreeVisitor uriParseTreeVisitor = new UriParseTreeVisitor(edm, context);
@@ -301,142 +334,138 @@ public class Parser {
 
   private ParserRuleContext parseRule(final String input, final ParserEntryRules entryPoint)
       throws UriParserSyntaxException {
-    UriParserParser parser = null;
-    UriLexer lexer = null;
-    ParserRuleContext ret = null;
-
-    // Use 2 stage approach to improve performance
-    // see https://github.com/antlr/antlr4/issues/192
+    if (logLevel > 0) {
+      showTokens(input, new UriLexer(new ANTLRInputStream(input)).getAllTokens());
+    }
+    STATISTICS.countParse(entryPoint.name());
 
-    // stage = 1
+    final ParserInstance instance = acquire();
     try {
+      // Use 2 stage approach to improve performance
+      // see https://github.com/antlr/antlr4/issues/192
 
-      // create parser
-      if (logLevel > 0) {
-        lexer = new UriLexer(new ANTLRInputStream(input));
-        showTokens(input, lexer.getAllTokens());
-      }
+      // stage = 1
+      try {
+        instance.reset(input);
 
-      lexer = new UriLexer(new ANTLRInputStream(input));
-      parser = new UriParserParser(new CommonTokenStream(lexer));
-
-      // Set error strategy
-      addStage1ErrorStategy(parser);
-
-      // Set error collector
-      addStage1ErrorListener(parser);
-
-      // user the faster LL parsing
-      parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-
-      // parse
-      switch (entryPoint) {
-      case All:
-        ret = parser.allEOF();
-        break;
-      case Batch:
-        ret = parser.batchEOF();
-        break;
-      case CrossJoin:
-        ret = parser.crossjoinEOF();
-        break;
-      case Metadata:
-        ret = parser.metadataEOF();
-        break;
-      case PathSegment:
-        ret = parser.pathSegmentEOF();
-        break;
-      case FilterExpression:
-        lexer.mode(Lexer.DEFAULT_MODE);
-        ret = parser.filterExpressionEOF();
-        break;
-      case Orderby:
-        lexer.mode(Lexer.DEFAULT_MODE);
-        ret = parser.orderByEOF();
-        break;
-      case ExpandItems:
-        lexer.mode(Lexer.DEFAULT_MODE);
-        ret = parser.expandItemsEOF();
-        break;
-      case Entity:
-        ret = parser.entityEOF();
-        break;
-      case Select:
-        ret = parser.selectEOF();
-        break;
-      default:
-        break;
+        // Set error strategy
+        addStage1ErrorStategy(instance.parser);
 
-      }
+        // Set error collector
+        addStage1ErrorListener(instance.parser);
 
-    } catch (ParseCancellationException hardException) {
-      // stage = 2
-      try {
+        // user the faster LL parsing
+        instance.parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
 
-        // create parser
-        lexer = new UriLexer(new ANTLRInputStream(input));
-        parser = new UriParserParser(new CommonTokenStream(lexer));
+        return parse(instance, entryPoint);
 
-        // Set error strategy
-        addStage2ErrorStategy(parser);
+      } catch (ParseCancellationException hardException) {
+        // stage = 2
+        STATISTICS.countFallback(entryPoint.name());
+        try {
+          instance.reset(input);
 
-        // Set error collector
-        addStage2ErrorListener(parser);
-
-        // Use the slower SLL parsing
-        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
-
-        // parse
-        switch (entryPoint) {
-        case All:
-          ret = parser.allEOF();
-          break;
-        case Batch:
-          ret = parser.batchEOF();
-          break;
-        case CrossJoin:
-          ret = parser.crossjoinEOF();
-          break;
-        case Metadata:
-          ret = parser.metadataEOF();
-          break;
-        case PathSegment:
-          ret = parser.pathSegmentEOF();
-          break;
-        case FilterExpression:
-          lexer.mode(Lexer.DEFAULT_MODE);
-          ret = parser.filterExpressionEOF();
-          break;
-        case Orderby:
-          lexer.mode(Lexer.DEFAULT_MODE);
-          ret = parser.orderByEOF();
-          break;
-        case ExpandItems:
-          lexer.mode(Lexer.DEFAULT_MODE);
-          ret = parser.expandItemsEOF();
-          break;
-        case Entity:
-          ret = parser.entityEOF();
-          break;
-        case Select:
-          ret = parser.selectEOF();
-          break;
-        default:
-          break;
-        }
+          // Set error strategy
+          addStage2ErrorStategy(instance.parser);
 
-      } catch (final RecognitionException weakException) {
-        throw new UriParserSyntaxException("Error in syntax", weakException,
-            UriParserSyntaxException.MessageKeys.SYNTAX);
+          // Set error collector
+          addStage2ErrorListener(instance.parser);
+
+          // Use the slower SLL parsing
+          instance.parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+
+          return parse(instance, entryPoint);
 
-        // exceptionOnStage = 2;
+        } catch (final RecognitionException weakException) {
+          throw new UriParserSyntaxException("Error in syntax", weakException,
+              UriParserSyntaxException.MessageKeys.SYNTAX);
+
+          // exceptionOnStage = 2;
+        }
+      } catch (final RecognitionException hardException) {
+        throw new UriParserSyntaxException("Error in syntax", hardException,
+            UriParserSyntaxException.MessageKeys.SYNTAX);
       }
-    } catch (final RecognitionException hardException) {
-      throw new UriParserSyntaxException("Error in syntax", hardException,
-          UriParserSyntaxException.MessageKeys.SYNTAX);
+    } finally {
+      release(instance);
     }
+  }
 
-    return ret;
+  private ParserRuleContext parse(final ParserInstance instance, final ParserEntryRules entryPoint) {
+    final UriParserParser parser = instance.parser;
+    switch (entryPoint) {
+    case All:
+      return parser.allEOF();
+    case Batch:
+      return parser.batchEOF();
+    case CrossJoin:
+      return parser.crossjoinEOF();
+    case Metadata:
+      return parser.metadataEOF();
+    case PathSegment:
+      return parser.pathSegmentEOF();
+    case FilterExpression:
+      instance.lexer.mode(Lexer.DEFAULT_MODE);
+      return parser.filterExpressionEOF();
+    case Orderby:
+      instance.lexer.mode(Lexer.DEFAULT_MODE);
+      return parser.orderByEOF();
+    case ExpandItems:
+      instance.lexer.mode(Lexer.DEFAULT_MODE);
+      return parser.expandItemsEOF();
+    case Entity:
+      return parser.entityEOF();
+    case Select:
+      return parser.selectEOF();
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Returns the counters of parsed inputs and of fallbacks from SLL to full LL prediction,
+   * shared by all parser instances.
+   */
+  public static UriParserStatistics getStatistics() {
+    return STATISTICS;
+  }
+
+  private static ParserInstance acquire() {
+    final ParserInstance instance = POOL.poll();
+    if (instance == null) {
+      return new ParserInstance();
+    }
+    POOL_SIZE.decrementAndGet();
+    return instance;
+  }
+
+  private static void release(final ParserInstance instance) {
+    instance.clear();
+    if (POOL_SIZE.incrementAndGet() <= MAX_POOL_SIZE) {
+      POOL.offer(instance);
+    } else {
+      POOL_SIZE.decrementAndGet();
+    }
+  }
+
+  /**
+   * A lexer and parser pair that is reused for several inputs.
+   * The lexer and parser keep the DFA and prediction-context caches of the grammar
+   * in static fields, so all instances share what has been learned during prediction.
+   */
+  private static class ParserInstance {
+    private final UriLexer lexer = new UriLexer(new ANTLRInputStream(""));
+    private final UriParserParser parser = new UriParserParser(new CommonTokenStream(lexer));
+
+    void reset(final String input) {
+      lexer.setInputStream(new ANTLRInputStream(input));
+      parser.setTokenStream(new CommonTokenStream(lexer));
+    }
+
+    void clear() {
+      // Release references to the last input.
+      reset("");
+    }
   }
 
   protected void addStage1ErrorStategy(final UriParserParser parser) {
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.olingo.server.api.uri.UriInfo;
+
+/**
+ * Bounded least-recently-used cache of parsed URIs, keyed on the raw (not yet decoded) path,
+ * query, and fragment.
+ * <p>A cache instance must only be used together with one entity data model
+ * because the cached {@link UriInfo} objects reference the EDM elements of the model
+ * they have been parsed against. The cached objects are shared between requests and
+ * must therefore not be modified after parsing.</p>
+ */
+public class UriInfoCache {
+
+  private final Map<String, UriInfo> cache;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Creates a cache holding at most <code>maxSize</code> parsed URIs.
+   * @param maxSize maximum number of entries; must be positive
+   */
+  public UriInfoCache(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The maximum cache size must be positive.");
+    }
+    cache = new LinkedHashMap<String, UriInfo>(16, 0.75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, UriInfo> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached parsed URI for the given raw URI parts or <code>null</code>.
+   */
+  public UriInfo get(final String path, final String query, final String fragment) {
+    final String key = createKey(path, query, fragment);
+    UriInfo uriInfo;
+    synchronized (cache) {
+      uriInfo = cache.get(key);
+    }
+    if (uriInfo == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return uriInfo;
+  }
+
+  /**
+   * Stores a successfully parsed URI; the least-recently-used entry is evicted if the cache is full.
+   */
+  public void put(final String path, final String query, final String fragment, final UriInfo uriInfo) {
+    final String key = createKey(path, query, fragment);
+    synchronized (cache) {
+      cache.put(key, uriInfo);
+    }
+  }
+
+  /** Returns the number of lookups that have been answered from the cache. */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /** Returns the number of lookups that required the URI to be parsed. */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /** Returns the current number of cached entries. */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /** Removes all entries; the hit and miss counters are not reset. */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  private static String createKey(final String path, final String query, final String fragment) {
+    final StringBuilder key = new StringBuilder(path == null ? "" : path);
+    if (query != null && !query.isEmpty()) {
+      key.append('?').append(query);
+    }
+    if (fragment != null && !fragment.isEmpty()) {
+      key.append('#').append(fragment);
+    }
+    return key.toString();
+  }
+}
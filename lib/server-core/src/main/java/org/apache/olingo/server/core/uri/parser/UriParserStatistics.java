@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.parser;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often the URI parser has been invoked and how often the fast SLL prediction
+ * mode failed so that the input had to be parsed a second time in the slower full LL mode.
+ * The counters are kept per grammar entry rule and shared by all parser instances.
+ */
+public class UriParserStatistics {
+
+  private final ConcurrentMap<String, AtomicLong> parses = new ConcurrentHashMap<String, AtomicLong>();
+  private final ConcurrentMap<String, AtomicLong> fallbacks = new ConcurrentHashMap<String, AtomicLong>();
+
+  void countParse(final String entryRule) {
+    increment(parses, entryRule);
+  }
+
+  void countFallback(final String entryRule) {
+    increment(fallbacks, entryRule);
+  }
+
+  /** Returns the total number of parsed inputs. */
+  public long getParseCount() {
+    return sum(parses);
+  }
+
+  /** Returns the total number of inputs that had to be parsed again in full LL mode. */
+  public long getFallbackCount() {
+    return sum(fallbacks);
+  }
+
+  /** Returns the number of parsed inputs per grammar entry rule. */
+  public Map<String, Long> getParseCounts() {
+    return snapshot(parses);
+  }
+
+  /** Returns the number of full-LL fallbacks per grammar entry rule. */
+  public Map<String, Long> getFallbackCounts() {
+    return snapshot(fallbacks);
+  }
+
+  /** Resets all counters. */
+  public void reset() {
+    parses.clear();
+    fallbacks.clear();
+  }
+
+  private static void increment(final ConcurrentMap<String, AtomicLong> counters, final String key) {
+    AtomicLong counter = counters.get(key);
+    if (counter == null) {
+      final AtomicLong newCounter = new AtomicLong();
+      counter = counters.putIfAbsent(key, newCounter);
+      if (counter == null) {
+        counter = newCounter;
+      }
+    }
+    counter.incrementAndGet();
+  }
+
+  private static long sum(final ConcurrentMap<String, AtomicLong> counters) {
+    long sum = 0;
+    for (final AtomicLong counter : counters.values()) {
+      sum += counter.get();
+    }
+    return sum;
+  }
+
+  private static Map<String, Long> snapshot(final ConcurrentMap<String, AtomicLong> counters) {
+    final Map<String, Long> result = new TreeMap<String, Long>();
+    for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().get());
+    }
+    return Collections.unmodifiableMap(result);
+  }
+}
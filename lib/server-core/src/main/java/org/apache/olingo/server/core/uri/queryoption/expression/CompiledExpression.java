@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.Property;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+
+/**
+ * Node of an expression tree compiled by {@link ExpressionEvaluatorImpl}.
+ * <p>Values are normalized during evaluation: integral numbers are represented as {@link Long},
+ * floating-point numbers as {@link Double}, and all other numbers as {@link BigDecimal};
+ * <code>null</code> stands for the OData null value.</p>
+ */
+abstract class CompiledExpression {
+
+  /** Coarse type of the value of an expression, used to check operands during compilation. */
+  enum Kind {
+    BOOLEAN, NUMBER, STRING, TEMPORAL, OTHER, NULL;
+
+    boolean isCompatible(final Kind other) {
+      return this == other || this == NULL || other == NULL;
+    }
+  }
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private final Kind kind;
+
+  protected CompiledExpression(final Kind kind) {
+    this.kind = kind;
+  }
+
+  Kind getKind() {
+    return kind;
+  }
+
+  abstract Object evaluate(Entity entity) throws ODataApplicationException;
+
+  static final class Constant extends CompiledExpression {
+    private final Object value;
+
+    Constant(final Kind kind, final Object value) {
+      super(kind);
+      this.value = normalize(value);
+    }
+
+    @Override
+    Object evaluate(final Entity entity) {
+      return value;
+    }
+  }
+
+  /**
+   * Access to a (possibly nested) primitive property; the path has been resolved during compilation.
+   * Numeric values are converted to the representation of the declared property type,
+   * independent of the Java type the application has used for the value.
+   */
+  static final class MemberAccess extends CompiledExpression {
+    private final String[] path;
+    private final Class<? extends Number> numberType;
+    /** Position hints for the lookup of each path segment; races only cost a linear search. */
+    private final int[] hints;
+
+    MemberAccess(final Kind kind, final Class<? extends Number> numberType, final List<String> path) {
+      super(kind);
+      this.numberType = numberType;
+      this.path = path.toArray(new String[path.size()]);
+      hints = new int[this.path.length];
+    }
+
+    @Override
+    Object evaluate(final Entity entity) {
+      List<Property> properties = entity.getProperties();
+      Property property = null;
+      for (int index = 0; index < path.length; index++) {
+        property = find(properties, index);
+        if (property == null || property.isNull()) {
+          return null;
+        }
+        if (index < path.length - 1) {
+          properties = property.isLinkedComplex() ? property.asLinkedComplex().getValue() : property.asComplex();
+        }
+      }
+      final Object value = normalize(property.getValue());
+      if (numberType == null || !(value instanceof Number) || numberType.isInstance(value)) {
+        return value;
+      } else if (numberType == Double.class) {
+        return ((Number) value).doubleValue();
+      } else if (numberType == Long.class) {
+        return ((Number) value).longValue();
+      } else {
+        return toBigDecimal((Number) value);
+      }
+    }
+
+    private Property find(final List<Property> properties, final int index) {
+      final int hint = hints[index];
+      if (hint < properties.size() && path[index].equals(properties.get(hint).getName())) {
+        return properties.get(hint);
+      }
+      for (int position = 0; position < properties.size(); position++) {
+        if (path[index].equals(properties.get(position).getName())) {
+          hints[index] = position;
+          return properties.get(position);
+        }
+      }
+      return null;
+    }
+  }
+
+  static final class Not extends CompiledExpression {
+    private final CompiledExpression operand;
+
+    Not(final CompiledExpression operand) {
+      super(Kind.BOOLEAN);
+      this.operand = operand;
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Boolean value = (Boolean) operand.evaluate(entity);
+      return value == null ? null : !value;
+    }
+  }
+
+  static final class Negation extends CompiledExpression {
+    private final CompiledExpression operand;
+
+    Negation(final CompiledExpression operand) {
+      super(Kind.NUMBER);
+      this.operand = operand;
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Object value = operand.evaluate(entity);
+      if (value instanceof Long) {
+        return -(Long) value;
+      } else if (value instanceof Double) {
+        return -(Double) value;
+      } else {
+        return value == null ? null : ((BigDecimal) value).negate();
+      }
+    }
+  }
+
+  /** The logical operators <code>and</code> and <code>or</code> with the three-valued logic of OData. */
+  static final class Logical extends CompiledExpression {
+    private final boolean and;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Logical(final boolean and, final CompiledExpression left, final CompiledExpression right) {
+      super(Kind.BOOLEAN);
+      this.and = and;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Boolean leftValue = (Boolean) left.evaluate(entity);
+      if (leftValue != null && leftValue != and) {
+        return leftValue;
+      }
+      final Boolean rightValue = (Boolean) right.evaluate(entity);
+      if (rightValue != null && rightValue != and) {
+        return rightValue;
+      }
+      return leftValue == null || rightValue == null ? null : and;
+    }
+  }
+
+  static final class Comparison extends CompiledExpression {
+    private final BinaryOperatorKind operator;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Comparison(final BinaryOperatorKind operator, final CompiledExpression left, final CompiledExpression right) {
+      super(Kind.BOOLEAN);
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Object leftValue = left.evaluate(entity);
+      final Object rightValue = right.evaluate(entity);
+      switch (operator) {
+      case EQ:
+        return isEqual(leftValue, rightValue);
+      case NE:
+        return !isEqual(leftValue, rightValue);
+      default:
+        break;
+      }
+      if (leftValue == null || rightValue == null) {
+        return leftValue == rightValue && (operator == BinaryOperatorKind.LE || operator == BinaryOperatorKind.GE);
+      }
+      final int result = compare(leftValue, rightValue);
+      switch (operator) {
+      case LT:
+        return result < 0;
+      case LE:
+        return result <= 0;
+      case GT:
+        return result > 0;
+      default:
+        return result >= 0;
+      }
+    }
+  }
+
+  static final class Arithmetic extends CompiledExpression {
+    private final BinaryOperatorKind operator;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Arithmetic(final BinaryOperatorKind operator, final CompiledExpression left, final CompiledExpression right) {
+      super(Kind.NUMBER);
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Number leftValue = (Number) left.evaluate(entity);
+      final Number rightValue = (Number) right.evaluate(entity);
+      if (leftValue == null || rightValue == null) {
+        return null;
+      } else if (leftValue instanceof Long && rightValue instanceof Long) {
+        return calculate(leftValue.longValue(), rightValue.longValue());
+      } else if (leftValue instanceof Double || rightValue instanceof Double) {
+        return calculate(leftValue.doubleValue(), rightValue.doubleValue());
+      } else {
+        return calculate(toBigDecimal(leftValue), toBigDecimal(rightValue));
+      }
+    }
+
+    private Object calculate(final long leftValue, final long rightValue) throws ODataApplicationException {
+      switch (operator) {
+      case ADD:
+        return leftValue + rightValue;
+      case SUB:
+        return leftValue - rightValue;
+      case MUL:
+        return leftValue * rightValue;
+      default:
+        if (rightValue == 0) {
+          throw evaluationError("Division by zero.");
+        }
+        return operator == BinaryOperatorKind.DIV ? leftValue / rightValue : leftValue % rightValue;
+      }
+    }
+
+    private Object calculate(final double leftValue, final double rightValue) {
+      switch (operator) {
+      case ADD:
+        return leftValue + rightValue;
+      case SUB:
+        return leftValue - rightValue;
+      case MUL:
+        return leftValue * rightValue;
+      case DIV:
+        return leftValue / rightValue;
+      default:
+        return leftValue % rightValue;
+      }
+    }
+
+    private Object calculate(final BigDecimal leftValue, final BigDecimal rightValue)
+        throws ODataApplicationException {
+      switch (operator) {
+      case ADD:
+        return leftValue.add(rightValue);
+      case SUB:
+        return leftValue.subtract(rightValue);
+      case MUL:
+        return leftValue.multiply(rightValue);
+      default:
+        if (rightValue.signum() == 0) {
+          throw evaluationError("Division by zero.");
+        }
+        return operator == BinaryOperatorKind.DIV ?
+            leftValue.divide(rightValue, MathContext.DECIMAL128) :
+            leftValue.remainder(rightValue);
+      }
+    }
+  }
+
+  static final class MethodCall extends CompiledExpression {
+    private final MethodKind method;
+    private final CompiledExpression[] parameters;
+
+    MethodCall(final Kind kind, final MethodKind method, final List<CompiledExpression> parameters) {
+      super(kind);
+      this.method = method;
+      this.parameters = parameters.toArray(new CompiledExpression[parameters.size()]);
+    }
+
+    @Override
+    Object evaluate(final Entity entity) throws ODataApplicationException {
+      final Object[] values = new Object[parameters.length];
+      for (int index = 0; index < parameters.length; index++) {
+        values[index] = parameters[index].evaluate(entity);
+        if (values[index] == null) {
+          return null;
+        }
+      }
+      switch (method) {
+      case CONTAINS:
+        return ((String) values[0]).contains((String) values[1]);
+      case STARTSWITH:
+        return ((String) values[0]).startsWith((String) values[1]);
+      case ENDSWITH:
+        return ((String) values[0]).endsWith((String) values[1]);
+      case LENGTH:
+        return (long) ((String) values[0]).length();
+      case INDEXOF:
+        return (long) ((String) values[0]).indexOf((String) values[1]);
+      case SUBSTRING:
+        return substring((String) values[0], values);
+      case TOLOWER:
+        return ((String) values[0]).toLowerCase(Locale.ROOT);
+      case TOUPPER:
+        return ((String) values[0]).toUpperCase(Locale.ROOT);
+      case TRIM:
+        return ((String) values[0]).trim();
+      case CONCAT:
+        return (String) values[0] + values[1];
+      case YEAR:
+        return (long) toCalendar(values[0]).get(Calendar.YEAR);
+      case MONTH:
+        return (long) toCalendar(values[0]).get(Calendar.MONTH) + 1;
+      case DAY:
+        return (long) toCalendar(values[0]).get(Calendar.DAY_OF_MONTH);
+      case HOUR:
+        return (long) toCalendar(values[0]).get(Calendar.HOUR_OF_DAY);
+      case MINUTE:
+        return (long) toCalendar(values[0]).get(Calendar.MINUTE);
+      case SECOND:
+        return (long) toCalendar(values[0]).get(Calendar.SECOND);
+      default:
+        return round((Number) values[0]);
+      }
+    }
+
+    private static String substring(final String value, final Object[] values) {
+      final int start = (int) Math.min(Math.max(((Number) values[1]).longValue(), 0), value.length());
+      if (values.length < 3) {
+        return value.substring(start);
+      }
+      final long length = Math.max(((Number) values[2]).longValue(), 0);
+      return value.substring(start, (int) Math.min(start + length, value.length()));
+    }
+
+    private Number round(final Number value) {
+      if (value instanceof Long) {
+        return value;
+      } else if (value instanceof Double) {
+        final double number = value.doubleValue();
+        return method == MethodKind.ROUND ? Math.signum(number) * Math.floor(Math.abs(number) + 0.5) :
+            method == MethodKind.FLOOR ? Math.floor(number) : Math.ceil(number);
+      } else {
+        return ((BigDecimal) value).setScale(0, method == MethodKind.ROUND ? RoundingMode.HALF_UP :
+            method == MethodKind.FLOOR ? RoundingMode.FLOOR : RoundingMode.CEILING);
+      }
+    }
+  }
+
+  static ODataApplicationException evaluationError(final String message) {
+    return new ODataApplicationException(message, HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+  }
+
+  static Object normalize(final Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    } else if (value instanceof Float) {
+      // Going through the decimal representation avoids artifacts of the binary widening.
+      return Double.valueOf(value.toString());
+    } else if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    } else {
+      return value;
+    }
+  }
+
+  static boolean isEqual(final Object left, final Object right) {
+    if (left == null || right == null) {
+      return left == right;
+    } else if (left instanceof Number && right instanceof Number
+        || isTemporal(left) && isTemporal(right)) {
+      return compare(left, right) == 0;
+    } else if (left instanceof byte[] && right instanceof byte[]) {
+      return Arrays.equals((byte[]) left, (byte[]) right);
+    } else {
+      return left.equals(right);
+    }
+  }
+
+  /**
+   * Compares two non-null values of compatible kinds; values which have no natural order are considered equal.
+   */
+  @SuppressWarnings("unchecked")
+  static int compare(final Object left, final Object right) {
+    if (left instanceof Number && right instanceof Number) {
+      return compareNumbers((Number) left, (Number) right);
+    } else if (isTemporal(left) && isTemporal(right)) {
+      final long leftMillis = toMillis(left);
+      final long rightMillis = toMillis(right);
+      return leftMillis < rightMillis ? -1 : leftMillis == rightMillis ? 0 : 1;
+    } else if (left instanceof Comparable && left.getClass().isInstance(right)) {
+      return ((Comparable<Object>) left).compareTo(right);
+    } else {
+      return 0;
+    }
+  }
+
+  private static int compareNumbers(final Number left, final Number right) {
+    if (left instanceof Long && right instanceof Long) {
+      final long leftValue = left.longValue();
+      final long rightValue = right.longValue();
+      return leftValue < rightValue ? -1 : leftValue == rightValue ? 0 : 1;
+    } else if ((left instanceof Double || right instanceof Double)
+        && (isNonFinite(left) || isNonFinite(right))) {
+      return Double.compare(left.doubleValue(), right.doubleValue());
+    } else {
+      return toBigDecimal(left).compareTo(toBigDecimal(right));
+    }
+  }
+
+  private static boolean isNonFinite(final Number value) {
+    return value instanceof Double && (((Double) value).isInfinite() || ((Double) value).isNaN());
+  }
+
+  private static BigDecimal toBigDecimal(final Number value) {
+    return value instanceof BigDecimal ? (BigDecimal) value :
+        value instanceof Long ? BigDecimal.valueOf(value.longValue()) :
+            new BigDecimal(value.toString());
+  }
+
+  private static boolean isTemporal(final Object value) {
+    return value instanceof Calendar || value instanceof Date;
+  }
+
+  private static long toMillis(final Object value) {
+    return value instanceof Calendar ? ((Calendar) value).getTimeInMillis() : ((Date) value).getTime();
+  }
+
+  private static Calendar toCalendar(final Object value) {
+    if (value instanceof Calendar) {
+      return (Calendar) value;
+    }
+    final Calendar calendar = Calendar.getInstance(UTC);
+    calendar.setTime((Date) value);
+    return calendar;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledFilter;
+
+class CompiledFilterImpl implements CompiledFilter {
+
+  /** Minimum number of entities evaluated by one task; smaller lists are not worth the hand-off. */
+  static final int CHUNK_SIZE = 1024;
+
+  private final CompiledExpression expression;
+
+  CompiledFilterImpl(final CompiledExpression expression) {
+    this.expression = expression;
+  }
+
+  @Override
+  public boolean matches(final Entity entity) throws ODataApplicationException {
+    return Boolean.TRUE.equals(expression.evaluate(entity));
+  }
+
+  @Override
+  public List<Entity> filter(final List<Entity> entities, final ExecutorService executor)
+      throws ODataApplicationException {
+    if (executor == null || entities.size() < 2 * CHUNK_SIZE) {
+      return filter(entities);
+    }
+    final int chunkSize = Math.max(CHUNK_SIZE,
+        entities.size() / (4 * Runtime.getRuntime().availableProcessors()) + 1);
+    List<Future<List<Entity>>> chunks = new ArrayList<Future<List<Entity>>>();
+    for (int start = 0; start < entities.size(); start += chunkSize) {
+      final List<Entity> chunk = entities.subList(start, Math.min(start + chunkSize, entities.size()));
+      chunks.add(executor.submit(new Callable<List<Entity>>() {
+        @Override
+        public List<Entity> call() throws ODataApplicationException {
+          return filter(chunk);
+        }
+      }));
+    }
+
+    List<Entity> result = new ArrayList<Entity>();
+    try {
+      for (final Future<List<Entity>> chunk : chunks) {
+        result.addAll(chunk.get());
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ODataApplicationException("The evaluation has been interrupted.",
+          HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), Locale.ROOT, e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof ODataApplicationException) {
+        throw (ODataApplicationException) e.getCause();
+      }
+      throw new ODataRuntimeException(e);
+    } finally {
+      for (final Future<List<Entity>> chunk : chunks) {
+        chunk.cancel(true);
+      }
+    }
+    return result;
+  }
+
+  private List<Entity> filter(final List<Entity> entities) throws ODataApplicationException {
+    List<Entity> result = new ArrayList<Entity>();
+    for (final Entity entity : entities) {
+      if (matches(entity)) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+}
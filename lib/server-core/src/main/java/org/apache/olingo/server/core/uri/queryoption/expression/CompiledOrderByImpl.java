@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.olingo.commons.api.ODataRuntimeException;
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledOrderBy;
+
+/**
+ * Orders entities by the values of the compiled expressions.
+ * As defined by OData, null values come before all other values in ascending order.
+ */
+class CompiledOrderByImpl implements CompiledOrderBy {
+
+  private final CompiledExpression[] expressions;
+  private final boolean[] descending;
+
+  CompiledOrderByImpl(final CompiledExpression[] expressions, final boolean[] descending) {
+    this.expressions = expressions;
+    this.descending = descending;
+  }
+
+  @Override
+  public int compare(final Entity left, final Entity right) {
+    try {
+      return compareSortValues(getSortValues(left), getSortValues(right));
+    } catch (final ODataApplicationException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  @Override
+  public List<Entity> sort(final List<Entity> entities) throws ODataApplicationException {
+    // Each entity is paired with its sort values so that the expressions are evaluated only once per entity.
+    final SortEntry[] entries = new SortEntry[entities.size()];
+    for (int index = 0; index < entries.length; index++) {
+      entries[index] = new SortEntry(entities.get(index), getSortValues(entities.get(index)));
+    }
+    Arrays.sort(entries, new Comparator<SortEntry>() {
+      @Override
+      public int compare(final SortEntry left, final SortEntry right) {
+        return compareSortValues(left.values, right.values);
+      }
+    });
+    List<Entity> result = new ArrayList<Entity>(entries.length);
+    for (final SortEntry entry : entries) {
+      result.add(entry.entity);
+    }
+    return result;
+  }
+
+  @Override
+  public Object[] getSortValues(final Entity entity) throws ODataApplicationException {
+    Object[] values = new Object[expressions.length];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = expressions[index].evaluate(entity);
+    }
+    return values;
+  }
+
+  @Override
+  public int compareSortValues(final Object[] left, final Object[] right) {
+    for (int index = 0; index < left.length; index++) {
+      final int result = left[index] == null ? (right[index] == null ? 0 : -1) :
+          right[index] == null ? 1 : CompiledExpression.compare(left[index], right[index]);
+      if (result != 0) {
+        return descending[index] ? -result : result;
+      }
+    }
+    return 0;
+  }
+
+  private static final class SortEntry {
+    private final Entity entity;
+    private final Object[] values;
+
+    private SortEntry(final Entity entity, final Object[] values) {
+      this.entity = entity;
+      this.values = values;
+    }
+  }
+}
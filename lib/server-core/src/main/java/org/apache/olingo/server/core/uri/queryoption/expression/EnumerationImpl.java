@@ -25,6 +25,7 @@ import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitEx
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class EnumerationImpl extends ExpressionImpl implements Enumeration {
@@ -34,7 +35,7 @@ public class EnumerationImpl extends ExpressionImpl implements Enumeration {
 
   @Override
   public List<String> getValues() {
-    return values;
+    return Collections.unmodifiableList(values);
   }
 
   public EnumerationImpl addValue(final String enumValue) {
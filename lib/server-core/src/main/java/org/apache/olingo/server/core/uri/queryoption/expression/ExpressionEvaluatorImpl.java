@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
+import org.apache.olingo.commons.api.edm.constants.EdmTypeKind;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.Binary;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledFilter;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledOrderBy;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionEvaluator;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.Method;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Unary;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.apache.olingo.server.core.uri.queryoption.expression.CompiledExpression.Kind;
+
+/**
+ * Compiles expression trees into {@link CompiledExpression}s.
+ * Operand types are checked once during compilation so that the evaluation needs no further checks.
+ */
+public class ExpressionEvaluatorImpl implements ExpressionEvaluator {
+
+  @Override
+  public CompiledFilter compile(final FilterOption filterOption) throws ODataApplicationException {
+    final CompiledExpression expression = compile(filterOption.getExpression());
+    if (!expression.getKind().isCompatible(Kind.BOOLEAN)) {
+      throw typeError("The filter expression must be a boolean expression.");
+    }
+    return new CompiledFilterImpl(expression);
+  }
+
+  @Override
+  public CompiledOrderBy compile(final OrderByOption orderByOption) throws ODataApplicationException {
+    final List<OrderByItem> orders = orderByOption.getOrders();
+    final CompiledExpression[] expressions = new CompiledExpression[orders.size()];
+    final boolean[] descending = new boolean[orders.size()];
+    for (int index = 0; index < expressions.length; index++) {
+      expressions[index] = compile(orders.get(index).getExpression());
+      descending[index] = orders.get(index).isDescending();
+    }
+    return new CompiledOrderByImpl(expressions, descending);
+  }
+
+  private CompiledExpression compile(final Expression expression) throws ODataApplicationException {
+    if (expression instanceof Literal) {
+      return compileLiteral((Literal) expression);
+    } else if (expression instanceof Member) {
+      return compileMember((Member) expression);
+    } else if (expression instanceof Unary) {
+      return compileUnary((Unary) expression);
+    } else if (expression instanceof Binary) {
+      return compileBinary((Binary) expression);
+    } else if (expression instanceof Method) {
+      return compileMethod((Method) expression);
+    } else {
+      throw notImplemented("The expression '" + expression + "' is not supported.");
+    }
+  }
+
+  private CompiledExpression compileLiteral(final Literal literal) throws ODataApplicationException {
+    final Object value = LiteralConverter.convert(literal);
+    final Kind kind = value == null ? Kind.NULL :
+        value instanceof Boolean ? Kind.BOOLEAN :
+            value instanceof String ? Kind.STRING :
+                value instanceof Number ? Kind.NUMBER :
+                    value instanceof Calendar || value instanceof Date ? Kind.TEMPORAL : Kind.OTHER;
+    return new CompiledExpression.Constant(kind, value);
+  }
+
+  private CompiledExpression compileMember(final Member member) throws ODataApplicationException {
+    if (member.getStartTypeFilter() != null) {
+      throw notImplemented("Type filters are not supported.");
+    }
+    final List<String> path = new ArrayList<String>();
+    final List<UriResource> parts = member.getResourcePath().getUriResourceParts();
+    for (int index = 0; index < parts.size(); index++) {
+      final UriResource part = parts.get(index);
+      final boolean last = index == parts.size() - 1;
+      if (!(last ? part instanceof UriResourcePrimitiveProperty : part instanceof UriResourceComplexProperty)
+          || ((UriResourceProperty) part).isCollection()
+          || part instanceof UriResourceComplexProperty
+          && ((UriResourceComplexProperty) part).getComplexTypeFilter() != null) {
+        throw notImplemented("Only paths to single primitive properties are supported.");
+      }
+      path.add(((UriResourceProperty) part).getProperty().getName());
+    }
+    final EdmType type = ((UriResourceProperty) parts.get(parts.size() - 1)).getType();
+    return new CompiledExpression.MemberAccess(getKind(type), getNumberType(type), path);
+  }
+
+  private Class<? extends Number> getNumberType(final EdmType type) {
+    final EdmPrimitiveTypeKind kind = getPrimitiveTypeKind(type);
+    if (kind == null) {
+      return null;
+    }
+    switch (kind) {
+    case Byte:
+    case SByte:
+    case Int16:
+    case Int32:
+    case Int64:
+      return Long.class;
+    case Single:
+    case Double:
+      return Double.class;
+    case Decimal:
+    case Duration:
+      return BigDecimal.class;
+    default:
+      return null;
+    }
+  }
+
+  private EdmPrimitiveTypeKind getPrimitiveTypeKind(final EdmType type) {
+    if (type instanceof EdmTypeDefinition) {
+      return getPrimitiveTypeKind(((EdmTypeDefinition) type).getUnderlyingType());
+    } else if (type.getKind() != EdmTypeKind.PRIMITIVE
+        || !EdmPrimitiveType.EDM_NAMESPACE.equals(type.getNamespace())) {
+      return null;
+    }
+    try {
+      return EdmPrimitiveTypeKind.valueOf(type.getName());
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private Kind getKind(final EdmType type) {
+    final EdmPrimitiveTypeKind kind = getPrimitiveTypeKind(type);
+    if (kind == null) {
+      return Kind.OTHER;
+    }
+    switch (kind) {
+    case Boolean:
+      return Kind.BOOLEAN;
+    case Byte:
+    case SByte:
+    case Int16:
+    case Int32:
+    case Int64:
+    case Decimal:
+    case Single:
+    case Double:
+    case Duration:
+      return Kind.NUMBER;
+    case String:
+      return Kind.STRING;
+    case Date:
+    case DateTimeOffset:
+    case TimeOfDay:
+      return Kind.TEMPORAL;
+    default:
+      return Kind.OTHER;
+    }
+  }
+
+  private CompiledExpression compileUnary(final Unary unary) throws ODataApplicationException {
+    final CompiledExpression operand = compile(unary.getOperand());
+    if (unary.getOperator() == UnaryOperatorKind.NOT) {
+      checkKind(operand, Kind.BOOLEAN, unary.getOperator());
+      return new CompiledExpression.Not(operand);
+    } else {
+      checkKind(operand, Kind.NUMBER, unary.getOperator());
+      return new CompiledExpression.Negation(operand);
+    }
+  }
+
+  private CompiledExpression compileBinary(final Binary binary) throws ODataApplicationException {
+    final BinaryOperatorKind operator = binary.getOperator();
+    final CompiledExpression left = compile(binary.getLeftOperand());
+    final CompiledExpression right = compile(binary.getRightOperand());
+    switch (operator) {
+    case AND:
+    case OR:
+      checkKind(left, Kind.BOOLEAN, operator);
+      checkKind(right, Kind.BOOLEAN, operator);
+      return new CompiledExpression.Logical(operator == BinaryOperatorKind.AND, left, right);
+    case EQ:
+    case NE:
+    case LT:
+    case LE:
+    case GT:
+    case GE:
+      if (!left.getKind().isCompatible(right.getKind())) {
+        throw typeError("The operands of '" + operator + "' have incompatible types.");
+      }
+      return new CompiledExpression.Comparison(operator, left, right);
+    case ADD:
+    case SUB:
+    case MUL:
+    case DIV:
+    case MOD:
+      checkKind(left, Kind.NUMBER, operator);
+      checkKind(right, Kind.NUMBER, operator);
+      return new CompiledExpression.Arithmetic(operator, left, right);
+    default:
+      throw notImplemented("The operator '" + operator + "' is not supported.");
+    }
+  }
+
+  private CompiledExpression compileMethod(final Method method) throws ODataApplicationException {
+    final MethodKind methodKind = method.getMethod();
+    final List<CompiledExpression> parameters = new ArrayList<CompiledExpression>();
+    for (final Expression parameter : method.getParameters()) {
+      parameters.add(compile(parameter));
+    }
+    final Kind resultKind;
+    switch (methodKind) {
+    case CONTAINS:
+    case STARTSWITH:
+    case ENDSWITH:
+      checkParameters(parameters, methodKind, Kind.STRING, Kind.STRING);
+      resultKind = Kind.BOOLEAN;
+      break;
+    case LENGTH:
+      checkParameters(parameters, methodKind, Kind.STRING);
+      resultKind = Kind.NUMBER;
+      break;
+    case INDEXOF:
+      checkParameters(parameters, methodKind, Kind.STRING, Kind.STRING);
+      resultKind = Kind.NUMBER;
+      break;
+    case SUBSTRING:
+      if (parameters.size() == 2) {
+        checkParameters(parameters, methodKind, Kind.STRING, Kind.NUMBER);
+      } else {
+        checkParameters(parameters, methodKind, Kind.STRING, Kind.NUMBER, Kind.NUMBER);
+      }
+      resultKind = Kind.STRING;
+      break;
+    case TOLOWER:
+    case TOUPPER:
+    case TRIM:
+      checkParameters(parameters, methodKind, Kind.STRING);
+      resultKind = Kind.STRING;
+      break;
+    case CONCAT:
+      checkParameters(parameters, methodKind, Kind.STRING, Kind.STRING);
+      resultKind = Kind.STRING;
+      break;
+    case YEAR:
+    case MONTH:
+    case DAY:
+    case HOUR:
+    case MINUTE:
+    case SECOND:
+      checkParameters(parameters, methodKind, Kind.TEMPORAL);
+      resultKind = Kind.NUMBER;
+      break;
+    case ROUND:
+    case FLOOR:
+    case CEILING:
+      checkParameters(parameters, methodKind, Kind.NUMBER);
+      resultKind = Kind.NUMBER;
+      break;
+    default:
+      throw notImplemented("The method '" + methodKind + "' is not supported.");
+    }
+    return new CompiledExpression.MethodCall(resultKind, methodKind, parameters);
+  }
+
+  private void checkParameters(final List<CompiledExpression> parameters, final MethodKind method,
+      final Kind... kinds) throws ODataApplicationException {
+    if (parameters.size() != kinds.length) {
+      throw typeError("The method '" + method + "' expects " + kinds.length + " parameters.");
+    }
+    for (int index = 0; index < kinds.length; index++) {
+      checkKind(parameters.get(index), kinds[index], method);
+    }
+  }
+
+  private void checkKind(final CompiledExpression expression, final Kind kind, final Object operation)
+      throws ODataApplicationException {
+    if (!expression.getKind().isCompatible(kind)) {
+      throw typeError("The operands of '" + operation + "' have incompatible types.");
+    }
+  }
+
+  private ODataApplicationException typeError(final String message) {
+    return new ODataApplicationException(message, HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT);
+  }
+
+  private ODataApplicationException notImplemented(final String message) {
+    return new ODataApplicationException(message, HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+  }
+}
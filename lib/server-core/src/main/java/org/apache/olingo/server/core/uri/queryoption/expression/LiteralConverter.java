@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeException;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+
+/**
+ * Converts the text of {@link Literal} expressions into values.
+ * <p>The parser keeps most literals as untyped URI text; the type is derived from the syntax of the text,
+ * and the value is converted through the corresponding {@link EdmPrimitiveType}
+ * into its default Java type.</p>
+ */
+public final class LiteralConverter {
+
+  private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+  private static final Pattern DECIMAL = Pattern.compile("[+-]?\\d+\\.\\d+");
+  private static final Pattern DOUBLE = Pattern.compile("[+-]?\\d+(\\.\\d+)?[eE][+-]?\\d+|-?INF|NaN");
+  private static final Pattern DATE = Pattern.compile("-?\\d{4,}-\\d{2}-\\d{2}");
+  private static final Pattern DATE_TIME_OFFSET = Pattern.compile("-?\\d{4,}-\\d{2}-\\d{2}T.+");
+  private static final Pattern TIME_OF_DAY = Pattern.compile("\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?");
+  private static final Pattern GUID = Pattern.compile(
+      "\\p{XDigit}{8}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{4}-\\p{XDigit}{12}");
+  /** Precision of fractional seconds; the precision of other literals is not restricted. */
+  private static final int FRACTIONAL_SECONDS_PRECISION = 12;
+
+  private LiteralConverter() {}
+
+  /**
+   * Converts a literal into its value.
+   * Integral numbers within the range of Edm.Int64 are returned as {@link Long}, larger ones as decimals
+   * of unrestricted precision.
+   * @param literal the literal
+   * @return the value or <code>null</code> for the null literal
+   * @throws ODataApplicationException if the literal is not valid (400) or not supported (501)
+   */
+  public static Object convert(final Literal literal) throws ODataApplicationException {
+    final EdmPrimitiveTypeKind kind = getKind(literal);
+    final String text = literal.getText();
+    if (kind == null) {
+      return null;
+    } else if (kind == EdmPrimitiveTypeKind.Boolean) {
+      return Boolean.valueOf(text);
+    } else if (kind == EdmPrimitiveTypeKind.Int64) {
+      try {
+        return Long.valueOf(text);
+      } catch (final NumberFormatException e) {
+        return convert(EdmPrimitiveTypeKind.Decimal, text);
+      }
+    } else {
+      return convert(kind, text);
+    }
+  }
+
+  /**
+   * Gets the primitive type of a literal as derived from the syntax of its text.
+   * Integral numbers are of type Edm.Int64, even if they are converted into decimals.
+   * @param literal the literal
+   * @return the primitive type kind or <code>null</code> for the null literal
+   * @throws ODataApplicationException if the literal is not supported (501)
+   */
+  public static EdmPrimitiveTypeKind getKind(final Literal literal) throws ODataApplicationException {
+    final String text = literal.getText();
+    if ("null".equals(text)) {
+      return null;
+    } else if ("true".equals(text) || "false".equals(text)) {
+      return EdmPrimitiveTypeKind.Boolean;
+    } else if (text.startsWith("'")) {
+      return EdmPrimitiveTypeKind.String;
+    } else if (INTEGER.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.Int64;
+    } else if (DECIMAL.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.Decimal;
+    } else if (DOUBLE.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.Double;
+    } else if (DATE.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.Date;
+    } else if (DATE_TIME_OFFSET.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.DateTimeOffset;
+    } else if (TIME_OF_DAY.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.TimeOfDay;
+    } else if (GUID.matcher(text).matches()) {
+      return EdmPrimitiveTypeKind.Guid;
+    } else if (text.startsWith("duration'")) {
+      return EdmPrimitiveTypeKind.Duration;
+    } else {
+      throw new ODataApplicationException("The literal '" + text + "' is not supported.",
+          HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
+    }
+  }
+
+  private static Object convert(final EdmPrimitiveTypeKind kind, final String text)
+      throws ODataApplicationException {
+    final EdmPrimitiveType type = EdmPrimitiveTypeFactory.getInstance(kind);
+    try {
+      final Integer precision = kind == EdmPrimitiveTypeKind.DateTimeOffset
+          || kind == EdmPrimitiveTypeKind.TimeOfDay
+          || kind == EdmPrimitiveTypeKind.Duration ? FRACTIONAL_SECONDS_PRECISION : null;
+      return type.valueOfString(type.fromUriLiteral(text),
+          null, null, precision, Integer.MAX_VALUE, null, type.getDefaultType());
+    } catch (final EdmPrimitiveTypeException e) {
+      throw new ODataApplicationException("The literal '" + text + "' is not valid.",
+          HttpStatusCode.BAD_REQUEST.getStatusCode(), Locale.ROOT, e);
+    }
+  }
+}
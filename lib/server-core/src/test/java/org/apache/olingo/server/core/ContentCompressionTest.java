@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataContent;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.junit.Test;
+
+public class ContentCompressionTest {
+
+  private static final byte[] CONTENT = createContent(10000);
+
+  @Test
+  public void negotiate() {
+    assertNull(ContentCompression.negotiate(null));
+    assertNull(ContentCompression.negotiate(""));
+    assertNull(ContentCompression.negotiate("identity"));
+    assertEquals(ContentCompression.GZIP, ContentCompression.negotiate("gzip"));
+    assertEquals(ContentCompression.GZIP, ContentCompression.negotiate("deflate, gzip"));
+    assertEquals(ContentCompression.GZIP, ContentCompression.negotiate("x-gzip"));
+    assertEquals(ContentCompression.GZIP, ContentCompression.negotiate("*"));
+    assertEquals(ContentCompression.DEFLATE, ContentCompression.negotiate("DEFLATE"));
+    assertEquals(ContentCompression.DEFLATE, ContentCompression.negotiate("gzip;q=0.5, deflate"));
+    assertEquals(ContentCompression.DEFLATE, ContentCompression.negotiate("gzip;q=0, *"));
+    assertNull(ContentCompression.negotiate("gzip;q=0, deflate;q=0"));
+    assertNull(ContentCompression.negotiate("*;q=0"));
+  }
+
+  @Test
+  public void decode() throws Exception {
+    final InputStream body = new ByteArrayInputStream(CONTENT);
+    assertSame(body, ContentCompression.decode(null, body, -1));
+    assertSame(body, ContentCompression.decode("identity", body, -1));
+
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    OutputStream output = new GZIPOutputStream(compressed);
+    output.write(CONTENT);
+    output.close();
+    assertArrayEquals(CONTENT, IOUtils.toByteArray(
+        ContentCompression.decode("gzip", new ByteArrayInputStream(compressed.toByteArray()), -1)));
+
+    compressed = new ByteArrayOutputStream();
+    output = new DeflaterOutputStream(compressed);
+    output.write(CONTENT);
+    output.close();
+    assertArrayEquals(CONTENT, IOUtils.toByteArray(
+        ContentCompression.decode("deflate", new ByteArrayInputStream(compressed.toByteArray()), -1)));
+
+    try {
+      ContentCompression.decode("br", body, -1);
+      fail("Expected exception not thrown.");
+    } catch (final ODataHandlerException e) {
+      assertEquals(ODataHandlerException.MessageKeys.UNSUPPORTED_CONTENT_ENCODING, e.getMessageKey());
+    }
+  }
+
+  @Test
+  public void decodeEmpty() throws Exception {
+    assertEquals(-1, ContentCompression.decode("gzip", new ByteArrayInputStream(new byte[0]), -1).read());
+    assertEquals(-1, ContentCompression.decode("deflate", new ByteArrayInputStream(new byte[0]), -1).read());
+  }
+
+  @Test
+  public void decodeInvalid() throws Exception {
+    for (final byte[] body : new byte[][] { CONTENT, new byte[] { 0x1f } }) {
+      try {
+        ContentCompression.decode("gzip", new ByteArrayInputStream(body), -1);
+        fail("Expected exception not thrown.");
+      } catch (final ODataHandlerException e) {
+        assertEquals(ODataHandlerException.MessageKeys.INVALID_ENCODED_CONTENT, e.getMessageKey());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(),
+            ODataExceptionHelper.createServerErrorObject(e, null).getStatusCode());
+      }
+    }
+  }
+
+  @Test
+  public void decodeWithLimit() throws Exception {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    OutputStream output = new GZIPOutputStream(compressed);
+    output.write(CONTENT);
+    output.close();
+    assertArrayEquals(CONTENT, IOUtils.toByteArray(ContentCompression.decode("gzip",
+        new ByteArrayInputStream(compressed.toByteArray()), CONTENT.length)));
+
+    // A megabyte of zeros compresses to about a kilobyte.
+    compressed = new ByteArrayOutputStream();
+    output = new DeflaterOutputStream(compressed);
+    output.write(new byte[1024 * 1024]);
+    output.close();
+    final InputStream decoded = ContentCompression.decode("deflate",
+        new ByteArrayInputStream(compressed.toByteArray()), CONTENT.length);
+    try {
+      IOUtils.toByteArray(decoded);
+      fail("Expected exception not thrown.");
+    } catch (final IOException e) {
+      final ODataHandlerException cause = (ODataHandlerException) e.getCause();
+      assertEquals(ODataHandlerException.MessageKeys.DECODED_CONTENT_TOO_LARGE, cause.getMessageKey());
+      assertEquals(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+          ODataExceptionHelper.createServerErrorObject(cause, null).getStatusCode());
+    }
+  }
+
+  @Test
+  public void removeEncodingHeaders() throws Exception {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    final OutputStream output = new GZIPOutputStream(compressed);
+    output.write(CONTENT);
+    output.close();
+    final ByteArrayInputStream input = new ByteArrayInputStream(compressed.toByteArray());
+    final HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getHeader(HttpHeader.CONTENT_ENCODING)).thenReturn("gzip");
+    when(request.getInputStream()).thenReturn(new ServletInputStream() {
+      @Override
+      public int read() throws IOException {
+        return input.read();
+      }
+    });
+
+    final ODataRequest odRequest = new ODataRequest();
+    odRequest.addHeader(HttpHeader.CONTENT_ENCODING, Arrays.asList("gzip"));
+    odRequest.addHeader(HttpHeader.CONTENT_LENGTH, Arrays.asList(String.valueOf(compressed.size())));
+    odRequest.addHeader(HttpHeader.CONTENT_TYPE, Arrays.asList("application/json"));
+    ODataHttpHandlerImpl.extractBody(odRequest, request, -1);
+
+    assertNull(odRequest.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertNull(odRequest.getHeader(HttpHeader.CONTENT_LENGTH));
+    assertEquals("application/json", odRequest.getHeader(HttpHeader.CONTENT_TYPE));
+    assertArrayEquals(CONTENT, IOUtils.toByteArray(odRequest.getBody()));
+  }
+
+  @Test
+  public void weakenETagOfCompressedContent() throws Exception {
+    HttpServletResponse response = mockResponse(new ByteArrayOutputStream());
+    ODataResponse odResponse = createResponse();
+    odResponse.setHeader(HttpHeader.ETAG, "\"1\"");
+    ODataHttpHandlerImpl.convertToHttp(response, odResponse, ContentCompression.GZIP, 0, Deflater.BEST_SPEED);
+    verify(response).setHeader(HttpHeader.ETAG, "W/\"1\"");
+
+    response = mockResponse(new ByteArrayOutputStream());
+    ODataHttpHandlerImpl.convertToHttp(response, odResponse, ContentCompression.GZIP, CONTENT.length + 1,
+        Deflater.BEST_SPEED);
+    verify(response, never()).setHeader(HttpHeader.ETAG, "W/\"1\"");
+  }
+
+  @Test
+  public void compressLargeContent() throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final HttpServletResponse response = mockResponse(output);
+    ODataHttpHandlerImpl.convertToHttp(response, createResponse(), ContentCompression.GZIP, 1000,
+        Deflater.BEST_SPEED);
+
+    verify(response).setHeader(HttpHeader.CONTENT_ENCODING, ContentCompression.GZIP);
+    verify(response).addHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    assertArrayEquals(CONTENT,
+        IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))));
+
+    output.reset();
+    ODataHttpHandlerImpl.convertToHttp(mockResponse(output), createResponse(), ContentCompression.DEFLATE, 1000,
+        Deflater.BEST_COMPRESSION);
+    assertArrayEquals(CONTENT,
+        IOUtils.toByteArray(new InflaterInputStream(new ByteArrayInputStream(output.toByteArray()))));
+  }
+
+  @Test
+  public void keepSmallContent() throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final HttpServletResponse response = mockResponse(output);
+    ODataHttpHandlerImpl.convertToHttp(response, createResponse(), ContentCompression.GZIP, CONTENT.length + 1,
+        Deflater.DEFAULT_COMPRESSION);
+
+    verify(response, never()).setHeader(eq(HttpHeader.CONTENT_ENCODING), anyString());
+    assertArrayEquals(CONTENT, output.toByteArray());
+  }
+
+  @Test
+  public void keepContentWithLength() throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final HttpServletResponse response = mockResponse(output);
+    final ODataResponse odResponse = createResponse();
+    odResponse.setHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(CONTENT.length));
+    ODataHttpHandlerImpl.convertToHttp(response, odResponse, ContentCompression.GZIP, 0, Deflater.BEST_SPEED);
+
+    verify(response, never()).setHeader(eq(HttpHeader.CONTENT_ENCODING), anyString());
+    assertArrayEquals(CONTENT, output.toByteArray());
+  }
+
+  private static HttpServletResponse mockResponse(final ByteArrayOutputStream output) throws IOException {
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        output.write(b);
+      }
+    });
+    return response;
+  }
+
+  private static ODataResponse createResponse() {
+    ODataResponse odResponse = new ODataResponse();
+    odResponse.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    odResponse.setODataContent(new ODataContent() {
+      @Override
+      public void write(final OutputStream stream) throws IOException {
+        // written in small pieces to cross the minimum size in between
+        for (int i = 0; i < CONTENT.length; i += 100) {
+          stream.write(CONTENT, i, Math.min(100, CONTENT.length - i));
+        }
+      }
+    });
+    return odResponse;
+  }
+
+  private static byte[] createContent(final int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) ('a' + i % 26);
+    }
+    return data;
+  }
+}
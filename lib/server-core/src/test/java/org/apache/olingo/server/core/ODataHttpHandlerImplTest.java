@@ -18,16 +18,31 @@
  */
 package org.apache.olingo.server.core;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataTranslatedException;
+import org.apache.olingo.server.core.serializer.utils.CircleStreamBuffer;
 import org.junit.Test;
 
 public class ODataHttpHandlerImplTest {
@@ -166,4 +181,69 @@ public class ODataHttpHandlerImplTest {
       assertEquals(rawServiceResolutionUri, odr.getRawServiceResolutionUri());
     }
   }
+
+  @Test
+  public void convertToHttpWritesODataContent() throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    HttpServletResponse hr = mock(HttpServletResponse.class);
+    when(hr.getOutputStream()).thenReturn(new ServletOutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        output.write(b);
+      }
+    });
+
+    ODataResponse odResponse = new ODataResponse();
+    odResponse.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    odResponse.setODataContent(new ODataContent() {
+      @Override
+      public void write(final OutputStream stream) throws IOException {
+        stream.write("streamed".getBytes("UTF-8"));
+      }
+    });
+    ODataHttpHandlerImpl.convertToHttp(hr, odResponse);
+
+    verify(hr).setStatus(HttpStatusCode.OK.getStatusCode());
+    assertEquals("streamed", new String(output.toByteArray(), "UTF-8"));
+  }
+
+  @Test
+  public void copySerializerBuffers() throws Exception {
+    final byte[] data = createData(50000);
+    CircleStreamBuffer buffer = new CircleStreamBuffer();
+    buffer.getOutputStream().write(data, 0, 10000);
+    buffer.getOutputStream().write(data, 10000, 40000);
+    buffer.closeWrite();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ODataHttpHandlerImpl.copy(buffer.getInputStream(), output);
+    assertArrayEquals(data, output.toByteArray());
+  }
+
+  @Test
+  public void copyFile() throws Exception {
+    final byte[] data = createData(20000);
+    final File file = File.createTempFile("odata", ".bin");
+    file.deleteOnExit();
+    FileOutputStream fileOutput = new FileOutputStream(file);
+    fileOutput.write(data);
+    fileOutput.close();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    FileInputStream input = new FileInputStream(file);
+    try {
+      ODataHttpHandlerImpl.copy(input, output);
+    } finally {
+      input.close();
+    }
+    assertArrayEquals(data, output.toByteArray());
+  }
+
+  private byte[] createData(final int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) i;
+    }
+    return data;
+  }
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.batchhandler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.batch.BatchFacade;
+import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
+import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
+import org.junit.After;
+import org.junit.Test;
+
+public class BatchPartExecutorTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void queryOperationsRunConcurrentlyInOrder() throws Exception {
+    final CountDownLatch allStarted = new CountDownLatch(3);
+    final TestFacade facade = new TestFacade() {
+      @Override
+      protected void process(final String path) throws Exception {
+        allStarted.countDown();
+        // Only succeeds if all three operations run at the same time.
+        assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+        if ("a".equals(path)) {
+          Thread.sleep(50);
+        }
+      }
+    };
+    final List<ODataResponsePart> responseParts = new BatchPartExecutor(executor, 3)
+        .execute(facade, iterator(query("a"), query("b"), query("c")), true);
+
+    assertEquals(3, responseParts.size());
+    assertEquals("a", getPath(responseParts.get(0)));
+    assertEquals("b", getPath(responseParts.get(1)));
+    assertEquals("c", getPath(responseParts.get(2)));
+  }
+
+  @Test
+  public void parallelismIsBounded() throws Exception {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final TestFacade facade = new TestFacade() {
+      @Override
+      protected void process(final String path) throws Exception {
+        final int current = running.incrementAndGet();
+        synchronized (maxRunning) {
+          maxRunning.set(Math.max(maxRunning.get(), current));
+        }
+        Thread.sleep(20);
+        running.decrementAndGet();
+      }
+    };
+    new BatchPartExecutor(executor, 2).execute(facade,
+        iterator(query("a"), query("b"), query("c"), query("d"), query("e")), true);
+
+    assertTrue(maxRunning.get() <= 2);
+  }
+
+  @Test
+  public void changeSetWaitsForPrecedingOperations() throws Exception {
+    final AtomicInteger finished = new AtomicInteger();
+    final TestFacade facade = new TestFacade() {
+      @Override
+      protected void process(final String path) throws Exception {
+        if ("change".equals(path)) {
+          assertEquals(2, finished.get());
+        } else {
+          Thread.sleep(20);
+        }
+        finished.incrementAndGet();
+      }
+    };
+    final List<ODataResponsePart> responseParts = new BatchPartExecutor(executor, 4).execute(facade,
+        iterator(query("a"), query("b"), new BatchRequestPart(true, request("change")), query("c")), true);
+
+    assertEquals(4, responseParts.size());
+    assertEquals("change", getPath(responseParts.get(2)));
+    assertEquals(4, finished.get());
+  }
+
+  @Test
+  public void stopAfterFirstError() throws Exception {
+    final List<String> processed = Collections.synchronizedList(new ArrayList<String>());
+    final TestFacade facade = new TestFacade() {
+      @Override
+      protected void process(final String path) throws Exception {
+        processed.add(path);
+        if ("a".equals(path)) {
+          Thread.sleep(20);
+        }
+      }
+    };
+    final List<ODataResponsePart> responseParts = new BatchPartExecutor(executor, 4).execute(facade,
+        iterator(query("a"), query("error"), query("c")), false);
+
+    assertEquals(2, responseParts.size());
+    assertEquals("error", getPath(responseParts.get(1)));
+    // No operation is executed after the failed one, not even concurrently.
+    assertEquals(Arrays.asList("a", "error"), processed);
+  }
+
+  private static BatchRequestPart query(final String path) {
+    return new BatchRequestPart(false, request(path));
+  }
+
+  private static ODataRequest request(final String path) {
+    ODataRequest request = new ODataRequest();
+    request.setRawODataPath(path);
+    return request;
+  }
+
+  private static String getPath(final ODataResponsePart responsePart) {
+    return responsePart.getResponses().get(0).getHeaders().get("Path");
+  }
+
+  private static BatchRequestPartIterator iterator(final BatchRequestPart... parts) {
+    final Iterator<BatchRequestPart> iterator = Arrays.asList(parts).iterator();
+    return new BatchRequestPartIterator() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public BatchRequestPart next() {
+        return iterator.next();
+      }
+    };
+  }
+
+  /** Answers each request with its path; the path "error" leads to an error response. */
+  private static class TestFacade implements BatchFacade {
+
+    protected void process(final String path) throws Exception {}
+
+    @Override
+    public ODataResponse handleODataRequest(final ODataRequest request) {
+      final String path = request.getRawODataPath();
+      try {
+        process(path);
+      } catch (final Exception e) {
+        throw new RuntimeException(e);
+      }
+      ODataResponse response = new ODataResponse();
+      response.setHeader("Path", path);
+      response.setStatusCode("error".equals(path) ?
+          HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode() :
+          HttpStatusCode.OK.getStatusCode());
+      return response;
+    }
+
+    @Override
+    public ODataResponsePart handleBatchRequest(final BatchRequestPart request) {
+      return new ODataResponsePart(handleODataRequest(request.getRequests().get(0)), request.isChangeSet());
+    }
+
+    @Override
+    public List<ODataResponsePart> handleBatchRequests(final BatchRequestPartIterator requests,
+        final boolean continueOnError) throws BatchDeserializerException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String extractBoundaryFromContentType(final String contentType) {
+      return null;
+    }
+  }
+}
@@ -29,6 +29,7 @@ import java.io.InputStream;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.ODataRequest;
@@ -36,6 +37,7 @@ import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException.MessageKeys;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 import org.apache.olingo.server.core.deserializer.batch.BatchParser;
 import org.apache.olingo.server.core.deserializer.batch.BatchParserCommon;
 import org.junit.Test;
@@ -1238,6 +1240,67 @@ public class BatchRequestParserTest {
     parseInvalidBatchBody(batch, MessageKeys.FORBIDDEN_HEADER);
   }
 
+  @Test
+  public void streamedPartsAreReadOnDemand() throws Exception {
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      content.append("0123456789");
+    }
+    final String batch = "--batch_8194-cf13-1f56" + CRLF
+        + GET_REQUEST
+        + "--batch_8194-cf13-1f56" + CRLF
+        + "Content-Type: multipart/mixed; boundary=changeset_f980-1cb6-94dd" + CRLF
+        + CRLF
+        + "--changeset_f980-1cb6-94dd" + CRLF
+        + MIME_HEADERS
+        + "Content-ID: 1" + CRLF
+        + CRLF
+        + "POST Employees HTTP/1.1" + CRLF
+        + "Content-Type: application/octet-stream" + CRLF
+        + CRLF
+        + content + CRLF
+        + "--changeset_f980-1cb6-94dd--" + CRLF
+        + "--batch_8194-cf13-1f56--";
+    final CountingInputStream in = new CountingInputStream(IOUtils.toInputStream(batch));
+    final BatchRequestPartIterator iterator = new BatchParser().parseBatchRequestStreamed(in, BOUNDARY,
+        BatchOptions.with().rawBaseUri(SERVICE_ROOT).build());
+
+    assertTrue(iterator.hasNext());
+    final BatchRequestPart first = iterator.next();
+    assertFalse(first.isChangeSet());
+    assertEquals(HttpMethod.GET, first.getRequests().get(0).getMethod());
+    assertTrue(in.getByteCount() < content.length());
+
+    assertTrue(iterator.hasNext());
+    final BatchRequestPart second = iterator.next();
+    assertTrue(second.isChangeSet());
+    assertEquals(content.toString(), IOUtils.toString(second.getRequests().get(0).getBody()));
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void streamedPartsBeforeInvalidPart() throws Exception {
+    final String batch = "--batch_8194-cf13-1f56" + CRLF
+        + GET_REQUEST
+        + "--batch_8194-cf13-1f56" + CRLF
+        + MIME_HEADERS
+        + CRLF
+        + "POST Employees('1')/EmployeeName HTTP/1.1" + CRLF
+        + CRLF
+        + CRLF
+        + "--batch_8194-cf13-1f56--";
+    final BatchRequestPartIterator iterator = new BatchParser().parseBatchRequestStreamed(
+        IOUtils.toInputStream(batch), BOUNDARY, BatchOptions.with().rawBaseUri(SERVICE_ROOT).build());
+
+    assertEquals(HttpMethod.GET, iterator.next().getRequests().get(0).getMethod());
+    try {
+      iterator.hasNext();
+      fail("Expected exception not thrown.");
+    } catch (final BatchDeserializerException e) {
+      assertMessageKey(e, MessageKeys.INVALID_QUERY_OPERATION_METHOD);
+    }
+  }
+
   private List<BatchRequestPart> parse(final InputStream in, final boolean isStrict) throws Exception {
     final BatchParser parser = new BatchParser();
     final BatchOptions options = BatchOptions.with().isStrict(isStrict).rawBaseUri(SERVICE_ROOT).build();
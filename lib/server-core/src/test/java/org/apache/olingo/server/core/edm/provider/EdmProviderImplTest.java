@@ -26,14 +26,19 @@ import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.EdmEnumType;
 import org.apache.olingo.commons.api.edm.EdmException;
 import org.apache.olingo.commons.api.edm.EdmTypeDefinition;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.server.api.edm.provider.AliasInfo;
 import org.apache.olingo.server.api.edm.provider.ComplexType;
 import org.apache.olingo.server.api.edm.provider.EdmProvider;
+import org.apache.olingo.server.api.edm.provider.EntityContainer;
 import org.apache.olingo.server.api.edm.provider.EntityContainerInfo;
+import org.apache.olingo.server.api.edm.provider.EntitySet;
 import org.apache.olingo.server.api.edm.provider.EntityType;
 import org.apache.olingo.server.api.edm.provider.EnumType;
+import org.apache.olingo.server.api.edm.provider.Property;
 import org.apache.olingo.server.api.edm.provider.PropertyRef;
+import org.apache.olingo.server.api.edm.provider.Schema;
 import org.apache.olingo.server.api.edm.provider.TypeDefinition;
 import org.junit.Before;
 import org.junit.Test;
@@ -41,13 +46,22 @@ import org.junit.Test;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class EdmProviderImplTest {
@@ -221,4 +235,89 @@ public class EdmProviderImplTest {
 
     assertNull(edm.getComplexType(WRONG_FQN));
   }
+
+  @Test
+  public void preloadServesTypesWithoutProvider() throws Exception {
+    EdmProvider localProvider = mock(EdmProvider.class);
+    EntityType entityType = new EntityType().setName(FQN.getName()).setKey(new ArrayList<PropertyRef>());
+    List<EntitySet> entitySets = new ArrayList<EntitySet>();
+    entitySets.add(new EntitySet().setName("entitySet").setType(FQN));
+    Schema schema = new Schema().setNamespace(FQN.getNamespace())
+        .setEntityTypes(Collections.singletonList(entityType))
+        .setEntityContainer(new EntityContainer().setName("container").setEntitySets(entitySets));
+    when(localProvider.getSchemas()).thenReturn(Collections.singletonList(schema));
+
+    EdmProviderImpl localEdm = new EdmProviderImpl(localProvider);
+    localEdm.preload();
+
+    final EdmEntityType edmEntityType = localEdm.getEntityType(FQN);
+    assertNotNull(edmEntityType);
+    assertSame(edmEntityType, localEdm.getEntityType(FQN));
+    assertSame(edmEntityType, localEdm.getSchemas().get(0).getEntityContainer()
+        .getEntitySet("entitySet").getEntityType());
+    verify(localProvider, never()).getEntityType(FQN);
+  }
+
+  @Test
+  public void concurrentFirstAccessSeesCompleteProperties() throws Exception {
+    List<Property> properties = new ArrayList<Property>();
+    for (int i = 0; i < 500; i++) {
+      properties.add(new Property().setName("P" + i).setType(EdmPrimitiveTypeKind.String.getFullQualifiedName()));
+    }
+    final EntityType entityType = new EntityType().setName(FQN.getName()).setProperties(properties)
+        .setKey(Collections.singletonList(new PropertyRef().setPropertyName("P0")));
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < 20; round++) {
+        EdmProvider localProvider = mock(EdmProvider.class);
+        when(localProvider.getEntityType(FQN)).thenReturn(entityType);
+        final EdmEntityType edmEntityType = new EdmProviderImpl(localProvider).getEntityType(FQN);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        for (int i = 0; i < threads; i++) {
+          results.add(executor.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+              start.await();
+              return edmEntityType.getPropertyNames().size() + " " + edmEntityType.getKeyPredicateNames()
+                  + " " + edmEntityType.getStructuralProperty("P499").getName();
+            }
+          }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+          assertEquals("500 [P0] P499", result.get());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentAccessReturnsSameInstance() throws Exception {
+    final int threads = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<EdmEntityType>> results = new ArrayList<Future<EdmEntityType>>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(new Callable<EdmEntityType>() {
+          @Override
+          public EdmEntityType call() throws Exception {
+            start.await();
+            return edm.getEntityType(FQN);
+          }
+        }));
+      }
+      start.countDown();
+      final EdmEntityType expected = edm.getEntityType(FQN);
+      for (Future<EdmEntityType> result : results) {
+        assertSame(expected, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntitySet;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmComplexType;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.commons.core.data.EntityImpl;
+import org.apache.olingo.commons.core.data.EntitySetImpl;
+import org.apache.olingo.commons.core.data.PropertyImpl;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.query.Page;
+import org.apache.olingo.server.api.query.PagingConfiguration;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.core.uri.UriInfoImpl;
+import org.apache.olingo.server.core.uri.UriResourceEntitySetImpl;
+import org.apache.olingo.server.core.uri.UriResourcePrimitivePropertyImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByItemImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.SkipTokenOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.TopOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MemberImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PagerImplTest {
+
+  private static final String BASE_URI = "http://localhost/service";
+  private static final String PATH = "/ESPaging";
+
+  private final PagerImpl pager = new PagerImpl(PagingConfiguration.with()
+      .maxPageSize("ESPaging", 10)
+      .secret(new byte[] { 1, 2, 3 })
+      .build());
+  private EdmEntitySet entitySet;
+  private EdmProperty name;
+  private EntitySet data;
+
+  @Before
+  public void setUp() {
+    final EdmProperty id = mockProperty("Id", EdmPrimitiveTypeKind.Int16);
+    name = mockProperty("Name", EdmPrimitiveTypeKind.String);
+    EdmKeyPropertyRef keyRef = mock(EdmKeyPropertyRef.class);
+    when(keyRef.getProperty()).thenReturn(id);
+    EdmEntityType entityType = mock(EdmEntityType.class);
+    when(entityType.getKeyPropertyRefs()).thenReturn(Collections.singletonList(keyRef));
+    entitySet = mock(EdmEntitySet.class);
+    when(entitySet.getName()).thenReturn("ESPaging");
+    when(entitySet.getEntityType()).thenReturn(entityType);
+
+    data = new EntitySetImpl();
+    // Entities are not stored in key order; ids 1 to 25, with names sorting in reverse.
+    for (int i = 0; i < 25; i++) {
+      final int value = (i * 7) % 25 + 1;
+      data.getEntities().add(new EntityImpl()
+          .addProperty(new PropertyImpl(null, "Id", ValueType.PRIMITIVE, (short) value))
+          .addProperty(new PropertyImpl(null, "Name", ValueType.PRIMITIVE, "N" + (100 - value))));
+    }
+  }
+
+  @Test
+  public void pagesInKeyOrder() throws Exception {
+    EntitySet page = read(null, createUriInfo(), null);
+    assertEquals(ids(1, 10), getIds(page));
+    assertNotNull(page.getNext());
+    assertTrue(page.getNext().toString().startsWith(BASE_URI + PATH + "?$skiptoken="));
+
+    page = read(page.getNext(), createUriInfo(), null);
+    assertEquals(ids(11, 20), getIds(page));
+    page = read(page.getNext(), createUriInfo(), null);
+    assertEquals(ids(21, 25), getIds(page));
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void positionSurvivesChanges() throws Exception {
+    final EntitySet page = read(null, createUriInfo(), null);
+    // Entities of the first page are deleted, including the last one the token refers to.
+    for (final Entity entity : new ArrayList<Entity>(data.getEntities())) {
+      final Short id = (Short) entity.getProperty("Id").getValue();
+      if (id == 3 || id == 10) {
+        data.getEntities().remove(entity);
+      }
+    }
+    assertEquals(ids(11, 20), getIds(read(page.getNext(), createUriInfo(), null)));
+  }
+
+  @Test
+  public void orderByAndTop() throws Exception {
+    OrderByItemImpl order = new OrderByItemImpl();
+    order.setExpression((ExpressionImpl) new MemberImpl().setResourcePath(
+        new UriInfoImpl().setKind(UriInfoKind.resource)
+            .addResourcePart(new UriResourcePrimitivePropertyImpl().setProperty(name))));
+    final UriInfoImpl uriInfo = createUriInfo()
+        .setSystemQueryOption(new OrderByOptionImpl().addOrder(order))
+        .setSystemQueryOption(new TopOptionImpl().setValue(15));
+    final String query = "$orderby=Name&$top=15";
+
+    EntitySet page = read(null, uriInfo, query);
+    assertEquals(Arrays.asList(25, 24, 23, 22, 21, 20, 19, 18, 17, 16), getIds(page));
+    assertNotNull(page.getNext());
+    page = read(page.getNext(), uriInfo, null);
+    assertEquals(Arrays.asList(15, 14, 13, 12, 11), getIds(page));
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void aliasedKey() throws Exception {
+    final EdmProperty id = mockProperty("Id", EdmPrimitiveTypeKind.Int16);
+    EdmComplexType complexType = mock(EdmComplexType.class);
+    when(complexType.getStructuralProperty("Id")).thenReturn(id);
+    EdmProperty complex = mock(EdmProperty.class);
+    when(complex.getName()).thenReturn("Comp");
+    when(complex.getType()).thenReturn(complexType);
+    EdmKeyPropertyRef keyRef = mock(EdmKeyPropertyRef.class);
+    when(keyRef.getAlias()).thenReturn("CompId");
+    when(keyRef.getPath()).thenReturn("Comp/Id");
+    when(keyRef.getProperty()).thenReturn(id);
+    when(entitySet.getEntityType().getKeyPropertyRefs()).thenReturn(Collections.singletonList(keyRef));
+    when(entitySet.getEntityType().getStructuralProperty("Comp")).thenReturn(complex);
+    for (Entity entity : data.getEntities()) {
+      entity.getProperties().add(new PropertyImpl(null, "Comp", ValueType.COMPLEX, Collections.singletonList(
+          new PropertyImpl(null, "Id", ValueType.PRIMITIVE, entity.getProperty("Id").getValue()))));
+      entity.getProperties().remove(entity.getProperty("Id"));
+    }
+
+    EntitySet page = read(null, createUriInfo(), null);
+    assertEquals(ids(1, 10), getCompIds(page));
+    page = read(page.getNext(), createUriInfo(), null);
+    assertEquals(ids(11, 20), getCompIds(page));
+  }
+
+  @Test
+  public void singlePageKeepsOrder() throws Exception {
+    data.getEntities().subList(3, data.getEntities().size()).clear();
+    final EntitySet page = read(null, createUriInfo(), null);
+    assertEquals(Arrays.asList(1, 8, 15), getIds(page));
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void maxPageSizePreference() throws Exception {
+    ODataRequest request = createRequest(null);
+    request.addHeader(HttpHeader.PREFER, Arrays.asList("return=minimal, odata.maxpagesize=4"));
+    ODataResponse response = new ODataResponse();
+    Page page = pager.createPage(request, createUriInfo(), entitySet);
+    assertEquals(4, page.getSize());
+    assertEquals(ids(1, 4), getIds(page.apply(data, response)));
+    assertEquals("odata.maxpagesize=4", response.getHeaders().get(HttpHeader.PREFERENCE_APPLIED));
+
+    request = createRequest(null);
+    request.addHeader(HttpHeader.PREFER, Arrays.asList("odata.maxpagesize=100"));
+    response = new ODataResponse();
+    page = pager.createPage(request, createUriInfo(), entitySet);
+    assertEquals(10, page.getSize());
+    page.apply(data, response);
+    assertNull(response.getHeaders().get(HttpHeader.PREFERENCE_APPLIED));
+  }
+
+  @Test
+  public void invalidSkipToken() throws Exception {
+    final URI next = read(null, createUriInfo(), null).getNext();
+    final String token = getSkipToken(next);
+    final String tampered = token.substring(0, 5) + (token.charAt(5) == 'A' ? 'B' : 'A') + token.substring(6);
+    assertInvalid("$skiptoken=" + tampered, tampered);
+    // A token must not be usable for a request with different options.
+    assertInvalid("$filter=Id%20gt%200&$skiptoken=" + token, token);
+  }
+
+  @Test
+  public void configurationIndependentOfBuilder() throws Exception {
+    final byte[] secret = new byte[] { 1, 2, 3 };
+    PagingConfiguration.Builder builder = PagingConfiguration.with().maxPageSize("ESPaging", 10).secret(secret);
+    final PagingConfiguration configuration = builder.build();
+    builder.maxPageSize("ESPaging", 20).defaultMaxPageSize(5).secret(new byte[] { 4 });
+    secret[0] = 9;
+    assertEquals(10, configuration.getMaxPageSize("ESPaging"));
+    assertEquals(PagingConfiguration.DEFAULT_MAX_PAGE_SIZE, configuration.getMaxPageSize("ESAllPrim"));
+    assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, configuration.getSecret()));
+    assertEquals(20, builder.build().getMaxPageSize("ESPaging"));
+  }
+
+  private void assertInvalid(final String query, final String token) {
+    try {
+      pager.createPage(createRequest(query),
+          createUriInfo().setSystemQueryOption(new SkipTokenOptionImpl().setValue(token)),
+          entitySet);
+      fail("Expected exception not thrown.");
+    } catch (final ODataApplicationException e) {
+      assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  /** Reads a page; the query is taken from the next link if given. */
+  private EntitySet read(final URI next, final UriInfoImpl uriInfo, final String query)
+      throws ODataApplicationException {
+    if (next != null) {
+      uriInfo.setSystemQueryOption(new SkipTokenOptionImpl().setValue(getSkipToken(next)));
+    }
+    return pager.createPage(createRequest(next == null ? query : next.getRawQuery()), uriInfo, entitySet)
+        .apply(data, new ODataResponse());
+  }
+
+  private ODataRequest createRequest(final String query) {
+    ODataRequest request = new ODataRequest();
+    request.setRawBaseUri(BASE_URI);
+    request.setRawODataPath(PATH);
+    request.setRawQueryPath(query);
+    return request;
+  }
+
+  private UriInfoImpl createUriInfo() {
+    return new UriInfoImpl().setKind(UriInfoKind.resource)
+        .addResourcePart(new UriResourceEntitySetImpl().setEntitSet(entitySet));
+  }
+
+  private String getSkipToken(final URI next) {
+    final String query = next.getRawQuery();
+    return query.substring(query.indexOf("$skiptoken=") + "$skiptoken=".length());
+  }
+
+  private List<Integer> getIds(final EntitySet page) {
+    List<Integer> ids = new ArrayList<Integer>();
+    for (final Entity entity : page.getEntities()) {
+      ids.add(((Short) entity.getProperty("Id").getValue()).intValue());
+    }
+    return ids;
+  }
+
+  private List<Integer> getCompIds(final EntitySet page) {
+    List<Integer> ids = new ArrayList<Integer>();
+    for (final Entity entity : page.getEntities()) {
+      ids.add(((Short) entity.getProperty("Comp").asComplex().get(0).getValue()).intValue());
+    }
+    return ids;
+  }
+
+  private List<Integer> ids(final int from, final int to) {
+    List<Integer> ids = new ArrayList<Integer>();
+    for (int id = from; id <= to; id++) {
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  private EdmProperty mockProperty(final String propertyName, final EdmPrimitiveTypeKind kind) {
+    EdmProperty property = mock(EdmProperty.class);
+    when(property.getName()).thenReturn(propertyName);
+    when(property.getType()).thenReturn(EdmPrimitiveTypeFactory.getInstance(kind));
+    when(property.isPrimitive()).thenReturn(true);
+    return property;
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.commons.core.data.EntityImpl;
+import org.apache.olingo.commons.core.data.PropertyImpl;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.query.QueryPlan;
+import org.apache.olingo.server.api.query.SqlQuery;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.apache.olingo.server.core.uri.UriInfoImpl;
+import org.apache.olingo.server.core.uri.UriResourceEntitySetImpl;
+import org.apache.olingo.server.core.uri.UriResourcePrimitivePropertyImpl;
+import org.apache.olingo.server.core.uri.queryoption.CountOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.FilterOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByItemImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.SearchOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.SelectItemImpl;
+import org.apache.olingo.server.core.uri.queryoption.SelectOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.SkipOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.TopOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.BinaryImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionEvaluatorImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.ExpressionImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.LiteralImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MemberImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MethodImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.UnaryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SqlQueryTranslatorTest {
+
+  private EdmEntitySet entitySet;
+  private EdmProperty id;
+  private EdmProperty name;
+  private EdmProperty nickname;
+
+  @Before
+  public void setUp() {
+    id = mockProperty("Id");
+    name = mockProperty("Name");
+    nickname = mockProperty("Nickname");
+    EdmEntityType entityType = mock(EdmEntityType.class);
+    when(entityType.getKeyPredicateNames()).thenReturn(Collections.singletonList("Id"));
+    when(entityType.getProperty("Id")).thenReturn(id);
+    when(entityType.getProperty("Name")).thenReturn(name);
+    when(entityType.getProperty("Nickname")).thenReturn(nickname);
+    entitySet = mock(EdmEntitySet.class);
+    when(entitySet.getName()).thenReturn("Persons");
+    when(entitySet.getEntityType()).thenReturn(entityType);
+  }
+
+  @Test
+  public void plainEntitySet() throws Exception {
+    final SqlQuery query = new SqlQueryTranslator().translate(QueryPlanImpl.create(createUriInfo()));
+    assertEquals("SELECT * FROM \"Persons\"", query.getStatement());
+    assertEquals(Collections.emptyList(), query.getParameters());
+    assertNull(query.getCountStatement());
+  }
+
+  @Test
+  public void allOptions() throws Exception {
+    BinaryImpl filter = new BinaryImpl();
+    filter.setLeftOperand(member(id));
+    filter.setOperator(BinaryOperatorKind.GT);
+    filter.setRightOperand(new LiteralImpl().setText("42"));
+    OrderByItemImpl order = new OrderByItemImpl();
+    order.setExpression(member(name));
+    order.setDescending(true);
+    final UriInfoImpl uriInfo = createUriInfo()
+        .setSystemQueryOption(new SelectOptionImpl().setSelectItems(Collections.singletonList(
+            new SelectItemImpl().setResourcePath(new UriInfoImpl().setKind(UriInfoKind.resource)
+                .addResourcePart(new UriResourcePrimitivePropertyImpl().setProperty(name))))))
+        .setSystemQueryOption(new FilterOptionImpl().setExpression(filter))
+        .setSystemQueryOption(new OrderByOptionImpl().addOrder(order))
+        .setSystemQueryOption(new SkipOptionImpl().setValue(10))
+        .setSystemQueryOption(new TopOptionImpl().setValue(5))
+        .setSystemQueryOption(new CountOptionImpl().setValue(true));
+
+    final QueryPlan plan = QueryPlanImpl.create(uriInfo);
+    assertEquals(Arrays.asList("Id", "Name"), plan.getSelectedProperties());
+
+    final SqlQuery query = new SqlQueryTranslator().translate(plan);
+    assertEquals("SELECT \"Id\", \"Name\" FROM \"Persons\" WHERE (\"Id\" > ? AND \"Id\" IS NOT NULL)"
+        + " ORDER BY \"Name\" DESC NULLS LAST OFFSET ? ROWS FETCH FIRST ? ROWS ONLY",
+        query.getStatement());
+    assertEquals(Arrays.<Object> asList(42L, 10, 5), query.getParameters());
+    assertEquals("SELECT COUNT(*) FROM \"Persons\" WHERE (\"Id\" > ? AND \"Id\" IS NOT NULL)",
+        query.getCountStatement());
+    assertEquals(Collections.<Object> singletonList(42L), query.getCountParameters());
+  }
+
+  @Test
+  public void nullComparisonAndLike() throws Exception {
+    BinaryImpl isNull = new BinaryImpl();
+    isNull.setLeftOperand(member(name));
+    isNull.setOperator(BinaryOperatorKind.NE);
+    isNull.setRightOperand(new LiteralImpl().setText("null"));
+    BinaryImpl filter = new BinaryImpl();
+    filter.setLeftOperand(isNull);
+    filter.setOperator(BinaryOperatorKind.AND);
+    filter.setRightOperand(new MethodImpl().setMethod(MethodKind.STARTSWITH)
+        .addParameter(member(name)).addParameter(new LiteralImpl().setText("'50%_'")));
+
+    final SqlQuery query = new SqlQueryTranslator().translate(
+        QueryPlanImpl.create(createUriInfo().setSystemQueryOption(new FilterOptionImpl().setExpression(filter))));
+    assertEquals("SELECT * FROM \"Persons\" WHERE ((\"Name\" IS NOT NULL) AND (\"Name\" LIKE ? ESCAPE '\\'))",
+        query.getStatement());
+    assertEquals(Collections.<Object> singletonList("50\\%\\_%"), query.getParameters());
+  }
+
+  @Test
+  public void nullSemanticsAsInMemory() throws Exception {
+    final List<Entity> entities = Arrays.asList(
+        createEntity(1, "a", "a"), createEntity(2, null, null), createEntity(3, "x", "y"),
+        createEntity(4, null, "a"), createEntity(5, "x", null));
+
+    final ExpressionImpl notValue = binary(member(name), BinaryOperatorKind.NE, new LiteralImpl().setText("'x'"));
+    assertEquals(Arrays.asList(1, 2, 4), filterInMemory(entities, notValue));
+    SqlQuery query = translate(notValue);
+    assertEquals("SELECT * FROM \"Persons\" WHERE (\"Name\" <> ? OR \"Name\" IS NULL)", query.getStatement());
+    assertEquals(Collections.<Object> singletonList("x"), query.getParameters());
+
+    final ExpressionImpl equalColumns = binary(member(name), BinaryOperatorKind.EQ, member(nickname));
+    assertEquals(Arrays.asList(1, 2), filterInMemory(entities, equalColumns));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (\"Name\" IS NOT DISTINCT FROM \"Nickname\")",
+        translate(equalColumns).getStatement());
+
+    final ExpressionImpl differentColumns = binary(member(name), BinaryOperatorKind.NE, member(nickname));
+    assertEquals(Arrays.asList(3, 4, 5), filterInMemory(entities, differentColumns));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (\"Name\" IS DISTINCT FROM \"Nickname\")",
+        translate(differentColumns).getStatement());
+
+    final ExpressionImpl equalValue = binary(new LiteralImpl().setText("'x'"), BinaryOperatorKind.EQ, member(name));
+    assertEquals(Arrays.asList(3, 5), filterInMemory(entities, equalValue));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (? = \"Name\" AND \"Name\" IS NOT NULL)",
+        translate(equalValue).getStatement());
+
+    // Comparisons are never unknown, so negating them selects the complement also for null values.
+    final ExpressionImpl notEqualValue = not(equalValue);
+    assertEquals(Arrays.asList(1, 2, 4), filterInMemory(entities, notEqualValue));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (NOT (? = \"Name\" AND \"Name\" IS NOT NULL))",
+        translate(notEqualValue).getStatement());
+
+    final ExpressionImpl notGreater =
+        not(binary(member(name), BinaryOperatorKind.GT, new LiteralImpl().setText("'b'")));
+    assertEquals(Arrays.asList(1, 2, 4), filterInMemory(entities, notGreater));
+    query = translate(notGreater);
+    assertEquals("SELECT * FROM \"Persons\" WHERE (NOT (\"Name\" > ? AND \"Name\" IS NOT NULL))",
+        query.getStatement());
+    assertEquals(Collections.<Object> singletonList("b"), query.getParameters());
+
+    final ExpressionImpl notGreaterOrEqualColumns = not(binary(member(name), BinaryOperatorKind.GE, member(nickname)));
+    assertEquals(Arrays.asList(3, 4, 5), filterInMemory(entities, notGreaterOrEqualColumns));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (NOT ((\"Name\" >= \"Nickname\""
+        + " AND \"Name\" IS NOT NULL AND \"Nickname\" IS NOT NULL) OR (\"Name\" IS NULL AND \"Nickname\" IS NULL)))",
+        translate(notGreaterOrEqualColumns).getStatement());
+
+    final ExpressionImpl notLessThanNull = not(binary(member(name), BinaryOperatorKind.LT,
+        new LiteralImpl().setText("null")));
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), filterInMemory(entities, notLessThanNull));
+    assertEquals("SELECT * FROM \"Persons\" WHERE (NOT (1 = 0))", translate(notLessThanNull).getStatement());
+  }
+
+  @Test
+  public void jdbcParameters() throws Exception {
+    final ExpressionImpl filter = binary(
+        binary(binary(member(name), BinaryOperatorKind.EQ, new LiteralImpl().setText("2012-12-03")),
+            BinaryOperatorKind.OR,
+            binary(member(name), BinaryOperatorKind.EQ, new LiteralImpl().setText("2012-12-03T07:16:23Z"))),
+        BinaryOperatorKind.OR,
+        binary(binary(member(name), BinaryOperatorKind.EQ, new LiteralImpl().setText("07:16:23.5")),
+            BinaryOperatorKind.OR,
+            binary(member(name), BinaryOperatorKind.EQ,
+                new LiteralImpl().setText("01234567-89ab-cdef-0123-456789abcdef"))));
+    final List<Object> parameters = translate(filter).getParameters();
+    assertEquals(java.sql.Date.valueOf("2012-12-03"), parameters.get(0));
+    assertEquals(new java.sql.Timestamp(1354518983000L), parameters.get(1));
+    assertEquals(java.sql.Time.valueOf("07:16:23").getTime() + 500, ((java.sql.Time) parameters.get(2)).getTime());
+    assertEquals("01234567-89ab-cdef-0123-456789abcdef", parameters.get(3));
+  }
+
+  @Test
+  public void unsupportedMethod() throws Exception {
+    final MethodImpl filter = new MethodImpl().setMethod(MethodKind.GEODISTANCE)
+        .addParameter(member(name)).addParameter(member(name));
+    try {
+      new SqlQueryTranslator().translate(
+          QueryPlanImpl.create(createUriInfo().setSystemQueryOption(new FilterOptionImpl().setExpression(filter))));
+      fail("Expected exception not thrown.");
+    } catch (final ODataApplicationException e) {
+      assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  @Test
+  public void unsupportedOption() throws Exception {
+    try {
+      QueryPlanImpl.create(createUriInfo().setSystemQueryOption(new SearchOptionImpl()));
+      fail("Expected exception not thrown.");
+    } catch (final ODataApplicationException e) {
+      assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  private SqlQuery translate(final ExpressionImpl filter) throws ODataApplicationException {
+    return new SqlQueryTranslator().translate(QueryPlanImpl.create(
+        createUriInfo().setSystemQueryOption(new FilterOptionImpl().setExpression(filter))));
+  }
+
+  private List<Integer> filterInMemory(final List<Entity> entities, final ExpressionImpl filter)
+      throws ODataApplicationException {
+    List<Integer> ids = new ArrayList<Integer>();
+    for (final Entity entity : new ExpressionEvaluatorImpl().compile(new FilterOptionImpl().setExpression(filter))
+        .filter(entities, null)) {
+      ids.add((Integer) entity.getProperty("Id").getValue());
+    }
+    return ids;
+  }
+
+  private Entity createEntity(final int idValue, final String nameValue, final String nicknameValue) {
+    return new EntityImpl()
+        .addProperty(new PropertyImpl(null, "Id", ValueType.PRIMITIVE, idValue))
+        .addProperty(new PropertyImpl(null, "Name", ValueType.PRIMITIVE, nameValue))
+        .addProperty(new PropertyImpl(null, "Nickname", ValueType.PRIMITIVE, nicknameValue));
+  }
+
+  private ExpressionImpl binary(final Expression left, final BinaryOperatorKind operator, final Expression right) {
+    BinaryImpl binary = new BinaryImpl();
+    binary.setLeftOperand((ExpressionImpl) left);
+    binary.setOperator(operator);
+    binary.setRightOperand((ExpressionImpl) right);
+    return binary;
+  }
+
+  private ExpressionImpl not(final ExpressionImpl operand) {
+    UnaryImpl unary = new UnaryImpl();
+    unary.setOperator(UnaryOperatorKind.NOT);
+    unary.setOperand(operand);
+    return unary;
+  }
+
+  private UriInfoImpl createUriInfo() {
+    return new UriInfoImpl().setKind(UriInfoKind.resource)
+        .addResourcePart(new UriResourceEntitySetImpl().setEntitSet(entitySet));
+  }
+
+  private EdmProperty mockProperty(final String propertyName) {
+    EdmProperty property = mock(EdmProperty.class);
+    when(property.getName()).thenReturn(propertyName);
+    when(property.isPrimitive()).thenReturn(true);
+    when(property.getType()).thenReturn(EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.String));
+    return property;
+  }
+
+  private ExpressionImpl member(final EdmProperty property) {
+    return (ExpressionImpl) new MemberImpl().setResourcePath(new UriInfoImpl().setKind(UriInfoKind.resource)
+        .addResourcePart(new UriResourcePrimitivePropertyImpl().setProperty(property)));
+  }
+}
@@ -27,6 +27,7 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.olingo.commons.api.ODataException;
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.Property;
@@ -34,6 +35,7 @@ import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.core.data.PropertyImpl;
 import org.apache.olingo.server.api.serializer.ComplexSerializerOptions;
+import org.apache.olingo.server.api.serializer.SerializerConfiguration;
 import org.junit.Test;
 
 public class ODataJsonSerializerTest {
@@ -60,6 +62,28 @@ public class ODataJsonSerializerTest {
 
   }
 
+  @Test
+  public void configuredBufferSize() throws Exception {
+    final List<Property> col = new ArrayList<Property>();
+    col.add(new PropertyImpl(null, "ComplexOne", ValueType.COMPLEX, getValues(1)));
+    col.add(new PropertyImpl(null, "ComplexTwo", ValueType.COMPLEX, getValues(2)));
+    final Property complexCollection = new PropertyImpl(null, "ComplexCol", ValueType.COLLECTION_COMPLEX, col);
+    final ComplexSerializerOptions options = ComplexSerializerOptions.with()
+        .contextURL(ContextURL.with().selectList("ComplexCollection").build()).build();
+
+    final String expected = IOUtils.toString(new ODataJsonSerializer(ODataFormat.APPLICATION_JSON)
+        .complexCollection(ComplexTypeHelper.createType(), complexCollection, options));
+    final ODataJsonSerializer serializer = new ODataJsonSerializer(ODataFormat.APPLICATION_JSON,
+        SerializerConfiguration.with().bufferSize(16).build());
+    assertEquals(expected, IOUtils.toString(
+        serializer.complexCollection(ComplexTypeHelper.createType(), complexCollection, options)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBufferSize() {
+    SerializerConfiguration.with().bufferSize(0);
+  }
+
   private List<Property> getValues(int i) {
     final List<Property> values = new ArrayList<Property>();
 
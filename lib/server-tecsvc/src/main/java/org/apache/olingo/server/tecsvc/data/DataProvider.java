@@ -68,6 +68,7 @@ public class DataProvider {
     data.put("ESAllKey", createESAllKey());
     data.put("ESCompComp", createESCompComp());
     data.put("ESMedia", createESMedia());
+    data.put("ESServerSidePaging", createESServerSidePaging());
 
     linkESTwoPrim();
     linkESAllPrim();
@@ -196,6 +197,18 @@ public class DataProvider {
     return entitySet;
   }
 
+  private EntitySet createESServerSidePaging() {
+    EntitySet entitySet = new EntitySetImpl();
+
+    for (int i = 1; i <= 503; i++) {
+      entitySet.getEntities().add(new EntityImpl()
+          .addProperty(createPrimitive("PropertyInt16", i))
+          .addProperty(createPrimitive("PropertyString", "Number:" + i)));
+    }
+
+    return entitySet;
+  }
+
   private EntitySet createESAllPrim() {
     EntitySet entitySet = new EntitySetImpl();
 
@@ -32,7 +32,7 @@ import org.apache.olingo.server.api.batch.BatchFacade;
 import org.apache.olingo.server.api.batch.exception.BatchDeserializerException;
 import org.apache.olingo.server.api.batch.exception.BatchSerializerException;
 import org.apache.olingo.server.api.deserializer.batch.BatchOptions;
-import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
+import org.apache.olingo.server.api.deserializer.batch.BatchRequestPartIterator;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.api.processor.BatchProcessor;
 import org.apache.olingo.server.tecsvc.data.DataProvider;
@@ -53,23 +53,9 @@ public class TechnicalBatchProcessor extends TechnicalProcessor implements Batch
     final BatchOptions options = BatchOptions.with()
                                          .rawBaseUri(request.getRawBaseUri())
                                          .rawServiceResolutionUri(request.getRawServiceResolutionUri()).build();
-    final List<BatchRequestPart> parts = odata.createFixedFormatDeserializer().parseBatchRequest(request.getBody(),
-        boundary, options);
-    final List<ODataResponsePart> responseParts = new ArrayList<ODataResponsePart>();
-
-    for (BatchRequestPart part : parts) {
-      final ODataResponsePart responsePart = fascade.handleBatchRequest(part);
-      responseParts.add(responsePart); // Also add failed responses
-      final int statusCode = responsePart.getResponses().get(0).getStatusCode();
-
-      if ((statusCode >= 400 && statusCode <= 600) && !continueOnError) {
-
-        // Perform some additions actions
-        // ...
-
-        break; // Stop processing, but serialize all recent requests
-      }
-    }
+    final BatchRequestPartIterator parts = odata.createFixedFormatDeserializer()
+        .parseBatchRequestStreamed(request.getBody(), boundary, options);
+    final List<ODataResponsePart> responseParts = fascade.handleBatchRequests(parts, continueOnError);
 
     final String responseBoundary = "batch_" + UUID.randomUUID().toString();;
     final InputStream responseContent =
@@ -31,6 +31,7 @@ import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.api.http.HttpContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.commons.core.data.EntitySetImpl;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
@@ -41,6 +42,7 @@ import org.apache.olingo.server.api.processor.CountEntityCollectionProcessor;
 import org.apache.olingo.server.api.processor.EntityCollectionProcessor;
 import org.apache.olingo.server.api.processor.EntityProcessor;
 import org.apache.olingo.server.api.processor.MediaEntityProcessor;
+import org.apache.olingo.server.api.query.PagingConfiguration;
 import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.EntitySerializerOptions;
@@ -50,6 +52,7 @@ import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.UriResourceKind;
 import org.apache.olingo.server.api.uri.queryoption.ExpandOption;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
 import org.apache.olingo.server.api.uri.queryoption.SelectOption;
 import org.apache.olingo.server.tecsvc.data.DataProvider;
 
@@ -60,6 +63,11 @@ public class TechnicalEntityProcessor extends TechnicalProcessor
     implements EntityCollectionProcessor, ActionEntityCollectionProcessor, CountEntityCollectionProcessor,
         EntityProcessor, ActionEntityProcessor, MediaEntityProcessor {
 
+  /** Paging is demonstrated with a small page size; the other entity sets fit into the default page size. */
+  private static final PagingConfiguration PAGING = PagingConfiguration.with()
+      .maxPageSize("ESServerSidePaging", 10)
+      .build();
+
   public TechnicalEntityProcessor(final DataProvider dataProvider) {
     super(dataProvider);
   }
@@ -67,12 +75,16 @@ public class TechnicalEntityProcessor extends TechnicalProcessor
   @Override
   public void readEntityCollection(final ODataRequest request, ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, SerializerException {
-    validateOptions(uriInfo.asUriInfoResource());
+    validateOptions(uriInfo.asUriInfoResource(), true);
     blockNavigation(uriInfo);
 
     final EdmEntitySet edmEntitySet = getEdmEntitySet(uriInfo.asUriInfoResource());
-    final EntitySet entitySet = readEntitySetInternal(edmEntitySet,
-        uriInfo.getCountOption() != null && uriInfo.getCountOption().getValue());
+    final boolean withCount = uriInfo.getCountOption() != null && uriInfo.getCountOption().getValue();
+    EntitySet entitySet = readEntitySetInternal(edmEntitySet, withCount);
+    if (entitySet != null) {
+      entitySet = odata.createPager(PAGING).createPage(request, uriInfo.asUriInfoResource(), edmEntitySet)
+          .apply(applyFilter(entitySet, uriInfo.getFilterOption(), withCount), response);
+    }
     if (entitySet == null) {
       throw new ODataApplicationException("Nothing found.", HttpStatusCode.NOT_FOUND.getStatusCode(), Locale.ROOT);
     } else {
@@ -279,10 +291,25 @@ public class TechnicalEntityProcessor extends TechnicalProcessor
     }
   }
 
+  private EntitySet applyFilter(final EntitySet entitySet, final FilterOption filter, final boolean withCount)
+      throws ODataApplicationException {
+    if (filter == null) {
+      return entitySet;
+    }
+    final List<Entity> entities =
+        odata.createExpressionEvaluator().compile(filter).filter(entitySet.getEntities(), null);
+    EntitySet result = new EntitySetImpl();
+    result.getEntities().addAll(entities);
+    if (withCount) {
+      result.setCount(entities.size());
+    }
+    return result;
+  }
+
   private EntitySet readEntitySetInternal(final EdmEntitySet edmEntitySet, final boolean withCount)
       throws DataProvider.DataProviderException {
     EntitySet entitySet = dataProvider.readAll(edmEntitySet);
-    // TODO: set count (correctly) and next link
+    // TODO: set count (correctly)
     if (withCount && entitySet.getCount() == null) {
       entitySet.setCount(entitySet.getEntities().size());
     }
@@ -67,15 +67,20 @@ public abstract class TechnicalProcessor implements Processor {
   }
 
   protected void validateOptions(final UriInfoResource uriInfo) throws ODataApplicationException {
+    validateOptions(uriInfo, false);
+  }
+
+  protected void validateOptions(final UriInfoResource uriInfo, final boolean collectionOptionsSupported)
+      throws ODataApplicationException {
     if (uriInfo.getCountOption() != null
         || !uriInfo.getCustomQueryOptions().isEmpty()
-        || uriInfo.getFilterOption() != null
+        || !collectionOptionsSupported && uriInfo.getFilterOption() != null
         || uriInfo.getIdOption() != null
-        || uriInfo.getOrderByOption() != null
+        || !collectionOptionsSupported && uriInfo.getOrderByOption() != null
         || uriInfo.getSearchOption() != null
-        || uriInfo.getSkipOption() != null
-        || uriInfo.getSkipTokenOption() != null
-        || uriInfo.getTopOption() != null) {
+        || !collectionOptionsSupported && uriInfo.getSkipOption() != null
+        || !collectionOptionsSupported && uriInfo.getSkipTokenOption() != null
+        || !collectionOptionsSupported && uriInfo.getTopOption() != null) {
       throw new ODataApplicationException("Not all of the specified options are supported.",
           HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), Locale.ROOT);
     }
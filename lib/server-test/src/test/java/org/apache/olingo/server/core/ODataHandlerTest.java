@@ -21,7 +21,9 @@ package org.apache.olingo.server.core;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -29,11 +31,18 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.olingo.commons.api.ODataException;
@@ -151,6 +160,36 @@ public class ODataHandlerTest {
         containsString("<edmx:Edmx Version=\"4.0\""));
   }
 
+  @Test
+  public void metadataNotModified() throws Exception {
+    final ODataResponse response = dispatch(HttpMethod.GET, "$metadata", null);
+    final String eTag = response.getHeaders().get(HttpHeader.ETAG);
+    assertNotNull(eTag);
+    assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+    assertEquals(eTag, dispatch(HttpMethod.GET, "$metadata", null).getHeaders().get(HttpHeader.ETAG));
+
+    ODataResponse conditional = dispatch(HttpMethod.GET, "$metadata", null, HttpHeader.IF_NONE_MATCH, eTag, null);
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), conditional.getStatusCode());
+    assertNull(conditional.getContent());
+    assertEquals(eTag, conditional.getHeaders().get(HttpHeader.ETAG));
+
+    conditional = dispatch(HttpMethod.GET, "$metadata", null, HttpHeader.IF_NONE_MATCH, "\"other\", W/" + eTag, null);
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), conditional.getStatusCode());
+
+    conditional = dispatch(HttpMethod.GET, "$metadata", null, HttpHeader.IF_NONE_MATCH, "\"other\"", null);
+    assertEquals(HttpStatusCode.OK.getStatusCode(), conditional.getStatusCode());
+    assertNotNull(conditional.getContent());
+  }
+
+  @Test
+  public void serviceDocumentNotModified() throws Exception {
+    final String eTag = dispatch(HttpMethod.GET, "/", null).getHeaders().get(HttpHeader.ETAG);
+    assertNotNull(eTag);
+    final ODataResponse response = dispatch(HttpMethod.GET, "/", null, HttpHeader.IF_NONE_MATCH, eTag, null);
+    assertEquals(HttpStatusCode.NOT_MODIFIED.getStatusCode(), response.getStatusCode());
+    assertNull(response.getContent());
+  }
+
   @Test
   public void maxVersionNone() {
     final ODataResponse response = dispatch(HttpMethod.GET, "$metadata", null);
@@ -218,6 +257,18 @@ public class ODataHandlerTest {
     assertEquals(425, response.getStatusCode());
   }
 
+  @Test
+  public void decodedRequestBodyTooLarge() throws Exception {
+    MetadataProcessor processor = mock(MetadataProcessor.class);
+    final IOException tooLarge = new IOException("too large", new ODataHandlerException("too large",
+        ODataHandlerException.MessageKeys.DECODED_CONTENT_TOO_LARGE, "1000"));
+    doThrow(new ODataApplicationException("The body cannot be read.", HttpStatusCode.BAD_REQUEST.getStatusCode(),
+        Locale.ROOT, tooLarge)).when(processor).readMetadata(
+        any(ODataRequest.class), any(ODataResponse.class), any(UriInfo.class), any(ContentType.class));
+    final ODataResponse response = dispatch(HttpMethod.GET, "$metadata", processor);
+    assertEquals(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), response.getStatusCode());
+  }
+
   @Test
   public void uriParserExceptionResultsInRightResponseEdmCause() throws Exception {
     final OData odata = OData.newInstance();
@@ -634,6 +685,67 @@ public class ODataHandlerTest {
             any(ContentType.class));
   }
 
+  @Test
+  public void concurrentRequestsOnSharedHandler() throws Exception {
+    final OData odata = OData.newInstance();
+    final ODataHandler handler = new ODataHandler(odata,
+        odata.createServiceMetadata(new EdmTechProvider(), Collections.<EdmxReference> emptyList()));
+    final String[][] requests = {
+        { "GET", "$metadata", null },
+        { "GET", "$metadata", "$format=xml" },
+        { "POST", "$metadata", "$format=xml" },
+        { "GET", "$metadata", "$format=json" },
+        { "GET", "$metadata", "$wrong=1" },
+        { "GET", "$wrong", null } };
+
+    // Responses of sequentially processed requests are the reference.
+    final String[] expected = new String[requests.length];
+    for (int i = 0; i < requests.length; i++) {
+      expected[i] = describe(handler.process(createRequest(requests[i])));
+    }
+
+    final int threads = 8;
+    final int iterations = 50;
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> results = new ArrayList<Future<Void>>();
+      for (int t = 0; t < threads; t++) {
+        final int offset = t;
+        results.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            start.await();
+            for (int i = 0; i < iterations; i++) {
+              final int index = (offset + i) % requests.length;
+              assertEquals(expected[index], describe(handler.process(createRequest(requests[index]))));
+            }
+            return null;
+          }
+        }));
+      }
+      start.countDown();
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ODataRequest createRequest(final String[] parts) {
+    ODataRequest request = new ODataRequest();
+    request.setMethod(HttpMethod.valueOf(parts[0]));
+    request.setRawBaseUri(BASE_URI);
+    request.setRawODataPath(parts[1]);
+    request.setRawQueryPath(parts[2]);
+    return request;
+  }
+
+  private String describe(final ODataResponse response) {
+    return response.getStatusCode() + " " + response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+  }
+
   private ODataResponse dispatch(final HttpMethod method, final String path, final String query,
       final String headerName, final String headerValue, final Processor processor) {
     Map<String, List<String>> headers = null;
@@ -30,8 +30,6 @@ import org.apache.olingo.commons.api.data.Link;
 import org.apache.olingo.commons.api.domain.ODataLinkType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
-import org.apache.olingo.commons.api.format.ODataFormat;
-import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.junit.Test;
 
@@ -41,7 +39,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
   public void esAllPrimExpandedToOne() throws Exception {
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimOne.json");
-    Entity entity = OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+    Entity entity = createDeserializer().entity(stream, edmEntityType);
 
     Link navigationLink = entity.getNavigationLink("NavPropertyETTwoPrimOne");
     assertNotNull(navigationLink);
@@ -56,14 +54,14 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
   public void esAllPrimExpandedToOneWithODataAnnotations() throws Exception {
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimOneWithODataAnnotations.json");
-    OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+    createDeserializer().entity(stream, edmEntityType);
   }
 
   @Test
   public void esAllPrimExpandedToMany() throws Exception {
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimMany.json");
-    Entity entity = OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+    Entity entity = createDeserializer().entity(stream, edmEntityType);
 
     Link navigationLink = entity.getNavigationLink("NavPropertyETTwoPrimMany");
     assertNotNull(navigationLink);
@@ -79,7 +77,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
   public void esAllPrimExpandedToManyWithODataAnnotations() throws Exception {
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimManyWithODataAnnotations.json");
-    OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+    createDeserializer().entity(stream, edmEntityType);
   }
 
   @Test(expected = DeserializerException.class)
@@ -87,7 +85,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimOneWithCustomAnnotations.json");
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
       throw e;
@@ -99,7 +97,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("EntityESAllPrimExpandedNavPropertyETTwoPrimManyWithCustomAnnotations.json");
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
       throw e;
@@ -115,7 +113,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, e.getMessageKey());
       throw e;
@@ -131,7 +129,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_VALUE_FOR_NAVIGATION_PROPERTY, e.getMessageKey());
       throw e;
@@ -147,7 +145,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, e.getMessageKey());
       throw e;
@@ -163,7 +161,7 @@ public class ODataDeserializerDeepInsertTest extends AbstractODataDeserializerTe
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entity(stream, edmEntityType);
+      createDeserializer().entity(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_VALUE_FOR_NAVIGATION_PROPERTY, e.getMessageKey());
       throw e;
@@ -32,8 +32,6 @@ import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
-import org.apache.olingo.commons.api.format.ODataFormat;
-import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.junit.Test;
 
@@ -44,7 +42,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("ESAllPrim.json");
     EntitySet entitySet =
-        OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+        createDeserializer().entityCollection(stream, edmEntityType);
 
     assertNotNull(entitySet);
     assertEquals(3, entitySet.getEntities().size());
@@ -78,7 +76,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETCompCollComp"));
     InputStream stream = getFileAsStream("ESCompCollComp.json");
     EntitySet entitySet =
-        OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+        createDeserializer().entityCollection(stream, edmEntityType);
 
     assertNotNull(entitySet);
     assertEquals(2, entitySet.getEntities().size());
@@ -90,7 +88,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
   public void esAllPrimODataAnnotationsAreIgnored() throws Exception {
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("ESAllPrimWithODataAnnotations.json");
-    OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+    createDeserializer().entityCollection(stream, edmEntityType);
   }
 
   @Test
@@ -99,7 +97,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     EntitySet entityCollection =
-        OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+        createDeserializer().entityCollection(stream, edmEntityType);
     assertNotNull(entityCollection.getEntities());
     assertTrue(entityCollection.getEntities().isEmpty());
   }
@@ -109,7 +107,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("ESAllPrimWithCustomAnnotations.json");
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
       throw e;
@@ -121,7 +119,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     InputStream stream = getFileAsStream("ESAllPrimWithDoubleKey.json");
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.DUPLICATE_JSON_PROPERTY, e.getMessageKey());
       throw e;
@@ -134,7 +132,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.VALUE_TAG_MUST_BE_AN_ARRAY, e.getMessageKey());
       throw e;
@@ -147,7 +145,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.VALUE_TAG_MUST_BE_AN_ARRAY, e.getMessageKey());
       throw e;
@@ -160,7 +158,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.VALUE_TAG_MUST_BE_AN_ARRAY, e.getMessageKey());
       throw e;
@@ -173,7 +171,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.VALUE_ARRAY_NOT_PRESENT, e.getMessageKey());
       throw e;
@@ -186,7 +184,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_ENTITY, e.getMessageKey());
       throw e;
@@ -199,7 +197,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_ENTITY, e.getMessageKey());
       throw e;
@@ -212,7 +210,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.JSON_SYNTAX_EXCEPTION, e.getMessageKey());
       throw e;
@@ -227,7 +225,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.UNKOWN_CONTENT, e.getMessageKey());
       throw e;
@@ -242,7 +240,7 @@ public class ODataDeserializerEntityCollectionTest extends AbstractODataDeserial
     InputStream stream = new ByteArrayInputStream(entityCollectionString.getBytes());
     EdmEntityType edmEntityType = edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim"));
     try {
-      OData.newInstance().createDeserializer(ODataFormat.JSON).entityCollection(stream, edmEntityType);
+      createDeserializer().entityCollection(stream, edmEntityType);
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
       throw e;
@@ -36,8 +36,6 @@ import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.domain.ODataLinkType;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
-import org.apache.olingo.commons.api.format.ODataFormat;
-import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.deserializer.DeserializerException;
 import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 import org.junit.Test;
@@ -48,7 +46,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
   public void emptyEntity() throws Exception {
     String entityString = "{}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -77,7 +75,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             "\"PropertyGuid\":\"01234567-89ab-cdef-0123-456789abcdef\"," +
             "\"PropertyTimeOfDay\":\"03:26:05\"}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -123,7 +121,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
                     "\"PropertyGuid\":\"01234567-89ab-cdef-0123-456789abcdef\"," +
                     "\"PropertyTimeOfDay\":\"03:26:05\"}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
             deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -143,7 +141,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             "\"PropertyString\":\"First Resource - positive values\"" +
             "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -172,7 +170,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
                     "\"PropertyGuid\":\"01234567-89ab-cdef-0123-456789abcdef\"," +
                     "\"PropertyTimeOfDay\":\"03:26:05\"}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
             deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -206,7 +204,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         "\"PropertySByte\":127," +
         "\"PropertyTimeOfDay\":\"01:00:01\"}}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETCompAllPrim")));
     assertNotNull(entity);
@@ -247,7 +245,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "\"CollPropertyTimeOfDay\":[\"04:14:13\",\"23:59:59\",\"01:12:33\"]"
         + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETCollAllPrim")));
     assertNotNull(entity);
@@ -285,7 +283,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "{\"PropertyInt16\":789,\"PropertyString\":\"TEST 3\"}]}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     assertNotNull(entity);
@@ -318,7 +316,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "{\"PropertyInt16\":789}]}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     assertNotNull(entity);
@@ -366,7 +364,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             "\"PropertyGuid\":\"01234567-89ab-cdef-0123-456789abcdef\"," +
             "\"PropertyTimeOfDay\":\"03:26:05\"}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -383,7 +381,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyString\":\"First Resource - positive values\""
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
   }
 
@@ -402,7 +400,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "{\"PropertyInt16\":789,\"PropertyString\":\"TEST 3\"}]}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
   }
 
@@ -423,7 +421,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyString\":\"First Resource - positive values\""
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -441,7 +439,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":[\"ESTwoPrim(2)\",\"ESTwoPrim(3)\"]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     assertNotNull(entity);
@@ -474,7 +472,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":[]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     Link bindingToMany = entity.getNavigationBinding("NavPropertyETTwoPrimMany");
@@ -486,7 +484,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
   @Test
   public void eTTwoKeyNavEnumTest() throws Exception {
     InputStream stream = getFileAsStream("EntityETMixEnumDefCollComp.json");
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity =
         deserializer.entity(stream, edm
                 .getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
@@ -531,7 +529,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"CollPropertyTimeOfDay\":[\"04:14:13\",\"23:59:59\",\"01:12:33\"]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity e = deserializer.entity(stream, edm.getEntityType(
             new FullQualifiedName("Namespace1_Alias", "ETCollAllPrim")));
 
@@ -546,7 +544,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyComp\":null"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity = deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias",
             "ETMixPrimCollComp")));
 
@@ -560,7 +558,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "null,"
             + "{\"PropertyInt16\":789,\"PropertyString\":\"TEST 3\"}]}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
 
     Entity entity = deserializer.entity(stream, edm.getEntityType(
             new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
@@ -577,7 +575,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyComp\":{\"PropertyString\":\"TEST A\",\"PropertyInt16\":null}"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity entity = deserializer.entity(stream, edm.getEntityType(
             new FullQualifiedName("Namespace1_Alias", "ETCompAllPrim")));
 
@@ -594,7 +592,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity e = deserializer.entity(stream, edm.getEntityType(
             new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
 
@@ -627,7 +625,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             "\"PropertyTimeOfDay\":\"03:26:05\"}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.INVALID_NULL_PROPERTY, e.getMessageKey());
@@ -642,7 +640,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETTwoPrim")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.DUPLICATE_PROPERTY, e.getMessageKey());
@@ -665,7 +663,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.DUPLICATE_PROPERTY, e.getMessageKey());
@@ -692,7 +690,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.DUPLICATE_PROPERTY, e.getMessageKey());
@@ -716,7 +714,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.DUPLICATE_PROPERTY, e.getMessageKey());
@@ -739,7 +737,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
@@ -762,7 +760,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
@@ -784,7 +782,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.NOT_IMPLEMENTED, e.getMessageKey());
@@ -807,7 +805,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.UNKOWN_CONTENT, e.getMessageKey());
@@ -829,7 +827,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.UNKOWN_CONTENT, e.getMessageKey());
@@ -851,7 +849,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
     try {
-      ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+      ODataDeserializer deserializer = createDeserializer();
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
       assertEquals(DeserializerException.MessageKeys.UNKOWN_CONTENT, e.getMessageKey());
@@ -963,7 +961,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimOne@odata.bind\":[\"ESTwoPrim(2)\"]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -980,7 +978,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":\"ESTwoPrim(2)\""
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -997,7 +995,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":[123,456]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1014,7 +1012,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"@odata.bind\":\"ESTwoPrim(2)\""
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1031,7 +1029,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimOne@odata.bind\":null"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1048,7 +1046,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":null"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1065,7 +1063,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"NavPropertyETTwoPrimMany@odata.bind\":[null]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1079,7 +1077,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
     String entityString =
         "{\"PropertyInt16\":32767,}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1093,7 +1091,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
     String entityString =
         "{\"PropertyInt16\":[]}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1107,7 +1105,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
     String entityString =
         "{\"PropertyInt16\":{}}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
     } catch (DeserializerException e) {
@@ -1123,7 +1121,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "{\"Employee1@company.example\":1234}"
         + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
@@ -1138,7 +1136,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "\"PropertyComp\":\"InvalidString\""
         + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
@@ -1153,7 +1151,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "\"PropertyComp\":null"
         + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETTwoKeyNav")));
     } catch (DeserializerException e) {
@@ -1170,7 +1168,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyComp\": {\"PropertyString\":\"StringValue\"}}"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETTwoKeyNav")));
     } catch (DeserializerException e) {
@@ -1186,7 +1184,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"PropertyCompTwoPrim\":{\"PropertyInt16\": null, \"PropertyString\":\"StringValue\"}"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETKeyNav")));
     } catch (DeserializerException e) {
@@ -1202,7 +1200,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "null,"
         + "\"StringValue_1\",\"TEST 3\"]}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETCollAllPrim")));
     } catch (DeserializerException e) {
@@ -1217,7 +1215,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
             + "\"CollPropertyInt16\":[123,\"null\",4711]"
             + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETCollAllPrim")));
     } catch (DeserializerException e) {
@@ -1232,7 +1230,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "\"PropertyInt16\":32767000000000000000000000000000000000000"
         + "}";
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
     } catch (DeserializerException e) {
@@ -1250,7 +1248,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     Entity e = deserializer.entity(stream, edm.getEntityType(
             new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
 
@@ -1268,7 +1266,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
     } catch (DeserializerException e) {
@@ -1286,7 +1284,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
     } catch (DeserializerException e) {
@@ -1304,7 +1302,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
     } catch (DeserializerException e) {
@@ -1322,7 +1320,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
         + "}}";
 
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixEnumDefCollComp")));
     } catch (DeserializerException e) {
@@ -1343,7 +1341,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 //        + "{\"PropertyInt16\":456,\"PropertyString\":\"TEST 2\"},"
 //        + "{\"PropertyInt16\":789,\"PropertyString\":\"TEST 3\"}]}";
 //    InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-//    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+//    ODataDeserializer deserializer = createDeserializer();
 //    try {
 //      deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETMixPrimCollComp")));
 //    } catch (DeserializerException e) {
@@ -1354,7 +1352,7 @@ public class ODataJsonDeserializerEntityTest extends AbstractODataDeserializerTe
 
   private void checkPropertyJsonType(String entityString) throws DeserializerException {
     InputStream stream = new ByteArrayInputStream(entityString.getBytes());
-    ODataDeserializer deserializer = OData.newInstance().createDeserializer(ODataFormat.JSON);
+    ODataDeserializer deserializer = createDeserializer();
     try {
       deserializer.entity(stream, edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETAllPrim")));
       fail("Expected an exception but was not thrown: " + this.getClass().getName());
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.deserializer.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.format.ODataFormat;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.deserializer.DeserializerConfiguration;
+import org.apache.olingo.server.api.deserializer.DeserializerException;
+import org.apache.olingo.server.api.deserializer.ODataDeserializer;
+import org.junit.Test;
+
+/** Runs the tests for entities against the token-streaming deserializer. */
+public class ODataJsonStreamDeserializerEntityTest extends ODataJsonDeserializerEntityTest {
+
+  @Override
+  protected ODataDeserializer createDeserializer() throws DeserializerException {
+    return OData.newInstance().createDeserializer(ODataFormat.JSON,
+        DeserializerConfiguration.with().streaming(true).build());
+  }
+
+  @Test
+  public void unknownContentStopsReading() throws Exception {
+    // The rest of the document is not even syntactically valid; it must not be read.
+    final String entityString = "{\"PropertyInt16\":32767,\"Unknown\":1,\"PropertyString\":";
+    try {
+      createDeserializer().entity(new ByteArrayInputStream(entityString.getBytes()),
+          edm.getEntityType(new FullQualifiedName("Namespace1_Alias", "ETTwoPrim")));
+      fail("Expected exception not thrown.");
+    } catch (final DeserializerException e) {
+      assertEquals(DeserializerException.MessageKeys.UNKOWN_CONTENT, e.getMessageKey());
+    }
+  }
+}
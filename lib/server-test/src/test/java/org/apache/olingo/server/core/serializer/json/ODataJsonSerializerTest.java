@@ -18,15 +18,18 @@
  */
 package org.apache.olingo.server.core.serializer.json;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.olingo.commons.api.data.ContextURL;
 import org.apache.olingo.commons.api.data.ContextURL.Suffix;
 import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.EntitySet;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
@@ -41,6 +44,7 @@ import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.format.ODataFormat;
 import org.apache.olingo.commons.core.data.PropertyImpl;
 import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.edmx.EdmxReference;
 import org.apache.olingo.server.api.serializer.ComplexSerializerOptions;
 import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
@@ -184,6 +188,71 @@ public class ODataJsonSerializerTest {
     Assert.assertEquals(3, count);
   }
 
+  @Test
+  public void entitySetAllPrimStreamed() throws Exception {
+    final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESAllPrim");
+    final EntitySet entitySet = data.readAll(edmEntitySet);
+    entitySet.setCount(entitySet.getEntities().size());
+    entitySet.setNext(URI.create("/next"));
+    final Iterator<Entity> iterator = entitySet.getEntities().iterator();
+    EntityIterator entities = new EntityIterator() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Entity next() {
+        return iterator.next();
+      }
+
+      @Override
+      public Integer getCount() {
+        return entitySet.getCount();
+      }
+
+      @Override
+      public URI getNext() {
+        return entitySet.getNext();
+      }
+    };
+    CountOption countOption = Mockito.mock(CountOption.class);
+    Mockito.when(countOption.getValue()).thenReturn(true);
+    final ODataContent content = serializer.entityCollectionStreamed(edmEntitySet.getEntityType(), entities,
+        EntityCollectionSerializerOptions.with()
+            .contextURL(ContextURL.with().entitySet(edmEntitySet).build())
+            .count(countOption)
+            .build());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    content.write(output);
+    final String resultString = new String(output.toByteArray(), "UTF-8");
+
+    Assert.assertEquals(IOUtils.toString(serializer.entityCollection(edmEntitySet.getEntityType(), entitySet,
+        EntityCollectionSerializerOptions.with()
+            .contextURL(ContextURL.with().entitySet(edmEntitySet).build())
+            .count(countOption)
+            .build())),
+        resultString);
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void entitySetPropertyOrder() throws Exception {
+    final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESAllPrim");
+    final EntitySet entitySet = data.readAll(edmEntitySet);
+    final EntityCollectionSerializerOptions options = EntityCollectionSerializerOptions.with()
+        .contextURL(ContextURL.with().entitySet(edmEntitySet).build())
+        .build();
+    final String expected = IOUtils.toString(
+        serializer.entityCollection(edmEntitySet.getEntityType(), entitySet, options));
+
+    // Properties are found also if the entities do not share the same order.
+    Collections.reverse(entitySet.getEntities().get(1).getProperties());
+    Collections.swap(entitySet.getEntities().get(2).getProperties(), 0, 1);
+    Assert.assertEquals(expected,
+        IOUtils.toString(serializer.entityCollection(edmEntitySet.getEntityType(), entitySet, options)));
+  }
+
   @Test
   public void entityCollAllPrim() throws Exception {
     final EdmEntitySet edmEntitySet = entityContainer.getEntitySet("ESCollAllPrim");
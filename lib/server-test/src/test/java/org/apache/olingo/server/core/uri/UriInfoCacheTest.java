@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.core.edm.provider.EdmProviderImpl;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.core.uri.parser.UriInfoCache;
+import org.apache.olingo.server.core.uri.parser.UriParserException;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Test;
+
+public class UriInfoCacheTest {
+
+  private static final Edm edm = new EdmProviderImpl(new EdmTechProvider());
+
+  @Test
+  public void repeatedUriIsTakenFromCache() throws Exception {
+    final UriInfoCache cache = new UriInfoCache(10);
+    final Parser parser = new Parser().setUriInfoCache(cache);
+
+    final UriInfo first = parser.parseUri("$metadata", "$format=xml", null, edm);
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    final UriInfo second = new Parser().setUriInfoCache(cache).parseUri("$metadata", "$format=xml", null, edm);
+    assertSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    final UriInfo other = parser.parseUri("$metadata", "$format=json", null, edm);
+    assertNotSame(first, other);
+    assertEquals("json", other.getFormatOption().getFormat());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() throws Exception {
+    final UriInfoCache cache = new UriInfoCache(2);
+    final Parser parser = new Parser().setUriInfoCache(cache);
+    final UriInfo first = parser.parseUri("", null, null, edm);
+    parser.parseUri("$metadata", null, null, edm);
+    assertSame(first, parser.parseUri("", null, null, edm));
+    parser.parseUri("$batch", null, null, edm);
+
+    assertEquals(2, cache.size());
+    assertSame(first, cache.get("", null, null));
+    assertNull(cache.get("$metadata", null, null));
+  }
+
+  @Test
+  public void invalidUriIsNotCached() throws Exception {
+    final UriInfoCache cache = new UriInfoCache(10);
+    try {
+      new Parser().setUriInfoCache(cache).parseUri("", "$top=wrong", null, edm);
+      fail("Expected UriParserException not thrown");
+    } catch (final UriParserException e) {
+      assertEquals(0, cache.size());
+    }
+  }
+}
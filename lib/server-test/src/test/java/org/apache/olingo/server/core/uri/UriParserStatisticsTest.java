@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.core.edm.provider.EdmProviderImpl;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.apache.olingo.server.core.uri.parser.UriParserStatistics;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.junit.Test;
+
+public class UriParserStatisticsTest {
+
+  private static final Edm edm = new EdmProviderImpl(new EdmTechProvider());
+
+  @Test
+  public void parsesAreCountedPerEntryRule() throws Exception {
+    final UriParserStatistics statistics = Parser.getStatistics();
+    final long metadataBefore = count(statistics, "Metadata");
+    final long batchBefore = count(statistics, "Batch");
+    final long totalBefore = statistics.getParseCount();
+
+    // The pooled lexer and parser instances are reused for alternating inputs.
+    for (int i = 0; i < 3; i++) {
+      assertEquals(UriInfoKind.metadata, new Parser().parseUri("$metadata", null, null, edm).getKind());
+      assertEquals(UriInfoKind.batch, new Parser().parseUri("$batch", null, null, edm).getKind());
+    }
+
+    assertEquals(metadataBefore + 3, count(statistics, "Metadata"));
+    assertEquals(batchBefore + 3, count(statistics, "Batch"));
+    assertTrue(statistics.getParseCount() >= totalBefore + 6);
+    assertTrue(statistics.getFallbackCount() <= statistics.getParseCount());
+  }
+
+  private long count(final UriParserStatistics statistics, final String entryRule) {
+    final Long count = statistics.getParseCounts().get(entryRule);
+    return count == null ? 0 : count;
+  }
+}
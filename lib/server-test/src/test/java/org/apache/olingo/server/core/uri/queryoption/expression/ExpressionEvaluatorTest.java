@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.olingo.server.core.uri.queryoption.expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.commons.core.data.EntityImpl;
+import org.apache.olingo.commons.core.data.PropertyImpl;
+import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfoKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledFilter;
+import org.apache.olingo.server.api.uri.queryoption.expression.CompiledOrderBy;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionEvaluator;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.apache.olingo.server.core.edm.provider.EdmProviderImpl;
+import org.apache.olingo.server.core.uri.UriInfoImpl;
+import org.apache.olingo.server.core.uri.UriResourcePrimitivePropertyImpl;
+import org.apache.olingo.server.core.uri.queryoption.FilterOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByItemImpl;
+import org.apache.olingo.server.core.uri.queryoption.OrderByOptionImpl;
+import org.apache.olingo.server.tecsvc.data.DataProvider;
+import org.apache.olingo.server.tecsvc.provider.EdmTechProvider;
+import org.apache.olingo.server.tecsvc.provider.EntityTypeProvider;
+import org.junit.Test;
+
+public class ExpressionEvaluatorTest {
+
+  private static final Edm edm = new EdmProviderImpl(new EdmTechProvider());
+  private static final EdmEntityType ET_ALL_PRIM = edm.getEntityType(EntityTypeProvider.nameETAllPrim);
+  private static final EdmEntityType ET_TWO_PRIM = edm.getEntityType(EntityTypeProvider.nameETTwoPrim);
+
+  private final DataProvider data = new DataProvider();
+  private final ExpressionEvaluator evaluator = new ExpressionEvaluatorImpl();
+
+  @Test
+  public void comparison() throws Exception {
+    assertEquals("32767", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.GT,
+        literal("0"))));
+    assertEquals("0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.EQ,
+        literal("0.0"))));
+    assertEquals("32767,-32768", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyInt64"), BinaryOperatorKind.NE,
+        literal("0"))));
+    assertEquals("-32768,0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyDecimal"), BinaryOperatorKind.LE,
+        literal("0"))));
+    assertEquals("-32768,0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyDouble"), BinaryOperatorKind.GE,
+        literal("-179000"))));
+    assertEquals("32767", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyBoolean"), BinaryOperatorKind.EQ,
+        new LiteralImpl().setText("true")
+            .setType(EdmPrimitiveTypeFactory.getInstance(EdmPrimitiveTypeKind.Boolean)))));
+    assertEquals("0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyGuid"), BinaryOperatorKind.EQ,
+        literal("76543201-23ab-cdef-0123-456789cccddd"))));
+  }
+
+  @Test
+  public void longNumericLiterals() throws Exception {
+    assertEquals("32767,-32768,0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyDecimal"),
+        BinaryOperatorKind.LT, literal("1234567890.123"))));
+    assertEquals("32767,-32768,0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyInt64"),
+        BinaryOperatorKind.LT, literal("123456789012345678901234567890"))));
+    assertEquals("", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyInt64"),
+        BinaryOperatorKind.LT, literal("-123456789012345678901234567890.5"))));
+  }
+
+  @Test
+  public void nullValues() throws Exception {
+    final ExpressionImpl string = member(ET_TWO_PRIM, "PropertyString");
+    assertEquals("-32766", filterTwoPrim(binary(string, BinaryOperatorKind.EQ, literal("null"))));
+    assertEquals("32766,-365,32767", filterTwoPrim(binary(string, BinaryOperatorKind.NE, literal("null"))));
+    assertEquals("32766,-365,32767", filterTwoPrim(binary(string, BinaryOperatorKind.LT, literal("'Z'"))));
+    assertEquals("", filterTwoPrim(binary(
+        unary(UnaryOperatorKind.NOT, binary(string, BinaryOperatorKind.EQ, literal("'Test String9'"))),
+        BinaryOperatorKind.AND,
+        binary(string, BinaryOperatorKind.GE, literal("'Test String5'")))));
+    assertEquals("-32766", filterTwoPrim(binary(
+        unary(UnaryOperatorKind.NOT, binary(method(MethodKind.LENGTH, string), BinaryOperatorKind.GT, literal("0"))),
+        BinaryOperatorKind.OR,
+        binary(member(ET_TWO_PRIM, "PropertyInt16"), BinaryOperatorKind.EQ, literal("-32766")))));
+  }
+
+  @Test
+  public void arithmeticAndLogic() throws Exception {
+    final ExpressionImpl int16 = member(ET_ALL_PRIM, "PropertyInt16");
+    assertEquals("0", filterAllPrim(binary(
+        binary(binary(member(ET_ALL_PRIM, "PropertyInt32"), BinaryOperatorKind.ADD, literal("1")),
+            BinaryOperatorKind.GT, literal("0")),
+        BinaryOperatorKind.AND,
+        binary(member(ET_ALL_PRIM, "PropertyBoolean"), BinaryOperatorKind.EQ, literal("false")))));
+    assertEquals("32767,0", filterAllPrim(binary(
+        binary(binary(int16, BinaryOperatorKind.MOD, literal("2")), BinaryOperatorKind.EQ, literal("1")),
+        BinaryOperatorKind.OR,
+        binary(binary(int16, BinaryOperatorKind.MUL, literal("3")), BinaryOperatorKind.EQ, literal("0")))));
+    assertEquals("-32768", filterAllPrim(binary(
+        binary(unary(UnaryOperatorKind.MINUS, int16), BinaryOperatorKind.DIV, literal("2")),
+        BinaryOperatorKind.EQ, literal("16384"))));
+    assertEquals("32767", filterAllPrim(binary(
+        binary(member(ET_ALL_PRIM, "PropertyDecimal"), BinaryOperatorKind.DIV, literal("4")),
+        BinaryOperatorKind.EQ, literal("8.5"))));
+  }
+
+  @Test
+  public void methods() throws Exception {
+    final ExpressionImpl string = member(ET_ALL_PRIM, "PropertyString");
+    assertEquals("32767,-32768", filterAllPrim(method(MethodKind.CONTAINS, string, literal("'Resource'"))));
+    assertEquals("32767", filterAllPrim(method(MethodKind.STARTSWITH,
+        method(MethodKind.TOLOWER, string), literal("'first'"))));
+    assertEquals("-32768", filterAllPrim(method(MethodKind.ENDSWITH, string, literal("'negative values'"))));
+    assertEquals("-32768", filterAllPrim(binary(method(MethodKind.SUBSTRING, string, literal("7"), literal("8")),
+        BinaryOperatorKind.EQ, literal("'Resource'"))));
+    assertEquals("32767", filterAllPrim(binary(method(MethodKind.INDEXOF, string, literal("'Resource'")),
+        BinaryOperatorKind.EQ, literal("6"))));
+    assertEquals("0", filterAllPrim(binary(method(MethodKind.CONCAT, string, literal("'x'")),
+        BinaryOperatorKind.EQ, literal("'x'"))));
+    assertEquals("32767,-32768", filterAllPrim(binary(method(MethodKind.ROUND,
+        binary(member(ET_ALL_PRIM, "PropertyDecimal"), BinaryOperatorKind.DIV, literal("10"))),
+        BinaryOperatorKind.NE, literal("0"))));
+    assertEquals("-32768", filterAllPrim(binary(method(MethodKind.ROUND,
+        binary(member(ET_ALL_PRIM, "PropertyDouble"), BinaryOperatorKind.DIV, literal("71600"))),
+        BinaryOperatorKind.EQ, literal("-3"))));
+  }
+
+  @Test
+  public void temporalValues() throws Exception {
+    final ExpressionImpl date = member(ET_ALL_PRIM, "PropertyDate");
+    assertEquals("-32768", filterAllPrim(binary(date, BinaryOperatorKind.GT, literal("2013-01-01"))));
+    assertEquals("0", filterAllPrim(binary(member(ET_ALL_PRIM, "PropertyDateTimeOffset"), BinaryOperatorKind.LT,
+        literal("2005-12-03T07:00:00Z"))));
+    assertEquals("32767", filterAllPrim(binary(
+        binary(method(MethodKind.YEAR, date), BinaryOperatorKind.EQ, literal("2012")),
+        BinaryOperatorKind.AND,
+        binary(method(MethodKind.MONTH, date), BinaryOperatorKind.EQ, literal("12")))));
+    assertEquals("32767,-32768", filterAllPrim(binary(
+        method(MethodKind.HOUR, member(ET_ALL_PRIM, "PropertyDateTimeOffset")),
+        BinaryOperatorKind.EQ, literal("7"))));
+  }
+
+  @Test
+  public void orderBy() throws Exception {
+    assertEquals("-32766,32766,-365,32767", sort("ESTwoPrim", order(member(ET_TWO_PRIM, "PropertyString"), false)));
+    assertEquals("32767,-365,32766,-32766", sort("ESTwoPrim", order(member(ET_TWO_PRIM, "PropertyString"), true)));
+    assertEquals("0,-32768,32767", sort("ESAllPrim", order(member(ET_ALL_PRIM, "PropertyBoolean"), false)
+        .addOrder(item(member(ET_ALL_PRIM, "PropertyInt16"), true))));
+    assertEquals("32767,0,-32768", sort("ESAllPrim", order(
+        binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.MUL, literal("-1")), false)));
+
+    final CompiledOrderBy order = evaluator.compile(order(member(ET_ALL_PRIM, "PropertyDate"), false));
+    final List<Entity> entities = read("ESAllPrim");
+    assertTrue(order.compare(entities.get(0), entities.get(1)) < 0);
+    assertTrue(order.compare(entities.get(2), entities.get(0)) < 0);
+  }
+
+  @Test
+  public void compilationErrors() throws Exception {
+    expectError(binary(member(ET_ALL_PRIM, "PropertyString"), BinaryOperatorKind.GT, literal("5")),
+        HttpStatusCode.BAD_REQUEST);
+    expectError(binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.ADD, literal("1")),
+        HttpStatusCode.BAD_REQUEST);
+    expectError(binary(member(ET_ALL_PRIM, "PropertyDateTimeOffset"), BinaryOperatorKind.LT,
+        method(MethodKind.NOW)), HttpStatusCode.NOT_IMPLEMENTED);
+    expectError(new AliasImpl(), HttpStatusCode.NOT_IMPLEMENTED);
+  }
+
+  @Test
+  public void evaluationError() throws Exception {
+    try {
+      filterAllPrim(binary(binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.DIV, literal("0")),
+          BinaryOperatorKind.EQ, literal("1")));
+      fail("Expected exception not thrown.");
+    } catch (final ODataApplicationException e) {
+      assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  @Test
+  public void parallelFilter() throws Exception {
+    List<Entity> entities = new ArrayList<Entity>();
+    for (int index = 0; index < 10000; index++) {
+      entities.add(new EntityImpl().addProperty(
+          new PropertyImpl(null, "PropertyInt16", ValueType.PRIMITIVE, (short) (index % 1000))));
+    }
+    final CompiledFilter filter = evaluator.compile(new FilterOptionImpl().setExpression(
+        binary(member(ET_ALL_PRIM, "PropertyInt16"), BinaryOperatorKind.LT, literal("10"))));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Entity> result = filter.filter(entities, executor);
+      assertEquals(filter.filter(entities, null), result);
+      assertEquals(100, result.size());
+      assertFalse(filter.matches(entities.get(10)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private String filterAllPrim(final ExpressionImpl expression) throws ODataApplicationException {
+    return keys(evaluator.compile(new FilterOptionImpl().setExpression(expression)).filter(read("ESAllPrim"), null));
+  }
+
+  private String filterTwoPrim(final ExpressionImpl expression) throws ODataApplicationException {
+    return keys(evaluator.compile(new FilterOptionImpl().setExpression(expression)).filter(read("ESTwoPrim"), null));
+  }
+
+  private String sort(final String entitySetName, final OrderByOptionImpl orderBy)
+      throws ODataApplicationException {
+    return keys(evaluator.compile(orderBy).sort(read(entitySetName)));
+  }
+
+  private void expectError(final ExpressionImpl expression, final HttpStatusCode statusCode) {
+    try {
+      evaluator.compile(new FilterOptionImpl().setExpression(expression));
+      fail("Expected exception not thrown.");
+    } catch (final ODataApplicationException e) {
+      assertEquals(statusCode.getStatusCode(), e.getStatusCode());
+    }
+  }
+
+  private List<Entity> read(final String entitySetName) throws ODataApplicationException {
+    EdmEntitySet entitySet = mock(EdmEntitySet.class);
+    when(entitySet.getName()).thenReturn(entitySetName);
+    return data.readAll(entitySet).getEntities();
+  }
+
+  private String keys(final List<Entity> entities) {
+    StringBuilder result = new StringBuilder();
+    for (final Entity entity : entities) {
+      result.append(result.length() == 0 ? "" : ",").append(entity.getProperty("PropertyInt16").getValue());
+    }
+    return result.toString();
+  }
+
+  private static ExpressionImpl member(final EdmEntityType type, final String name) {
+    final EdmProperty property = (EdmProperty) type.getProperty(name);
+    final MemberImpl member = new MemberImpl();
+    member.setResourcePath(new UriInfoImpl().setKind(UriInfoKind.resource)
+        .addResourcePart(new UriResourcePrimitivePropertyImpl().setProperty(property)));
+    return member;
+  }
+
+  private static ExpressionImpl literal(final String text) {
+    return new LiteralImpl().setText(text);
+  }
+
+  private static ExpressionImpl binary(final ExpressionImpl left, final BinaryOperatorKind operator,
+      final ExpressionImpl right) {
+    BinaryImpl binary = new BinaryImpl();
+    binary.setLeftOperand(left);
+    binary.setOperator(operator);
+    binary.setRightOperand(right);
+    return binary;
+  }
+
+  private static ExpressionImpl unary(final UnaryOperatorKind operator, final ExpressionImpl operand) {
+    UnaryImpl unary = new UnaryImpl();
+    unary.setOperator(operator);
+    unary.setOperand(operand);
+    return unary;
+  }
+
+  private static ExpressionImpl method(final MethodKind kind, final ExpressionImpl... parameters) {
+    MethodImpl method = new MethodImpl().setMethod(kind);
+    for (final ExpressionImpl parameter : parameters) {
+      method.addParameter(parameter);
+    }
+    return method;
+  }
+
+  private static OrderByOptionImpl order(final ExpressionImpl expression, final boolean descending) {
+    return new OrderByOptionImpl().addOrder(item(expression, descending));
+  }
+
+  private static OrderByItemImpl item(final ExpressionImpl expression, final boolean descending) {
+    OrderByItemImpl item = new OrderByItemImpl();
+    item.setDescending(descending);
+    item.setExpression(expression);
+    return item;
+  }
+}